@@ -0,0 +1,151 @@
+package com.coherentsolutions.pot.insuranceservice.mapper;
+
+import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimDto;
+import com.coherentsolutions.pot.insuranceservice.dto.insurancepackage.InsurancePackageDto;
+import com.coherentsolutions.pot.insuranceservice.dto.user.UserDto;
+import com.coherentsolutions.pot.insuranceservice.enums.ClaimStatus;
+import com.coherentsolutions.pot.insuranceservice.enums.PackageStatus;
+import com.coherentsolutions.pot.insuranceservice.enums.PayrollFrequency;
+import com.coherentsolutions.pot.insuranceservice.enums.UserFunction;
+import com.coherentsolutions.pot.insuranceservice.enums.UserStatus;
+import com.coherentsolutions.pot.insuranceservice.model.Address;
+import com.coherentsolutions.pot.insuranceservice.model.Claim;
+import com.coherentsolutions.pot.insuranceservice.model.Company;
+import com.coherentsolutions.pot.insuranceservice.model.InsurancePackage;
+import com.coherentsolutions.pot.insuranceservice.model.Phone;
+import com.coherentsolutions.pot.insuranceservice.model.Plan;
+import com.coherentsolutions.pot.insuranceservice.model.User;
+import com.coherentsolutions.pot.insuranceservice.model.UserFunctionAssignment;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the generated MapStruct mappers on the entities and DTOs served by the list and detail
+ * endpoints: a user with addresses, phones and functions, a claim with its consumer and plan, and
+ * an insurance package with its plans. Run with {@code ./gradlew jmh [-PjmhIncludes=Mapper]}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+
+  private static final int PACKAGE_PLANS = 10;
+
+  private final UserMapper userMapper = new UserMapperImpl();
+  private final ClaimMapper claimMapper = new ClaimMapperImpl();
+  private final InsurancePackageMapper insurancePackageMapper = new InsurancePackageMapperImpl();
+
+  private User user;
+  private UserDto userDto;
+  private Claim claim;
+  private ClaimDto claimDto;
+  private InsurancePackage insurancePackage;
+  private InsurancePackageDto insurancePackageDto;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Company company = new Company();
+    company.setId(UUID.randomUUID());
+    company.setName("Benchmark Inc");
+
+    user = new User();
+    user.setId(UUID.randomUUID());
+    user.setFirstName("Jane");
+    user.setLastName("Doe");
+    user.setUsername("jane.doe");
+    user.setEmail("jane.doe@example.com");
+    user.setDateOfBirth(LocalDate.of(1990, 5, 17));
+    user.setSsn("123-45-6789");
+    user.setStatus(UserStatus.ACTIVE);
+    user.setCompany(company);
+    user.setAddressData(List.of(
+        new Address("US", "Austin", "TX", "Congress Ave", "100", "12"),
+        new Address("US", "Dallas", "TX", "Main St", "5", null)));
+    user.setPhoneData(List.of(new Phone("+1", "5125550100"), new Phone("+1", "2145550100")));
+    Set<UserFunctionAssignment> assignments = new HashSet<>();
+    for (UserFunction function : List.of(UserFunction.COMPANY_MANAGER, UserFunction.CONSUMER)) {
+      UserFunctionAssignment assignment = new UserFunctionAssignment();
+      assignment.setFunction(function);
+      assignment.setUser(user);
+      assignments.add(assignment);
+    }
+    user.setFunctions(assignments);
+    userDto = userMapper.toDto(user);
+
+    Plan plan = new Plan();
+    plan.setId(UUID.randomUUID());
+    plan.setName("Gold Dental");
+    plan.setContribution(new BigDecimal("250.00"));
+
+    claim = new Claim();
+    claim.setId(UUID.randomUUID());
+    claim.setClaimNumber("CLM-000001");
+    claim.setStatus(ClaimStatus.PENDING);
+    claim.setServiceDate(LocalDate.of(2025, 3, 1));
+    claim.setAmount(new BigDecimal("120.50"));
+    claim.setConsumer(user);
+    claim.setPlan(plan);
+    claimDto = claimMapper.toDto(claim);
+
+    insurancePackage = new InsurancePackage();
+    insurancePackage.setId(UUID.randomUUID());
+    insurancePackage.setName("2025 Benefits");
+    insurancePackage.setCompany(company);
+    insurancePackage.setStartDate(LocalDate.of(2025, 1, 1));
+    insurancePackage.setEndDate(LocalDate.of(2025, 12, 31));
+    insurancePackage.setPayrollFrequency(PayrollFrequency.MONTHLY);
+    insurancePackage.setStatus(PackageStatus.ACTIVE);
+    List<Plan> plans = new ArrayList<>(PACKAGE_PLANS);
+    for (int i = 0; i < PACKAGE_PLANS; i++) {
+      Plan packagePlan = new Plan();
+      packagePlan.setId(UUID.randomUUID());
+      plans.add(packagePlan);
+    }
+    insurancePackage.setPlans(plans);
+    insurancePackageDto = insurancePackageMapper.toInsurancePackageDto(insurancePackage);
+  }
+
+  @Benchmark
+  public UserDto userToDto() {
+    return userMapper.toDto(user);
+  }
+
+  @Benchmark
+  public User userToEntity() {
+    return userMapper.toEntity(userDto);
+  }
+
+  @Benchmark
+  public ClaimDto claimToDto() {
+    return claimMapper.toDto(claim);
+  }
+
+  @Benchmark
+  public Claim claimToEntity() {
+    return claimMapper.toEntity(claimDto);
+  }
+
+  @Benchmark
+  public InsurancePackageDto insurancePackageToDto() {
+    return insurancePackageMapper.toInsurancePackageDto(insurancePackage);
+  }
+
+  @Benchmark
+  public InsurancePackage insurancePackageToEntity() {
+    return insurancePackageMapper.toInsurancePackage(insurancePackageDto);
+  }
+}
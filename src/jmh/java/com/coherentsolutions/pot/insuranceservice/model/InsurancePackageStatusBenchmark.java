@@ -0,0 +1,55 @@
+package com.coherentsolutions.pot.insuranceservice.model;
+
+import com.coherentsolutions.pot.insuranceservice.enums.PackageStatus;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures {@link InsurancePackage#calculateStatus}, which runs for every package a list request
+ * returns, for each of the resulting statuses. Run with
+ * {@code ./gradlew jmh [-PjmhIncludes=InsurancePackageStatus]}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InsurancePackageStatusBenchmark {
+
+  @Param({"INITIALIZED", "ACTIVE", "EXPIRED", "DEACTIVATED"})
+  private PackageStatus expected;
+
+  private final InsurancePackage insurancePackage = new InsurancePackage();
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    LocalDate today = LocalDate.now();
+    switch (expected) {
+      case INITIALIZED -> setPeriod(today.plusMonths(1), today.plusYears(1));
+      case EXPIRED -> setPeriod(today.minusYears(1), today.minusMonths(1));
+      default -> setPeriod(today.minusMonths(1), today.plusMonths(11));
+    }
+  }
+
+  @Benchmark
+  public PackageStatus calculateStatus() {
+    // DEACTIVATED packages short-circuit unless reactivation is allowed.
+    insurancePackage.setStatus(expected == PackageStatus.DEACTIVATED
+        ? PackageStatus.DEACTIVATED
+        : PackageStatus.INITIALIZED);
+    insurancePackage.calculateStatus(false);
+    return insurancePackage.getStatus();
+  }
+
+  private void setPeriod(LocalDate startDate, LocalDate endDate) {
+    insurancePackage.setStartDate(startDate);
+    insurancePackage.setEndDate(endDate);
+  }
+}
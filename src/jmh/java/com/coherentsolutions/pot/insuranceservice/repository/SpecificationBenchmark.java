@@ -0,0 +1,121 @@
+package com.coherentsolutions.pot.insuranceservice.repository;
+
+import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimFilter;
+import com.coherentsolutions.pot.insuranceservice.dto.insurancepackage.InsurancePackageFilter;
+import com.coherentsolutions.pot.insuranceservice.dto.user.UserFilter;
+import com.coherentsolutions.pot.insuranceservice.enums.ClaimStatus;
+import com.coherentsolutions.pot.insuranceservice.enums.PackageStatus;
+import com.coherentsolutions.pot.insuranceservice.enums.PayrollFrequency;
+import com.coherentsolutions.pot.insuranceservice.enums.UserFunction;
+import com.coherentsolutions.pot.insuranceservice.enums.UserStatus;
+import com.coherentsolutions.pot.insuranceservice.model.Claim;
+import com.coherentsolutions.pot.insuranceservice.model.InsurancePackage;
+import com.coherentsolutions.pot.insuranceservice.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+/**
+ * Measures composing the {@code *Specification.withFilters} predicates with every filter set and
+ * turning them into a Hibernate criteria query, which is what a filtered list request pays before
+ * the SQL reaches the database. Hibernate is bootstrapped over the entity model without a
+ * database connection, so no query is executed. Run with
+ * {@code ./gradlew jmh [-PjmhIncludes=Specification]}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpecificationBenchmark {
+
+  private LocalContainerEntityManagerFactoryBean factoryBean;
+  private EntityManager entityManager;
+  private CriteriaBuilder criteriaBuilder;
+
+  private final UserFilter userFilter = new UserFilter(UUID.randomUUID(), "jane", "example.com",
+      LocalDate.of(1990, 5, 17), UserStatus.ACTIVE, "123",
+      Set.of(UserFunction.COMPANY_MANAGER, UserFunction.CONSUMER));
+  private final ClaimFilter claimFilter = new ClaimFilter();
+  private final InsurancePackageFilter insurancePackageFilter = new InsurancePackageFilter();
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    factoryBean = new LocalContainerEntityManagerFactoryBean();
+    factoryBean.setPackagesToScan("com.coherentsolutions.pot.insuranceservice.model");
+    factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+    factoryBean.setJpaPropertyMap(Map.of(
+        "hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect",
+        "hibernate.boot.allow_jdbc_metadata_access", "false",
+        "hibernate.hbm2ddl.auto", "none"));
+    factoryBean.afterPropertiesSet();
+    EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+    entityManager = entityManagerFactory.createEntityManager();
+    criteriaBuilder = entityManager.getCriteriaBuilder();
+
+    claimFilter.setStatus(ClaimStatus.PENDING);
+    claimFilter.setPlanName("dental");
+    claimFilter.setAmountMin(new BigDecimal("10.00"));
+    claimFilter.setAmountMax(new BigDecimal("1000.00"));
+    claimFilter.setServiceDateFrom(LocalDate.of(2025, 1, 1));
+    claimFilter.setServiceDateTo(LocalDate.of(2025, 12, 31));
+    claimFilter.setUserId(UUID.randomUUID());
+    claimFilter.setCompanyId(UUID.randomUUID());
+
+    insurancePackageFilter.setCompanyId(UUID.randomUUID());
+    insurancePackageFilter.setName("benefits");
+    insurancePackageFilter.setStartDate(LocalDate.of(2025, 1, 1));
+    insurancePackageFilter.setEndDate(LocalDate.of(2025, 12, 31));
+    insurancePackageFilter.setPayrollFrequency(PayrollFrequency.MONTHLY);
+    insurancePackageFilter.setStatus(PackageStatus.ACTIVE);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    entityManager.close();
+    factoryBean.destroy();
+  }
+
+  @Benchmark
+  public TypedQuery<User> userFilters() {
+    return query(User.class, UserSpecification.withFilters(userFilter));
+  }
+
+  @Benchmark
+  public TypedQuery<Claim> claimFilters() {
+    return query(Claim.class, ClaimSpecification.withFilters(claimFilter));
+  }
+
+  @Benchmark
+  public TypedQuery<InsurancePackage> insurancePackageFilters() {
+    return query(InsurancePackage.class,
+        InsurancePackageSpecification.withFilters(insurancePackageFilter));
+  }
+
+  private <EntityT> TypedQuery<EntityT> query(Class<EntityT> type,
+      Specification<EntityT> specification) {
+    CriteriaQuery<EntityT> query = criteriaBuilder.createQuery(type);
+    Root<EntityT> root = query.from(type);
+    query.where(specification.toPredicate(root, query, criteriaBuilder));
+    return entityManager.createQuery(query);
+  }
+}
@@ -0,0 +1,77 @@
+package com.coherentsolutions.pot.insuranceservice.security;
+
+import com.coherentsolutions.pot.insuranceservice.security.authentication.CompanyAuthenticationToken;
+import com.coherentsolutions.pot.insuranceservice.security.service.CompanyAdminSecurityService;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+/**
+ * Compares {@link CompanyAdminSecurityService#canAccessCompanyResource} on a plain
+ * {@link JwtAuthenticationToken}, which scans the authorities and re-reads the company claim on
+ * every call, with the precomputed {@link CompanyAuthenticationToken}. The token carries the
+ * functions of a typical company manager, with the checked one last. Run with
+ * {@code ./gradlew jmh [-PjmhIncludes=CompanyAccessCheck]}; the gc profiler reports allocations
+ * per call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CompanyAccessCheckBenchmark {
+
+  private static final String REQUIRED_ROLE = "ROLE_FUNC_COMPANY_USER_MANAGER";
+
+  @Param({"jwt", "precomputed"})
+  private String token;
+
+  private final CompanyAdminSecurityService securityService = new CompanyAdminSecurityService();
+  private final UUID companyId = UUID.randomUUID();
+
+  @Setup(Level.Trial)
+  public void authenticate() {
+    Jwt jwt = Jwt.withTokenValue("token")
+        .header("alg", "RS256")
+        .claim("user_uuid", UUID.randomUUID().toString())
+        .claim(CompanyAuthenticationToken.COMPANY_ID_CLAIM, companyId.toString())
+        .issuedAt(Instant.now())
+        .expiresAt(Instant.now().plusSeconds(3600))
+        .build();
+    List<GrantedAuthority> authorities = List.of(
+        new SimpleGrantedAuthority("ROLE_FUNC_CONSUMER"),
+        new SimpleGrantedAuthority("ROLE_FUNC_COMPANY_MANAGER"),
+        new SimpleGrantedAuthority("ROLE_FUNC_COMPANY_PLAN_MANAGER"),
+        new SimpleGrantedAuthority("ROLE_FUNC_COMPANY_INSURANCE_PACKAGE_MANAGER"),
+        new SimpleGrantedAuthority(REQUIRED_ROLE));
+    Authentication authentication = "jwt".equals(token)
+        ? new JwtAuthenticationToken(jwt, authorities, jwt.getClaimAsString("user_uuid"))
+        : new CompanyAuthenticationToken(jwt, authorities, jwt.getClaimAsString("user_uuid"));
+    SecurityContextHolder.getContext().setAuthentication(authentication);
+  }
+
+  @TearDown(Level.Trial)
+  public void clear() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Benchmark
+  public boolean canAccessCompanyResource() {
+    return securityService.canAccessCompanyResource(companyId, REQUIRED_ROLE);
+  }
+}
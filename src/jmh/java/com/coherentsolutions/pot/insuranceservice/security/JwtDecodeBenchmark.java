@@ -0,0 +1,126 @@
+package com.coherentsolutions.pot.insuranceservice.security;
+
+import com.coherentsolutions.pot.insuranceservice.config.JwtAuthConverterConfig;
+import com.coherentsolutions.pot.insuranceservice.security.authentication.CompanyAuthenticationToken;
+import com.coherentsolutions.pot.insuranceservice.security.jwt.CachingJwtDecoder;
+import com.coherentsolutions.pot.insuranceservice.security.jwt.JwtCache;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Measures the per-request cost of authenticating a bearer token, i.e. decoding and verifying it
+ * and converting it into the authentication, with the {@link JwtCache} off and on. Tokens are
+ * RS256-signed with a locally generated key and verified against an in-memory JWKS, and requests
+ * cycle through a pool of hot tokens as repeat API clients would. Run with
+ * {@code ./gradlew jmh [-PjmhIncludes=JwtDecode]}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtDecodeBenchmark {
+
+  private static final String AUDIENCE = "https://insurance-service";
+
+  @Param({"off", "on"})
+  private String cache;
+
+  @Param({"100"})
+  private int hotTokens;
+
+  private JwtDecoder decoder;
+  private Converter<Jwt, AbstractAuthenticationToken> converter;
+  private String[] tokens;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() throws JOSEException {
+    RSAKey key = new RSAKeyGenerator(2048).keyID(UUID.randomUUID().toString()).generate();
+    DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+    processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256,
+        new ImmutableJWKSet<>(new JWKSet(key.toPublicJWK()))));
+    JwtDecoder nimbus = new NimbusJwtDecoder(processor);
+    Converter<Jwt, AbstractAuthenticationToken> authConverter = authConverter();
+
+    if ("on".equals(cache)) {
+      JwtCache jwtCache = new JwtCache(10_000, Duration.ofHours(1));
+      decoder = new CachingJwtDecoder(nimbus, jwtCache);
+      converter = jwtCache.cachingConverter(authConverter);
+    } else {
+      decoder = nimbus;
+      converter = authConverter;
+    }
+
+    RSASSASigner signer = new RSASSASigner(key);
+    tokens = new String[hotTokens];
+    for (int i = 0; i < hotTokens; i++) {
+      tokens[i] = sign(signer, key.getKeyID());
+    }
+  }
+
+  @Benchmark
+  public AbstractAuthenticationToken authenticate() {
+    String token = tokens[next];
+    next = (next + 1) % tokens.length;
+    return converter.convert(decoder.decode(token));
+  }
+
+  private static String sign(RSASSASigner signer, String keyId) throws JOSEException {
+    Instant now = Instant.now();
+    JWTClaimsSet claims = new JWTClaimsSet.Builder()
+        .subject("auth0|" + UUID.randomUUID())
+        .audience(AUDIENCE)
+        .issueTime(Date.from(now))
+        .expirationTime(Date.from(now.plus(Duration.ofHours(2))))
+        .claim("user_uuid", UUID.randomUUID().toString())
+        .claim(CompanyAuthenticationToken.COMPANY_ID_CLAIM, UUID.randomUUID().toString())
+        .claim(AUDIENCE + "/roles", List.of("COMPANY_ADMIN"))
+        .claim(AUDIENCE + "/functions", List.of("COMPANY_MANAGER", "COMPANY_USER_MANAGER",
+            "COMPANY_PLAN_MANAGER", "COMPANY_INSURANCE_PACKAGE_MANAGER"))
+        .build();
+    SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(keyId).build(),
+        claims);
+    jwt.sign(signer);
+    return jwt.serialize();
+  }
+
+  private static Converter<Jwt, AbstractAuthenticationToken> authConverter() {
+    JwtAuthConverterConfig config = new JwtAuthConverterConfig();
+    Field audience = ReflectionUtils.findField(JwtAuthConverterConfig.class, "authAudience");
+    ReflectionUtils.makeAccessible(audience);
+    ReflectionUtils.setField(audience, config, AUDIENCE);
+    return config.jwtAuthenticationConverter();
+  }
+}
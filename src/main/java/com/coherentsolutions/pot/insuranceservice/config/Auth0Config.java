@@ -1,6 +1,9 @@
 package com.coherentsolutions.pot.insuranceservice.config;
 
 import com.auth0.client.mgmt.ManagementAPI;
+import com.auth0.net.client.Auth0HttpClient;
+import com.auth0.net.client.DefaultHttpClient;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,7 +13,8 @@ import org.springframework.util.StringUtils;
  * Configuration class for Auth0 Management API integration.
  *
  * <p>This class creates a configured ManagementAPI instance for interacting
- * with Auth0's Management API using properties from Auth0Properties.
+ * with Auth0's Management API using properties from Auth0Properties. Connect and read
+ * timeouts follow {@code auth0.timeout}, and every call is timed as {@code auth0.requests}.
  */
 @Configuration
 public class Auth0Config {
@@ -20,11 +24,12 @@ public class Auth0Config {
    * Only creates the bean if Auth0 domain and client ID are properly configured.
    *
    * @param auth0Properties the Auth0 configuration properties
+   * @param meterRegistry the registry Management API call timings are recorded in
    * @return configured ManagementAPI instance
    */
   @Bean
   @ConditionalOnProperty(name = "auth0.enabled", havingValue = "true", matchIfMissing = false)
-  public ManagementAPI managementAPI(Auth0Properties auth0Properties) {
+  public ManagementAPI managementAPI(Auth0Properties auth0Properties, MeterRegistry meterRegistry) {
     // Check if Auth0 is properly configured
     if (!StringUtils.hasText(auth0Properties.domain()) 
         || !StringUtils.hasText(auth0Properties.apiToken())) {
@@ -32,7 +37,15 @@ public class Auth0Config {
           "Auth0 configuration is incomplete. Please set AUTH0_DOMAIN and AUTH0_API_TOKEN environment variables.");
     }
     
+    // The SDK takes whole seconds; round up so a sub-second setting does not disable the timeout.
+    int timeoutSeconds = (int) Math.ceil(auth0Properties.timeout() / 1000.0);
+    Auth0HttpClient httpClient = new MeteredAuth0HttpClient(DefaultHttpClient.newBuilder()
+        .withConnectTimeout(timeoutSeconds)
+        .withReadTimeout(timeoutSeconds)
+        .build(), meterRegistry);
+
     return ManagementAPI.newBuilder(auth0Properties.domain(), auth0Properties.apiToken())
+        .withHttpClient(httpClient)
         .build();
   }
 } 
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.coherentsolutions.pot.insuranceservice.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caffeine caches for reference data.
+ *
+ * <p>Plan types are seed data and are kept for a long TTL; the plan catalog changes through the
+ * plan API and is evicted on every write. Revision diffs are computed from immutable audit rows
+ * and are only ever bounded by size and TTL, as are responses recorded for idempotency keys, whose
+ * TTL must stay below {@code app.idempotency.ttl}. Evictions are deferred until the surrounding
+ * transaction commits, so a concurrent reader cannot re-populate a cache with rows that are
+ * about to change. All caches record statistics, which actuator publishes as {@code cache.*}
+ * metrics. Setting {@code spring.cache.type=none} falls back to Spring Boot's no-op manager.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+  public static final String PLAN_TYPES = "planTypes";
+  public static final String PLAN_CATALOG = "planCatalog";
+  public static final String REVISION_DIFFS = "revisionDiffs";
+  public static final String IDEMPOTENT_RESPONSES = "idempotentResponses";
+
+  @Bean
+  @ConditionalOnProperty(name = "spring.cache.type", havingValue = "caffeine", matchIfMissing = true)
+  public CacheManager cacheManager(
+      @Value("${app.cache.plan-types.ttl:12h}") Duration planTypesTtl,
+      @Value("${app.cache.plan-types.max-size:100}") long planTypesMaxSize,
+      @Value("${app.cache.plan-catalog.ttl:10m}") Duration planCatalogTtl,
+      @Value("${app.cache.plan-catalog.max-size:500}") long planCatalogMaxSize,
+      @Value("${app.cache.revision-diffs.ttl:24h}") Duration revisionDiffsTtl,
+      @Value("${app.cache.revision-diffs.max-size:10000}") long revisionDiffsMaxSize,
+      @Value("${app.cache.idempotent-responses.ttl:10m}") Duration idempotentResponsesTtl,
+      @Value("${app.cache.idempotent-responses.max-size:10000}") long idempotentResponsesMaxSize) {
+    CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    cacheManager.setAllowNullValues(false);
+    cacheManager.registerCustomCache(PLAN_TYPES, cache(planTypesTtl, planTypesMaxSize));
+    cacheManager.registerCustomCache(PLAN_CATALOG, cache(planCatalogTtl, planCatalogMaxSize));
+    cacheManager.registerCustomCache(REVISION_DIFFS, cache(revisionDiffsTtl, revisionDiffsMaxSize));
+    cacheManager.registerCustomCache(IDEMPOTENT_RESPONSES,
+        cache(idempotentResponsesTtl, idempotentResponsesMaxSize));
+    return new TransactionAwareCacheManagerProxy(cacheManager);
+  }
+
+  private static com.github.benmanes.caffeine.cache.Cache<Object, Object> cache(Duration ttl,
+      long maxSize) {
+    return Caffeine.newBuilder()
+        .expireAfterWrite(ttl)
+        .maximumSize(maxSize)
+        .recordStats()
+        .build();
+  }
+}
@@ -0,0 +1,336 @@
+package com.coherentsolutions.pot.insuranceservice.config;
+
+import com.coherentsolutions.pot.insuranceservice.repository.IdempotencyKeyRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.IdempotencyKeyRepository.IdempotencyRecord;
+import com.coherentsolutions.pot.insuranceservice.repository.IdempotencyKeyRepository.StoredResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Makes client retries of {@code POST} requests to {@code app.idempotency.paths} safe. A request
+ * carrying an {@code Idempotency-Key} header reserves the key for the authenticated principal
+ * before it reaches the controller, and its response is recorded against the key. A retry with
+ * the same key and the same method, path and body gets the recorded response back, including
+ * headers the handler added such as {@code Location} and marked with
+ * {@code Idempotent-Replayed: true}, without the request being executed again.
+ *
+ * <p>Reusing a key for a different request is rejected with 422, and retrying while the first
+ * request is still running with 409. The reservation is a lease of {@code app.idempotency.lease}
+ * that is extended every third of the lease while the request runs, so it only runs out, and the
+ * key can be claimed again, when the instance running the request is gone. Responses with a 5xx
+ * status, and requests that fail with an exception, release the key so the retry runs again.
+ * Recorded responses are kept for
+ * {@code app.idempotency.ttl} in {@code idempotency_keys} and, for fast replays, in the
+ * {@link CacheConfig#IDEMPOTENT_RESPONSES} cache. Outcomes are counted in {@code app.idempotency}
+ * by {@code outcome}.
+ *
+ * <p>Runs after the Spring Security filter chain, so keys of unauthenticated requests are never
+ * stored.
+ */
+@Slf4j
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+  public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+  public static final String REPLAYED = "Idempotent-Replayed";
+  static final int MAX_KEY_LENGTH = 255;
+
+  private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+  private final IdempotencyKeyRepository idempotencyKeyRepository;
+  private final CacheManager cacheManager;
+  private final HandlerExceptionResolver handlerExceptionResolver;
+  private final MeterRegistry meterRegistry;
+  private final List<String> paths;
+  private final Duration ttl;
+  private final Duration lease;
+  private final ScheduledExecutorService leaseRenewer = Executors.newSingleThreadScheduledExecutor(
+      Thread.ofPlatform().name("idempotency-lease").daemon().factory());
+
+  public IdempotencyFilter(IdempotencyKeyRepository idempotencyKeyRepository,
+      CacheManager cacheManager,
+      @Qualifier("handlerExceptionResolver") HandlerExceptionResolver handlerExceptionResolver,
+      MeterRegistry meterRegistry,
+      @Value("${app.idempotency.paths:/v1/claims,/v1/enrollments,/v1/companies/*/users}") List<String> paths,
+      @Value("${app.idempotency.ttl:24h}") Duration ttl,
+      @Value("${app.idempotency.lease:1m}") Duration lease) {
+    this.idempotencyKeyRepository = idempotencyKeyRepository;
+    this.cacheManager = cacheManager;
+    this.handlerExceptionResolver = handlerExceptionResolver;
+    this.meterRegistry = meterRegistry;
+    this.paths = paths;
+    this.ttl = ttl;
+    this.lease = lease;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !HttpMethod.POST.matches(request.getMethod())
+        || request.getHeader(IDEMPOTENCY_KEY) == null
+        || paths.stream().noneMatch(path -> PATH_MATCHER.match(path, request.getRequestURI()));
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain chain) throws ServletException, IOException {
+    String key = request.getHeader(IDEMPOTENCY_KEY);
+    if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+      reject(request, response, HttpStatus.BAD_REQUEST,
+          IDEMPOTENCY_KEY + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+      return;
+    }
+    CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+    String principal = principal();
+    String fingerprint = fingerprint(cachedRequest);
+    CacheKey cacheKey = new CacheKey(principal, key);
+    Cache cache = cacheManager.getCache(CacheConfig.IDEMPOTENT_RESPONSES);
+
+    IdempotencyRecord cached = cache == null ? null : cache.get(cacheKey, IdempotencyRecord.class);
+    if (cached != null) {
+      replayOrReject(request, response, cached, fingerprint);
+      return;
+    }
+
+    // Truncated to what PostgreSQL stores, as the claim time identifies the claim when extending it.
+    Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    if (!idempotencyKeyRepository.claim(principal, key, fingerprint, now, now.plus(lease))) {
+      Optional<IdempotencyRecord> existing = idempotencyKeyRepository.find(principal, key);
+      if (existing.isEmpty()) {
+        // Released by the original request between the claim and the lookup.
+        reject(request, response, HttpStatus.CONFLICT, "A request with this " + IDEMPOTENCY_KEY
+            + " is still in progress");
+        return;
+      }
+      if (existing.get().completed() && cache != null) {
+        cache.put(cacheKey, existing.get());
+      }
+      replayOrReject(request, response, existing.get(), fingerprint);
+      return;
+    }
+
+    Set<String> presetHeaders = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    presetHeaders.addAll(response.getHeaderNames());
+    ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+    ScheduledFuture<?> renewal = renewLease(principal, key, now);
+    try {
+      chain.doFilter(cachedRequest, cachingResponse);
+    } catch (IOException | ServletException | RuntimeException e) {
+      idempotencyKeyRepository.release(principal, key);
+      throw e;
+    } finally {
+      renewal.cancel(false);
+    }
+
+    if (HttpStatus.valueOf(cachingResponse.getStatus()).is5xxServerError()) {
+      idempotencyKeyRepository.release(principal, key);
+    } else {
+      StoredResponse stored = new StoredResponse(cachingResponse.getStatus(),
+          cachingResponse.getContentType(), addedHeaders(cachingResponse, presetHeaders),
+          cachingResponse.getContentAsByteArray());
+      idempotencyKeyRepository.complete(principal, key, stored, Instant.now().plus(ttl));
+      if (cache != null) {
+        cache.put(cacheKey, new IdempotencyRecord(fingerprint, stored));
+      }
+      count("stored");
+    }
+    cachingResponse.copyBodyToResponse();
+  }
+
+  @Override
+  public void destroy() {
+    leaseRenewer.shutdownNow();
+  }
+
+  /**
+   * Extends the lease of the claim made at {@code claimedAt} every third of the lease until the
+   * returned future is cancelled. A failed extension is retried on the next tick.
+   */
+  private ScheduledFuture<?> renewLease(String principal, String key, Instant claimedAt) {
+    long period = Math.max(lease.toMillis() / 3, 1);
+    return leaseRenewer.scheduleAtFixedRate(() -> {
+      try {
+        if (!idempotencyKeyRepository.extend(principal, key, claimedAt, Instant.now().plus(lease))) {
+          log.warn("Lease of an {} was lost while its request was running", IDEMPOTENCY_KEY);
+        }
+      } catch (RuntimeException e) {
+        log.warn("Could not extend the lease of an {}", IDEMPOTENCY_KEY, e);
+      }
+    }, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Headers the handler added, such as {@code Location}. Headers set before the request ran, by
+   * Spring Security for example, are set on the replay again anyway, and the content type and
+   * length are stored and replayed separately.
+   */
+  private static Map<String, List<String>> addedHeaders(HttpServletResponse response,
+      Set<String> presetHeaders) {
+    Map<String, List<String>> headers = new LinkedHashMap<>();
+    for (String name : response.getHeaderNames()) {
+      if (!presetHeaders.contains(name) && !HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)
+          && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+        headers.put(name, List.copyOf(response.getHeaders(name)));
+      }
+    }
+    return headers;
+  }
+
+  private void replayOrReject(HttpServletRequest request, HttpServletResponse response,
+      IdempotencyRecord record, String fingerprint) throws IOException {
+    if (!record.fingerprint().equals(fingerprint)) {
+      count("mismatch");
+      reject(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+          IDEMPOTENCY_KEY + " was already used for a different request");
+      return;
+    }
+    if (!record.completed()) {
+      count("in_progress");
+      reject(request, response, HttpStatus.CONFLICT,
+          "A request with this " + IDEMPOTENCY_KEY + " is still in progress");
+      return;
+    }
+    StoredResponse stored = record.response();
+    response.setStatus(stored.status());
+    if (stored.contentType() != null) {
+      response.setContentType(stored.contentType());
+    }
+    stored.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+    response.setHeader(REPLAYED, "true");
+    response.setContentLength(stored.body().length);
+    response.getOutputStream().write(stored.body());
+    count("replayed");
+  }
+
+  /**
+   * Renders the error through the {@code @ControllerAdvice}, so it has the same body as errors
+   * raised by controllers.
+   */
+  private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+      String reason) {
+    handlerExceptionResolver.resolveException(request, response, null,
+        new ResponseStatusException(status, reason));
+  }
+
+  private void count(String outcome) {
+    meterRegistry.counter("app.idempotency", "outcome", outcome).increment();
+  }
+
+  private static String principal() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    return authentication == null ? "" : authentication.getName();
+  }
+
+  /**
+   * SHA-256 of method, path, query string and body, hex encoded.
+   */
+  private static String fingerprint(CachedBodyRequest request) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      String query = request.getQueryString();
+      String target = query == null ? request.getRequestURI() : request.getRequestURI() + "?" + query;
+      digest.update((request.getMethod() + " " + target + "\n").getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest.digest(request.body));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private record CacheKey(String principal, String key) {
+
+  }
+
+  /**
+   * Reads the whole body up front, so it can be fingerprinted before the controller reads it.
+   */
+  private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+    private final byte[] body;
+
+    CachedBodyRequest(HttpServletRequest request) throws IOException {
+      super(request);
+      this.body = request.getInputStream().readAllBytes();
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+      ByteArrayInputStream in = new ByteArrayInputStream(body);
+      return new ServletInputStream() {
+        @Override
+        public int read() {
+          return in.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+          return in.read(b, off, len);
+        }
+
+        @Override
+        public boolean isFinished() {
+          return in.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+          throw new UnsupportedOperationException("Asynchronous reads are not supported");
+        }
+      };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+      String encoding = getCharacterEncoding();
+      return new BufferedReader(new InputStreamReader(getInputStream(),
+          encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+    }
+  }
+}
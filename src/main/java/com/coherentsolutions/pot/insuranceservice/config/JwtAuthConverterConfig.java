@@ -1,14 +1,17 @@
 package com.coherentsolutions.pot.insuranceservice.config;
 
+import com.coherentsolutions.pot.insuranceservice.security.authentication.CompanyAuthenticationToken;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.jwt.Jwt;
 
 @Configuration
 public class JwtAuthConverterConfig {
@@ -18,14 +21,19 @@ public class JwtAuthConverterConfig {
 
   private static final String PRINCIPAL_CLAIM = "user_uuid";
 
+  /**
+   * Converts a validated JWT into a {@link CompanyAuthenticationToken}, which carries the same
+   * authorities and principal name a {@code JwtAuthenticationConverter} would produce plus the
+   * precomputed data used by company access checks.
+   */
   @Bean
-  public JwtAuthenticationConverter jwtAuthenticationConverter() {
-    JwtAuthenticationConverter jwtConverter = new JwtAuthenticationConverter();
+  public Converter<Jwt, AbstractAuthenticationToken> jwtAuthenticationConverter() {
+    String systemRolesClaim = authAudience + "/roles";
+    String functionalRolesClaim = authAudience + "/functions";
 
-    jwtConverter.setJwtGrantedAuthoritiesConverter(jwt -> {
+    return jwt -> {
       Collection<GrantedAuthority> authorities = new ArrayList<>();
 
-      String systemRolesClaim = authAudience + "/roles";
       List<String> systemRoles = jwt.getClaim(systemRolesClaim);
       if (systemRoles != null) {
         systemRoles.forEach(role ->
@@ -33,7 +41,6 @@ public class JwtAuthConverterConfig {
         );
       }
 
-      String functionalRolesClaim = authAudience + "/functions";
       List<String> functionalRoles = jwt.getClaim(functionalRolesClaim);
       if (functionalRoles != null) {
         functionalRoles.forEach(role ->
@@ -41,12 +48,7 @@ public class JwtAuthConverterConfig {
         );
       }
 
-      return authorities;
-    });
-
-    jwtConverter.setPrincipalClaimName(PRINCIPAL_CLAIM);
-
-    return jwtConverter;
+      return new CompanyAuthenticationToken(jwt, authorities, jwt.getClaimAsString(PRINCIPAL_CLAIM));
+    };
   }
 }
-
@@ -0,0 +1,53 @@
+package com.coherentsolutions.pot.insuranceservice.config;
+
+import com.coherentsolutions.pot.insuranceservice.security.jwt.CachingJwtDecoder;
+import com.coherentsolutions.pot.insuranceservice.security.jwt.JwtCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+/**
+ * Caches verified bearer tokens and their converted authentication, so a client repeating the
+ * same token skips parsing, signature verification and authority mapping. The decoder
+ * auto-configured from {@code spring.security.oauth2.resourceserver.jwt.*} is wrapped rather than
+ * replaced, keeping its issuer and audience validation. Hit and miss counts are published as
+ * {@code cache.*} metrics with {@code cache=jwt}. Disable with {@code
+ * app.security.jwt-cache.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.security.jwt-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class JwtCacheConfig {
+
+  public static final String CACHE_NAME = "jwt";
+
+  @Bean
+  public JwtCache jwtCache(
+      @Value("${app.security.jwt-cache.max-size:10000}") long maxSize,
+      @Value("${app.security.jwt-cache.max-ttl:1h}") Duration maxTtl,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    JwtCache jwtCache = new JwtCache(maxSize, maxTtl);
+    meterRegistry.ifAvailable(registry ->
+        CaffeineCacheMetrics.monitor(registry, jwtCache.getCache(), CACHE_NAME));
+    return jwtCache;
+  }
+
+  @Bean
+  public static BeanPostProcessor cachingJwtDecoderPostProcessor(ObjectProvider<JwtCache> jwtCache) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof JwtDecoder decoder && !(bean instanceof CachingJwtDecoder)) {
+          return new CachingJwtDecoder(decoder, jwtCache.getObject());
+        }
+        return bean;
+      }
+    };
+  }
+}
@@ -0,0 +1,92 @@
+package com.coherentsolutions.pot.insuranceservice.config;
+
+import com.auth0.net.client.Auth0HttpClient;
+import com.auth0.net.client.Auth0HttpRequest;
+import com.auth0.net.client.Auth0HttpResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@link Auth0HttpClient} that records every Management API call in the {@code auth0.requests}
+ * timer, tagged with the HTTP method, the endpoint, the response status and the outcome. Path
+ * segments other than lowercase resource names and the API version, such as user and role ids,
+ * are replaced with {@code {id}} so the endpoint tag stays low-cardinality.
+ */
+public class MeteredAuth0HttpClient implements Auth0HttpClient {
+
+  public static final String METRIC_NAME = "auth0.requests";
+  private static final Pattern RESOURCE_SEGMENT = Pattern.compile("[a-z_-]+|v\\d+");
+
+  private final Auth0HttpClient delegate;
+  private final MeterRegistry meterRegistry;
+
+  public MeteredAuth0HttpClient(Auth0HttpClient delegate, MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public Auth0HttpResponse sendRequest(Auth0HttpRequest request) throws IOException {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    try {
+      Auth0HttpResponse response = delegate.sendRequest(request);
+      stop(sample, request, response, null);
+      return response;
+    } catch (IOException | RuntimeException e) {
+      stop(sample, request, null, e);
+      throw e;
+    }
+  }
+
+  @Override
+  public CompletableFuture<Auth0HttpResponse> sendRequestAsync(Auth0HttpRequest request) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    return delegate.sendRequestAsync(request)
+        .whenComplete((response, error) -> stop(sample, request, response, error));
+  }
+
+  private void stop(Timer.Sample sample, Auth0HttpRequest request, Auth0HttpResponse response,
+      Throwable error) {
+    sample.stop(Timer.builder(METRIC_NAME)
+        .description("Auth0 Management API calls")
+        .tag("method", String.valueOf(request.getMethod()))
+        .tag("endpoint", endpoint(request.getUrl()))
+        .tag("status", response != null ? String.valueOf(response.getCode()) : "CLIENT_ERROR")
+        .tag("outcome", outcome(response, error))
+        .tag("exception", error != null ? error.getClass().getSimpleName() : "none")
+        .register(meterRegistry));
+  }
+
+  private static String outcome(Auth0HttpResponse response, Throwable error) {
+    if (error != null || response == null) {
+      return "ERROR";
+    }
+    int code = response.getCode();
+    if (code >= 500) {
+      return "SERVER_ERROR";
+    }
+    return code >= 400 ? "CLIENT_ERROR" : "SUCCESS";
+  }
+
+  private static String endpoint(String url) {
+    String path;
+    try {
+      path = URI.create(url).getRawPath();
+    } catch (IllegalArgumentException e) {
+      return "UNKNOWN";
+    }
+    if (path == null || path.isEmpty()) {
+      return "/";
+    }
+    return Stream.of(path.split("/"))
+        .filter(segment -> !segment.isEmpty())
+        .map(segment -> RESOURCE_SEGMENT.matcher(segment).matches() ? segment : "{id}")
+        .collect(Collectors.joining("/", "/", ""));
+  }
+}
@@ -0,0 +1,46 @@
+package com.coherentsolutions.pot.insuranceservice.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import java.util.Map;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Metrics customizations on top of Boot's defaults.
+ *
+ * <p>With {@code app.metrics.company-tag.enabled}, {@code http.server.requests} is additionally
+ * tagged with the {@code companyId} path variable ({@code none} for endpoints without one). Every
+ * company multiplies the number of series per endpoint, so this is off by default and meant for
+ * deployments with a bounded number of tenants.
+ */
+@Configuration
+public class MetricsConfig {
+
+  private static final String COMPANY_TAG = "company";
+  private static final String COMPANY_ID_VARIABLE = "companyId";
+
+  @Bean
+  @ConditionalOnProperty(name = "app.metrics.company-tag.enabled", havingValue = "true")
+  public ServerRequestObservationConvention companyTaggingServerRequestObservationConvention() {
+    return new DefaultServerRequestObservationConvention() {
+      @Override
+      public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(company(context));
+      }
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  private static KeyValue company(ServerRequestObservationContext context) {
+    Map<String, String> variables = (Map<String, String>) context.getCarrier()
+        .getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+    String companyId = variables != null ? variables.get(COMPANY_ID_VARIABLE) : null;
+    return KeyValue.of(COMPANY_TAG, companyId != null ? companyId : "none");
+  }
+}
@@ -0,0 +1,28 @@
+package com.coherentsolutions.pot.insuranceservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Provides the pool payroll deduction runs execute on, one company per task. Its size is
+ * {@code app.payroll.deductions.parallelism}, so a run never holds more connections than that,
+ * and the context shuts it down on close. Companies still queued at shutdown are skipped and
+ * picked up by the next run.
+ */
+@Configuration
+public class PayrollDeductionConfig {
+
+  public static final String EXECUTOR = "payrollDeductionExecutor";
+
+  @Bean(EXECUTOR)
+  public ThreadPoolTaskExecutor payrollDeductionExecutor(
+      @Value("${app.payroll.deductions.parallelism:4}") int parallelism) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(parallelism);
+    executor.setMaxPoolSize(parallelism);
+    executor.setThreadNamePrefix("payroll-deductions-");
+    return executor;
+  }
+}
@@ -1,7 +1,15 @@
 package com.coherentsolutions.pot.insuranceservice.config;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
 /**
@@ -13,13 +21,42 @@ import org.springframework.web.client.RestClient;
 @Configuration
 public class RestClientConfig {
 
+  public static final String REST_CLIENT_EXECUTOR = "restClientExecutor";
+
+  /**
+   * Runs the HTTP client's internal tasks on virtual threads when {@code
+   * spring.threads.virtual.enabled} is set. The context closes it on shutdown.
+   *
+   * @return a virtual-thread-per-task executor
+   */
+  @Bean(name = REST_CLIENT_EXECUTOR, destroyMethod = "close")
+  @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+  public ExecutorService restClientExecutor() {
+    return Executors.newVirtualThreadPerTaskExecutor();
+  }
+
   /**
    * Creates a RestClient bean for HTTP operations.
    *
+   * <p>Requests go through the JDK {@link HttpClient}, bounded by the Auth0 timeout for both
+   * connecting and reading. When virtual threads are enabled the client runs its internal tasks on
+   * {@link #restClientExecutor()} as well, so a slow upstream never ties up platform threads. The
+   * client is built from Boot's {@link RestClient.Builder}, so every call is recorded in {@code
+   * http.client.requests}.
+   *
+   * @param restClientBuilder the auto-configured builder carrying the observation setup
+   * @param auth0Properties the Auth0 configuration providing the timeout
+   * @param restClientExecutor the virtual-thread executor, present when virtual threads are enabled
    * @return a configured RestClient instance
    */
   @Bean
-  public RestClient restClient() {
-    return RestClient.builder().build();
+  public RestClient restClient(RestClient.Builder restClientBuilder, Auth0Properties auth0Properties,
+      @Qualifier(REST_CLIENT_EXECUTOR) ObjectProvider<ExecutorService> restClientExecutor) {
+    Duration timeout = Duration.ofMillis(auth0Properties.timeout());
+    HttpClient.Builder httpClient = HttpClient.newBuilder().connectTimeout(timeout);
+    restClientExecutor.ifAvailable(httpClient::executor);
+    JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient.build());
+    requestFactory.setReadTimeout(timeout);
+    return restClientBuilder.requestFactory(requestFactory).build();
   }
 }
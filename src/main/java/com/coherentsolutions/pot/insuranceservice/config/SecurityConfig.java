@@ -1,11 +1,16 @@
 package com.coherentsolutions.pot.insuranceservice.config;
 
+import com.coherentsolutions.pot.insuranceservice.security.authentication.CompanyAuthority;
+import com.coherentsolutions.pot.insuranceservice.security.jwt.JwtCache;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.web.SecurityFilterChain;
 
 @Configuration
@@ -14,8 +19,12 @@ public class SecurityConfig {
   @Bean
   public SecurityFilterChain securityFilterChain(
       HttpSecurity http,
-      JwtAuthenticationConverter jwtAuthConverter
+      Converter<Jwt, AbstractAuthenticationToken> jwtAuthConverter,
+      ObjectProvider<JwtCache> jwtCache
   ) throws Exception {
+    JwtCache cache = jwtCache.getIfAvailable();
+    Converter<Jwt, AbstractAuthenticationToken> authenticationConverter =
+        cache != null ? cache.cachingConverter(jwtAuthConverter) : jwtAuthConverter;
     http
         .csrf(AbstractHttpConfigurer::disable)
         .sessionManagement(sm ->
@@ -25,10 +34,13 @@ public class SecurityConfig {
                 "/swagger-ui/**",
                 "/v3/api-docs/**"
             ).permitAll()
+            .requestMatchers("/actuator/health/**", "/actuator/info").authenticated()
+            .requestMatchers("/actuator/**")
+            .hasAuthority(CompanyAuthority.APPLICATION_ADMIN.getAuthority())
             .anyRequest().authenticated())
         .oauth2ResourceServer(oauth2 -> oauth2
             .jwt(jwt -> jwt
-                .jwtAuthenticationConverter(jwtAuthConverter)
+                .jwtAuthenticationConverter(authenticationConverter)
             )
         );
     return http.build();
@@ -3,6 +3,7 @@ package com.coherentsolutions.pot.insuranceservice.controller;
 import com.coherentsolutions.pot.insuranceservice.dto.company.CompanyDto;
 import com.coherentsolutions.pot.insuranceservice.dto.company.CompanyFilter;
 import com.coherentsolutions.pot.insuranceservice.dto.company.CompanyReactivationRequest;
+import com.coherentsolutions.pot.insuranceservice.dto.pagination.CursorSlice;
 import com.coherentsolutions.pot.insuranceservice.service.CompanyManagementService;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -42,6 +44,17 @@ public class AdminCompanyManagementController {
     return companyManagementService.getCompaniesWithFilters(filter, pageable);
   }
 
+  /**
+   * Retrieves companies filtered by given criteria using keyset pagination. Pass the returned
+   * {@code nextCursor} back to fetch the following window.
+   */
+  @PreAuthorize("hasAuthority('ROLE_APPLICATION_ADMIN')")
+  @GetMapping("/scroll")
+  public CursorSlice<CompanyDto> scrollCompanies(CompanyFilter filter, Pageable pageable,
+      @RequestParam(required = false) String cursor) {
+    return companyManagementService.getCompaniesWithCursor(filter, pageable, cursor);
+  }
+
   /**
    * Creates a new company.
    */
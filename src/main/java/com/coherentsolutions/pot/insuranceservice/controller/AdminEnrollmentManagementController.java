@@ -1,15 +1,20 @@
 package com.coherentsolutions.pot.insuranceservice.controller;
 
 import com.coherentsolutions.pot.insuranceservice.dto.enrollment.EnrollmentDto;
+import com.coherentsolutions.pot.insuranceservice.dto.enrollment.EnrollmentFilter;
+import com.coherentsolutions.pot.insuranceservice.dto.pagination.CursorSlice;
 import com.coherentsolutions.pot.insuranceservice.service.EnrollmentManagementService;
 import jakarta.validation.Valid;
-import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -27,8 +32,15 @@ public class AdminEnrollmentManagementController {
   }
 
   @GetMapping
-  public List<EnrollmentDto> getAllEnrollments() {
-    return enrollmentService.getAll();
+  public Page<EnrollmentDto> getEnrollments(@ParameterObject EnrollmentFilter filter,
+      @ParameterObject Pageable pageable) {
+    return enrollmentService.getEnrollmentsWithFilters(filter, pageable);
+  }
+
+  @GetMapping("/scroll")
+  public CursorSlice<EnrollmentDto> scrollEnrollments(@ParameterObject EnrollmentFilter filter,
+      @ParameterObject Pageable pageable, @RequestParam(required = false) String cursor) {
+    return enrollmentService.getEnrollmentsWithCursor(filter, pageable, cursor);
   }
 
 }
@@ -1,17 +1,27 @@
 package com.coherentsolutions.pot.insuranceservice.controller;
 
+import com.coherentsolutions.pot.insuranceservice.dto.pagination.CursorSlice;
 import com.coherentsolutions.pot.insuranceservice.dto.user.UserDto;
 import com.coherentsolutions.pot.insuranceservice.dto.user.UserFilter;
+import com.coherentsolutions.pot.insuranceservice.enums.UserImportFormat;
 import com.coherentsolutions.pot.insuranceservice.exception.Auth0Exception;
+import com.coherentsolutions.pot.insuranceservice.service.UserImportService;
 import com.coherentsolutions.pot.insuranceservice.service.UserInvitationService;
 import com.coherentsolutions.pot.insuranceservice.service.UserManagementService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -36,23 +46,44 @@ public class AdminUserManagementController {
 
   private final UserManagementService userManagementService;
   private final UserInvitationService userInvitationService;
+  private final UserImportService userImportService;
 
   /**
    * Creates a new user with invitation flow.
    *
    * <p>This endpoint:
-   * 1. Saves the user data to the local database 2. Creates the user in Auth0 with invitation email
-   * 3. The invited user will receive an email to set up their account
+   * 1. Saves the user data to the local database 2. Queues the Auth0 user creation with invitation
+   * email, which is sent in the background 3. The invited user will receive an email to set up
+   * their account
    */
   @PreAuthorize("@companyAdminSecurityService.canAccessCompanyResource(#companyId, 'ROLE_FUNC_COMPANY_USER_MANAGER')")
   @PostMapping
   @ResponseStatus(HttpStatus.CREATED)
   public UserDto createUser(@PathVariable UUID companyId, @Valid @RequestBody UserDto userDto) {
-    try {
-      return userInvitationService.createUserWithInvitation(userDto);
-    } catch (Auth0Exception e) {
-      throw new RuntimeException("Failed to create user with invitation: " + e.getMessage(), e);
-    }
+    return userInvitationService.createUserWithInvitation(userDto);
+  }
+
+  /**
+   * Creates many users of the company from a CSV ({@code text/csv}), JSON array or NDJSON upload
+   * and streams back a result file, in the format of the upload, reporting for every row whether
+   * it was accepted (with the new user id) or rejected (with the reasons). With {@code
+   * sendInvitations} the accepted users are also queued for Auth0 invitation.
+   */
+  @PreAuthorize("@companyAdminSecurityService.canAccessCompanyResource(#companyId, 'ROLE_FUNC_COMPANY_USER_MANAGER')")
+  @PostMapping(value = "/import",
+      consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  public void importUsers(@PathVariable UUID companyId,
+      @RequestParam(defaultValue = "false") boolean sendInvitations,
+      HttpServletRequest request, HttpServletResponse response) throws IOException {
+    UserImportFormat format = UserImportFormat.fromContentType(request.getContentType());
+    response.setContentType(format.getMediaType());
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+        .filename("user-import-results." + format.getExtension())
+        .build()
+        .toString());
+    userImportService.importUsers(companyId, request.getInputStream(), format, sendInvitations,
+        response.getOutputStream());
   }
 
   /**
@@ -70,6 +101,22 @@ public class AdminUserManagementController {
     return userManagementService.getUsersWithFilters(filter, pageable);
   }
 
+  /**
+   * Retrieves users of a specific company using keyset pagination. Pass the returned
+   * {@code nextCursor} back to fetch the following window.
+   */
+  @PreAuthorize("@companyAdminSecurityService.canAccessCompanyResource(#companyId, 'ROLE_FUNC_COMPANY_USER_MANAGER')")
+  @GetMapping("/scroll")
+  public CursorSlice<UserDto> scrollUsersOfCompany(
+      @PathVariable UUID companyId,
+      @ParameterObject UserFilter filter,
+      @ParameterObject Pageable pageable,
+      @RequestParam(required = false) String cursor
+  ) {
+    filter.setCompanyId(companyId);
+    return userManagementService.getUsersWithCursor(filter, pageable, cursor);
+  }
+
   /**
    * Updates an existing user.
    */
@@ -1,14 +1,18 @@
 package com.coherentsolutions.pot.insuranceservice.controller;
 
+import com.coherentsolutions.pot.insuranceservice.dto.audit.RevisionDiff;
+import com.coherentsolutions.pot.insuranceservice.dto.pagination.CursorSlice;
 import com.coherentsolutions.pot.insuranceservice.service.AuditHistoryService;
 import com.coherentsolutions.pot.insuranceservice.service.AuditHistoryService.RevisionMetadata;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -18,13 +22,69 @@ public class AuditController {
 
   private final AuditHistoryService service;
 
+  /**
+   * Lists all revisions of a user, or only those after revision {@code since}.
+   */
   @GetMapping("/users/{id}/history")
-  public ResponseEntity<List<RevisionMetadata>> userHistory(@PathVariable UUID id) {
-    return ResponseEntity.ok(service.userHistory(id));
+  public ResponseEntity<List<RevisionMetadata>> userHistory(@PathVariable UUID id,
+      @RequestParam(required = false) Integer since) {
+    return ResponseEntity.ok(service.userHistory(id, since));
   }
 
+  /**
+   * Retrieves revisions of a user in windows of {@code size}. Pass the returned
+   * {@code nextCursor} back as {@code since} to fetch the following window; polling clients pass
+   * the last revision they have seen.
+   */
+  @GetMapping("/users/{id}/history/scroll")
+  public CursorSlice<RevisionMetadata> scrollUserHistory(@PathVariable UUID id,
+      @RequestParam(required = false) Integer since,
+      @RequestParam(defaultValue = "50") int size) {
+    return service.userHistoryWindow(id, since, size);
+  }
+
+  /**
+   * Retrieves revisions of a user in windows of {@code size} together with the fields each
+   * revision changed; paged like {@link #scrollUserHistory}. Restricted to user managers of the
+   * user's company and application admins, as the values are personal data.
+   */
+  @GetMapping("/users/{id}/history/changes")
+  @PreAuthorize("@companyAdminSecurityService.canAccessUserResource(#id, 'ROLE_FUNC_COMPANY_USER_MANAGER')")
+  public CursorSlice<RevisionDiff> userChanges(@PathVariable UUID id,
+      @RequestParam(required = false) Integer since,
+      @RequestParam(defaultValue = "50") int size) {
+    return service.userChanges(id, since, size);
+  }
+
+  /**
+   * Lists all revisions of a company, or only those after revision {@code since}.
+   */
   @GetMapping("/companies/{id}/history")
-  public ResponseEntity<List<RevisionMetadata>> companyHistory(@PathVariable UUID id) {
-    return ResponseEntity.ok(service.companyHistory(id));
+  public ResponseEntity<List<RevisionMetadata>> companyHistory(@PathVariable UUID id,
+      @RequestParam(required = false) Integer since) {
+    return ResponseEntity.ok(service.companyHistory(id, since));
+  }
+
+  /**
+   * Retrieves revisions of a company in windows of {@code size}, see
+   * {@link #scrollUserHistory}.
+   */
+  @GetMapping("/companies/{id}/history/scroll")
+  public CursorSlice<RevisionMetadata> scrollCompanyHistory(@PathVariable UUID id,
+      @RequestParam(required = false) Integer since,
+      @RequestParam(defaultValue = "50") int size) {
+    return service.companyHistoryWindow(id, since, size);
+  }
+
+  /**
+   * Retrieves revisions of a company together with the fields each revision changed, see
+   * {@link #userChanges}. Restricted to managers of the company and application admins.
+   */
+  @GetMapping("/companies/{id}/history/changes")
+  @PreAuthorize("@companyAdminSecurityService.canAccessCompanyResource(#id, 'ROLE_FUNC_COMPANY_MANAGER')")
+  public CursorSlice<RevisionDiff> companyChanges(@PathVariable UUID id,
+      @RequestParam(required = false) Integer since,
+      @RequestParam(defaultValue = "50") int size) {
+    return service.companyChanges(id, since, size);
   }
 }
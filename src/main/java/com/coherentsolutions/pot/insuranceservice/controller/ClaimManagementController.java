@@ -1,19 +1,31 @@
 package com.coherentsolutions.pot.insuranceservice.controller;
 
+import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimBatchResult;
 import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimDto;
 import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimFilter;
+import com.coherentsolutions.pot.insuranceservice.dto.pagination.CursorSlice;
+import com.coherentsolutions.pot.insuranceservice.enums.ClaimExportFormat;
+import com.coherentsolutions.pot.insuranceservice.service.ClaimBatchService;
 import com.coherentsolutions.pot.insuranceservice.service.ClaimManagementService;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -23,6 +35,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class ClaimManagementController {
 
   private final ClaimManagementService claimManagementService;
+  private final ClaimBatchService claimBatchService;
 
   @GetMapping
   @Operation(
@@ -44,6 +57,48 @@ public class ClaimManagementController {
     return claimManagementService.getClaimsWithFilters(filter, pageable);
   }
 
+  @GetMapping("/scroll")
+  @Operation(
+      summary = "Scroll claims",
+      description = """
+          Retrieve claims with the same filters as `GET /v1/claims` using keyset pagination.
+          
+          **Paging**
+          - `size` - window size
+          - `sort` - a single property of the claim, e.g. `serviceDate,desc`; `id` is always used
+            as a tie-breaker
+          - `cursor` - `nextCursor` of the previous response; omit for the first window
+          """
+  )
+  public CursorSlice<ClaimDto> scrollClaims(@ParameterObject ClaimFilter filter,
+      @ParameterObject Pageable pageable, @RequestParam(required = false) String cursor) {
+    return claimManagementService.getClaimsWithCursor(filter, pageable, cursor);
+  }
+
+  @GetMapping("/export")
+  @Operation(
+      summary = "Export claims",
+      description = """
+          Streams all claims matching the filters of `GET /v1/claims` without paging.
+          
+          **Formats** (`format` parameter)
+          - `ndjson` - one JSON object per line (default)
+          - `csv` - header line followed by one record per claim
+          """
+  )
+  public void exportClaims(@ParameterObject ClaimFilter filter,
+      @RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response)
+      throws IOException {
+    ClaimExportFormat exportFormat = ClaimExportFormat.fromParameter(format);
+    response.setContentType(exportFormat.getMediaType());
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+        .filename("claims." + exportFormat.getExtension())
+        .build()
+        .toString());
+    claimManagementService.exportClaims(filter, exportFormat, response.getOutputStream());
+  }
+
   @PostMapping
   @Operation(
       summary = "Create claim",
@@ -65,4 +120,20 @@ public class ClaimManagementController {
   public ClaimDto createClaim(@Valid @RequestBody ClaimDto request) {
     return claimManagementService.createClaim(request);
   }
+
+  @PostMapping(value = "/batch",
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  @Operation(
+      summary = "Create claims in bulk",
+      description = """
+          Creates many claims from a JSON array (`application/json`) or one claim per line
+          (`application/x-ndjson`). Each claim uses the body of `POST /v1/claims`.
+          
+          Rows are validated and stored independently; the response reports for every row
+          whether it was accepted (with the new claim id) or rejected (with the reasons).
+          """
+  )
+  public ClaimBatchResult createClaims(HttpServletRequest request) throws IOException {
+    return claimBatchService.createClaims(request.getInputStream());
+  }
 }
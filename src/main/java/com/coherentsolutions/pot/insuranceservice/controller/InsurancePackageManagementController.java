@@ -3,6 +3,7 @@ package com.coherentsolutions.pot.insuranceservice.controller;
 
 import com.coherentsolutions.pot.insuranceservice.dto.insurancepackage.InsurancePackageDto;
 import com.coherentsolutions.pot.insuranceservice.dto.insurancepackage.InsurancePackageFilter;
+import com.coherentsolutions.pot.insuranceservice.dto.pagination.CursorSlice;
 import com.coherentsolutions.pot.insuranceservice.service.InsurancePackageManagementService;
 import jakarta.validation.Valid;
 import java.util.UUID;
@@ -18,6 +19,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -36,6 +38,16 @@ public class InsurancePackageManagementController {
     return insurancePackageManagementService.getInsurancePackagesWithFilters(filter, pageable);
   }
 
+  @PreAuthorize("@companyAdminSecurityService.canAccessCompanyResource(#companyId, 'ROLE_FUNC_COMPANY_INSURANCE_PACKAGE_MANAGER')")
+  @GetMapping("/scroll")
+  public CursorSlice<InsurancePackageDto> scrollInsurancePackages(@PathVariable UUID companyId,
+      InsurancePackageFilter filter, Pageable pageable,
+      @RequestParam(required = false) String cursor) {
+    filter.setCompanyId(companyId);
+    return insurancePackageManagementService.getInsurancePackagesWithCursor(filter, pageable,
+        cursor);
+  }
+
   @PreAuthorize("@companyAdminSecurityService.canAccessCompanyResource(#companyId, 'ROLE_FUNC_COMPANY_INSURANCE_PACKAGE_MANAGER')")
   @GetMapping("/{id}")
   public InsurancePackageDto getInsurancePackage(@PathVariable UUID companyId, @PathVariable UUID id) {
@@ -0,0 +1,40 @@
+package com.coherentsolutions.pot.insuranceservice.controller;
+
+import com.coherentsolutions.pot.insuranceservice.dto.payroll.PayrollDeductionRunReport;
+import com.coherentsolutions.pot.insuranceservice.service.PayrollDeductionService;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/v1")
+public class PayrollDeductionController {
+
+  private final PayrollDeductionService payrollDeductionService;
+
+  /**
+   * Starts a calculation for every company without waiting for it. The run report is logged when
+   * it finishes, and each company's outcome is recorded in {@code payroll_deduction_runs}.
+   */
+  @PreAuthorize("hasAuthority('ROLE_APPLICATION_ADMIN')")
+  @PostMapping("/payroll-deductions/calculations")
+  @ResponseStatus(HttpStatus.ACCEPTED)
+  public void calculateAll(@RequestParam(defaultValue = "false") boolean incremental) {
+    payrollDeductionService.calculateAll(incremental);
+  }
+
+  @PreAuthorize("@companyAdminSecurityService.canAccessCompanyResource(#companyId, 'ROLE_FUNC_COMPANY_MANAGER')")
+  @PostMapping("/companies/{companyId}/payroll-deductions/calculations")
+  public PayrollDeductionRunReport calculateForCompany(@PathVariable UUID companyId,
+      @RequestParam(defaultValue = "false") boolean incremental) {
+    return payrollDeductionService.calculateForCompany(companyId, incremental);
+  }
+}
@@ -0,0 +1,11 @@
+package com.coherentsolutions.pot.insuranceservice.dto.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A single field changed by a revision, with its JSON value before and after. {@code from} is
+ * {@code null} when the field did not exist or was unset in the previous revision.
+ */
+public record FieldChange(String field, JsonNode from, JsonNode to) {
+
+}
@@ -0,0 +1,14 @@
+package com.coherentsolutions.pot.insuranceservice.dto.audit;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One revision of an audited entity together with the fields it changed compared to the
+ * previous revision. The first revision lists every field that was set.
+ */
+public record RevisionDiff(Integer revision, Instant at, UUID actor, String type,
+                           List<FieldChange> changes) {
+
+}
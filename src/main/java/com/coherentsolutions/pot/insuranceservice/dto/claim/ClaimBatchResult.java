@@ -0,0 +1,14 @@
+package com.coherentsolutions.pot.insuranceservice.dto.claim;
+
+import java.util.List;
+
+/**
+ * Per-row report of a batch claim upload.
+ */
+public record ClaimBatchResult(int accepted, int rejected, List<ClaimBatchRowResult> rows) {
+
+  public static ClaimBatchResult of(List<ClaimBatchRowResult> rows) {
+    int accepted = (int) rows.stream().filter(ClaimBatchRowResult::accepted).count();
+    return new ClaimBatchResult(accepted, rows.size() - accepted, rows);
+  }
+}
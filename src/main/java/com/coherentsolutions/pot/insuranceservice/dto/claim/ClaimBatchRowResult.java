@@ -0,0 +1,19 @@
+package com.coherentsolutions.pot.insuranceservice.dto.claim;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of one row of a batch claim upload. {@code row} is the 1-based position of the claim in
+ * the request; {@code claimId} is set for accepted rows, {@code errors} for rejected ones.
+ */
+public record ClaimBatchRowResult(int row, boolean accepted, UUID claimId, List<String> errors) {
+
+  public static ClaimBatchRowResult accepted(int row, UUID claimId) {
+    return new ClaimBatchRowResult(row, true, claimId, List.of());
+  }
+
+  public static ClaimBatchRowResult rejected(int row, List<String> errors) {
+    return new ClaimBatchRowResult(row, false, null, errors);
+  }
+}
@@ -0,0 +1,26 @@
+package com.coherentsolutions.pot.insuranceservice.dto.claim;
+
+import com.coherentsolutions.pot.insuranceservice.enums.ClaimStatus;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Flat projection of a claim written by the export endpoint, read straight from the result set
+ * without building {@link com.coherentsolutions.pot.insuranceservice.model.Claim} entities.
+ */
+public record ClaimExportRow(
+    UUID id,
+    String claimNumber,
+    ClaimStatus status,
+    LocalDate serviceDate,
+    BigDecimal amount,
+    UUID userId,
+    String firstName,
+    String lastName,
+    UUID companyId,
+    UUID planId,
+    String planName
+) {
+
+}
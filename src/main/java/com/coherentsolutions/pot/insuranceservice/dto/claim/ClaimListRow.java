@@ -0,0 +1,27 @@
+package com.coherentsolutions.pot.insuranceservice.dto.claim;
+
+import com.coherentsolutions.pot.insuranceservice.enums.ClaimStatus;
+import com.coherentsolutions.pot.insuranceservice.model.Phone;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Columns of a claim, its consumer and its plan needed to render one {@link ClaimDto} in a claim
+ * listing, selected in a single statement instead of navigating the lazy associations.
+ */
+public record ClaimListRow(
+    UUID id,
+    String claimNumber,
+    ClaimStatus status,
+    LocalDate serviceDate,
+    BigDecimal amount,
+    UUID userId,
+    String firstName,
+    String lastName,
+    List<Phone> phoneData,
+    String planName
+) {
+
+}
@@ -0,0 +1,20 @@
+package com.coherentsolutions.pot.insuranceservice.dto.enrollment;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class EnrollmentFilter {
+
+  private UUID companyId;
+  private UUID userId;
+  private UUID planId;
+  private Integer planTypeId;
+  private BigDecimal electionAmountMin;
+  private BigDecimal electionAmountMax;
+}
@@ -0,0 +1,20 @@
+package com.coherentsolutions.pot.insuranceservice.dto.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One window of a keyset-paginated listing. Unlike {@link org.springframework.data.domain.Page}
+ * it carries no total count; {@code nextCursor} is passed back to fetch the following window and
+ * is {@code null} on the last one.
+ */
+public record CursorSlice<T>(List<T> content, String nextCursor, boolean hasNext) {
+
+  /**
+   * Converts the content of this slice keeping the continuation token.
+   */
+  public <R> CursorSlice<R> map(Function<? super T, ? extends R> mapper) {
+    List<R> mapped = content.stream().<R>map(mapper).toList();
+    return new CursorSlice<>(mapped, nextCursor, hasNext);
+  }
+}
@@ -0,0 +1,20 @@
+package com.coherentsolutions.pot.insuranceservice.dto.payroll;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Amount withheld from one paycheck for an enrollment under an insurance package.
+ */
+public record PayrollDeduction(
+    UUID enrollmentId,
+    UUID insurancePackageId,
+    UUID companyId,
+    UUID userId,
+    int periodNumber,
+    LocalDate payDate,
+    BigDecimal amount
+) {
+
+}
@@ -0,0 +1,24 @@
+package com.coherentsolutions.pot.insuranceservice.dto.payroll;
+
+import com.coherentsolutions.pot.insuranceservice.enums.PayrollFrequency;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * An active enrollment paired with an insurance package of the user's company that offers the
+ * enrolled plan: everything needed to compute its deduction schedule.
+ */
+public record PayrollDeductionInput(
+    UUID enrollmentId,
+    UUID insurancePackageId,
+    UUID companyId,
+    UUID userId,
+    BigDecimal electionAmount,
+    BigDecimal planContribution,
+    PayrollFrequency payrollFrequency,
+    LocalDate startDate,
+    LocalDate endDate
+) {
+
+}
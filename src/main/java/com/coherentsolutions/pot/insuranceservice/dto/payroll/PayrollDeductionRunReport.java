@@ -0,0 +1,37 @@
+package com.coherentsolutions.pot.insuranceservice.dto.payroll;
+
+import java.time.Duration;
+
+/**
+ * Summary of a deduction calculation over one or more companies.
+ */
+public record PayrollDeductionRunReport(
+    boolean incremental,
+    int companiesProcessed,
+    int companiesFailed,
+    int enrollmentsProcessed,
+    int deductionsWritten,
+    Duration elapsed
+) {
+
+  public static PayrollDeductionRunReport empty(boolean incremental) {
+    return new PayrollDeductionRunReport(incremental, 0, 0, 0, 0, Duration.ZERO);
+  }
+
+  /**
+   * Adds the counters of {@code other}, keeping the elapsed time of this report.
+   */
+  public PayrollDeductionRunReport plus(PayrollDeductionRunReport other) {
+    return new PayrollDeductionRunReport(incremental,
+        companiesProcessed + other.companiesProcessed,
+        companiesFailed + other.companiesFailed,
+        enrollmentsProcessed + other.enrollmentsProcessed,
+        deductionsWritten + other.deductionsWritten,
+        elapsed);
+  }
+
+  public PayrollDeductionRunReport withElapsed(Duration elapsed) {
+    return new PayrollDeductionRunReport(incremental, companiesProcessed, companiesFailed,
+        enrollmentsProcessed, deductionsWritten, elapsed);
+  }
+}
@@ -0,0 +1,13 @@
+package com.coherentsolutions.pot.insuranceservice.dto.user;
+
+/**
+ * Totals of a bulk user upload; the per-row outcomes are streamed to the result file.
+ */
+public record UserImportResult(int accepted, int rejected) {
+
+  public UserImportResult plus(UserImportRowResult row) {
+    return row.accepted()
+        ? new UserImportResult(accepted + 1, rejected)
+        : new UserImportResult(accepted, rejected + 1);
+  }
+}
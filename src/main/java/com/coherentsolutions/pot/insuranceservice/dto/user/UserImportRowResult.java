@@ -0,0 +1,19 @@
+package com.coherentsolutions.pot.insuranceservice.dto.user;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of one row of a bulk user upload. {@code row} is the 1-based position of the user in
+ * the upload; {@code userId} is set for accepted rows, {@code errors} for rejected ones.
+ */
+public record UserImportRowResult(int row, boolean accepted, UUID userId, List<String> errors) {
+
+  public static UserImportRowResult accepted(int row, UUID userId) {
+    return new UserImportRowResult(row, true, userId, List.of());
+  }
+
+  public static UserImportRowResult rejected(int row, List<String> errors) {
+    return new UserImportRowResult(row, false, null, errors);
+  }
+}
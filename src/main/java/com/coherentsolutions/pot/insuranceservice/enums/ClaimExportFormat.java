@@ -0,0 +1,30 @@
+package com.coherentsolutions.pot.insuranceservice.enums;
+
+import java.util.Locale;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+@Getter
+@RequiredArgsConstructor
+public enum ClaimExportFormat {
+  NDJSON("application/x-ndjson", "ndjson"),
+  CSV("text/csv", "csv");
+
+  private final String mediaType;
+  private final String extension;
+
+  /**
+   * Resolves the {@code format} request parameter case-insensitively, rejecting unknown values
+   * with 400 BAD REQUEST.
+   */
+  public static ClaimExportFormat fromParameter(String value) {
+    try {
+      return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+          "Unsupported export format: " + value);
+    }
+  }
+}
@@ -0,0 +1,7 @@
+package com.coherentsolutions.pot.insuranceservice.enums;
+
+public enum ProvisioningStatus {
+  PENDING,
+  COMPLETED,
+  FAILED
+}
@@ -0,0 +1,30 @@
+package com.coherentsolutions.pot.insuranceservice.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+/**
+ * Format of a bulk user upload. The row-level result file is written in the same format.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum UserImportFormat {
+  NDJSON("application/x-ndjson", "ndjson"),
+  CSV("text/csv", "csv");
+
+  private final String mediaType;
+  private final String extension;
+
+  /**
+   * Resolves the format from the request content type: {@code text/csv} is read as CSV, JSON
+   * arrays and NDJSON both as {@link #NDJSON}.
+   */
+  public static UserImportFormat fromContentType(String contentType) {
+    if (contentType != null
+        && MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(CSV.mediaType))) {
+      return CSV;
+    }
+    return NDJSON;
+  }
+}
@@ -1,6 +1,7 @@
 package com.coherentsolutions.pot.insuranceservice.mapper;
 
 import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimDto;
+import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimListRow;
 import com.coherentsolutions.pot.insuranceservice.dto.consumer.ConsumerDto;
 import com.coherentsolutions.pot.insuranceservice.model.Claim;
 import com.coherentsolutions.pot.insuranceservice.model.Phone;
@@ -29,17 +30,34 @@ public interface ClaimMapper {
     if (user == null) {
       return null;
     }
-    Phone primary = null;
-    List<Phone> phones = user.getPhoneData();
-    if (phones != null && !phones.isEmpty()) {
-      primary = phones.getFirst();
-    }
     return ConsumerDto.builder()
         .userId(user.getId())
         .firstName(user.getFirstName())
         .lastName(user.getLastName())
-        .phone(primary)
+        .phone(primaryPhone(user.getPhoneData()))
+        .build();
+  }
+
+  default ClaimDto fromListRow(ClaimListRow row) {
+    ConsumerDto consumer = row.userId() == null ? null : ConsumerDto.builder()
+        .userId(row.userId())
+        .firstName(row.firstName())
+        .lastName(row.lastName())
+        .phone(primaryPhone(row.phoneData()))
         .build();
+    return ClaimDto.builder()
+        .id(row.id())
+        .claimNumber(row.claimNumber())
+        .status(row.status())
+        .serviceDate(row.serviceDate())
+        .amount(row.amount())
+        .consumer(consumer)
+        .planName(row.planName())
+        .build();
+  }
+
+  private static Phone primaryPhone(List<Phone> phones) {
+    return phones != null && !phones.isEmpty() ? phones.getFirst() : null;
   }
 
   @AfterMapping
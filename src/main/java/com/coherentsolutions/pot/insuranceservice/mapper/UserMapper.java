@@ -24,7 +24,7 @@ public interface UserMapper {
 
   /**
    * Converts a {@link UserDto} to a {@link User} entity. Ignores id, createdAt, updatedAt,
-   * createdBy, updatedBy fields and sets status to ACTIVE.
+   * createdBy, updatedBy and auth0UserId fields and sets status to ACTIVE.
    */
   @Mapping(source = "companyId", target = "company.id")
   @Mapping(target = "id", ignore = true)
@@ -33,6 +33,7 @@ public interface UserMapper {
   @Mapping(target = "createdBy", ignore = true)
   @Mapping(target = "updatedBy", ignore = true)
   @Mapping(target = "status", constant = "ACTIVE")
+  @Mapping(target = "auth0UserId", ignore = true)
   User toEntity(UserDto dto);
 
   /**
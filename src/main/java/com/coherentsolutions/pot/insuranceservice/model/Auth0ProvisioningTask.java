@@ -0,0 +1,66 @@
+package com.coherentsolutions.pot.insuranceservice.model;
+
+import com.coherentsolutions.pot.insuranceservice.enums.ProvisioningStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+/**
+ * Outbox row asking the provisioning dispatcher to create the Auth0 account of a local user. It
+ * is written in the same transaction as the user, so either both exist or neither does. The row
+ * only references the user; the invitation is built from the {@code users} row when the task is
+ * dispatched, so no personal data is copied into the outbox.
+ */
+@Entity
+@Table(name = "auth0_provisioning_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+public class Auth0ProvisioningTask {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  private UUID id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "user_id", nullable = false, updatable = false)
+  private User user;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false, length = 20)
+  private ProvisioningStatus status = ProvisioningStatus.PENDING;
+
+  @Column(name = "attempts", nullable = false)
+  private int attempts;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  private Instant nextAttemptAt = Instant.now();
+
+  @Column(name = "last_error", length = 1000)
+  private String lastError;
+
+  @CreationTimestamp
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private Instant createdAt;
+
+  @Column(name = "processed_at")
+  private Instant processedAt;
+
+  public Auth0ProvisioningTask(User user) {
+    this.user = user;
+  }
+}
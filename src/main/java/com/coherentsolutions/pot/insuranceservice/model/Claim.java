@@ -20,9 +20,13 @@ import java.util.UUID;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.envers.AuditTable;
+import org.hibernate.envers.Audited;
 
 @Entity
 @Table(name = "claims")
+@Audited
+@AuditTable(value = "claims_aud")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -32,7 +36,12 @@ public class Claim extends Auditable {
   @GeneratedValue(strategy = GenerationType.UUID)
   private UUID id;
 
-  @Column(name = "claim_number", nullable = false, length = 100, unique = true)
+  /**
+   * Unique only together with {@code service_date}: claims are partitioned by service month, and
+   * PostgreSQL can only enforce uniqueness that includes the partition key. Generated numbers
+   * mirror the claim id, so they do not repeat across months either.
+   */
+  @Column(name = "claim_number", nullable = false, length = 100)
   private String claimNumber;
 
   @Enumerated(EnumType.STRING)
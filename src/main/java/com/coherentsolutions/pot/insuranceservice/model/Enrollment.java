@@ -3,6 +3,7 @@ package com.coherentsolutions.pot.insuranceservice.model;
 import com.coherentsolutions.pot.insuranceservice.model.audit.AuditableSoftDelete;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -15,12 +16,16 @@ import java.util.UUID;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.envers.AuditTable;
+import org.hibernate.envers.Audited;
 
 @Entity
 @NoArgsConstructor
 @Getter
 @Setter
 @Table(name = "enrollments")
+@Audited
+@AuditTable(value = "enrollments_aud")
 public class Enrollment extends AuditableSoftDelete {
 
   @Id
@@ -28,12 +33,12 @@ public class Enrollment extends AuditableSoftDelete {
   private UUID id;
 
   @NotNull
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "user_id", nullable = false)
   private User user;
 
   @NotNull
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "plan_id", nullable = false)
   private Plan plan;
 
@@ -24,6 +24,9 @@ import java.util.UUID;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.envers.AuditJoinTable;
+import org.hibernate.envers.AuditTable;
+import org.hibernate.envers.Audited;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity
@@ -32,6 +35,8 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @Getter
 @Setter
 @Table(name = "insurance_packages")
+@Audited
+@AuditTable(value = "insurance_packages_aud")
 public class InsurancePackage extends Auditable {
 
   @NotNull
@@ -70,6 +75,7 @@ public class InsurancePackage extends Auditable {
       joinColumns = @JoinColumn(name = "insurance_package_id"),
       inverseJoinColumns = @JoinColumn(name = "plan_id")
   )
+  @AuditJoinTable(name = "insurance_package_plans_aud")
   private List<Plan> plans;
   
   public void calculateStatus(boolean allowReactivation) {
@@ -1,6 +1,7 @@
 package com.coherentsolutions.pot.insuranceservice.model;
 
 import com.coherentsolutions.pot.insuranceservice.model.audit.AuditableSoftDelete;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -16,14 +17,24 @@ import java.util.UUID;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
+import org.hibernate.envers.AuditTable;
+import org.hibernate.envers.Audited;
+import org.hibernate.envers.NotAudited;
+import org.hibernate.envers.RelationTargetAuditMode;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "plan")
 @NoArgsConstructor
 @Getter
 @Setter
 @SQLDelete(sql = "UPDATE plans SET deleted_at = now() WHERE id = ?")
 @Table(name = "plans")
+@Audited
+@AuditTable(value = "plans_aud")
 public class Plan extends AuditableSoftDelete {
 
   @Id
@@ -35,12 +46,14 @@ public class Plan extends AuditableSoftDelete {
 
   @OneToOne
   @JoinColumn(name = "plan_type_id", nullable = false)
+  @Audited(targetAuditMode = RelationTargetAuditMode.NOT_AUDITED)
   private PlanType type;
 
   @Column(name = "contribution", nullable = false)
   private BigDecimal contribution;
 
   @ManyToMany(mappedBy = "plans")
+  @NotAudited
   private List<InsurancePackage> insurancePackages;
 
 }
@@ -2,6 +2,7 @@ package com.coherentsolutions.pot.insuranceservice.model;
 
 
 import com.coherentsolutions.pot.insuranceservice.model.audit.CreationAudit;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -11,8 +12,12 @@ import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "planType")
 @Table(name = "plan_types")
 @Getter
 @Setter
@@ -86,6 +86,10 @@ public class User extends Auditable {
   @Enumerated(EnumType.STRING)
   private UserStatus status;
 
+  @NotAudited
+  @Column(name = "auth0_user_id")
+  private String auth0UserId;
+
   @OneToMany(mappedBy = "user", cascade = CascadeType.ALL,
       orphanRemoval = true, fetch = FetchType.EAGER)
   @NotAudited
@@ -0,0 +1,37 @@
+package com.coherentsolutions.pot.insuranceservice.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Storage for exported audit partitions. Keys are relative paths such as
+ * {@code 2025_01/users_aud.csv.gz}; the content is written and read as opaque bytes. The default
+ * implementation is {@link LocalAuditArchiveStore}; an object store can be plugged in by
+ * declaring another implementation as {@code @Primary} bean.
+ */
+public interface AuditArchiveStore {
+
+  /**
+   * Stores the bytes {@code content} writes under {@code key}, replacing any previous object. The
+   * object only becomes visible once {@code content} returned normally, so a failed export never
+   * leaves a partial object behind.
+   */
+  void write(String key, Content content) throws IOException;
+
+  /**
+   * Opens {@code key} for reading.
+   */
+  InputStream open(String key) throws IOException;
+
+  boolean exists(String key);
+
+  /**
+   * Producer of an object's bytes.
+   */
+  @FunctionalInterface
+  interface Content {
+
+    void writeTo(OutputStream out) throws IOException;
+  }
+}
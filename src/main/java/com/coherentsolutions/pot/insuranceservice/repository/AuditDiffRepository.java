@@ -0,0 +1,162 @@
+package com.coherentsolutions.pot.insuranceservice.repository;
+
+import com.coherentsolutions.pot.insuranceservice.dto.audit.FieldChange;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Computes field-level diffs between consecutive revisions of an audited entity in the database.
+ * Each {@code *_aud} row is turned into a jsonb object and compared with the previous revision
+ * through {@code LAG}, so only changed fields leave PostgreSQL. jsonb columns such as
+ * {@code address_data} and {@code phone_data} are compared structurally.
+ *
+ * <p>Rows of archived months are passed in as read from the archive export and turned back into
+ * rows of the audit table with {@code jsonb_populate_recordset}, so they are diffed exactly like
+ * attached ones without being written to the database.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditDiffRepository {
+
+  /**
+   * Audit tables that diffs can be computed for.
+   */
+  public enum AuditTable {
+    USERS("users_aud"),
+    COMPANIES("companies_aud");
+
+    private final String tableName;
+
+    AuditTable(String tableName) {
+      this.tableName = tableName;
+    }
+
+    public String tableName() {
+      return tableName;
+    }
+  }
+
+  // Bookkeeping columns are left out: the revision itself carries the actor and timestamp. The SSN
+  // is left out as well, so past SSNs can never be read back through the diff endpoints.
+  private static final String STATE = """
+      to_jsonb(a) - ARRAY ['id', 'rev', 'revtype', 'created_by', 'created_at', 'updated_by', 'updated_at', 'ssn']""";
+
+  // The baseline row is the last revision before :from, so LAG has a predecessor for :from itself.
+  // DEL revisions (revtype 2) carry no data and therefore report no field changes.
+  private static final String SELECT_CHANGES = """
+      WITH source AS (SELECT * FROM %2$s WHERE id = :id
+                      UNION ALL
+                      SELECT * FROM jsonb_populate_recordset(NULL::%2$s, CAST(:archived AS JSONB))),
+           history AS (SELECT a.rev,
+                              a.revtype,
+                              %1$s AS state,
+                              LAG(%1$s) OVER (ORDER BY a.rev) AS previous
+                       FROM source a
+                       WHERE a.rev BETWEEN COALESCE((SELECT MAX(p.rev) FROM source p WHERE p.rev < :from), :from)
+                           AND :to)
+      SELECT h.rev, f.key AS field, h.previous -> f.key AS old_value, h.state -> f.key AS new_value
+      FROM history h
+               CROSS JOIN LATERAL jsonb_object_keys(h.state) AS f(key)
+      WHERE h.rev >= :from
+        AND h.revtype <> 2
+        AND (h.state -> f.key) IS DISTINCT FROM (h.previous -> f.key)
+      ORDER BY h.rev, f.key
+      """;
+
+  private static final String SELECT_JSON_COLUMNS = """
+      SELECT column_name FROM information_schema.columns
+      WHERE table_schema = current_schema() AND table_name = :table AND data_type IN ('json', 'jsonb')
+      """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+  private final Map<AuditTable, Set<String>> jsonColumns = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the changed fields of every revision of entity {@code id} between {@code fromRevision}
+   * and {@code toRevision} inclusive, keyed by revision. Revisions without changes are absent.
+   * {@code archivedRows} are the entity's rows from archived months, as column name to value;
+   * they must include the revision before {@code fromRevision} when that one is archived.
+   */
+  public Map<Integer, List<FieldChange>> findChanges(AuditTable table, UUID id, int fromRevision,
+      int toRevision, List<Map<String, String>> archivedRows) {
+    MapSqlParameterSource params = new MapSqlParameterSource()
+        .addValue("id", id)
+        .addValue("from", fromRevision)
+        .addValue("to", toRevision)
+        .addValue("archived", toJson(table, archivedRows));
+    Map<Integer, List<FieldChange>> changes = new HashMap<>();
+    jdbcTemplate.query(SELECT_CHANGES.formatted(STATE, table.tableName), params,
+        (RowCallbackHandler) rs -> changes.computeIfAbsent(rs.getInt("rev"), rev -> new ArrayList<>())
+            .add(mapRow(rs)));
+    return changes;
+  }
+
+  /**
+   * Writes archived rows as a JSON array for {@code jsonb_populate_recordset}. Values stay strings,
+   * which PostgreSQL parses with the column's type, except in json columns, whose values would
+   * otherwise be kept as JSON strings.
+   */
+  private String toJson(AuditTable table, List<Map<String, String>> rows) {
+    Set<String> json = jsonColumns.computeIfAbsent(table, t -> Set.copyOf(jdbcTemplate.queryForList(
+        SELECT_JSON_COLUMNS, new MapSqlParameterSource("table", t.tableName), String.class)));
+    ArrayNode array = objectMapper.createArrayNode();
+    for (Map<String, String> row : rows) {
+      ObjectNode node = array.addObject();
+      row.forEach((column, value) -> node.set(column, value == null ? null
+          : json.contains(column) ? readJson(value) : TextNode.valueOf(value)));
+    }
+    return array.toString();
+  }
+
+  private FieldChange mapRow(ResultSet rs) throws SQLException {
+    return new FieldChange(toCamelCase(rs.getString("field")), readJson(rs.getString("old_value")),
+        readJson(rs.getString("new_value")));
+  }
+
+  private JsonNode readJson(String json) {
+    if (json == null) {
+      return null;
+    }
+    try {
+      return objectMapper.readTree(json);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Audit value is not valid JSON", e);
+    }
+  }
+
+  /**
+   * Maps a column name such as {@code phone_data} to the entity property {@code phoneData}.
+   */
+  private static String toCamelCase(String column) {
+    StringBuilder property = new StringBuilder(column.length());
+    boolean upper = false;
+    for (char c : column.toCharArray()) {
+      if (c == '_') {
+        upper = true;
+      } else {
+        property.append(upper ? Character.toUpperCase(c) : c);
+        upper = false;
+      }
+    }
+    return property.toString();
+  }
+}
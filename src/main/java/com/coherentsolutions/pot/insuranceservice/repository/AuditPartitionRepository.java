@@ -0,0 +1,186 @@
+package com.coherentsolutions.pot.insuranceservice.repository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Manages the monthly partitions of {@code revinfo} and the Envers {@code *_aud} tables. All of
+ * them are range-partitioned by {@code rev}; a sealed month has one partition per table, named
+ * {@code <table>_pYYYY_MM}, covering the same revision range, and is recorded in
+ * {@code audit_segments}. Revisions of months not sealed yet live in {@code <table>_default}.
+ *
+ * <p>Partitions are exported as CSV with a header row through {@code COPY}, so an archived month
+ * can still be read after columns were added to its table. Before a month is dropped, the ids of
+ * the entities it holds are recorded in {@code audit_segment_entities}, so a history read only
+ * opens the exports of the months that changed the entity.
+ */
+@Repository
+public class AuditPartitionRepository {
+
+  /**
+   * Partitioned tables, {@code revinfo} first. Must match the tables in
+   * {@code seal_audit_partition}.
+   */
+  public static final List<String> TABLES = List.of("revinfo", "users_aud", "companies_aud",
+      "claims_aud", "plans_aud", "enrollments_aud", "insurance_packages_aud",
+      "insurance_package_plans_aud");
+
+  /**
+   * Partitioned tables keyed by a single entity {@code id}, whose entities are recorded per
+   * archived month.
+   */
+  public static final List<String> ENTITY_TABLES = List.of("users_aud", "companies_aud",
+      "claims_aud", "plans_aud", "enrollments_aud", "insurance_packages_aud");
+
+  private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+  private static final String SELECT_SEGMENTS = """
+      SELECT month, from_rev, to_rev, archived_at
+      FROM audit_segments s
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public AuditPartitionRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Moves the revisions of {@code month} into their own partitions unless that month is sealed
+   * already or has no revisions. Returns whether a segment was created.
+   */
+  public boolean sealMonth(YearMonth month) {
+    return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT seal_audit_partition(?)",
+        Boolean.class, month.atDay(1)));
+  }
+
+  /**
+   * Returns the month of the oldest revision that is not part of a sealed month yet.
+   */
+  public Optional<YearMonth> findOldestUnsealedMonth() {
+    Date month = jdbcTemplate.queryForObject(
+        "SELECT date_trunc('month', to_timestamp(MIN(revtstmp) / 1000.0))::DATE FROM revinfo_default",
+        Date.class);
+    return Optional.ofNullable(month).map(m -> YearMonth.from(m.toLocalDate()));
+  }
+
+  /**
+   * Lists all sealed months, oldest first.
+   */
+  public List<AuditSegment> findSegments() {
+    return jdbcTemplate.query(SELECT_SEGMENTS + " ORDER BY month", AuditPartitionRepository::mapSegment);
+  }
+
+  /**
+   * Lists the archived months that hold revisions of entity {@code id} in {@code table}, oldest
+   * first.
+   */
+  public List<AuditSegment> findArchivedSegments(String table, UUID id) {
+    return jdbcTemplate.query(SELECT_SEGMENTS + """
+        WHERE archived_at IS NOT NULL
+          AND EXISTS (SELECT 1 FROM audit_segment_entities e
+                      WHERE e.table_name = ? AND e.entity_id = ? AND e.month = s.month)
+        ORDER BY month
+        """, AuditPartitionRepository::mapSegment, table, id);
+  }
+
+  /**
+   * Takes the transaction-scoped lock that {@code seal_audit_partition} also takes, so segments
+   * are never sealed and dropped concurrently.
+   */
+  private void lock() {
+    jdbcTemplate.execute("SELECT pg_advisory_xact_lock(hashtext('audit_partitions'))");
+  }
+
+  /**
+   * Writes the partition of {@code table} for {@code month} to {@code out} and returns the number
+   * of rows written.
+   */
+  public long exportPartition(String table, YearMonth month, OutputStream out) {
+    String copy = "COPY " + partitionName(table, month) + " TO STDOUT (FORMAT csv, HEADER)";
+    return copy(connection -> connection.getCopyAPI().copyOut(copy, out));
+  }
+
+  /**
+   * Records the entities of {@code month}, then detaches and drops the partitions of every table
+   * for it and marks the segment as archived.
+   */
+  @Transactional
+  public void dropPartitions(YearMonth month) {
+    lock();
+    for (String table : ENTITY_TABLES) {
+      jdbcTemplate.update("INSERT INTO audit_segment_entities (table_name, entity_id, month) SELECT DISTINCT ?, id, ?"
+          + " FROM " + partitionName(table, month) + " ON CONFLICT DO NOTHING", table, month.atDay(1));
+    }
+    for (String table : TABLES) {
+      String partition = partitionName(table, month);
+      jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+      jdbcTemplate.execute("DROP TABLE " + partition);
+    }
+    jdbcTemplate.update("""
+        UPDATE audit_segments SET archived_at = now() WHERE month = ?
+        """, month.atDay(1));
+  }
+
+  /**
+   * Name of the partition of {@code table} holding the revisions of {@code month}.
+   */
+  public static String partitionName(String table, YearMonth month) {
+    return table + "_p" + month.format(PARTITION_SUFFIX);
+  }
+
+  private long copy(CopyOperation operation) {
+    return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+      try {
+        return operation.run(connection.unwrap(PGConnection.class));
+      } catch (IOException e) {
+        throw new SQLException("COPY stream failed", e);
+      }
+    });
+  }
+
+  private static AuditSegment mapSegment(ResultSet rs, int rowNum) throws SQLException {
+    return new AuditSegment(
+        YearMonth.from(rs.getDate("month").toLocalDate()),
+        rs.getInt("from_rev"),
+        rs.getInt("to_rev"),
+        toInstant(rs.getTimestamp("archived_at")));
+  }
+
+  private static Instant toInstant(Timestamp timestamp) {
+    return timestamp == null ? null : timestamp.toInstant();
+  }
+
+  @FunctionalInterface
+  private interface CopyOperation {
+
+    long run(PGConnection connection) throws SQLException, IOException;
+  }
+
+  /**
+   * A sealed month: its partitions cover revisions {@code fromRevision} inclusive to
+   * {@code toRevision} exclusive. {@code archivedAt} is set once the month was exported and
+   * dropped.
+   */
+  public record AuditSegment(YearMonth month, int fromRevision, int toRevision, Instant archivedAt) {
+
+    public boolean attached() {
+      return archivedAt == null;
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package com.coherentsolutions.pot.insuranceservice.repository;
+
+import com.coherentsolutions.pot.insuranceservice.enums.ProvisioningStatus;
+import com.coherentsolutions.pot.insuranceservice.model.Auth0ProvisioningTask;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface Auth0ProvisioningTaskRepository extends JpaRepository<Auth0ProvisioningTask, UUID> {
+
+  /**
+   * Locks up to {@code limit} due PENDING tasks, skipping rows already locked by another
+   * dispatcher, so concurrent instances never claim the same task.
+   */
+  @Query(value = """
+      SELECT * FROM auth0_provisioning_outbox
+      WHERE status = 'PENDING' AND next_attempt_at <= :now
+      ORDER BY next_attempt_at
+      LIMIT :limit
+      FOR UPDATE SKIP LOCKED
+      """, nativeQuery = true)
+  List<Auth0ProvisioningTask> lockDueTasks(@Param("now") Instant now, @Param("limit") int limit);
+
+  /**
+   * Stores the outcome of an attempt. {@code processedAt} is set once the task reaches a final
+   * status.
+   */
+  @Modifying
+  @Query("""
+      UPDATE Auth0ProvisioningTask t
+      SET t.status = :status, t.nextAttemptAt = :nextAttemptAt, t.lastError = :error,
+          t.processedAt = :processedAt
+      WHERE t.id = :id
+      """)
+  void recordOutcome(@Param("id") UUID id, @Param("status") ProvisioningStatus status,
+      @Param("nextAttemptAt") Instant nextAttemptAt, @Param("error") String error,
+      @Param("processedAt") Instant processedAt);
+
+  /**
+   * Deletes tasks that reached a final status before {@code cutoff}, returning how many were
+   * removed. Only final statuses set {@code processedAt}, so pending tasks are never touched.
+   */
+  @Modifying
+  @Query("DELETE FROM Auth0ProvisioningTask t WHERE t.processedAt < :cutoff")
+  int deleteProcessedBefore(@Param("cutoff") Instant cutoff);
+
+  long countByStatus(ProvisioningStatus status);
+}
@@ -0,0 +1,116 @@
+package com.coherentsolutions.pot.insuranceservice.repository;
+
+import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimExportRow;
+import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimFilter;
+import com.coherentsolutions.pot.insuranceservice.enums.ClaimStatus;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+
+/**
+ * Reads claims for export through a forward-only JDBC cursor. The filter semantics mirror
+ * {@link ClaimSpecification#withFilters(ClaimFilter)}.
+ *
+ * <p>PostgreSQL only honours the fetch size inside a transaction, so callers must run
+ * {@link #streamClaims} within one; otherwise the driver buffers the whole result.
+ */
+@Repository
+public class ClaimExportRepository {
+
+  private static final String SELECT = """
+      SELECT c.id, c.claim_number, c.status, c.service_date, c.amount,
+             u.id AS user_id, u.first_name, u.last_name, u.company_id,
+             p.id AS plan_id, p.name AS plan_name
+      FROM claims c
+               JOIN users u ON u.id = c.user_id
+               JOIN plans p ON p.id = c.plan_id
+      WHERE 1 = 1
+      """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  public ClaimExportRepository(DataSource dataSource,
+      @Value("${app.claims.export.fetch-size:1000}") int fetchSize) {
+    JdbcTemplate template = new JdbcTemplate(dataSource);
+    template.setFetchSize(fetchSize);
+    this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+  }
+
+  /**
+   * Passes every claim matching {@code filter} to {@code sink} as it is read from the cursor.
+   */
+  public void streamClaims(ClaimFilter filter, Consumer<ClaimExportRow> sink) {
+    StringBuilder sql = new StringBuilder(SELECT);
+    MapSqlParameterSource params = new MapSqlParameterSource();
+    if (filter.getClaimId() != null) {
+      sql.append(" AND c.id = :claimId");
+      params.addValue("claimId", filter.getClaimId());
+    } else {
+      appendFilters(filter, sql, params);
+    }
+    jdbcTemplate.query(sql.toString(), params,
+        (RowCallbackHandler) rs -> sink.accept(mapRow(rs)));
+  }
+
+  private static void appendFilters(ClaimFilter filter, StringBuilder sql,
+      MapSqlParameterSource params) {
+    if (filter.getStatus() != null) {
+      sql.append(" AND c.status = :status");
+      params.addValue("status", filter.getStatus().name());
+    }
+    if (filter.getServiceDateFrom() != null) {
+      sql.append(" AND c.service_date >= :serviceDateFrom");
+      params.addValue("serviceDateFrom", filter.getServiceDateFrom());
+    }
+    if (filter.getServiceDateTo() != null) {
+      sql.append(" AND c.service_date <= :serviceDateTo");
+      params.addValue("serviceDateTo", filter.getServiceDateTo());
+    }
+    if (filter.getAmountMin() != null) {
+      sql.append(" AND c.amount >= :amountMin");
+      params.addValue("amountMin", filter.getAmountMin());
+    }
+    if (filter.getAmountMax() != null) {
+      sql.append(" AND c.amount <= :amountMax");
+      params.addValue("amountMax", filter.getAmountMax());
+    }
+    if (filter.getUserId() != null) {
+      sql.append(" AND c.user_id = :userId");
+      params.addValue("userId", filter.getUserId());
+    }
+    if (filter.getCompanyId() != null) {
+      sql.append(" AND u.company_id = :companyId");
+      params.addValue("companyId", filter.getCompanyId());
+    }
+    if (StringUtils.hasText(filter.getPlanName())) {
+      sql.append(" AND LOWER(p.name) LIKE :planName");
+      // Backslash is PostgreSQL's default LIKE escape, matching SpecificationBuilder.
+      params.addValue("planName", SpecificationBuilder.containsPattern(filter.getPlanName()));
+    }
+  }
+
+  private static ClaimExportRow mapRow(ResultSet rs) throws SQLException {
+    return new ClaimExportRow(
+        rs.getObject("id", UUID.class),
+        rs.getString("claim_number"),
+        ClaimStatus.valueOf(rs.getString("status")),
+        rs.getObject("service_date", LocalDate.class),
+        rs.getBigDecimal("amount"),
+        rs.getObject("user_id", UUID.class),
+        rs.getString("first_name"),
+        rs.getString("last_name"),
+        rs.getObject("company_id", UUID.class),
+        rs.getObject("plan_id", UUID.class),
+        rs.getString("plan_name"));
+  }
+}
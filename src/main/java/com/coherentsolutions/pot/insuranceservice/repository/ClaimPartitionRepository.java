@@ -0,0 +1,88 @@
+package com.coherentsolutions.pot.insuranceservice.repository;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Manages the monthly range partitions of {@code claims}. Partitions are named
+ * {@code claims_pYYYY_MM} and cover one calendar month of {@code service_date}; rows outside every
+ * partition land in {@code claims_default}.
+ */
+@Repository
+public class ClaimPartitionRepository {
+
+  /**
+   * Schema that detached partitions are moved to. They stay queryable there but are no longer
+   * part of {@code claims}.
+   */
+  public static final String ARCHIVE_SCHEMA = "claims_archive";
+
+  private static final Pattern PARTITION_NAME = Pattern.compile("claims_p(\\d{4})_(\\d{2})");
+  private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+  private static final String SELECT_PARTITIONS = """
+      SELECT c.relname
+      FROM pg_inherits i
+               JOIN pg_class c ON c.oid = i.inhrelid
+      WHERE i.inhparent = 'claims'::regclass
+      ORDER BY c.relname
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public ClaimPartitionRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Creates the partition for {@code month} unless it exists, moving any of its rows out of the
+   * default partition. Returns whether a partition was created.
+   */
+  public boolean createMonthlyPartition(YearMonth month) {
+    return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT create_claims_partition(?)",
+        Boolean.class, month.atDay(1)));
+  }
+
+  /**
+   * Lists the months that currently have a partition attached to {@code claims}, oldest first.
+   */
+  public List<YearMonth> findPartitionMonths() {
+    return jdbcTemplate.queryForList(SELECT_PARTITIONS, String.class).stream()
+        .map(ClaimPartitionRepository::toMonth)
+        .filter(Objects::nonNull)
+        .toList();
+  }
+
+  /**
+   * Detaches the partition for {@code month} from {@code claims} and moves it to
+   * {@link #ARCHIVE_SCHEMA}.
+   */
+  @Transactional
+  public void archivePartition(YearMonth month) {
+    String partition = partitionName(month);
+    jdbcTemplate.execute("ALTER TABLE claims DETACH PARTITION " + partition);
+    jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA " + ARCHIVE_SCHEMA);
+  }
+
+  /**
+   * Name of the partition holding claims with a {@code service_date} in {@code month}.
+   */
+  public static String partitionName(YearMonth month) {
+    return "claims_p" + month.format(PARTITION_SUFFIX);
+  }
+
+  private static YearMonth toMonth(String partition) {
+    Matcher matcher = PARTITION_NAME.matcher(partition);
+    if (!matcher.matches()) {
+      return null;
+    }
+    return YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+  }
+}
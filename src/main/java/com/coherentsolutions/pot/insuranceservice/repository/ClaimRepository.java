@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 public interface ClaimRepository
-    extends JpaRepository<Claim, UUID>, JpaSpecificationExecutor<Claim> {
+    extends JpaRepository<Claim, UUID>, JpaSpecificationExecutor<Claim>,
+    ClaimRepositoryCustom {
 
 }
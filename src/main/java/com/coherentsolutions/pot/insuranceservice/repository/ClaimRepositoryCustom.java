@@ -0,0 +1,26 @@
+package com.coherentsolutions.pot.insuranceservice.repository;
+
+import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimListRow;
+import com.coherentsolutions.pot.insuranceservice.model.Claim;
+import com.coherentsolutions.pot.insuranceservice.repository.KeysetPagination.KeyedRow;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface ClaimRepositoryCustom {
+
+  /**
+   * Pages claims matching {@code spec} as {@link ClaimListRow} projections: one select for the
+   * content and, when the page is not the last one, one count.
+   */
+  Page<ClaimListRow> findListRows(Specification<Claim> spec, Pageable pageable);
+
+  /**
+   * Reads a keyset window of {@link ClaimListRow} projections in the same single select, together
+   * with the value of the first sort property of each row. Serves as the
+   * {@link KeysetPagination.WindowLoader} of claim scrolling.
+   */
+  List<KeyedRow<ClaimListRow>> findListRowWindow(Specification<Claim> spec, Sort sort, int limit);
+}
@@ -0,0 +1,128 @@
+package com.coherentsolutions.pot.insuranceservice.repository;
+
+import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimListRow;
+import com.coherentsolutions.pot.insuranceservice.enums.ClaimStatus;
+import com.coherentsolutions.pot.insuranceservice.model.Claim;
+import com.coherentsolutions.pot.insuranceservice.model.Phone;
+import com.coherentsolutions.pot.insuranceservice.model.Plan;
+import com.coherentsolutions.pot.insuranceservice.model.User;
+import com.coherentsolutions.pot.insuranceservice.repository.KeysetPagination.KeyedRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+class ClaimRepositoryCustomImpl implements ClaimRepositoryCustom {
+
+  private static final String KEY = "keysetKey";
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public Page<ClaimListRow> findListRows(Specification<Claim> spec, Pageable pageable) {
+    TypedQuery<Tuple> typedQuery = listQuery(spec, pageable.getSort(), null);
+    if (pageable.isPaged()) {
+      typedQuery.setFirstResult((int) pageable.getOffset());
+      typedQuery.setMaxResults(pageable.getPageSize());
+    }
+    List<ClaimListRow> content = typedQuery.getResultList().stream()
+        .map(ClaimRepositoryCustomImpl::toListRow)
+        .toList();
+    return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+  }
+
+  @Override
+  public List<KeyedRow<ClaimListRow>> findListRowWindow(Specification<Claim> spec, Sort sort,
+      int limit) {
+    String keyProperty = sort.iterator().next().getProperty();
+    return listQuery(spec, sort, keyProperty)
+        .setMaxResults(limit)
+        .getResultList().stream()
+        .map(tuple -> {
+          ClaimListRow row = toListRow(tuple);
+          return new KeyedRow<>(row, tuple.get(KEY), row.id());
+        })
+        .toList();
+  }
+
+  /**
+   * Selects the list row columns in one statement, plus the value of {@code keyProperty} aliased
+   * as {@link #KEY} when it is given.
+   */
+  private TypedQuery<Tuple> listQuery(Specification<Claim> spec, Sort sort, String keyProperty) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = cb.createTupleQuery();
+    Root<Claim> root = query.from(Claim.class);
+    // Joined up front so that the filter specification reuses them via SpecificationBuilder.joinOnce
+    Join<Claim, User> consumer = root.join("consumer", JoinType.LEFT);
+    Join<Claim, Plan> plan = root.join("plan", JoinType.LEFT);
+    // Applied before the key is selected, so the keyset predicate validates the sort property.
+    Predicate predicate = spec.toPredicate(root, query, cb);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    List<Selection<?>> columns = new ArrayList<>(List.of(
+        root.get("id"),
+        root.get("claimNumber"),
+        root.get("status"),
+        root.get("serviceDate"),
+        root.get("amount"),
+        consumer.get("id"),
+        consumer.get("firstName"),
+        consumer.get("lastName"),
+        consumer.get("phoneData"),
+        plan.get("name")));
+    if (keyProperty != null) {
+      columns.add(root.get(keyProperty).alias(KEY));
+    }
+    query.multiselect(columns);
+    query.orderBy(QueryUtils.toOrders(sort, root, cb));
+    return entityManager.createQuery(query);
+  }
+
+  private long count(Specification<Claim> spec) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Long> query = cb.createQuery(Long.class);
+    Root<Claim> root = query.from(Claim.class);
+    query.select(cb.count(root));
+    Predicate predicate = spec.toPredicate(root, query, cb);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    return entityManager.createQuery(query).getSingleResult();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ClaimListRow toListRow(Tuple tuple) {
+    return new ClaimListRow(
+        tuple.get(0, UUID.class),
+        tuple.get(1, String.class),
+        tuple.get(2, ClaimStatus.class),
+        tuple.get(3, LocalDate.class),
+        tuple.get(4, BigDecimal.class),
+        tuple.get(5, UUID.class),
+        tuple.get(6, String.class),
+        tuple.get(7, String.class),
+        (List<Phone>) tuple.get(8),
+        tuple.get(9, String.class));
+  }
+}
@@ -1,14 +1,15 @@
 package com.coherentsolutions.pot.insuranceservice.repository;
 
+import static com.coherentsolutions.pot.insuranceservice.repository.SpecificationBuilder.containsIgnoreCase;
 import static com.coherentsolutions.pot.insuranceservice.repository.SpecificationBuilder.equal;
 import static com.coherentsolutions.pot.insuranceservice.repository.SpecificationBuilder.greaterThanOrEqualTo;
+import static com.coherentsolutions.pot.insuranceservice.repository.SpecificationBuilder.joinOnce;
 import static com.coherentsolutions.pot.insuranceservice.repository.SpecificationBuilder.lessThanOrEqualTo;
 
 import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimFilter;
 import com.coherentsolutions.pot.insuranceservice.model.Claim;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 import java.util.Objects;
 import org.springframework.data.jpa.domain.Specification;
 
@@ -24,12 +25,11 @@ public class ClaimSpecification {
     specs.add(lessThanOrEqualTo(filter.getServiceDateTo(), r -> r.get("serviceDate")));
     specs.add(greaterThanOrEqualTo(filter.getAmountMin(), r -> r.get("amount")));
     specs.add(lessThanOrEqualTo(filter.getAmountMax(), r -> r.get("amount")));
-    specs.add(equal(filter.getUserId(), r -> r.join("consumer").get("id")));
-    specs.add(equal(filter.getCompanyId(), r -> r.join("consumer").join("company").get("id")));
+    specs.add(equal(filter.getUserId(), r -> joinOnce(r, "consumer").get("id")));
+    specs.add(equal(filter.getCompanyId(), r -> joinOnce(r, "consumer").get("company").get("id")));
     if (filter.getPlanName() != null && !filter.getPlanName().isBlank()) {
-      final String pattern = "%" + filter.getPlanName().toLowerCase(Locale.ROOT) + "%";
       specs.add((root, query, cb) ->
-          cb.like(cb.lower(root.join("plan").get("name")), pattern));
+          containsIgnoreCase(cb, joinOnce(root, "plan").get("name"), filter.getPlanName()));
     }
     return specs.stream()
         .filter(Objects::nonNull)
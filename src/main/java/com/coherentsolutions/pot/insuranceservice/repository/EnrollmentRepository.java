@@ -1,15 +1,16 @@
 package com.coherentsolutions.pot.insuranceservice.repository;
 
 import com.coherentsolutions.pot.insuranceservice.model.Enrollment;
-import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Repository;
 import org.springframework.web.server.ResponseStatusException;
 
 @Repository
-public interface EnrollmentRepository extends JpaRepository<Enrollment, UUID> {
+public interface EnrollmentRepository extends JpaRepository<Enrollment, UUID>,
+    JpaSpecificationExecutor<Enrollment> {
 
   default Enrollment findByIdOrThrow(UUID id) {
     return findById(id).orElseThrow(() ->
@@ -17,6 +18,4 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, UUID> {
   }
 
   boolean existsByUserIdAndPlanIdAndDeletedAtIsNull(UUID userId, UUID planId);
-
-  List<Enrollment> findAllByDeletedAtIsNull();
-}
\ No newline at end of file
+}
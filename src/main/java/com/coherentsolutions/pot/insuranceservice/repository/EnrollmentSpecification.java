@@ -0,0 +1,41 @@
+package com.coherentsolutions.pot.insuranceservice.repository;
+
+import static com.coherentsolutions.pot.insuranceservice.repository.SpecificationBuilder.equal;
+import static com.coherentsolutions.pot.insuranceservice.repository.SpecificationBuilder.greaterThanOrEqualTo;
+import static com.coherentsolutions.pot.insuranceservice.repository.SpecificationBuilder.joinOnce;
+import static com.coherentsolutions.pot.insuranceservice.repository.SpecificationBuilder.lessThanOrEqualTo;
+
+import com.coherentsolutions.pot.insuranceservice.dto.enrollment.EnrollmentFilter;
+import com.coherentsolutions.pot.insuranceservice.model.Enrollment;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Provides JPA Specifications to filter active {@link Enrollment} entities based on the criteria
+ * encapsulated in {@link EnrollmentFilter}.
+ */
+public class EnrollmentSpecification {
+
+  /**
+   * Creates a Specification for filtering active {@link Enrollment} entities. User and plan ids are
+   * compared on the enrollment's own foreign keys; {@code users} and {@code plans} are only joined
+   * for the company and plan type filters.
+   */
+  public static Specification<Enrollment> withFilters(EnrollmentFilter filter) {
+    List<Specification<Enrollment>> specs = new ArrayList<>();
+    specs.add((root, query, cb) -> cb.isNull(root.get("deletedAt")));
+    specs.add(equal(filter.getUserId(), r -> r.get("user").get("id")));
+    specs.add(equal(filter.getPlanId(), r -> r.get("plan").get("id")));
+    specs.add(equal(filter.getCompanyId(), r -> joinOnce(r, "user").get("company").get("id")));
+    specs.add(equal(filter.getPlanTypeId(), r -> joinOnce(r, "plan").get("type").get("id")));
+    specs.add(greaterThanOrEqualTo(filter.getElectionAmountMin(), r -> r.get("electionAmount")));
+    specs.add(lessThanOrEqualTo(filter.getElectionAmountMax(), r -> r.get("electionAmount")));
+
+    return specs.stream()
+        .filter(Objects::nonNull)
+        .reduce(Specification::and)
+        .orElse((root, query, cb) -> cb.conjunction());
+  }
+}
@@ -0,0 +1,185 @@
+package com.coherentsolutions.pot.insuranceservice.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Stores {@code Idempotency-Key} reservations and the responses recorded for them. Keys are
+ * scoped to the authenticated principal. A key is first claimed as {@code IN_PROGRESS} until
+ * {@code expires_at}, which serves as a lease that the running request keeps extending, and then
+ * completed with the response and a new expiry. Only rows whose lease ran out, because the
+ * instance running the request died, or whose response expired can be claimed again; they are
+ * removed by {@link #deleteExpired}.
+ */
+@Repository
+public class IdempotencyKeyRepository {
+
+  // Only an expired row can be taken over, so a live reservation or response is never replaced.
+  private static final String CLAIM = """
+      INSERT INTO idempotency_keys (principal, idempotency_key, fingerprint, status, created_at, expires_at)
+      VALUES (:principal, :key, :fingerprint, 'IN_PROGRESS', :now, :leaseUntil)
+      ON CONFLICT (principal, idempotency_key) DO UPDATE
+          SET fingerprint           = EXCLUDED.fingerprint,
+              status                = 'IN_PROGRESS',
+              response_status       = NULL,
+              response_content_type = NULL,
+              response_headers      = NULL,
+              response_body         = NULL,
+              created_at            = EXCLUDED.created_at,
+              expires_at            = EXCLUDED.expires_at
+      WHERE idempotency_keys.expires_at <= EXCLUDED.created_at
+      """;
+
+  private static final String SELECT = """
+      SELECT fingerprint, status, response_status, response_content_type, response_headers, response_body
+      FROM idempotency_keys
+      WHERE principal = :principal AND idempotency_key = :key
+      """;
+
+  private static final String COMPLETE = """
+      UPDATE idempotency_keys
+      SET status = 'COMPLETED', response_status = :status, response_content_type = :contentType,
+          response_headers = CAST(:headers AS JSONB), response_body = :body, expires_at = :expiresAt
+      WHERE principal = :principal AND idempotency_key = :key AND status = 'IN_PROGRESS'
+      """;
+
+  // created_at identifies the claim, so a lease taken over after it ran out is never extended.
+  private static final String EXTEND = """
+      UPDATE idempotency_keys
+      SET expires_at = :leaseUntil
+      WHERE principal = :principal AND idempotency_key = :key AND status = 'IN_PROGRESS' AND created_at = :claimedAt
+      """;
+
+  private static final String RELEASE = """
+      DELETE FROM idempotency_keys
+      WHERE principal = :principal AND idempotency_key = :key AND status = 'IN_PROGRESS'
+      """;
+
+  private static final TypeReference<Map<String, List<String>>> HEADERS = new TypeReference<>() {
+  };
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+
+  public IdempotencyKeyRepository(NamedParameterJdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Reserves {@code key} for a request with {@code fingerprint} until {@code leaseUntil}. Returns
+   * {@code false} when the key is held by an unexpired reservation or response. {@code now}
+   * identifies the claim in {@link #extend} and must not be more precise than microseconds.
+   */
+  public boolean claim(String principal, String key, String fingerprint, Instant now,
+      Instant leaseUntil) {
+    return jdbcTemplate.update(CLAIM, keyParams(principal, key)
+        .addValue("fingerprint", fingerprint)
+        .addValue("now", Timestamp.from(now))
+        .addValue("leaseUntil", Timestamp.from(leaseUntil))) == 1;
+  }
+
+  public Optional<IdempotencyRecord> find(String principal, String key) {
+    return jdbcTemplate.query(SELECT, keyParams(principal, key), this::mapRecord)
+        .stream()
+        .findFirst();
+  }
+
+  /**
+   * Records the response of a reserved key and keeps it until {@code expiresAt}.
+   */
+  public void complete(String principal, String key, StoredResponse response, Instant expiresAt) {
+    jdbcTemplate.update(COMPLETE, keyParams(principal, key)
+        .addValue("status", response.status())
+        .addValue("contentType", response.contentType())
+        .addValue("headers", toJson(response.headers()))
+        .addValue("body", response.body())
+        .addValue("expiresAt", Timestamp.from(expiresAt)));
+  }
+
+  /**
+   * Moves the lease of the claim of {@code key} made at {@code claimedAt} to {@code leaseUntil}.
+   * Returns {@code false} when the key is no longer held by that claim.
+   */
+  public boolean extend(String principal, String key, Instant claimedAt, Instant leaseUntil) {
+    return jdbcTemplate.update(EXTEND, keyParams(principal, key)
+        .addValue("claimedAt", Timestamp.from(claimedAt))
+        .addValue("leaseUntil", Timestamp.from(leaseUntil))) == 1;
+  }
+
+  /**
+   * Drops the reservation of {@code key}, so a retry executes the request again.
+   */
+  public void release(String principal, String key) {
+    jdbcTemplate.update(RELEASE, keyParams(principal, key));
+  }
+
+  /**
+   * Deletes all keys that expired before {@code now} and returns how many there were.
+   */
+  public int deleteExpired(Instant now) {
+    return jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at < :now",
+        new MapSqlParameterSource("now", Timestamp.from(now)));
+  }
+
+  private IdempotencyRecord mapRecord(ResultSet rs, int rowNum) throws SQLException {
+    StoredResponse response = null;
+    if ("COMPLETED".equals(rs.getString("status"))) {
+      response = new StoredResponse(rs.getInt("response_status"), rs.getString("response_content_type"),
+          readHeaders(rs.getString("response_headers")), rs.getBytes("response_body"));
+    }
+    return new IdempotencyRecord(rs.getString("fingerprint"), response);
+  }
+
+  private String toJson(Map<String, List<String>> headers) {
+    try {
+      return objectMapper.writeValueAsString(headers);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Could not serialize response headers", e);
+    }
+  }
+
+  private Map<String, List<String>> readHeaders(String json) {
+    try {
+      return objectMapper.readValue(json, HEADERS);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Recorded response headers are not valid JSON", e);
+    }
+  }
+
+  private static MapSqlParameterSource keyParams(String principal, String key) {
+    return new MapSqlParameterSource()
+        .addValue("principal", principal)
+        .addValue("key", key);
+  }
+
+  /**
+   * A key as stored: the request fingerprint and, once the request completed, its response.
+   */
+  public record IdempotencyRecord(String fingerprint, StoredResponse response) {
+
+    public boolean completed() {
+      return response != null;
+    }
+  }
+
+  /**
+   * A recorded response, replayed verbatim for retries. {@code headers} are those the handler
+   * added, such as {@code Location}, by name.
+   */
+  public record StoredResponse(int status, String contentType, Map<String, List<String>> headers,
+      byte[] body) {
+
+  }
+}
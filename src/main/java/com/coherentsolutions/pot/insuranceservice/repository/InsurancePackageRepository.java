@@ -1,13 +1,30 @@
 package com.coherentsolutions.pot.insuranceservice.repository;
 
 import com.coherentsolutions.pot.insuranceservice.model.InsurancePackage;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
 import java.util.UUID;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+/**
+ * Repository for {@link InsurancePackage}. The native bulk updates declare the tables they touch
+ * so Hibernate only invalidates matching second-level cache regions instead of all of them.
+ *
+ * <p>Envers does not see native statements, so each status batch writes its own revision and one
+ * {@code insurance_packages_aud} row per changed package in the same statement, as
+ * {@link UserImportRepository} does for imported users. Transitions therefore appear in the audit
+ * history like any other modification.
+ */
 @Repository
 public interface InsurancePackageRepository extends JpaRepository<InsurancePackage, UUID>,
     JpaSpecificationExecutor<InsurancePackage> {
@@ -16,4 +33,74 @@ public interface InsurancePackageRepository extends JpaRepository<InsurancePacka
     return findById(id).orElseThrow(
         () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Insurance package not found"));
   }
+
+  /**
+   * Moves at most {@code limit} INITIALIZED packages whose window contains {@code today} to ACTIVE
+   * and audits them under one revision of {@code actor}, returning the number of packages moved.
+   * Runs in its own transaction so every chunk is committed independently.
+   */
+  @Transactional
+  @Modifying
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "insurance_packages"))
+  @Query(value = """
+      WITH changed AS (
+          UPDATE insurance_packages
+          SET status = 'ACTIVE', updated_at = CURRENT_TIMESTAMP, updated_by = :actor
+          WHERE id IN (
+              SELECT id FROM insurance_packages
+              WHERE status = 'INITIALIZED'
+                AND start_date <= :today
+                AND end_date >= :today
+              LIMIT :limit)
+          RETURNING *),
+      revision AS (
+          INSERT INTO revinfo (revtstmp, user_id)
+          SELECT CAST(EXTRACT(EPOCH FROM CURRENT_TIMESTAMP) * 1000 AS BIGINT), :actor
+          WHERE EXISTS (SELECT 1 FROM changed)
+          RETURNING rev)
+      INSERT INTO insurance_packages_aud
+          (id, rev, revtype, name, company_id, start_date, end_date, payroll_frequency, status,
+           created_by, updated_by, created_at, updated_at)
+      SELECT c.id, r.rev, 1, c.name, c.company_id, c.start_date, c.end_date, c.payroll_frequency,
+             c.status, c.created_by, c.updated_by, c.created_at, c.updated_at
+      FROM changed c
+               CROSS JOIN revision r
+      """, nativeQuery = true)
+  int activateBatch(@Param("today") LocalDate today, @Param("limit") int limit,
+      @Param("actor") UUID actor);
+
+  /**
+   * Moves at most {@code limit} INITIALIZED or ACTIVE packages whose end date is before
+   * {@code today} to EXPIRED and audits them under one revision of {@code actor}, returning the
+   * number of packages moved. Runs in its own transaction so every chunk is committed
+   * independently.
+   */
+  @Transactional
+  @Modifying
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "insurance_packages"))
+  @Query(value = """
+      WITH changed AS (
+          UPDATE insurance_packages
+          SET status = 'EXPIRED', updated_at = CURRENT_TIMESTAMP, updated_by = :actor
+          WHERE id IN (
+              SELECT id FROM insurance_packages
+              WHERE status IN ('INITIALIZED', 'ACTIVE')
+                AND end_date < :today
+              LIMIT :limit)
+          RETURNING *),
+      revision AS (
+          INSERT INTO revinfo (revtstmp, user_id)
+          SELECT CAST(EXTRACT(EPOCH FROM CURRENT_TIMESTAMP) * 1000 AS BIGINT), :actor
+          WHERE EXISTS (SELECT 1 FROM changed)
+          RETURNING rev)
+      INSERT INTO insurance_packages_aud
+          (id, rev, revtype, name, company_id, start_date, end_date, payroll_frequency, status,
+           created_by, updated_by, created_at, updated_at)
+      SELECT c.id, r.rev, 1, c.name, c.company_id, c.start_date, c.end_date, c.payroll_frequency,
+             c.status, c.created_by, c.updated_by, c.created_at, c.updated_at
+      FROM changed c
+               CROSS JOIN revision r
+      """, nativeQuery = true)
+  int expireBatch(@Param("today") LocalDate today, @Param("limit") int limit,
+      @Param("actor") UUID actor);
 }
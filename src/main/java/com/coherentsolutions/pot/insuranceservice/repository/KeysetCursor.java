@@ -0,0 +1,46 @@
+package com.coherentsolutions.pot.insuranceservice.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.UUID;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Continuation token of a keyset-paginated query: the sort property and direction, the sort value
+ * of the last returned row and that row's id as a tie-breaker. Clients only see it as an opaque
+ * URL-safe string.
+ */
+public record KeysetCursor(String property, Sort.Direction direction, String value, UUID id) {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  /**
+   * Serializes the cursor into an opaque URL-safe token.
+   */
+  public String encode() {
+    try {
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(this));
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to encode cursor", e);
+    }
+  }
+
+  /**
+   * Parses a token produced by {@link #encode()}, rejecting anything else with 400 BAD REQUEST.
+   */
+  public static KeysetCursor decode(String token) {
+    try {
+      KeysetCursor cursor = MAPPER.readValue(Base64.getUrlDecoder().decode(token),
+          KeysetCursor.class);
+      if (cursor.property() == null || cursor.direction() == null || cursor.id() == null) {
+        throw new IllegalArgumentException("Incomplete cursor");
+      }
+      return cursor;
+    } catch (IllegalArgumentException | IOException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+  }
+}
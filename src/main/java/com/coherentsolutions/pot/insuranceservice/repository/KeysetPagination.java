@@ -0,0 +1,120 @@
+package com.coherentsolutions.pot.insuranceservice.repository;
+
+import com.coherentsolutions.pot.insuranceservice.dto.pagination.CursorSlice;
+import java.util.List;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Runs filtered queries in keyset (seek) mode: instead of OFFSET and a {@code count(*)} the next
+ * window is selected with a {@code (sortKey, id) > (lastSortKey, lastId)} predicate, so the cost
+ * of a page does not depend on how deep into the result the client is.
+ *
+ * <p>Only a single sort property on the root entity is supported; the entity id is always
+ * appended as a tie-breaker.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class KeysetPagination {
+
+  static final String ID = "id";
+
+  /**
+   * Fetches the window following {@code cursor} (or the first one when it is blank) using the
+   * sort and page size of {@code pageable}; the page number is ignored.
+   */
+  public static <T> CursorSlice<T> fetch(JpaSpecificationExecutor<T> repository,
+      Specification<T> spec, Pageable pageable, String cursor) {
+    return fetch(spec, pageable, cursor, (seek, sort, limit) -> {
+      String property = sort.iterator().next().getProperty();
+      return repository.findBy(seek, query -> query.sortBy(sort).limit(limit).all()).stream()
+          .map(entity -> {
+            BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+            return new KeyedRow<>(entity, wrapper.getPropertyValue(property),
+                (UUID) wrapper.getPropertyValue(ID));
+          })
+          .toList();
+    });
+  }
+
+  /**
+   * Same as {@link #fetch(JpaSpecificationExecutor, Specification, Pageable, String)}, but the
+   * window is read by {@code loader}, so callers can select projections instead of entities.
+   */
+  public static <T, R> CursorSlice<R> fetch(Specification<T> spec, Pageable pageable,
+      String cursor, WindowLoader<T, R> loader) {
+    Sort.Order order = resolveOrder(pageable.getSort());
+    KeysetCursor after = StringUtils.hasText(cursor) ? KeysetCursor.decode(cursor) : null;
+    if (after != null && (!after.property().equals(order.getProperty())
+        || after.direction() != order.getDirection())) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+          "Cursor does not match the requested sort");
+    }
+
+    int size = pageable.isPaged() ? pageable.getPageSize() : 20;
+    Sort sort = ID.equals(order.getProperty())
+        ? Sort.by(order)
+        : Sort.by(order, new Sort.Order(order.getDirection(), ID));
+    Specification<T> seek = spec.and(SpecificationBuilder.keysetAfter(order, after));
+
+    List<KeyedRow<R>> rows = loader.load(seek, sort, size + 1);
+
+    boolean hasNext = rows.size() > size;
+    List<KeyedRow<R>> window = hasNext ? rows.subList(0, size) : rows;
+    String nextCursor = hasNext ? cursorAfter(window.getLast(), order).encode() : null;
+    return new CursorSlice<>(window.stream().map(KeyedRow::row).toList(), nextCursor, hasNext);
+  }
+
+  private static Sort.Order resolveOrder(Sort sort) {
+    List<Sort.Order> orders = sort.toList();
+    if (orders.isEmpty()) {
+      return Sort.Order.asc(ID);
+    }
+    if (orders.size() > 1) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+          "Keyset pagination supports a single sort property");
+    }
+    Sort.Order order = orders.getFirst();
+    if (order.getProperty().contains(".")) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+          "Keyset pagination does not support sorting by nested properties");
+    }
+    return order;
+  }
+
+  private static KeysetCursor cursorAfter(KeyedRow<?> row, Sort.Order order) {
+    return new KeysetCursor(order.getProperty(), order.getDirection(),
+        row.key() == null ? null : keyToString(row.key()), row.id());
+  }
+
+  private static String keyToString(Object value) {
+    return value instanceof Enum<?> e ? e.name() : value.toString();
+  }
+
+  /**
+   * Reads at most {@code limit} rows matching {@code spec} in {@code sort} order. The first order
+   * of {@code sort} is the keyset property; the last one is always the id.
+   */
+  @FunctionalInterface
+  public interface WindowLoader<T, R> {
+
+    List<KeyedRow<R>> load(Specification<T> spec, Sort sort, int limit);
+  }
+
+  /**
+   * A row of a window together with its keyset property value and id, from which the cursor of
+   * the following window is built.
+   */
+  public record KeyedRow<R>(R row, Object key, UUID id) {
+
+  }
+}
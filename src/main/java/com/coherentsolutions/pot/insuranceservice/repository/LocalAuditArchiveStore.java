@@ -0,0 +1,57 @@
+package com.coherentsolutions.pot.insuranceservice.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Keeps archived audit partitions as files below {@code app.audit.archive.directory}. Objects are
+ * written to a temporary file next to their target and moved into place once complete.
+ */
+@Repository
+public class LocalAuditArchiveStore implements AuditArchiveStore {
+
+  private final Path directory;
+
+  public LocalAuditArchiveStore(@Value("${app.audit.archive.directory:audit-archive}") Path directory) {
+    this.directory = directory.normalize();
+  }
+
+  @Override
+  public void write(String key, Content content) throws IOException {
+    Path target = resolve(key);
+    Files.createDirectories(target.getParent());
+    Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".part");
+    try {
+      try (OutputStream out = Files.newOutputStream(temporary)) {
+        content.writeTo(out);
+      }
+      Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  @Override
+  public InputStream open(String key) throws IOException {
+    return Files.newInputStream(resolve(key));
+  }
+
+  @Override
+  public boolean exists(String key) {
+    return Files.exists(resolve(key));
+  }
+
+  private Path resolve(String key) {
+    Path path = directory.resolve(key).normalize();
+    if (!path.startsWith(directory)) {
+      throw new IllegalArgumentException("Archive key outside the archive directory: " + key);
+    }
+    return path;
+  }
+}
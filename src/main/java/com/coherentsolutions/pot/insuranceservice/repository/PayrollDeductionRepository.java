@@ -0,0 +1,221 @@
+package com.coherentsolutions.pot.insuranceservice.repository;
+
+import com.coherentsolutions.pot.insuranceservice.dto.payroll.PayrollDeduction;
+import com.coherentsolutions.pot.insuranceservice.dto.payroll.PayrollDeductionInput;
+import com.coherentsolutions.pot.insuranceservice.enums.PayrollFrequency;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC access to the payroll deduction tables. Inputs are read through a forward-only cursor, so
+ * {@link #streamInputs} must run inside a transaction for the fetch size to take effect.
+ */
+@Repository
+public class PayrollDeductionRepository {
+
+  private static final String SELECT_INPUTS = """
+      SELECT e.id AS enrollment_id, ip.id AS insurance_package_id, u.company_id, u.id AS user_id,
+             e.election_amount, e.plan_contribution, ip.payroll_frequency, ip.start_date, ip.end_date
+      FROM enrollments e
+               JOIN users u ON u.id = e.user_id
+               JOIN insurance_package_plans ipp ON ipp.plan_id = e.plan_id
+               JOIN insurance_packages ip ON ip.id = ipp.insurance_package_id AND ip.company_id = u.company_id
+      WHERE u.company_id = :companyId
+        AND e.deleted_at IS NULL
+        AND ip.status <> 'DEACTIVATED'
+      """;
+
+  private static final String CHANGED_SINCE = """
+        AND (e.updated_at > :since OR ip.updated_at > :since)
+      """;
+
+  private static final String DELETE_SCHEDULE = """
+      DELETE FROM payroll_deductions
+      WHERE enrollment_id = :enrollmentId AND insurance_package_id = :insurancePackageId
+      """;
+
+  private static final String INSERT_DEDUCTION = """
+      INSERT INTO payroll_deductions
+          (enrollment_id, insurance_package_id, company_id, user_id, period_number, pay_date, amount)
+      VALUES (:enrollmentId, :insurancePackageId, :companyId, :userId, :periodNumber, :payDate, :amount)
+      """;
+
+  private static final String DELETE_ORPHANS = """
+      DELETE FROM payroll_deductions d
+      WHERE d.company_id = :companyId
+        AND NOT EXISTS (SELECT 1
+                        FROM enrollments e
+                                 JOIN users u ON u.id = e.user_id
+                                 JOIN insurance_package_plans ipp ON ipp.plan_id = e.plan_id
+                                 JOIN insurance_packages ip ON ip.id = ipp.insurance_package_id
+                                     AND ip.company_id = u.company_id
+                        WHERE e.id = d.enrollment_id
+                          AND ip.id = d.insurance_package_id
+                          AND u.company_id = :companyId
+                          AND e.deleted_at IS NULL
+                          AND ip.status <> 'DEACTIVATED')
+      """;
+
+  private static final String INSERT_RUN = """
+      INSERT INTO payroll_deduction_runs
+          (company_id, incremental, status, started_at, watermark, enrollments_processed, deductions_written, error)
+      VALUES (:companyId, :incremental, :status, :startedAt, :watermark, :enrollmentsProcessed, :deductionsWritten, :error)
+      """;
+
+  private static final String SELECT_WATERMARK = """
+      SELECT watermark
+      FROM payroll_deduction_runs
+      WHERE company_id = :companyId AND status = 'COMPLETED'
+      ORDER BY started_at DESC
+      LIMIT 1
+      """;
+
+  private static final int MAX_ERROR_LENGTH = 1000;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  public PayrollDeductionRepository(DataSource dataSource,
+      @Value("${app.payroll.deductions.fetch-size:1000}") int fetchSize) {
+    JdbcTemplate template = new JdbcTemplate(dataSource);
+    template.setFetchSize(fetchSize);
+    this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+  }
+
+  /**
+   * Lists every company that owns at least one insurance package.
+   */
+  public List<UUID> findCompanyIdsWithPackages() {
+    return jdbcTemplate.getJdbcTemplate()
+        .queryForList("SELECT DISTINCT company_id FROM insurance_packages", UUID.class);
+  }
+
+  /**
+   * Returns the database clock in the session time zone. The driver sets that zone to the JVM's,
+   * which is also the zone {@code updated_at} values are written in, so the result can be
+   * compared with them directly.
+   */
+  public LocalDateTime currentTimestamp() {
+    return jdbcTemplate.getJdbcTemplate().queryForObject("SELECT LOCALTIMESTAMP", LocalDateTime.class);
+  }
+
+  /**
+   * Serializes calculations for {@code companyId} until the current transaction ends.
+   */
+  public void lockCompany(UUID companyId) {
+    jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtext(CAST(:companyId AS text)))",
+        new MapSqlParameterSource("companyId", companyId), (ResultSetExtractor<Void>) rs -> null);
+  }
+
+  /**
+   * Returns the watermark of the last completed run for {@code companyId}, if any.
+   */
+  public Optional<LocalDateTime> findLastWatermark(UUID companyId) {
+    return jdbcTemplate.query(SELECT_WATERMARK, new MapSqlParameterSource("companyId", companyId),
+            (rs, rowNum) -> toLocalDateTime(rs.getTimestamp("watermark")))
+        .stream()
+        .filter(Objects::nonNull)
+        .findFirst();
+  }
+
+  /**
+   * Passes every calculation input of {@code companyId} to {@code sink} as it is read from the
+   * cursor, restricted to rows changed after {@code since} when it is not {@code null}.
+   */
+  public void streamInputs(UUID companyId, LocalDateTime since,
+      Consumer<PayrollDeductionInput> sink) {
+    MapSqlParameterSource params = new MapSqlParameterSource("companyId", companyId);
+    String sql = SELECT_INPUTS;
+    if (since != null) {
+      sql += CHANGED_SINCE;
+      params.addValue("since", since);
+    }
+    jdbcTemplate.query(sql, params, (RowCallbackHandler) rs -> sink.accept(mapInput(rs)));
+  }
+
+  /**
+   * Replaces the stored schedules of {@code inputs} with {@code deductions}.
+   */
+  public void replaceSchedules(Collection<PayrollDeductionInput> inputs,
+      List<PayrollDeduction> deductions) {
+    SqlParameterSource[] keys = inputs.stream()
+        .map(input -> new MapSqlParameterSource()
+            .addValue("enrollmentId", input.enrollmentId())
+            .addValue("insurancePackageId", input.insurancePackageId()))
+        .toArray(SqlParameterSource[]::new);
+    jdbcTemplate.batchUpdate(DELETE_SCHEDULE, keys);
+
+    SqlParameterSource[] rows = deductions.stream()
+        .map(deduction -> new MapSqlParameterSource()
+            .addValue("enrollmentId", deduction.enrollmentId())
+            .addValue("insurancePackageId", deduction.insurancePackageId())
+            .addValue("companyId", deduction.companyId())
+            .addValue("userId", deduction.userId())
+            .addValue("periodNumber", deduction.periodNumber())
+            .addValue("payDate", deduction.payDate())
+            .addValue("amount", deduction.amount()))
+        .toArray(SqlParameterSource[]::new);
+    jdbcTemplate.batchUpdate(INSERT_DEDUCTION, rows);
+  }
+
+  /**
+   * Removes schedules of {@code companyId} whose enrollment was deleted or whose package no longer
+   * offers the enrolled plan, returning the number of rows removed.
+   */
+  public int deleteOrphans(UUID companyId) {
+    return jdbcTemplate.update(DELETE_ORPHANS, new MapSqlParameterSource("companyId", companyId));
+  }
+
+  /**
+   * Records the outcome of a calculation over {@code companyId}.
+   */
+  public void insertRun(UUID companyId, boolean incremental, boolean completed,
+      LocalDateTime startedAt, LocalDateTime watermark, int enrollmentsProcessed,
+      int deductionsWritten, String error) {
+    MapSqlParameterSource params = new MapSqlParameterSource()
+        .addValue("companyId", companyId)
+        .addValue("incremental", incremental)
+        .addValue("status", completed ? "COMPLETED" : "FAILED")
+        .addValue("startedAt", startedAt)
+        .addValue("watermark", watermark)
+        .addValue("enrollmentsProcessed", enrollmentsProcessed)
+        .addValue("deductionsWritten", deductionsWritten)
+        .addValue("error", error == null || error.length() <= MAX_ERROR_LENGTH
+            ? error : error.substring(0, MAX_ERROR_LENGTH));
+    jdbcTemplate.update(INSERT_RUN, params);
+  }
+
+  private static PayrollDeductionInput mapInput(ResultSet rs) throws SQLException {
+    return new PayrollDeductionInput(
+        rs.getObject("enrollment_id", UUID.class),
+        rs.getObject("insurance_package_id", UUID.class),
+        rs.getObject("company_id", UUID.class),
+        rs.getObject("user_id", UUID.class),
+        rs.getBigDecimal("election_amount"),
+        rs.getBigDecimal("plan_contribution"),
+        PayrollFrequency.valueOf(rs.getString("payroll_frequency")),
+        rs.getObject("start_date", LocalDate.class),
+        rs.getObject("end_date", LocalDate.class));
+  }
+
+  private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+    return timestamp == null ? null : timestamp.toLocalDateTime();
+  }
+}
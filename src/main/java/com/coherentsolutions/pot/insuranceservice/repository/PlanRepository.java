@@ -2,6 +2,8 @@ package com.coherentsolutions.pot.insuranceservice.repository;
 
 import com.coherentsolutions.pot.insuranceservice.model.Plan;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.Set;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -19,4 +21,7 @@ public interface PlanRepository extends JpaRepository<Plan, UUID>, JpaSpecificat
 
   @Query(value = "SELECT deleted_at FROM plans WHERE id = :id", nativeQuery = true)
   Instant findDeletedAtById(@Param("id") UUID id);
+
+  @Query("SELECT p.id FROM Plan p WHERE p.id IN :ids")
+  Set<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
 }
@@ -1,31 +1,72 @@
 package com.coherentsolutions.pot.insuranceservice.repository;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
 import java.util.function.Function;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
 
 public class SpecificationBuilder {
 
+  private static final char LIKE_ESCAPE = '\\';
+  private static final Set<Class<?>> KEY_TYPES = Set.of(String.class, UUID.class, LocalDate.class,
+      Instant.class, BigDecimal.class, Integer.class, int.class, Long.class, long.class, Double.class,
+      double.class, Boolean.class, boolean.class);
+
   public static <EntityT, ComparedValueTypeT> Specification<EntityT> equal(ComparedValueTypeT value,
       Function<Root<EntityT>, Path<ComparedValueTypeT>> columnPath) {
     return (root, query, criteriaBuilder) ->
         value != null ? criteriaBuilder.equal(columnPath.apply(root), value) : null;
   }
 
+  /**
+   * Case-insensitive substring match of {@code value}, see {@link #containsIgnoreCase}.
+   */
   public static <EntityT> Specification<EntityT> like(
       String value,
       Function<Root<EntityT>, Path<String>> columnPath) {
     return (root, query, criteriaBuilder) ->
         StringUtils.hasText(value)
-            ? criteriaBuilder.like(
-            criteriaBuilder.lower(columnPath.apply(root)),
-            "%" + value.toLowerCase() + "%")
+            ? containsIgnoreCase(criteriaBuilder, columnPath.apply(root), value)
             : null;
   }
 
+  /**
+   * Renders {@code lower(column) LIKE '%value%'}, the shape served by the {@code pg_trgm} GIN
+   * indexes on {@code lower(column)}. Wildcards in {@code value} are matched literally.
+   */
+  public static Predicate containsIgnoreCase(CriteriaBuilder criteriaBuilder,
+      Expression<String> column, String value) {
+    return criteriaBuilder.like(criteriaBuilder.lower(column), containsPattern(value), LIKE_ESCAPE);
+  }
+
+  /**
+   * Builds the LIKE pattern of {@link #containsIgnoreCase}: {@code value} lower-cased, with
+   * {@code %}, {@code _} and the escape character escaped, between two {@code %}.
+   */
+  public static String containsPattern(String value) {
+    String escaped = value.toLowerCase(Locale.ROOT)
+        .replace(String.valueOf(LIKE_ESCAPE), LIKE_ESCAPE + String.valueOf(LIKE_ESCAPE))
+        .replace("%", LIKE_ESCAPE + "%")
+        .replace("_", LIKE_ESCAPE + "_");
+    return "%" + escaped + "%";
+  }
+
   public static <EntityT, ComparableValueTypeT extends Comparable<? super ComparableValueTypeT>>
       Specification<EntityT> lessThanOrEqualTo(
       ComparableValueTypeT toValue,
@@ -61,4 +102,110 @@ public class SpecificationBuilder {
     };
   }
 
+  /**
+   * Returns the join of {@code attribute} already present on {@code from}, or creates an inner
+   * join if there is none, so filters and projections over the same association share one SQL
+   * join.
+   */
+  @SuppressWarnings("unchecked")
+  public static <SourceT, TargetT> Join<SourceT, TargetT> joinOnce(From<?, SourceT> from,
+      String attribute) {
+    for (Join<SourceT, ?> join : from.getJoins()) {
+      if (join.getAttribute().getName().equals(attribute)) {
+        return (Join<SourceT, TargetT>) join;
+      }
+    }
+    return from.join(attribute);
+  }
+
+  /**
+   * Restricts the query to rows that come after {@code after} in {@code order}, followed by the
+   * entity id as a tie-breaker. Mirrors PostgreSQL's default null ordering (nulls last when
+   * ascending, first when descending).
+   */
+  public static <EntityT> Specification<EntityT> keysetAfter(Sort.Order order,
+      KeysetCursor after) {
+    return (root, query, criteriaBuilder) -> {
+      boolean byId = KeysetPagination.ID.equals(order.getProperty());
+      Path<Comparable<Object>> column = byId ? null : root.get(order.getProperty());
+      if (column != null && !isSupportedKey(column.getJavaType())) {
+        // Rejected up front, so a client never receives a cursor it cannot continue from.
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+            "Keyset pagination does not support sorting by " + order.getProperty());
+      }
+      if (after == null) {
+        return null;
+      }
+      boolean ascending = order.isAscending();
+      Predicate idAfter = seek(criteriaBuilder, root.<UUID>get(KeysetPagination.ID), after.id(),
+          ascending);
+      if (byId) {
+        return idAfter;
+      }
+
+      if (after.value() == null) {
+        Predicate sameNullKey = criteriaBuilder.and(criteriaBuilder.isNull(column), idAfter);
+        return ascending
+            ? sameNullKey
+            : criteriaBuilder.or(sameNullKey, criteriaBuilder.isNotNull(column));
+      }
+
+      Comparable<Object> value = parseKey(after.value(), column.getJavaType());
+      Predicate sameKey = criteriaBuilder.and(criteriaBuilder.equal(column, value), idAfter);
+      Predicate pastKey = seek(criteriaBuilder, column, value, ascending);
+      return ascending
+          ? criteriaBuilder.or(pastKey, sameKey, criteriaBuilder.isNull(column))
+          : criteriaBuilder.or(pastKey, sameKey);
+    };
+  }
+
+  private static <ComparableValueTypeT extends Comparable<? super ComparableValueTypeT>> Predicate
+      seek(CriteriaBuilder criteriaBuilder, Path<ComparableValueTypeT> column,
+      ComparableValueTypeT value, boolean ascending) {
+    return ascending
+        ? criteriaBuilder.greaterThan(column, value)
+        : criteriaBuilder.lessThan(column, value);
+  }
+
+  private static boolean isSupportedKey(Class<?> type) {
+    return KEY_TYPES.contains(type) || type.isEnum();
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Comparable<Object> parseKey(String raw, Class<?> type) {
+    try {
+      Object parsed;
+      if (type == UUID.class) {
+        parsed = UUID.fromString(raw);
+      } else if (type == LocalDate.class) {
+        parsed = LocalDate.parse(raw);
+      } else if (type == Instant.class) {
+        parsed = Instant.parse(raw);
+      } else if (type == BigDecimal.class) {
+        parsed = new BigDecimal(raw);
+      } else if (type == Integer.class || type == int.class) {
+        parsed = Integer.valueOf(raw);
+      } else if (type == Long.class || type == long.class) {
+        parsed = Long.valueOf(raw);
+      } else if (type == Double.class || type == double.class) {
+        parsed = Double.valueOf(raw);
+      } else if (type == Boolean.class || type == boolean.class) {
+        parsed = parseBoolean(raw);
+      } else if (type.isEnum()) {
+        parsed = Enum.valueOf((Class<Enum>) type, raw);
+      } else {
+        parsed = raw;
+      }
+      return (Comparable<Object>) parsed;
+    } catch (RuntimeException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+  }
+
+  private static Boolean parseBoolean(String raw) {
+    if (!"true".equals(raw) && !"false".equals(raw)) {
+      throw new IllegalArgumentException("Not a boolean: " + raw);
+    }
+    return Boolean.valueOf(raw);
+  }
 }
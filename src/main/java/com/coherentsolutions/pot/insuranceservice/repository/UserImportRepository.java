@@ -0,0 +1,127 @@
+package com.coherentsolutions.pot.insuranceservice.repository;
+
+import com.coherentsolutions.pot.insuranceservice.dto.user.UserDto;
+import com.coherentsolutions.pot.insuranceservice.enums.UserStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC batch inserts for bulk user onboarding. Rows are written with the same columns the JPA
+ * mapping of {@code User} would produce, including the Envers audit rows, so imported users are
+ * indistinguishable from users created one by one.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserImportRepository {
+
+  private static final String INSERT_USER = """
+      INSERT INTO users
+          (id, first_name, last_name, username, email, date_of_birth, ssn, phone_data, address_data,
+           company_id, status, created_by, updated_by, created_at, updated_at)
+      VALUES (:id, :firstName, :lastName, :username, :email, :dateOfBirth, :ssn, CAST(:phoneData AS jsonb),
+              CAST(:addressData AS jsonb), :companyId, :status, :auditor, :auditor, :now, :now)
+      """;
+
+  private static final String INSERT_USER_AUDIT = """
+      INSERT INTO users_aud
+          (id, rev, revtype, first_name, last_name, username, email, date_of_birth, ssn, phone_data,
+           address_data, company_id, status, created_by, updated_by, created_at, updated_at)
+      VALUES (:id, :rev, 0, :firstName, :lastName, :username, :email, :dateOfBirth, :ssn, CAST(:phoneData AS jsonb),
+              CAST(:addressData AS jsonb), :companyId, :status, :auditor, :auditor, :now, :now)
+      """;
+
+  private static final String INSERT_REVISION = """
+      INSERT INTO revinfo (revtstmp, user_id) VALUES (:timestamp, :auditor) RETURNING rev
+      """;
+
+  private static final String INSERT_FUNCTION = """
+      INSERT INTO user_functions (id, function, user_id) VALUES (:id, :function, :userId)
+      """;
+
+  private static final String INSERT_PROVISIONING_TASK = """
+      INSERT INTO auth0_provisioning_outbox (id, user_id, status, attempts, next_attempt_at, created_at)
+      VALUES (:id, :userId, 'PENDING', 0, :now, :now)
+      """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Inserts {@code users} of {@code companyId}, whose ids must already be assigned, together with
+   * their function assignments and one Envers revision covering the whole batch.
+   */
+  public void insertUsers(UUID companyId, List<UserDto> users, UUID auditor, Instant now) {
+    Timestamp timestamp = Timestamp.from(now);
+    Integer rev = jdbcTemplate.queryForObject(INSERT_REVISION, new MapSqlParameterSource()
+        .addValue("timestamp", now.toEpochMilli())
+        .addValue("auditor", auditor), Integer.class);
+
+    List<SqlParameterSource> rows = new ArrayList<>(users.size());
+    List<SqlParameterSource> functions = new ArrayList<>();
+    for (UserDto user : users) {
+      rows.add(new MapSqlParameterSource()
+          .addValue("id", user.getId())
+          .addValue("rev", rev)
+          .addValue("firstName", user.getFirstName())
+          .addValue("lastName", user.getLastName())
+          .addValue("username", user.getUsername())
+          .addValue("email", user.getEmail())
+          .addValue("dateOfBirth", user.getDateOfBirth())
+          .addValue("ssn", user.getSsn())
+          .addValue("phoneData", toJson(user.getPhoneData()))
+          .addValue("addressData", toJson(user.getAddressData()))
+          .addValue("companyId", companyId)
+          .addValue("status", UserStatus.ACTIVE.name())
+          .addValue("auditor", auditor)
+          .addValue("now", timestamp));
+      if (user.getFunctions() != null) {
+        user.getFunctions().forEach(function -> functions.add(new MapSqlParameterSource()
+            .addValue("id", UUID.randomUUID())
+            .addValue("function", function.name())
+            .addValue("userId", user.getId())));
+      }
+    }
+    SqlParameterSource[] batch = rows.toArray(SqlParameterSource[]::new);
+    jdbcTemplate.batchUpdate(INSERT_USER, batch);
+    jdbcTemplate.batchUpdate(INSERT_USER_AUDIT, batch);
+    if (!functions.isEmpty()) {
+      jdbcTemplate.batchUpdate(INSERT_FUNCTION, functions.toArray(SqlParameterSource[]::new));
+    }
+  }
+
+  /**
+   * Queues Auth0 provisioning for the given user ids.
+   */
+  public void insertProvisioningTasks(Collection<UUID> userIds, Instant now) {
+    Timestamp timestamp = Timestamp.from(now);
+    SqlParameterSource[] rows = userIds.stream()
+        .map(userId -> new MapSqlParameterSource()
+            .addValue("id", UUID.randomUUID())
+            .addValue("userId", userId)
+            .addValue("now", timestamp))
+        .toArray(SqlParameterSource[]::new);
+    jdbcTemplate.batchUpdate(INSERT_PROVISIONING_TASK, rows);
+  }
+
+  private String toJson(Object value) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      return objectMapper.writeValueAsString(value);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Could not serialize " + value.getClass().getSimpleName(), e);
+    }
+  }
+}
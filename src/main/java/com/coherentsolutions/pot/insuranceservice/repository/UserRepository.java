@@ -2,8 +2,10 @@ package com.coherentsolutions.pot.insuranceservice.repository;
 
 import com.coherentsolutions.pot.insuranceservice.enums.UserStatus;
 import com.coherentsolutions.pot.insuranceservice.model.User;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -52,8 +54,45 @@ public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificat
   void updateUserStatusByIds(@Param("userIds") List<UUID> userIds,
       @Param("status") UserStatus status);
 
+  /**
+   * Records the Auth0 account that was provisioned for a user.
+   */
+  @Modifying
+  @Query("UPDATE User u SET u.auth0UserId = :auth0UserId WHERE u.id = :id")
+  void updateAuth0UserId(@Param("id") UUID id, @Param("auth0UserId") String auth0UserId);
+
+  /**
+   * Returns the id of the company the user belongs to.
+   */
+  @Query("SELECT u.company.id FROM User u WHERE u.id = :id")
+  Optional<UUID> findCompanyIdById(@Param("id") UUID id);
+
   /**
    * Finds a user by email address.
    */
   Optional<User> findByEmail(String email);
+
+  /**
+   * Returns those of the given IDs that belong to existing users.
+   */
+  @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+  Set<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+  /**
+   * Returns those of the given emails that are already taken.
+   */
+  @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+  Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+  /**
+   * Returns those of the given usernames that are already taken.
+   */
+  @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+  Set<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+  /**
+   * Returns those of the given social security numbers that are already taken.
+   */
+  @Query("SELECT u.ssn FROM User u WHERE u.ssn IN :ssns")
+  Set<String> findExistingSsns(@Param("ssns") Collection<String> ssns);
 }
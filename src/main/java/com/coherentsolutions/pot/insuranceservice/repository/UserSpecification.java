@@ -1,5 +1,6 @@
 package com.coherentsolutions.pot.insuranceservice.repository;
 
+import static com.coherentsolutions.pot.insuranceservice.repository.SpecificationBuilder.containsIgnoreCase;
 import static com.coherentsolutions.pot.insuranceservice.repository.SpecificationBuilder.equal;
 import static com.coherentsolutions.pot.insuranceservice.repository.SpecificationBuilder.in;
 import static com.coherentsolutions.pot.insuranceservice.repository.SpecificationBuilder.like;
@@ -43,12 +44,9 @@ public class UserSpecification {
     if (!StringUtils.hasText(name)) {
       return null;
     }
-    return (root, query, cb) -> {
-      String pattern = "%" + name.toLowerCase() + "%";
-      return cb.or(
-          cb.like(cb.lower(root.get("firstName")), pattern),
-          cb.like(cb.lower(root.get("lastName")), pattern)
-      );
-    };
+    return (root, query, cb) -> cb.or(
+        containsIgnoreCase(cb, root.get("firstName"), name),
+        containsIgnoreCase(cb, root.get("lastName"), name)
+    );
   }
 }
@@ -0,0 +1,71 @@
+package com.coherentsolutions.pot.insuranceservice.security.authentication;
+
+import java.util.Collection;
+import java.util.UUID;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+/**
+ * JWT authentication that precomputes what company access checks need: the checked authorities
+ * as a {@link CompanyAuthority} bit mask and the parsed {@code company_id} claim. Both are
+ * derived once per request, so each {@code @PreAuthorize} evaluation is a mask test and a UUID
+ * comparison.
+ */
+@Getter
+public class CompanyAuthenticationToken extends JwtAuthenticationToken {
+
+  public static final String COMPANY_ID_CLAIM = "company_id";
+
+  private final long authorityMask;
+  private final UUID companyId;
+
+  public CompanyAuthenticationToken(Jwt jwt, Collection<? extends GrantedAuthority> authorities,
+      String name) {
+    super(jwt, authorities, name);
+    this.authorityMask = CompanyAuthority.maskOf(authorities);
+    this.companyId = parseCompanyId(jwt.getClaimAsString(COMPANY_ID_CLAIM));
+  }
+
+  private CompanyAuthenticationToken(CompanyAuthenticationToken source) {
+    super(source.getToken(), source.getAuthorities(), source.getName());
+    this.authorityMask = source.authorityMask;
+    this.companyId = source.companyId;
+  }
+
+  /**
+   * Returns a new authenticated token for the same JWT without its request details, reusing the
+   * already derived authorities.
+   */
+  public CompanyAuthenticationToken copy() {
+    return new CompanyAuthenticationToken(this);
+  }
+
+  public boolean hasAuthority(CompanyAuthority authority) {
+    return authority != null && (authorityMask & authority.getMask()) != 0;
+  }
+
+  /**
+   * Application admins may access every company; other users need {@code requiredAuthority} and
+   * must belong to {@code companyId}.
+   */
+  public boolean canAccessCompany(UUID companyId, CompanyAuthority requiredAuthority) {
+    if (hasAuthority(CompanyAuthority.APPLICATION_ADMIN)) {
+      return true;
+    }
+    return hasAuthority(requiredAuthority) && this.companyId != null
+        && this.companyId.equals(companyId);
+  }
+
+  private static UUID parseCompanyId(String companyId) {
+    if (companyId == null) {
+      return null;
+    }
+    try {
+      return UUID.fromString(companyId);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package com.coherentsolutions.pot.insuranceservice.security.authentication;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Authorities checked by {@code CompanyAdminSecurityService}, each backed by one bit so that a
+ * token's authorities can be tested with a single mask operation.
+ */
+@Getter
+public enum CompanyAuthority {
+  APPLICATION_ADMIN("ROLE_APPLICATION_ADMIN"),
+  COMPANY_MANAGER("ROLE_FUNC_COMPANY_MANAGER"),
+  COMPANY_USER_MANAGER("ROLE_FUNC_COMPANY_USER_MANAGER"),
+  COMPANY_PLAN_MANAGER("ROLE_FUNC_COMPANY_PLAN_MANAGER"),
+  COMPANY_INSURANCE_PACKAGE_MANAGER("ROLE_FUNC_COMPANY_INSURANCE_PACKAGE_MANAGER"),
+  COMPANY_CLAIM_MANAGER("ROLE_FUNC_COMPANY_CLAIM_MANAGER"),
+  COMPANY_SETTING_MANAGER("ROLE_FUNC_COMPANY_SETTING_MANAGER"),
+  COMPANY_REPORT_MANAGER("ROLE_FUNC_COMPANY_REPORT_MANAGER"),
+  CONSUMER("ROLE_FUNC_CONSUMER"),
+  CONSUMER_CLAIM_MANAGER("ROLE_FUNC_CONSUMER_CLAIM_MANAGER");
+
+  private static final Map<String, CompanyAuthority> BY_AUTHORITY = new HashMap<>();
+
+  static {
+    for (CompanyAuthority authority : values()) {
+      BY_AUTHORITY.put(authority.authority, authority);
+    }
+  }
+
+  private final String authority;
+  private final long mask;
+
+  CompanyAuthority(String authority) {
+    this.authority = authority;
+    this.mask = 1L << ordinal();
+  }
+
+  /**
+   * Returns the constant for an authority string such as {@code ROLE_FUNC_COMPANY_MANAGER}, or
+   * {@code null} when it is not one of the checked authorities.
+   */
+  public static CompanyAuthority fromAuthority(String authority) {
+    return authority == null ? null : BY_AUTHORITY.get(authority);
+  }
+
+  /**
+   * Folds {@code authorities} into a bit mask, ignoring authorities that are not checked here.
+   */
+  public static long maskOf(Collection<? extends GrantedAuthority> authorities) {
+    long mask = 0L;
+    for (GrantedAuthority grantedAuthority : authorities) {
+      CompanyAuthority authority = fromAuthority(grantedAuthority.getAuthority());
+      if (authority != null) {
+        mask |= authority.mask;
+      }
+    }
+    return mask;
+  }
+}
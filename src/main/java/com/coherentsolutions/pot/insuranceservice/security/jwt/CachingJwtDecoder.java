@@ -0,0 +1,21 @@
+package com.coherentsolutions.pot.insuranceservice.security.jwt;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+/**
+ * {@link JwtDecoder} that skips parsing and signature verification for tokens already verified
+ * by {@code delegate} and still held in the {@link JwtCache}.
+ */
+@RequiredArgsConstructor
+public class CachingJwtDecoder implements JwtDecoder {
+
+  private final JwtDecoder delegate;
+  private final JwtCache jwtCache;
+
+  @Override
+  public Jwt decode(String token) {
+    return jwtCache.decode(token, delegate);
+  }
+}
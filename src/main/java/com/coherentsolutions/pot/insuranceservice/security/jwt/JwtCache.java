@@ -0,0 +1,152 @@
+package com.coherentsolutions.pot.insuranceservice.security.jwt;
+
+import com.coherentsolutions.pot.insuranceservice.security.authentication.CompanyAuthenticationToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+/**
+ * Bounded cache of verified bearer tokens, keyed by the SHA-256 of the token so raw tokens are
+ * never used as keys. An entry holds the decoded {@link Jwt} and, once converted, the resulting
+ * authentication, and expires with the token's {@code exp} claim or after {@code maxTtl},
+ * whichever comes first. Tokens without an expiry are not cached.
+ *
+ * <p>Only successfully decoded tokens are stored, so a rejected token is verified again on its
+ * next use. Cached authentications are copied on every hit: the provider attaches per-request
+ * details to the token it returns, and those must not leak into later requests.
+ */
+public class JwtCache {
+
+  private final Cache<String, Entry> cache;
+  private final Clock clock;
+  private final Duration maxTtl;
+
+  public JwtCache(long maxSize, Duration maxTtl) {
+    this(maxSize, maxTtl, Clock.systemUTC());
+  }
+
+  public JwtCache(long maxSize, Duration maxTtl, Clock clock) {
+    this.clock = clock;
+    this.maxTtl = maxTtl;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfter(new TokenExpiry())
+        .recordStats()
+        .build();
+  }
+
+  public Cache<String, Entry> getCache() {
+    return cache;
+  }
+
+  /**
+   * Returns the cached verification of {@code token}, verifying it with {@code delegate} on a
+   * miss.
+   */
+  public Jwt decode(String token, JwtDecoder delegate) {
+    String key = key(token);
+    Entry entry = cache.getIfPresent(key);
+    if (entry != null && !isExpired(entry.jwt())) {
+      return entry.jwt();
+    }
+    Jwt jwt = delegate.decode(token);
+    if (jwt.getExpiresAt() != null) {
+      cache.put(key, new Entry(jwt));
+    }
+    return jwt;
+  }
+
+  /**
+   * Returns a copy of the cached authentication for {@code jwt}, converting it with {@code
+   * delegate} when it was not converted yet or was not decoded through this cache.
+   */
+  public AbstractAuthenticationToken convert(Jwt jwt,
+      Converter<Jwt, AbstractAuthenticationToken> delegate) {
+    Entry entry = cache.getIfPresent(key(jwt.getTokenValue()));
+    if (entry == null || entry.jwt() != jwt) {
+      return delegate.convert(jwt);
+    }
+    CompanyAuthenticationToken cached = entry.authentication;
+    if (cached != null) {
+      return cached.copy();
+    }
+    AbstractAuthenticationToken authentication = delegate.convert(jwt);
+    if (authentication instanceof CompanyAuthenticationToken companyToken) {
+      entry.authentication = companyToken.copy();
+    }
+    return authentication;
+  }
+
+  /**
+   * Wraps {@code delegate} so that conversions go through this cache.
+   */
+  public Converter<Jwt, AbstractAuthenticationToken> cachingConverter(
+      Converter<Jwt, AbstractAuthenticationToken> delegate) {
+    return jwt -> convert(jwt, delegate);
+  }
+
+  private boolean isExpired(Jwt jwt) {
+    return !jwt.getExpiresAt().isAfter(clock.instant());
+  }
+
+  private static String key(String token) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /**
+   * A verified token and, once converted, its authentication.
+   */
+  public static final class Entry {
+
+    private final Jwt jwt;
+    private volatile CompanyAuthenticationToken authentication;
+
+    Entry(Jwt jwt) {
+      this.jwt = jwt;
+    }
+
+    public Jwt jwt() {
+      return jwt;
+    }
+  }
+
+  private final class TokenExpiry implements Expiry<String, Entry> {
+
+    @Override
+    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+      Instant expiresAt = entry.jwt().getExpiresAt();
+      Duration untilExpiry = Duration.between(clock.instant(), expiresAt);
+      if (untilExpiry.isNegative()) {
+        return 0;
+      }
+      return (untilExpiry.compareTo(maxTtl) < 0 ? untilExpiry : maxTtl).toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, Entry entry, long currentTime,
+        long currentDuration) {
+      return expireAfterCreate(key, entry, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
@@ -1,20 +1,33 @@
 package com.coherentsolutions.pot.insuranceservice.security.service;
 
+import com.coherentsolutions.pot.insuranceservice.repository.UserRepository;
+import com.coherentsolutions.pot.insuranceservice.security.authentication.CompanyAuthenticationToken;
+import com.coherentsolutions.pot.insuranceservice.security.authentication.CompanyAuthority;
+import java.util.Optional;
 import java.util.UUID;
+import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 
 @Service
+@RequiredArgsConstructor
 public class CompanyAdminSecurityService {
 
+  private final UserRepository userRepository;
+
   public boolean canAccessCompanyResource(UUID companyId, String requiredRole) {
     Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
     if (authentication == null) {
       return false;
     }
 
+    // Tokens issued by our JWT converter carry precomputed authorities and company id.
+    if (authentication instanceof CompanyAuthenticationToken token) {
+      return token.canAccessCompany(companyId, CompanyAuthority.fromAuthority(requiredRole));
+    }
+
     if (isAppAdmin(authentication)) {
       return true;
     }
@@ -26,18 +39,30 @@ public class CompanyAdminSecurityService {
     return hasRequiredRole && belongsToCompany;
   }
 
+  /**
+   * Same as {@link #canAccessCompanyResource} for the company user {@code userId} belongs to. Users
+   * that do not exist are only accessible to application admins.
+   */
+  public boolean canAccessUserResource(UUID userId, String requiredRole) {
+    Optional<UUID> companyId = userRepository.findCompanyIdById(userId);
+    if (companyId.isPresent()) {
+      return canAccessCompanyResource(companyId.get(), requiredRole);
+    }
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    return authentication != null && isAppAdmin(authentication);
+  }
+
   private boolean isAppAdmin(Authentication authentication) {
     return authentication.getAuthorities().stream()
-        .anyMatch(a -> a.getAuthority().equals("ROLE_APPLICATION_ADMIN"));
+        .anyMatch(a -> a.getAuthority().equals(CompanyAuthority.APPLICATION_ADMIN.getAuthority()));
   }
 
   private boolean checkIfBelongsToCompany(Authentication authentication, UUID companyId) {
     if (authentication.getPrincipal() instanceof Jwt jwt) {
-      String tokenCompanyId = jwt.getClaimAsString("company_id");
+      String tokenCompanyId = jwt.getClaimAsString(CompanyAuthenticationToken.COMPANY_ID_CLAIM);
       return tokenCompanyId != null && tokenCompanyId.equals(companyId.toString());
     }
     return false;
   }
 
 }
-
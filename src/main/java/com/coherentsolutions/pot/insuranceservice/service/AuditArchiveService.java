@@ -0,0 +1,152 @@
+package com.coherentsolutions.pot.insuranceservice.service;
+
+import com.coherentsolutions.pot.insuranceservice.repository.AuditArchiveStore;
+import com.coherentsolutions.pot.insuranceservice.repository.AuditPartitionRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.AuditPartitionRepository.AuditSegment;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Moves old audit history out of the database and reads it from the archive.
+ *
+ * <p>The nightly job seals every month before the current one that still has revisions in the
+ * default partitions of {@code revinfo} and the {@code *_aud} tables. With
+ * {@code app.audit.archive.retention-months} greater than zero, segments entirely older than that
+ * many months are exported to the {@link AuditArchiveStore}, one gzip-compressed CSV per table,
+ * and then detached and dropped. Sealed and archived segments are counted in
+ * {@code app.audit.archive} by {@code action}.
+ *
+ * <p>Archived rows are read by streaming the export straight from the store; archived months are
+ * never attached to the database again, so reads do not run DDL or take the partition lock.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditArchiveService {
+
+  private static final DateTimeFormatter KEY_PREFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final ObjectReader CSV_READER = new CsvMapper()
+      .readerFor(Map.class)
+      .with(CsvSchema.emptySchema().withHeader().withNullValue(""));
+
+  private final AuditPartitionRepository auditPartitionRepository;
+  private final AuditArchiveStore auditArchiveStore;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${app.audit.archive.retention-months:0}")
+  private int retentionMonths;
+
+  @Scheduled(cron = "${app.audit.archive.cron:0 45 0 * * *}")
+  public void archiveSegments() {
+    archive(YearMonth.now());
+  }
+
+  /**
+   * Seals the months before {@code current} and archives the segments older than the retention.
+   */
+  public ArchiveReport archive(YearMonth current) {
+    List<YearMonth> sealed = new ArrayList<>();
+    YearMonth oldest = auditPartitionRepository.findOldestUnsealedMonth().orElse(current);
+    for (YearMonth month = oldest; month.isBefore(current); month = month.plusMonths(1)) {
+      if (auditPartitionRepository.sealMonth(month)) {
+        sealed.add(month);
+      }
+    }
+
+    List<YearMonth> archived = new ArrayList<>();
+    if (retentionMonths > 0) {
+      YearMonth oldestRetained = current.minusMonths(retentionMonths);
+      for (AuditSegment segment : auditPartitionRepository.findSegments()) {
+        if (segment.attached() && segment.month().isBefore(oldestRetained)) {
+          export(segment.month());
+          auditPartitionRepository.dropPartitions(segment.month());
+          archived.add(segment.month());
+        }
+      }
+    }
+
+    meterRegistry.counter("app.audit.archive", "action", "sealed").increment(sealed.size());
+    meterRegistry.counter("app.audit.archive", "action", "archived").increment(archived.size());
+    log.info("Audit archive run for {} finished: sealed {}, archived {}", current, sealed, archived);
+    return new ArchiveReport(sealed, archived);
+  }
+
+  /**
+   * Lists the archived segments holding revisions of entity {@code id} in {@code table}, which
+   * must be one of {@link AuditPartitionRepository#ENTITY_TABLES}, oldest first.
+   */
+  public List<AuditSegment> findArchivedSegments(String table, UUID id) {
+    return auditPartitionRepository.findArchivedSegments(table, id);
+  }
+
+  /**
+   * Reads the rows of {@code table} in the export of {@code segment} that {@code filter} accepts,
+   * in file order, as column name to value. SQL {@code NULL} and empty strings both read as
+   * {@code null}.
+   */
+  public List<Map<String, String>> readRows(AuditSegment segment, String table,
+      Predicate<Map<String, String>> filter) {
+    List<Map<String, String>> rows = new ArrayList<>();
+    try (InputStream in = new GZIPInputStream(auditArchiveStore.open(key(segment.month(), table)), BUFFER_SIZE);
+        MappingIterator<Map<String, String>> csv = CSV_READER.readValues(in)) {
+      while (csv.hasNext()) {
+        Map<String, String> row = csv.next();
+        if (filter.test(row)) {
+          rows.add(row);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read " + table + " for " + segment.month(), e);
+    }
+    return rows;
+  }
+
+  private void export(YearMonth month) {
+    for (String table : AuditPartitionRepository.TABLES) {
+      try {
+        auditArchiveStore.write(key(month, table), out -> {
+          GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+          auditPartitionRepository.exportPartition(table, month, gzip);
+          gzip.finish();
+        });
+      } catch (IOException e) {
+        throw new UncheckedIOException("Could not export " + table + " for " + month, e);
+      }
+    }
+  }
+
+  /**
+   * Archive key of the export of {@code table} for {@code month}.
+   */
+  public static String key(YearMonth month, String table) {
+    return month.format(KEY_PREFIX) + "/" + table + ".csv.gz";
+  }
+
+  /**
+   * Months sealed and archived by a single run.
+   */
+  public record ArchiveReport(List<YearMonth> sealed, List<YearMonth> archived) {
+
+  }
+}
@@ -1,57 +1,235 @@
 package com.coherentsolutions.pot.insuranceservice.service;
 
-import com.coherentsolutions.pot.insuranceservice.model.audit.RevisionInfo;
+import com.coherentsolutions.pot.insuranceservice.config.CacheConfig;
+import com.coherentsolutions.pot.insuranceservice.dto.audit.FieldChange;
+import com.coherentsolutions.pot.insuranceservice.dto.audit.RevisionDiff;
+import com.coherentsolutions.pot.insuranceservice.dto.pagination.CursorSlice;
+import com.coherentsolutions.pot.insuranceservice.model.Company;
+import com.coherentsolutions.pot.insuranceservice.model.User;
+import com.coherentsolutions.pot.insuranceservice.repository.AuditDiffRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.AuditDiffRepository.AuditTable;
+import com.coherentsolutions.pot.insuranceservice.repository.AuditPartitionRepository.AuditSegment;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import org.hibernate.envers.AuditReader;
+import lombok.RequiredArgsConstructor;
 import org.hibernate.envers.AuditReaderFactory;
 import org.hibernate.envers.RevisionType;
 import org.hibernate.envers.query.AuditEntity;
+import org.hibernate.envers.query.AuditQuery;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+/**
+ * Reads the revision history of audited entities. Only the revision number, type, timestamp and
+ * actor are selected from {@code revinfo} and the {@code *_aud} table; historical entity
+ * snapshots are never loaded. Revisions are returned oldest first and can be restricted to those
+ * after a known revision, which serves both keyset scrolling and incremental polling.
+ *
+ * <p>Field-level diffs are computed by {@link AuditDiffRepository} and cached per revision in
+ * {@link CacheConfig#REVISION_DIFFS}: audit rows are never modified, so a revision's diff against
+ * its predecessor never changes.
+ *
+ * <p>Revisions of months archived by {@link AuditArchiveService} are read from their exports and
+ * merged with the attached ones; archived months are never attached again, so reads run no DDL.
+ * Only the exports of months that hold the requested entity are opened, and revision lists after
+ * a known revision skip months ending before it. Diffs of archived revisions, and of revisions
+ * whose predecessor is archived, are computed from the archived rows as well.
+ */
 @Service
+@Timed("app.service")
 @Transactional(readOnly = true)
+@RequiredArgsConstructor
 public class AuditHistoryService {
 
+  static final int MAX_WINDOW_SIZE = 500;
+
+  private final AuditDiffRepository auditDiffRepository;
+  private final AuditArchiveService auditArchiveService;
+  private final CacheManager cacheManager;
+
   @PersistenceContext
   private EntityManager entityManager;
 
-  public List<RevisionMetadata> userHistory(UUID userId) {
-    return historyForEntity(com.coherentsolutions.pot.insuranceservice.model.User.class, userId);
+  public List<RevisionMetadata> userHistory(UUID userId, Integer since) {
+    return revisions(User.class, AuditTable.USERS, userId, since, null);
   }
 
-  public List<RevisionMetadata> companyHistory(UUID companyId) {
-    return historyForEntity(com.coherentsolutions.pot.insuranceservice.model.Company.class,
-        companyId);
+  public List<RevisionMetadata> companyHistory(UUID companyId, Integer since) {
+    return revisions(Company.class, AuditTable.COMPANIES, companyId, since, null);
   }
 
-  private <T> List<RevisionMetadata> historyForEntity(Class<T> entityClass, UUID id) {
-    AuditReader reader = AuditReaderFactory.get(entityManager);
-    @SuppressWarnings("unchecked")
-    List<Object[]> rows = reader.createQuery()
-        .forRevisionsOfEntity(entityClass, false,
-            true)
+  /**
+   * Returns up to {@code size} revisions of the user after revision {@code since}, or from the
+   * first one when it is {@code null}. The returned cursor is the last revision of the window.
+   */
+  public CursorSlice<RevisionMetadata> userHistoryWindow(UUID userId, Integer since, int size) {
+    return window(User.class, AuditTable.USERS, userId, since, size);
+  }
+
+  /**
+   * Same as {@link #userHistoryWindow} for a company.
+   */
+  public CursorSlice<RevisionMetadata> companyHistoryWindow(UUID companyId, Integer since,
+      int size) {
+    return window(Company.class, AuditTable.COMPANIES, companyId, since, size);
+  }
+
+  /**
+   * Returns up to {@code size} revisions of the user after revision {@code since} with the fields
+   * each of them changed.
+   */
+  public CursorSlice<RevisionDiff> userChanges(UUID userId, Integer since, int size) {
+    return changes(User.class, AuditTable.USERS, userId, since, size);
+  }
+
+  /**
+   * Same as {@link #userChanges} for a company.
+   */
+  public CursorSlice<RevisionDiff> companyChanges(UUID companyId, Integer since, int size) {
+    return changes(Company.class, AuditTable.COMPANIES, companyId, since, size);
+  }
+
+  private <T> CursorSlice<RevisionDiff> changes(Class<T> entityClass, AuditTable table, UUID id,
+      Integer since, int size) {
+    CursorSlice<RevisionMetadata> window = window(entityClass, table, id, since, size);
+    Cache cache = cacheManager.getCache(CacheConfig.REVISION_DIFFS);
+    Map<Integer, List<FieldChange>> changes = new HashMap<>();
+    List<Integer> missing = new ArrayList<>();
+    for (RevisionMetadata revision : window.content()) {
+      @SuppressWarnings("unchecked")
+      List<FieldChange> cached = cache.get(new RevisionKey(table, id, revision.revision()),
+          List.class);
+      if (cached != null) {
+        changes.put(revision.revision(), cached);
+      } else {
+        missing.add(revision.revision());
+      }
+    }
+
+    if (!missing.isEmpty()) {
+      Map<Integer, List<FieldChange>> computed = auditDiffRepository.findChanges(table, id,
+          missing.getFirst(), missing.getLast(), archivedRows(table, id, missing.getLast()));
+      for (Integer revision : missing) {
+        List<FieldChange> fields = List.copyOf(computed.getOrDefault(revision, List.of()));
+        cache.put(new RevisionKey(table, id, revision), fields);
+        changes.put(revision, fields);
+      }
+    }
+    return window.map(r -> new RevisionDiff(r.revision(), r.at(), r.actor(), r.type(),
+        changes.get(r.revision())));
+  }
+
+  private <T> CursorSlice<RevisionMetadata> window(Class<T> entityClass, AuditTable table, UUID id,
+      Integer since, int size) {
+    if (size < 1) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Size must be positive");
+    }
+    int limit = Math.min(size, MAX_WINDOW_SIZE);
+    List<RevisionMetadata> rows = revisions(entityClass, table, id, since, limit + 1);
+    boolean hasNext = rows.size() > limit;
+    List<RevisionMetadata> content = hasNext ? rows.subList(0, limit) : rows;
+    String nextCursor = hasNext ? content.getLast().revision().toString() : null;
+    return new CursorSlice<>(content, nextCursor, hasNext);
+  }
+
+  private <T> List<RevisionMetadata> revisions(Class<T> entityClass, AuditTable table, UUID id,
+      Integer since, Integer limit) {
+    AuditQuery query = AuditReaderFactory.get(entityManager).createQuery()
+        .forRevisionsOfEntity(entityClass, false, true)
+        .addProjection(AuditEntity.revisionNumber())
+        .addProjection(AuditEntity.revisionProperty("timestamp"))
+        .addProjection(AuditEntity.revisionProperty("userId"))
+        .addProjection(AuditEntity.revisionType())
         .add(AuditEntity.id().eq(id))
-        .addOrder(AuditEntity.revisionNumber().asc())
-        .getResultList();
+        .addOrder(AuditEntity.revisionNumber().asc());
+    if (since != null) {
+      query.add(AuditEntity.revisionNumber().gt(since));
+    }
+    if (limit != null) {
+      query.setMaxResults(limit);
+    }
 
-    return rows.stream().map(r -> {
-      RevisionInfo rev = (RevisionInfo) r[1];
-      RevisionType type = (RevisionType) r[2];
-      return new RevisionMetadata(
-          rev.getId(),
-          Instant.ofEpochMilli(rev.getTimestamp()),
-          rev.getUserId(),
-          type.name()
-      );
-    }).toList();
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows = query.getResultList();
+    List<RevisionMetadata> revisions = new ArrayList<>(archivedRevisions(table, id, since));
+    rows.stream().map(r -> new RevisionMetadata(
+        ((Number) r[0]).intValue(),
+        Instant.ofEpochMilli((Long) r[1]),
+        (UUID) r[2],
+        ((RevisionType) r[3]).name()
+    )).forEach(revisions::add);
+    revisions.sort(Comparator.comparing(RevisionMetadata::revision));
+    return limit == null || revisions.size() <= limit ? revisions : revisions.subList(0, limit);
+  }
+
+  /**
+   * Reads the revisions of the entity after {@code since} from the archive: its rows are looked up
+   * in the export of the audit table and their timestamp and actor in the export of
+   * {@code revinfo} of the same month.
+   */
+  private List<RevisionMetadata> archivedRevisions(AuditTable table, UUID id, Integer since) {
+    List<RevisionMetadata> revisions = new ArrayList<>();
+    for (AuditSegment segment : auditArchiveService.findArchivedSegments(table.tableName(), id)) {
+      if (since != null && segment.toRevision() - 1 <= since) {
+        continue;
+      }
+      Map<Integer, String> types = new HashMap<>();
+      for (Map<String, String> row : readEntityRows(segment, table, id)) {
+        int revision = Integer.parseInt(row.get("rev"));
+        if (since == null || revision > since) {
+          types.put(revision, RevisionType.fromRepresentation(Byte.valueOf(row.get("revtype"))).name());
+        }
+      }
+      if (types.isEmpty()) {
+        continue;
+      }
+      for (Map<String, String> row : auditArchiveService.readRows(segment, "revinfo",
+          r -> types.containsKey(Integer.valueOf(r.get("rev"))))) {
+        int revision = Integer.parseInt(row.get("rev"));
+        String actor = row.get("user_id");
+        revisions.add(new RevisionMetadata(revision, Instant.ofEpochMilli(Long.parseLong(row.get("revtstmp"))),
+            actor == null ? null : UUID.fromString(actor), types.get(revision)));
+      }
+    }
+    return revisions;
+  }
+
+  /**
+   * Reads the archived rows of the entity in every month starting at or before {@code toRevision},
+   * which include the predecessor of any revision up to it.
+   */
+  private List<Map<String, String>> archivedRows(AuditTable table, UUID id, int toRevision) {
+    List<Map<String, String>> rows = new ArrayList<>();
+    for (AuditSegment segment : auditArchiveService.findArchivedSegments(table.tableName(), id)) {
+      if (segment.fromRevision() <= toRevision) {
+        rows.addAll(readEntityRows(segment, table, id));
+      }
+    }
+    return rows;
+  }
+
+  private List<Map<String, String>> readEntityRows(AuditSegment segment, AuditTable table, UUID id) {
+    String entityId = id.toString();
+    return auditArchiveService.readRows(segment, table.tableName(), row -> entityId.equals(row.get("id")));
   }
 
   public record RevisionMetadata(Integer revision, Instant at, UUID actor, String type) {
 
   }
+
+  private record RevisionKey(AuditTable table, UUID id, Integer revision) {
+
+  }
 }
@@ -7,6 +7,8 @@ import com.coherentsolutions.pot.insuranceservice.dto.auth0.Auth0UserDto;
 import com.coherentsolutions.pot.insuranceservice.exception.Auth0Exception;
 import com.coherentsolutions.pot.insuranceservice.mapper.Auth0UserMapper;
 import com.coherentsolutions.pot.insuranceservice.util.PasswordGenerator;
+import io.micrometer.core.annotation.Timed;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -28,6 +30,7 @@ import org.springframework.stereotype.Service;
  */
 @Slf4j
 @Service
+@Timed("app.service")
 @RequiredArgsConstructor
 @ConditionalOnProperty(name = "auth0.enabled", havingValue = "true", matchIfMissing = false)
 public class Auth0InvitationService {
@@ -234,6 +237,30 @@ public class Auth0InvitationService {
     }
   }
 
+  /**
+   * Looks up the id of the Auth0 user registered with the given email.
+   *
+   * @param email the email to look up
+   *
+   * @return the Auth0 user id, empty if no user is registered with that email
+   * @throws Auth0Exception if the lookup fails
+   */
+  public Optional<String> findUserIdByEmail(String email) throws Auth0Exception {
+    try {
+      com.auth0.client.mgmt.filter.UserFilter filter = new com.auth0.client.mgmt.filter.UserFilter()
+          .withQuery("email:\"" + email + "\"");
+
+      var users = managementAPI.users().list(filter).execute().getBody();
+      if (users == null || users.getItems().isEmpty()) {
+        return Optional.empty();
+      }
+      return Optional.of(users.getItems().getFirst().getId());
+
+    } catch (com.auth0.exception.Auth0Exception e) {
+      throw new Auth0Exception("Failed to look up Auth0 user by email: " + e.getMessage(), e, "AUTH0_USER_LOOKUP_FAILED", 502);
+    }
+  }
+
   /**
    * Sends a password reset email using Auth0's built-in system.
    * 
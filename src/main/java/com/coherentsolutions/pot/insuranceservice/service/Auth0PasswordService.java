@@ -2,6 +2,7 @@ package com.coherentsolutions.pot.insuranceservice.service;
 
 import com.coherentsolutions.pot.insuranceservice.config.Auth0Properties;
 import com.coherentsolutions.pot.insuranceservice.exception.Auth0Exception;
+import io.micrometer.core.annotation.Timed;
 import java.util.HashMap;
 import java.util.Map;
 import org.springframework.http.HttpStatus;
@@ -17,6 +18,7 @@ import org.springframework.web.client.RestClient;
  * using Auth0's /dbconnections/change_password endpoint.
  */
 @Service
+@Timed("app.service")
 public class Auth0PasswordService {
 
   private final Auth0Properties auth0Properties;
@@ -39,7 +41,7 @@ public class Auth0PasswordService {
       throw new Auth0Exception("Auth0 integration is disabled");
     }
 
-    String url = "https://" + auth0Properties.domain() + "/dbconnections/change_password";
+    String url = baseUrl(auth0Properties.domain()) + "/dbconnections/change_password";
 
     // Request body
     Map<String, String> body = new HashMap<>();
@@ -65,4 +67,14 @@ public class Auth0PasswordService {
       throw new Auth0Exception("Error sending password change email: " + e.getMessage(), e);
     }
   }
+
+  /**
+   * Prefixes {@code https://} unless the domain already carries a scheme, matching how the
+   * Management API client resolves the same setting.
+   */
+  private static String baseUrl(String domain) {
+    return domain != null && (domain.startsWith("https://") || domain.startsWith("http://"))
+        ? domain
+        : "https://" + domain;
+  }
 }
@@ -0,0 +1,203 @@
+package com.coherentsolutions.pot.insuranceservice.service;
+
+import com.coherentsolutions.pot.insuranceservice.dto.auth0.Auth0InvitationDto;
+import com.coherentsolutions.pot.insuranceservice.enums.ProvisioningStatus;
+import com.coherentsolutions.pot.insuranceservice.mapper.UserMapper;
+import com.coherentsolutions.pot.insuranceservice.model.Auth0ProvisioningTask;
+import com.coherentsolutions.pot.insuranceservice.repository.Auth0ProvisioningTaskRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.UserRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Background worker that creates Auth0 accounts for users queued in the provisioning outbox.
+ *
+ * <p>Each batch is claimed in a short transaction with {@code FOR UPDATE SKIP LOCKED}: the
+ * attempt counter is incremented and the task is leased until {@code now + lease}, then the
+ * transaction commits. Auth0 is therefore called without holding a database connection, several
+ * instances can run side by side, and a task whose worker died becomes due again once its lease
+ * expires. Failed attempts are retried with exponential backoff up to {@code max-attempts}, after
+ * which the task is marked FAILED. A retry first looks the user up by email, so an attempt that
+ * reached Auth0 but could not record its result does not create a duplicate account. A task whose
+ * invitation cannot be built counts as a failed attempt on its own and does not hold back the
+ * rest of its batch.
+ *
+ * <p>The invitation is built from the current {@code users} row when a task is claimed, so the
+ * outbox holds no personal data. Tasks that reached a final status are deleted once they are older
+ * than {@code retention}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "auth0.enabled", havingValue = "true", matchIfMissing = false)
+public class Auth0ProvisioningDispatcher {
+
+  private static final int MAX_ERROR_LENGTH = 1000;
+
+  private final Auth0ProvisioningTaskRepository auth0ProvisioningTaskRepository;
+  private final UserRepository userRepository;
+  private final Auth0InvitationService auth0InvitationService;
+  private final UserInvitationService userInvitationService;
+  private final UserMapper userMapper;
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${app.auth0.provisioning.batch-size:20}")
+  private int batchSize = 20;
+
+  @Value("${app.auth0.provisioning.max-attempts:8}")
+  private int maxAttempts = 8;
+
+  @Value("${app.auth0.provisioning.initial-backoff:5s}")
+  private Duration initialBackoff = Duration.ofSeconds(5);
+
+  @Value("${app.auth0.provisioning.max-backoff:15m}")
+  private Duration maxBackoff = Duration.ofMinutes(15);
+
+  @Value("${app.auth0.provisioning.lease:2m}")
+  private Duration lease = Duration.ofMinutes(2);
+
+  @Value("${app.auth0.provisioning.retention:30d}")
+  private Duration retention = Duration.ofDays(30);
+
+  @Scheduled(cron = "${app.auth0.provisioning.cron:*/2 * * * * *}")
+  public void dispatchPending() {
+    int processed = drain();
+    if (processed > 0) {
+      log.info("Auth0 provisioning dispatcher processed {} tasks", processed);
+    }
+  }
+
+  /**
+   * Deletes tasks that completed or failed more than {@code retention} ago.
+   */
+  @Scheduled(cron = "${app.auth0.provisioning.cleanup-cron:0 0 3 * * *}")
+  public void deleteProcessedTasks() {
+    Integer deleted = transactionTemplate.execute(status ->
+        auth0ProvisioningTaskRepository.deleteProcessedBefore(Instant.now().minus(retention)));
+    if (deleted != null && deleted > 0) {
+      log.info("Deleted {} processed Auth0 provisioning tasks", deleted);
+    }
+  }
+
+  /**
+   * Processes due tasks batch by batch until a batch comes back short, returning how many tasks
+   * were attempted.
+   */
+  public int drain() {
+    int total = 0;
+    int claimed;
+    do {
+      claimed = dispatchBatch();
+      total += claimed;
+    } while (claimed >= batchSize);
+    return total;
+  }
+
+  /**
+   * Claims one batch of due tasks and provisions them concurrently, returning the batch size.
+   */
+  public int dispatchBatch() {
+    List<ClaimedTask> tasks = transactionTemplate.execute(status -> claim());
+    if (tasks == null || tasks.isEmpty()) {
+      return 0;
+    }
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      tasks.forEach(task -> executor.submit(() -> process(task)));
+    }
+    return tasks.size();
+  }
+
+  private List<ClaimedTask> claim() {
+    Instant now = Instant.now();
+    List<Auth0ProvisioningTask> tasks =
+        auth0ProvisioningTaskRepository.lockDueTasks(now, batchSize);
+    List<ClaimedTask> claimed = new ArrayList<>(tasks.size());
+    for (Auth0ProvisioningTask task : tasks) {
+      task.setAttempts(task.getAttempts() + 1);
+      try {
+        Auth0InvitationDto invitation =
+            userInvitationService.buildInvitationDto(userMapper.toDto(task.getUser()));
+        task.setNextAttemptAt(now.plus(lease));
+        claimed.add(new ClaimedTask(task.getId(), task.getUser().getId(), invitation,
+            task.getAttempts()));
+      } catch (RuntimeException e) {
+        boolean exhausted = task.getAttempts() >= maxAttempts;
+        log.warn("Auth0 invitation for user {} could not be built on attempt {} of {}{}",
+            task.getUser().getId(), task.getAttempts(), maxAttempts, exhausted ? ", giving up" : "", e);
+        task.setStatus(exhausted ? ProvisioningStatus.FAILED : ProvisioningStatus.PENDING);
+        task.setNextAttemptAt(exhausted ? now : now.plus(backoff(task.getAttempts())));
+        task.setLastError(truncate(e.getMessage()));
+        task.setProcessedAt(exhausted ? now : null);
+      }
+    }
+    return claimed;
+  }
+
+  private void process(ClaimedTask task) {
+    try {
+      String auth0UserId = provision(task);
+      Instant now = Instant.now();
+      transactionTemplate.executeWithoutResult(status -> {
+        userRepository.updateAuth0UserId(task.userId(), auth0UserId);
+        auth0ProvisioningTaskRepository.recordOutcome(task.id(), ProvisioningStatus.COMPLETED,
+            now, null, now);
+      });
+    } catch (RuntimeException e) {
+      boolean exhausted = task.attempts() >= maxAttempts;
+      Instant now = Instant.now();
+      log.warn("Auth0 provisioning attempt {} of {} for user {} failed{}", task.attempts(),
+          maxAttempts, task.userId(), exhausted ? ", giving up" : "", e);
+      transactionTemplate.executeWithoutResult(status ->
+          auth0ProvisioningTaskRepository.recordOutcome(task.id(),
+              exhausted ? ProvisioningStatus.FAILED : ProvisioningStatus.PENDING,
+              exhausted ? now : now.plus(backoff(task.attempts())),
+              truncate(e.getMessage()),
+              exhausted ? now : null));
+    }
+  }
+
+  private String provision(ClaimedTask task) {
+    if (task.attempts() > 1) {
+      Optional<String> existing =
+          auth0InvitationService.findUserIdByEmail(task.invitation().getEmail());
+      if (existing.isPresent()) {
+        auth0InvitationService.resendInvitation(existing.get(), task.invitation().getEmail());
+        return existing.get();
+      }
+    }
+    return auth0InvitationService.createUserWithInvitation(task.invitation()).getUserId();
+  }
+
+  /**
+   * Delay before the attempt following attempt number {@code attempt} (1-based): doubles from
+   * {@code initial-backoff} and is capped at {@code max-backoff}.
+   */
+  Duration backoff(int attempt) {
+    Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempt - 1, 20));
+    return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+  }
+
+  private static String truncate(String message) {
+    if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+      return message;
+    }
+    return message.substring(0, MAX_ERROR_LENGTH);
+  }
+
+  private record ClaimedTask(UUID id, UUID userId, Auth0InvitationDto invitation, int attempts) {
+
+  }
+}
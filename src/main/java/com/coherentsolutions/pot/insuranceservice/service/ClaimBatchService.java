@@ -0,0 +1,184 @@
+package com.coherentsolutions.pot.insuranceservice.service;
+
+import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimBatchResult;
+import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimBatchRowResult;
+import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimDto;
+import com.coherentsolutions.pot.insuranceservice.enums.ClaimStatus;
+import com.coherentsolutions.pot.insuranceservice.mapper.ClaimMapper;
+import com.coherentsolutions.pot.insuranceservice.model.Claim;
+import com.coherentsolutions.pot.insuranceservice.repository.ClaimRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.PlanRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Ingests claims in bulk. The request body (a JSON array or NDJSON) is read incrementally and
+ * processed in chunks: every chunk resolves its users and plans with one set-based lookup each,
+ * inserts the accepted claims with JDBC batching and commits on its own, so memory stays bounded
+ * and a failing chunk does not roll back the ones before it.
+ */
+@Slf4j
+@Service
+@Timed("app.service")
+@RequiredArgsConstructor
+public class ClaimBatchService {
+
+  private static final int DEFAULT_CHUNK_SIZE = 500;
+
+  private final ClaimRepository claimRepository;
+  private final PlanRepository planRepository;
+  private final UserRepository userRepository;
+  private final ClaimMapper claimMapper;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${app.claims.batch.chunk-size:500}")
+  private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+  /**
+   * Creates every valid claim read from {@code body} and reports the outcome of each row.
+   * Malformed JSON stops the upload; rows read up to that point are still processed.
+   */
+  public ClaimBatchResult createClaims(InputStream body) throws IOException {
+    List<ClaimBatchRowResult> results = new ArrayList<>();
+    List<ClaimRow> chunk = new ArrayList<>(chunkSize);
+    int row = 0;
+    try (MappingIterator<ClaimDto> rows = objectMapper.readerFor(ClaimDto.class)
+        .readValues(body)) {
+      while (true) {
+        int current = row + 1;
+        ClaimDto dto;
+        try {
+          if (!rows.hasNextValue()) {
+            break;
+          }
+          row = current;
+          dto = rows.nextValue();
+        } catch (JsonMappingException e) {
+          row = current;
+          results.add(ClaimBatchRowResult.rejected(current, List.of(e.getOriginalMessage())));
+          continue;
+        } catch (JsonProcessingException e) {
+          results.add(ClaimBatchRowResult.rejected(current,
+              List.of("Malformed input: " + e.getOriginalMessage())));
+          break;
+        }
+        chunk.add(new ClaimRow(row, dto));
+        if (chunk.size() >= chunkSize) {
+          results.addAll(processChunk(chunk));
+          chunk.clear();
+        }
+      }
+    }
+    if (!chunk.isEmpty()) {
+      results.addAll(processChunk(chunk));
+    }
+    results.sort((a, b) -> Integer.compare(a.row(), b.row()));
+    ClaimBatchResult result = ClaimBatchResult.of(results);
+    log.info("Claim batch processed: {} accepted, {} rejected", result.accepted(),
+        result.rejected());
+    return result;
+  }
+
+  private List<ClaimBatchRowResult> processChunk(List<ClaimRow> chunk) {
+    List<ClaimBatchRowResult> results = new ArrayList<>(chunk.size());
+    List<ClaimRow> valid = new ArrayList<>(chunk.size());
+    for (ClaimRow claimRow : chunk) {
+      List<String> errors = validate(claimRow.dto());
+      if (errors.isEmpty()) {
+        valid.add(claimRow);
+      } else {
+        results.add(ClaimBatchRowResult.rejected(claimRow.row(), errors));
+      }
+    }
+    if (valid.isEmpty()) {
+      return results;
+    }
+
+    try {
+      results.addAll(transactionTemplate.execute(status -> insertChunk(valid)));
+    } catch (DataAccessException | TransactionException e) {
+      log.warn("Claim batch chunk of {} rows failed", valid.size(), e);
+      valid.forEach(claimRow -> results.add(ClaimBatchRowResult.rejected(claimRow.row(),
+          List.of("Chunk could not be stored: " + e.getMostSpecificCause().getMessage()))));
+    }
+    return results;
+  }
+
+  private List<ClaimBatchRowResult> insertChunk(List<ClaimRow> rows) {
+    Set<UUID> userIds = new HashSet<>();
+    Set<UUID> planIds = new HashSet<>();
+    rows.forEach(claimRow -> {
+      userIds.add(claimRow.dto().getConsumer().getUserId());
+      planIds.add(claimRow.dto().getPlanId());
+    });
+    Set<UUID> existingUsers = userRepository.findExistingIds(userIds);
+    Set<UUID> existingPlans = planRepository.findExistingIds(planIds);
+
+    List<ClaimBatchRowResult> results = new ArrayList<>(rows.size());
+    List<ClaimRow> accepted = new ArrayList<>(rows.size());
+    List<Claim> claims = new ArrayList<>(rows.size());
+    for (ClaimRow claimRow : rows) {
+      UUID userId = claimRow.dto().getConsumer().getUserId();
+      UUID planId = claimRow.dto().getPlanId();
+      List<String> errors = new ArrayList<>();
+      if (!existingUsers.contains(userId)) {
+        errors.add("User not found: " + userId);
+      }
+      if (!existingPlans.contains(planId)) {
+        errors.add("Plan not found: " + planId);
+      }
+      if (!errors.isEmpty()) {
+        results.add(ClaimBatchRowResult.rejected(claimRow.row(), errors));
+        continue;
+      }
+      Claim claim = claimMapper.toEntity(claimRow.dto());
+      claim.setConsumer(userRepository.getReferenceById(userId));
+      claim.setPlan(planRepository.getReferenceById(planId));
+      claim.setStatus(ClaimStatus.PENDING);
+      accepted.add(claimRow);
+      claims.add(claim);
+    }
+
+    List<Claim> saved = claimRepository.saveAll(claims);
+    claimRepository.flush();
+    for (int i = 0; i < saved.size(); i++) {
+      results.add(ClaimBatchRowResult.accepted(accepted.get(i).row(), saved.get(i).getId()));
+    }
+    return results;
+  }
+
+  private List<String> validate(ClaimDto dto) {
+    if (dto == null) {
+      return List.of("Row must be a JSON object");
+    }
+    return validator.validate(dto).stream()
+        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+        .sorted()
+        .toList();
+  }
+
+  private record ClaimRow(int row, ClaimDto dto) {
+
+  }
+}
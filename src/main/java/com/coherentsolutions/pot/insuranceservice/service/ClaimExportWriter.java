@@ -0,0 +1,100 @@
+package com.coherentsolutions.pot.insuranceservice.service;
+
+import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimExportRow;
+import com.coherentsolutions.pot.insuranceservice.enums.ClaimExportFormat;
+import com.coherentsolutions.pot.insuranceservice.util.CsvUtils;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes exported claims one row at a time. Output is buffered and only flushed when the buffer
+ * fills, so a slow client blocks the writer on the servlet output stream instead of rows piling
+ * up in memory.
+ */
+interface ClaimExportWriter extends Closeable {
+
+  void write(ClaimExportRow row) throws IOException;
+
+  static ClaimExportWriter create(ClaimExportFormat format, OutputStream out,
+      ObjectMapper objectMapper) throws IOException {
+    return switch (format) {
+      case NDJSON -> new Ndjson(out, objectMapper);
+      case CSV -> new Csv(out);
+    };
+  }
+
+  /**
+   * One JSON object per line.
+   */
+  final class Ndjson implements ClaimExportWriter {
+
+    private final JsonGenerator generator;
+    private final ObjectWriter rowWriter;
+
+    Ndjson(OutputStream out, ObjectMapper objectMapper) throws IOException {
+      this.generator = objectMapper.getFactory().createGenerator(out);
+      this.rowWriter = objectMapper.writer()
+          .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+          .withRootValueSeparator("");
+    }
+
+    @Override
+    public void write(ClaimExportRow row) throws IOException {
+      rowWriter.writeValue(generator, row);
+      generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+      generator.close();
+    }
+  }
+
+  /**
+   * Header line followed by one record per claim.
+   */
+  final class Csv implements ClaimExportWriter {
+
+    private static final String HEADER = "id,claimNumber,status,serviceDate,amount,userId,"
+        + "firstName,lastName,companyId,planId,planName";
+
+    private final Writer writer;
+
+    Csv(OutputStream out) throws IOException {
+      this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+      writer.write(HEADER);
+      writer.write("\r\n");
+    }
+
+    @Override
+    public void write(ClaimExportRow row) throws IOException {
+      writer.write(String.join(",",
+          CsvUtils.escape(row.id()),
+          CsvUtils.escape(row.claimNumber()),
+          CsvUtils.escape(row.status()),
+          CsvUtils.escape(row.serviceDate()),
+          CsvUtils.escape(row.amount() != null ? row.amount().toPlainString() : null),
+          CsvUtils.escape(row.userId()),
+          CsvUtils.escape(row.firstName()),
+          CsvUtils.escape(row.lastName()),
+          CsvUtils.escape(row.companyId()),
+          CsvUtils.escape(row.planId()),
+          CsvUtils.escape(row.planName())));
+      writer.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+      writer.close();
+    }
+  }
+}
@@ -2,15 +2,25 @@ package com.coherentsolutions.pot.insuranceservice.service;
 
 import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimDto;
 import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimFilter;
+import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimListRow;
+import com.coherentsolutions.pot.insuranceservice.dto.pagination.CursorSlice;
+import com.coherentsolutions.pot.insuranceservice.enums.ClaimExportFormat;
 import com.coherentsolutions.pot.insuranceservice.enums.ClaimStatus;
 import com.coherentsolutions.pot.insuranceservice.mapper.ClaimMapper;
 import com.coherentsolutions.pot.insuranceservice.model.Claim;
 import com.coherentsolutions.pot.insuranceservice.model.Plan;
 import com.coherentsolutions.pot.insuranceservice.model.User;
+import com.coherentsolutions.pot.insuranceservice.repository.ClaimExportRepository;
 import com.coherentsolutions.pot.insuranceservice.repository.ClaimRepository;
 import com.coherentsolutions.pot.insuranceservice.repository.ClaimSpecification;
+import com.coherentsolutions.pot.insuranceservice.repository.KeysetPagination;
 import com.coherentsolutions.pot.insuranceservice.repository.PlanRepository;
 import com.coherentsolutions.pot.insuranceservice.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -21,6 +31,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 @Service
+@Timed("app.service")
 @RequiredArgsConstructor
 public class ClaimManagementService {
 
@@ -28,11 +39,42 @@ public class ClaimManagementService {
   private final PlanRepository planRepository;
   private final UserRepository userRepository;
   private final ClaimMapper claimMapper;
+  private final ClaimExportRepository claimExportRepository;
+  private final ObjectMapper objectMapper;
 
   @Transactional(readOnly = true)
   public Page<ClaimDto> getClaimsWithFilters(ClaimFilter filter, Pageable pageable) {
-    Page<Claim> page = claimRepository.findAll(ClaimSpecification.withFilters(filter), pageable);
-    return page.map(claimMapper::toDto);
+    Page<ClaimListRow> page = claimRepository.findListRows(ClaimSpecification.withFilters(filter),
+        pageable);
+    return page.map(claimMapper::fromListRow);
+  }
+
+  @Transactional(readOnly = true)
+  public CursorSlice<ClaimDto> getClaimsWithCursor(ClaimFilter filter, Pageable pageable,
+      String cursor) {
+    return KeysetPagination.fetch(ClaimSpecification.withFilters(filter), pageable, cursor,
+        claimRepository::findListRowWindow).map(claimMapper::fromListRow);
+  }
+
+  /**
+   * Streams every claim matching {@code filter} to {@code out} in the given format. Rows are read
+   * from a database cursor and written as they arrive, so memory use does not grow with the size
+   * of the export.
+   */
+  @Transactional(readOnly = true)
+  public void exportClaims(ClaimFilter filter, ClaimExportFormat format, OutputStream out)
+      throws IOException {
+    try (ClaimExportWriter writer = ClaimExportWriter.create(format, out, objectMapper)) {
+      claimExportRepository.streamClaims(filter, row -> {
+        try {
+          writer.write(row);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
   }
 
   // TODO: Do not allow creating claims for soft deleted Plans
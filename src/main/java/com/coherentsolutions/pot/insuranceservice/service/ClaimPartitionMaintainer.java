@@ -0,0 +1,82 @@
+package com.coherentsolutions.pot.insuranceservice.service;
+
+import com.coherentsolutions.pot.insuranceservice.repository.ClaimPartitionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Nightly job that keeps the monthly partitions of {@code claims} ahead of the calendar and, when
+ * a retention is configured, archives the old ones.
+ *
+ * <p>Partitions for the current month and the next {@code app.claims.partitions.months-ahead}
+ * months are created if missing, so new claims rarely land in the default partition. With
+ * {@code app.claims.partitions.retention-months} greater than zero, partitions entirely older than
+ * that many months are detached and moved to {@link ClaimPartitionRepository#ARCHIVE_SCHEMA};
+ * archived claims are no longer returned by the API. Created and archived partitions are counted
+ * in {@code app.claims.partitions} by {@code action}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClaimPartitionMaintainer {
+
+  private static final int DEFAULT_MONTHS_AHEAD = 3;
+
+  private final ClaimPartitionRepository claimPartitionRepository;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${app.claims.partitions.months-ahead:3}")
+  private int monthsAhead = DEFAULT_MONTHS_AHEAD;
+
+  @Value("${app.claims.partitions.retention-months:0}")
+  private int retentionMonths;
+
+  @Scheduled(cron = "${app.claims.partitions.cron:0 15 0 * * *}")
+  public void maintainPartitions() {
+    maintain(YearMonth.now());
+  }
+
+  /**
+   * Creates the partitions due as of {@code current} and archives the expired ones.
+   */
+  public MaintenanceReport maintain(YearMonth current) {
+    List<YearMonth> created = new ArrayList<>();
+    for (int i = 0; i <= monthsAhead; i++) {
+      YearMonth month = current.plusMonths(i);
+      if (claimPartitionRepository.createMonthlyPartition(month)) {
+        created.add(month);
+      }
+    }
+
+    List<YearMonth> archived = new ArrayList<>();
+    if (retentionMonths > 0) {
+      YearMonth oldestRetained = current.minusMonths(retentionMonths);
+      for (YearMonth month : claimPartitionRepository.findPartitionMonths()) {
+        if (month.isBefore(oldestRetained)) {
+          claimPartitionRepository.archivePartition(month);
+          archived.add(month);
+        }
+      }
+    }
+
+    meterRegistry.counter("app.claims.partitions", "action", "created").increment(created.size());
+    meterRegistry.counter("app.claims.partitions", "action", "archived").increment(archived.size());
+    log.info("Claim partition maintenance for {} finished: created {}, archived {}", current,
+        created, archived);
+    return new MaintenanceReport(created, archived);
+  }
+
+  /**
+   * Months whose partitions were created or archived by a single maintenance run.
+   */
+  public record MaintenanceReport(List<YearMonth> created, List<YearMonth> archived) {
+
+  }
+}
@@ -3,13 +3,16 @@ package com.coherentsolutions.pot.insuranceservice.service;
 import com.coherentsolutions.pot.insuranceservice.dto.company.CompanyDto;
 import com.coherentsolutions.pot.insuranceservice.dto.company.CompanyFilter;
 import com.coherentsolutions.pot.insuranceservice.dto.company.CompanyReactivationRequest;
+import com.coherentsolutions.pot.insuranceservice.dto.pagination.CursorSlice;
 import com.coherentsolutions.pot.insuranceservice.enums.CompanyStatus;
 import com.coherentsolutions.pot.insuranceservice.enums.UserStatus;
 import com.coherentsolutions.pot.insuranceservice.mapper.CompanyMapper;
 import com.coherentsolutions.pot.insuranceservice.model.Company;
 import com.coherentsolutions.pot.insuranceservice.repository.CompanyRepository;
 import com.coherentsolutions.pot.insuranceservice.repository.CompanySpecification;
+import com.coherentsolutions.pot.insuranceservice.repository.KeysetPagination;
 import com.coherentsolutions.pot.insuranceservice.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import java.util.UUID;
 import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +28,7 @@ import org.springframework.web.server.ResponseStatusException;
  * deactivation/reactivation, and retrieval with filtering and pagination.
  */
 @Service
+@Timed("app.service")
 @RequiredArgsConstructor
 public class CompanyManagementService {
 
@@ -43,6 +47,16 @@ public class CompanyManagementService {
     return companies.map(companyMapper::toCompanyDto);
   }
 
+  /**
+   * Retrieves companies filtered by {@link CompanyFilter} in keyset mode, continuing after
+   * {@code cursor}.
+   */
+  public CursorSlice<CompanyDto> getCompaniesWithCursor(CompanyFilter filter, Pageable pageable,
+      String cursor) {
+    return KeysetPagination.fetch(companyRepository, CompanySpecification.withFilters(filter),
+        pageable, cursor).map(companyMapper::toCompanyDto);
+  }
+
   /**
    * Updates an existing company identified by {@code id} with data from {@link CompanyDto}.
    * Prevents modification of deactivated companies.
@@ -1,18 +1,25 @@
 package com.coherentsolutions.pot.insuranceservice.service;
 
 import com.coherentsolutions.pot.insuranceservice.dto.enrollment.EnrollmentDto;
+import com.coherentsolutions.pot.insuranceservice.dto.enrollment.EnrollmentFilter;
+import com.coherentsolutions.pot.insuranceservice.dto.pagination.CursorSlice;
 import com.coherentsolutions.pot.insuranceservice.mapper.EnrollmentMapper;
 import com.coherentsolutions.pot.insuranceservice.repository.EnrollmentRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.EnrollmentSpecification;
+import com.coherentsolutions.pot.insuranceservice.repository.KeysetPagination;
 import com.coherentsolutions.pot.insuranceservice.repository.PlanRepository;
 import com.coherentsolutions.pot.insuranceservice.repository.UserRepository;
-import java.util.List;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 @Service
+@Timed("app.service")
 @RequiredArgsConstructor
 public class EnrollmentManagementService {
 
@@ -41,11 +48,21 @@ public class EnrollmentManagementService {
     return enrollmentMapper.toDto(saved);
   }
 
+  /**
+   * Retrieves a page of active enrollments filtered by {@link EnrollmentFilter}. The user and plan
+   * are lazy and only their ids are mapped, so a page costs one select plus the count.
+   */
   @Transactional(readOnly = true)
-  public List<EnrollmentDto> getAll() {
-    return enrollmentRepository.findAllByDeletedAtIsNull()
-        .stream()
-        .map(enrollmentMapper::toDto)
-        .toList();
+  public Page<EnrollmentDto> getEnrollmentsWithFilters(EnrollmentFilter filter,
+      Pageable pageable) {
+    return enrollmentRepository.findAll(EnrollmentSpecification.withFilters(filter), pageable)
+        .map(enrollmentMapper::toDto);
+  }
+
+  @Transactional(readOnly = true)
+  public CursorSlice<EnrollmentDto> getEnrollmentsWithCursor(EnrollmentFilter filter,
+      Pageable pageable, String cursor) {
+    return KeysetPagination.fetch(enrollmentRepository,
+        EnrollmentSpecification.withFilters(filter), pageable, cursor).map(enrollmentMapper::toDto);
   }
 }
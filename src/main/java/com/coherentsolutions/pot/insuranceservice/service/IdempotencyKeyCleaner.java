@@ -0,0 +1,28 @@
+package com.coherentsolutions.pot.insuranceservice.service;
+
+import com.coherentsolutions.pot.insuranceservice.repository.IdempotencyKeyRepository;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Periodically deletes {@code Idempotency-Key} records whose response or reservation has expired.
+ * Expired keys are already ignored when claimed again, so this only keeps the table small.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyKeyCleaner {
+
+  private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+  @Scheduled(cron = "${app.idempotency.cleanup-cron:0 */15 * * * *}")
+  public void deleteExpiredKeys() {
+    int deleted = idempotencyKeyRepository.deleteExpired(Instant.now());
+    if (deleted > 0) {
+      log.info("Deleted {} expired idempotency keys", deleted);
+    }
+  }
+}
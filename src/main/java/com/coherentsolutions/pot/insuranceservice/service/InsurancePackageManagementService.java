@@ -3,6 +3,7 @@ package com.coherentsolutions.pot.insuranceservice.service;
 
 import com.coherentsolutions.pot.insuranceservice.dto.insurancepackage.InsurancePackageDto;
 import com.coherentsolutions.pot.insuranceservice.dto.insurancepackage.InsurancePackageFilter;
+import com.coherentsolutions.pot.insuranceservice.dto.pagination.CursorSlice;
 import com.coherentsolutions.pot.insuranceservice.enums.PackageStatus;
 import com.coherentsolutions.pot.insuranceservice.mapper.InsurancePackageMapper;
 import com.coherentsolutions.pot.insuranceservice.model.Company;
@@ -11,7 +12,9 @@ import com.coherentsolutions.pot.insuranceservice.model.Plan;
 import com.coherentsolutions.pot.insuranceservice.repository.CompanyRepository;
 import com.coherentsolutions.pot.insuranceservice.repository.InsurancePackageRepository;
 import com.coherentsolutions.pot.insuranceservice.repository.InsurancePackageSpecification;
+import com.coherentsolutions.pot.insuranceservice.repository.KeysetPagination;
 import com.coherentsolutions.pot.insuranceservice.repository.PlanRepository;
+import io.micrometer.core.annotation.Timed;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
@@ -25,6 +28,7 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.web.server.ResponseStatusException;
 
 @Service
+@Timed("app.service")
 @RequiredArgsConstructor
 public class InsurancePackageManagementService {
 
@@ -67,6 +71,14 @@ public class InsurancePackageManagementService {
     return insurancePackages.map(insurancePackageMapper::toInsurancePackageDto);
   }
 
+  @Transactional(readOnly = true)
+  public CursorSlice<InsurancePackageDto> getInsurancePackagesWithCursor(
+      InsurancePackageFilter filter, Pageable pageable, String cursor) {
+    return KeysetPagination.fetch(insurancePackageRepository,
+            InsurancePackageSpecification.withFilters(filter), pageable, cursor)
+        .map(insurancePackageMapper::toInsurancePackageDto);
+  }
+
   @Transactional(readOnly = true)
   public InsurancePackageDto getInsurancePackageById(UUID id) {
     InsurancePackage insurancePackage = insurancePackageRepository.findByIdOrThrow(id);
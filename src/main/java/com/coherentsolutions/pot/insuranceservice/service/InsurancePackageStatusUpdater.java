@@ -1,32 +1,88 @@
 package com.coherentsolutions.pot.insuranceservice.service;
 
-
-import com.coherentsolutions.pot.insuranceservice.model.InsurancePackage;
+import com.coherentsolutions.pot.insuranceservice.config.SecurityAuditor;
 import com.coherentsolutions.pot.insuranceservice.repository.InsurancePackageRepository;
-import jakarta.transaction.Transactional;
-import java.util.List;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.function.IntSupplier;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+/**
+ * Nightly job that moves insurance packages between INITIALIZED, ACTIVE and EXPIRED once their
+ * date window crosses the current day.
+ *
+ * <p>Only rows that actually change are touched. Transitions are applied with set-based UPDATEs
+ * in chunks of {@code app.insurance-package.status-update.batch-size} rows, each chunk committed
+ * in its own transaction, so the job never loads packages into memory nor holds one long
+ * transaction. DEACTIVATED packages are never modified. Every chunk is recorded as one Envers
+ * revision of the system user, so the transitions show up in the package's audit history.
+ *
+ * <p>Each run is timed as {@code app.insurance-package.status-update}, and the applied transitions
+ * are counted in {@code app.insurance-package.status-transitions} by {@code transition}.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class InsurancePackageStatusUpdater {
 
+  private static final int DEFAULT_BATCH_SIZE = 1000;
+
   private final InsurancePackageRepository insurancePackageRepository;
+  private final MeterRegistry meterRegistry;
 
+  @Value("${app.insurance-package.status-update.batch-size:1000}")
+  private int batchSize = DEFAULT_BATCH_SIZE;
 
-  @Scheduled(cron = "0 0 0 * * *")
-  @Transactional
+  @Scheduled(cron = "${app.insurance-package.status-update.cron:0 0 0 * * *}")
   public void updatePackageStatus() {
-    List<InsurancePackage> packages = insurancePackageRepository.findAll();
+    recalculateStatuses(LocalDate.now());
+  }
 
-    for (InsurancePackage insurancePackage : packages) {
-      insurancePackage.calculateStatus(false);
-    }
+  /**
+   * Applies all status transitions that are due on {@code today} and reports what was changed.
+   */
+  public StatusUpdateReport recalculateStatuses(LocalDate today) {
+    long started = System.nanoTime();
+
+    int expired = drain(() ->
+        insurancePackageRepository.expireBatch(today, batchSize, SecurityAuditor.SYSTEM));
+    int activated = drain(() ->
+        insurancePackageRepository.activateBatch(today, batchSize, SecurityAuditor.SYSTEM));
 
-    insurancePackageRepository.saveAll(packages);
+    StatusUpdateReport report = new StatusUpdateReport(activated, expired,
+        Duration.ofNanos(System.nanoTime() - started));
+    meterRegistry.timer("app.insurance-package.status-update").record(report.elapsed());
+    meterRegistry.counter("app.insurance-package.status-transitions", "transition", "activated")
+        .increment(activated);
+    meterRegistry.counter("app.insurance-package.status-transitions", "transition", "expired")
+        .increment(expired);
+    log.info("Insurance package status update for {} finished: {} activated, {} expired in {} ms",
+        today, report.activated(), report.expired(), report.elapsed().toMillis());
+    return report;
   }
 
+  private int drain(IntSupplier batch) {
+    int total = 0;
+    int updated;
+    do {
+      updated = batch.getAsInt();
+      total += updated;
+    } while (updated >= batchSize);
+    return total;
+  }
+
+  /**
+   * Outcome of a single status recalculation run.
+   */
+  public record StatusUpdateReport(int activated, int expired, Duration elapsed) {
 
+    public int total() {
+      return activated + expired;
+    }
+  }
 }
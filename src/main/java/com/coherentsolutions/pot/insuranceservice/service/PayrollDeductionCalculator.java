@@ -0,0 +1,75 @@
+package com.coherentsolutions.pot.insuranceservice.service;
+
+import com.coherentsolutions.pot.insuranceservice.dto.payroll.PayrollDeduction;
+import com.coherentsolutions.pot.insuranceservice.dto.payroll.PayrollDeductionInput;
+import com.coherentsolutions.pot.insuranceservice.enums.PayrollFrequency;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Computes per-paycheck deduction schedules.
+ *
+ * <p>The employee share of an enrollment, {@code electionAmount - planContribution} (never
+ * negative), is spread over every pay date of the package window: weekly pay dates fall every
+ * seven days from the package start date, monthly ones on the start date's day of each following
+ * month (clamped to the month's length). Each period gets the share divided by the number of
+ * periods, truncated to cents, and the last period absorbs the remaining cents so the schedule
+ * always sums exactly to the share.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PayrollDeductionCalculator {
+
+  private static final int CURRENCY_SCALE = 2;
+
+  /**
+   * Returns the deduction schedule of {@code input}, empty when the package window contains no
+   * pay date.
+   */
+  public static List<PayrollDeduction> calculate(PayrollDeductionInput input) {
+    List<LocalDate> payDates = payDates(input.payrollFrequency(), input.startDate(),
+        input.endDate());
+    if (payDates.isEmpty()) {
+      return List.of();
+    }
+
+    BigDecimal share = input.electionAmount()
+        .subtract(input.planContribution())
+        .max(BigDecimal.ZERO)
+        .setScale(CURRENCY_SCALE, RoundingMode.HALF_UP);
+    BigDecimal periods = BigDecimal.valueOf(payDates.size());
+    BigDecimal perPeriod = share.divide(periods, CURRENCY_SCALE, RoundingMode.DOWN);
+    BigDecimal remainder = share.subtract(perPeriod.multiply(periods));
+
+    List<PayrollDeduction> deductions = new ArrayList<>(payDates.size());
+    for (int i = 0; i < payDates.size(); i++) {
+      boolean last = i == payDates.size() - 1;
+      deductions.add(new PayrollDeduction(input.enrollmentId(), input.insurancePackageId(),
+          input.companyId(), input.userId(), i + 1, payDates.get(i),
+          last ? perPeriod.add(remainder) : perPeriod));
+    }
+    return deductions;
+  }
+
+  /**
+   * Lists the pay dates between {@code start} and {@code end}, both inclusive.
+   */
+  public static List<LocalDate> payDates(PayrollFrequency frequency, LocalDate start,
+      LocalDate end) {
+    List<LocalDate> dates = new ArrayList<>();
+    for (int i = 0; ; i++) {
+      LocalDate date = switch (frequency) {
+        case WEEKLY -> start.plusWeeks(i);
+        case MONTHLY -> start.plusMonths(i);
+      };
+      if (date.isAfter(end)) {
+        return dates;
+      }
+      dates.add(date);
+    }
+  }
+}
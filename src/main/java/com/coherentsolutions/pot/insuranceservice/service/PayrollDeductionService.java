@@ -0,0 +1,180 @@
+package com.coherentsolutions.pot.insuranceservice.service;
+
+import com.coherentsolutions.pot.insuranceservice.config.PayrollDeductionConfig;
+import com.coherentsolutions.pot.insuranceservice.dto.payroll.PayrollDeduction;
+import com.coherentsolutions.pot.insuranceservice.dto.payroll.PayrollDeductionInput;
+import com.coherentsolutions.pot.insuranceservice.dto.payroll.PayrollDeductionRunReport;
+import com.coherentsolutions.pot.insuranceservice.repository.CompanyRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.PayrollDeductionRepository;
+import io.micrometer.core.annotation.Timed;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Computes and stores per-paycheck deduction schedules, see {@link PayrollDeductionCalculator}.
+ *
+ * <p>Work is partitioned by company: each company is processed in its own transaction, guarded by
+ * a transaction-scoped advisory lock, on the {@link PayrollDeductionConfig#EXECUTOR} pool, so up
+ * to {@code app.payroll.deductions.parallelism} companies run concurrently. Inputs are streamed
+ * from a cursor and written back in chunks of {@code app.payroll.deductions.chunk-size} schedules
+ * with JDBC batching, so memory stays bounded regardless of company size.
+ *
+ * <p>Incremental runs only recalculate enrollments whose row, or whose package row, changed
+ * after the watermark of the company's last completed run. The watermark is the run's start time
+ * on the database clock minus {@code app.payroll.deductions.watermark-margin}, not the newest
+ * change the run read: a transaction that commits after the run's snapshot may carry an earlier
+ * {@code updated_at}, and the margin makes the next run pick it up. Rows inside the margin are
+ * recalculated twice, which is harmless because schedules are replaced. Schedules that no longer
+ * have a matching active enrollment and package are removed on every run.
+ */
+@Slf4j
+@Service
+@Timed("app.service")
+public class PayrollDeductionService {
+
+  private static final int DEFAULT_CHUNK_SIZE = 500;
+  private static final Duration DEFAULT_WATERMARK_MARGIN = Duration.ofMinutes(10);
+
+  private final CompanyRepository companyRepository;
+  private final PayrollDeductionRepository payrollDeductionRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final Executor executor;
+
+  @Value("${app.payroll.deductions.chunk-size:500}")
+  private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+  @Value("${app.payroll.deductions.watermark-margin:10m}")
+  private Duration watermarkMargin = DEFAULT_WATERMARK_MARGIN;
+
+  public PayrollDeductionService(CompanyRepository companyRepository,
+      PayrollDeductionRepository payrollDeductionRepository, TransactionTemplate transactionTemplate,
+      @Qualifier(PayrollDeductionConfig.EXECUTOR) Executor executor) {
+    this.companyRepository = companyRepository;
+    this.payrollDeductionRepository = payrollDeductionRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.executor = executor;
+  }
+
+  @Scheduled(cron = "${app.payroll.deductions.cron:0 30 1 * * *}")
+  public void recalculateChangedDeductions() {
+    calculateAll(true);
+  }
+
+  /**
+   * Starts calculating deductions for every company that has insurance packages and returns
+   * without waiting. The returned future completes with the run report, which is also logged.
+   */
+  public CompletableFuture<PayrollDeductionRunReport> calculateAll(boolean incremental) {
+    return calculate(payrollDeductionRepository.findCompanyIdsWithPackages(), incremental);
+  }
+
+  /**
+   * Calculates deductions for a single company.
+   */
+  public PayrollDeductionRunReport calculateForCompany(UUID companyId, boolean incremental) {
+    if (!companyRepository.existsById(companyId)) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Company not found");
+    }
+    return calculate(List.of(companyId), incremental).join();
+  }
+
+  private CompletableFuture<PayrollDeductionRunReport> calculate(List<UUID> companyIds,
+      boolean incremental) {
+    long started = System.nanoTime();
+    List<CompletableFuture<PayrollDeductionRunReport>> partitions = companyIds.stream()
+        .map(companyId -> CompletableFuture.supplyAsync(
+            () -> calculatePartition(companyId, incremental), executor))
+        .toList();
+    return CompletableFuture.allOf(partitions.toArray(CompletableFuture[]::new))
+        .thenApply(done -> {
+          PayrollDeductionRunReport report = partitions.stream()
+              .map(CompletableFuture::join)
+              .reduce(PayrollDeductionRunReport.empty(incremental), PayrollDeductionRunReport::plus)
+              .withElapsed(Duration.ofNanos(System.nanoTime() - started));
+          log.info("Payroll deduction {} run finished: {} companies ({} failed), {} enrollments, "
+                  + "{} deductions in {} ms", incremental ? "incremental" : "full",
+              report.companiesProcessed(), report.companiesFailed(), report.enrollmentsProcessed(),
+              report.deductionsWritten(), report.elapsed().toMillis());
+          return report;
+        })
+        .whenComplete((report, error) -> {
+          if (error != null) {
+            log.error("Payroll deduction {} run failed", incremental ? "incremental" : "full", error);
+          }
+        });
+  }
+
+  private PayrollDeductionRunReport calculatePartition(UUID companyId, boolean incremental) {
+    LocalDateTime startedAt = payrollDeductionRepository.currentTimestamp();
+    try {
+      return transactionTemplate.execute(status ->
+          calculateCompany(companyId, incremental, startedAt));
+    } catch (RuntimeException e) {
+      log.warn("Payroll deduction calculation for company {} failed", companyId, e);
+      payrollDeductionRepository.insertRun(companyId, incremental, false, startedAt, null, 0, 0,
+          e.getMessage());
+      return new PayrollDeductionRunReport(incremental, 1, 1, 0, 0, Duration.ZERO);
+    }
+  }
+
+  private PayrollDeductionRunReport calculateCompany(UUID companyId, boolean incremental,
+      LocalDateTime startedAt) {
+    payrollDeductionRepository.lockCompany(companyId);
+    LocalDateTime since = incremental
+        ? payrollDeductionRepository.findLastWatermark(companyId).orElse(null)
+        : null;
+
+    CompanyBatch batch = new CompanyBatch();
+    payrollDeductionRepository.streamInputs(companyId, since, batch::add);
+    batch.flush();
+    payrollDeductionRepository.deleteOrphans(companyId);
+
+    payrollDeductionRepository.insertRun(companyId, incremental, true, startedAt,
+        startedAt.minus(watermarkMargin), batch.enrollments, batch.deductions, null);
+    return new PayrollDeductionRunReport(incremental, 1, 0, batch.enrollments, batch.deductions,
+        Duration.ZERO);
+  }
+
+  /**
+   * Accumulates streamed inputs of one company and writes their schedules chunk by chunk.
+   */
+  private final class CompanyBatch {
+
+    private final List<PayrollDeductionInput> inputs = new ArrayList<>(chunkSize);
+    private final List<PayrollDeduction> schedules = new ArrayList<>();
+    private int enrollments;
+    private int deductions;
+
+    private void add(PayrollDeductionInput input) {
+      inputs.add(input);
+      schedules.addAll(PayrollDeductionCalculator.calculate(input));
+      if (inputs.size() >= chunkSize) {
+        flush();
+      }
+    }
+
+    private void flush() {
+      if (inputs.isEmpty()) {
+        return;
+      }
+      payrollDeductionRepository.replaceSchedules(inputs, schedules);
+      enrollments += inputs.size();
+      deductions += schedules.size();
+      inputs.clear();
+      schedules.clear();
+    }
+  }
+}
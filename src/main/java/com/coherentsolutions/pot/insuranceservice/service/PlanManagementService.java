@@ -1,5 +1,6 @@
 package com.coherentsolutions.pot.insuranceservice.service;
 
+import com.coherentsolutions.pot.insuranceservice.config.CacheConfig;
 import com.coherentsolutions.pot.insuranceservice.dto.plan.PlanDto;
 import com.coherentsolutions.pot.insuranceservice.dto.plan.PlanFilter;
 import com.coherentsolutions.pot.insuranceservice.dto.plan.PlanTypeDto;
@@ -9,15 +10,24 @@ import com.coherentsolutions.pot.insuranceservice.model.PlanType;
 import com.coherentsolutions.pot.insuranceservice.repository.PlanRepository;
 import com.coherentsolutions.pot.insuranceservice.repository.PlanSpecification;
 import com.coherentsolutions.pot.insuranceservice.repository.PlanTypeRepository;
+import io.micrometer.core.annotation.Timed;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+/**
+ * Manages plans and plan types. Plan types and the per-type plan catalog are cached, see
+ * {@link CacheConfig}; every plan write evicts the whole catalog since a change can affect both
+ * the per-type and the unfiltered listing.
+ */
 @Service
+@Timed("app.service")
 @RequiredArgsConstructor
 public class PlanManagementService {
 
@@ -25,6 +35,7 @@ public class PlanManagementService {
   private final PlanMapper planMapper;
   private final PlanTypeRepository planTypeRepository;
 
+  @CacheEvict(cacheNames = CacheConfig.PLAN_CATALOG, allEntries = true)
   @Transactional
   public PlanDto createPlan(PlanDto planDto) {
     Plan plan = planMapper.toEntity(planDto);
@@ -37,6 +48,7 @@ public class PlanManagementService {
     return planMapper.toDto(saved);
   }
 
+  @CacheEvict(cacheNames = CacheConfig.PLAN_CATALOG, allEntries = true)
   @Transactional
   public PlanDto updatePlan(UUID id, PlanDto planDto) {
     Plan existing = planRepository.findByIdOrThrow(id);
@@ -57,12 +69,14 @@ public class PlanManagementService {
     }
   }
 
+  @Cacheable(cacheNames = CacheConfig.PLAN_CATALOG, key = "#filter.typeId ?: 'all'")
   @Transactional(readOnly = true)
   public List<PlanDto> getPlansWithFilter(PlanFilter filter) {
     List<Plan> plans = planRepository.findAll(PlanSpecification.withFilter(filter));
     return plans.stream().map(planMapper::toDto).toList();
   }
 
+  @Cacheable(cacheNames = CacheConfig.PLAN_TYPES, key = "'all'")
   @Transactional(readOnly = true)
   public List<PlanTypeDto> getAllPlanTypes() {
     return planTypeRepository.findAll()
@@ -71,6 +85,7 @@ public class PlanManagementService {
         .toList();
   }
 
+  @CacheEvict(cacheNames = CacheConfig.PLAN_CATALOG, allEntries = true)
   @Transactional
   public void softDeletePlan(UUID id) {
     Plan plan = planRepository.findByIdOrThrow(id);
@@ -0,0 +1,90 @@
+package com.coherentsolutions.pot.insuranceservice.service;
+
+import com.coherentsolutions.pot.insuranceservice.dto.user.UserImportRowResult;
+import com.coherentsolutions.pot.insuranceservice.enums.UserImportFormat;
+import com.coherentsolutions.pot.insuranceservice.util.CsvUtils;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes the row-level result file of a bulk user upload, in the format of the upload.
+ */
+interface UserImportResultWriter extends Closeable {
+
+  void write(UserImportRowResult row) throws IOException;
+
+  static UserImportResultWriter create(UserImportFormat format, OutputStream out,
+      ObjectMapper objectMapper) throws IOException {
+    return switch (format) {
+      case NDJSON -> new Ndjson(out, objectMapper);
+      case CSV -> new Csv(out);
+    };
+  }
+
+  /**
+   * One JSON object per line.
+   */
+  final class Ndjson implements UserImportResultWriter {
+
+    private final JsonGenerator generator;
+    private final ObjectWriter rowWriter;
+
+    Ndjson(OutputStream out, ObjectMapper objectMapper) throws IOException {
+      this.generator = objectMapper.getFactory().createGenerator(out);
+      this.rowWriter = objectMapper.writer()
+          .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+          .withRootValueSeparator("");
+    }
+
+    @Override
+    public void write(UserImportRowResult row) throws IOException {
+      rowWriter.writeValue(generator, row);
+      generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+      generator.close();
+    }
+  }
+
+  /**
+   * Header line followed by one record per uploaded row; errors are joined with {@code "; "}.
+   */
+  final class Csv implements UserImportResultWriter {
+
+    private static final String HEADER = "row,status,userId,errors";
+
+    private final Writer writer;
+
+    Csv(OutputStream out) throws IOException {
+      this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+      writer.write(HEADER);
+      writer.write("\r\n");
+    }
+
+    @Override
+    public void write(UserImportRowResult row) throws IOException {
+      writer.write(String.join(",",
+          CsvUtils.escape(row.row()),
+          row.accepted() ? "ACCEPTED" : "REJECTED",
+          CsvUtils.escape(row.userId()),
+          CsvUtils.escape(row.errors().isEmpty() ? null : String.join("; ", row.errors()))));
+      writer.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+      writer.close();
+    }
+  }
+}
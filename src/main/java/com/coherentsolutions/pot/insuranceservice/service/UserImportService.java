@@ -0,0 +1,328 @@
+package com.coherentsolutions.pot.insuranceservice.service;
+
+import com.coherentsolutions.pot.insuranceservice.config.SecurityAuditor;
+import com.coherentsolutions.pot.insuranceservice.dto.user.UserDto;
+import com.coherentsolutions.pot.insuranceservice.dto.user.UserImportResult;
+import com.coherentsolutions.pot.insuranceservice.dto.user.UserImportRowResult;
+import com.coherentsolutions.pot.insuranceservice.enums.UserFunction;
+import com.coherentsolutions.pot.insuranceservice.enums.UserImportFormat;
+import com.coherentsolutions.pot.insuranceservice.enums.UserStatus;
+import com.coherentsolutions.pot.insuranceservice.repository.CompanyRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.UserImportRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Onboards the users of a company in bulk from a CSV, JSON array or NDJSON upload. The upload is
+ * read incrementally and processed in chunks, and the outcome of every row is streamed to a result
+ * file as each chunk completes, so memory stays bounded by the chunk size.
+ *
+ * <p>Uniqueness of email, username and SSN is checked up front: against earlier rows of the same
+ * chunk, then against the database with one set-based query per column and chunk. Accepted users
+ * and their function assignments are written with JDBC batches, and each chunk commits on its own,
+ * so a failing chunk does not roll back the ones before it; rows of earlier chunks are therefore
+ * caught by the database check and no keys are kept across chunks. Invitations are optionally queued in
+ * the Auth0 provisioning outbox within the same transaction.
+ *
+ * <p>CSV uploads need a header line; the recognized columns are {@code firstName}, {@code
+ * lastName}, {@code username}, {@code email}, {@code dateOfBirth} (YYYY-MM-DD), {@code ssn} and
+ * {@code functions} ({@code ;}-separated). JSON rows use the body of {@code POST
+ * /v1/companies/{companyId}/users}.
+ */
+@Slf4j
+@Service
+@Timed("app.service")
+@RequiredArgsConstructor
+public class UserImportService {
+
+  private static final int DEFAULT_CHUNK_SIZE = 1000;
+  private static final ObjectReader CSV_READER = new CsvMapper()
+      .readerFor(Map.class)
+      .with(CsvSchema.emptySchema().withHeader());
+
+  private final UserRepository userRepository;
+  private final CompanyRepository companyRepository;
+  private final UserImportRepository userImportRepository;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${app.users.import.chunk-size:1000}")
+  private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+  /**
+   * Creates every valid user of {@code companyId} read from {@code body} and writes the outcome of
+   * each row to {@code out}. Malformed input stops the upload; rows read up to that point are
+   * still processed.
+   */
+  public UserImportResult importUsers(UUID companyId, InputStream body, UserImportFormat format,
+      boolean sendInvitations, OutputStream out) throws IOException {
+    companyRepository.findByIdOrThrow(companyId);
+    UUID auditor = SecurityAuditor.currentUserOrSystem();
+    ObjectReader reader = format == UserImportFormat.CSV ? CSV_READER : objectMapper.readerFor(UserDto.class);
+
+    UserImportResult result = new UserImportResult(0, 0);
+    List<UserImportRowResult> results = new ArrayList<>();
+    List<UserRow> chunk = new ArrayList<>(chunkSize);
+    int row = 0;
+    try (MappingIterator<Object> rows = reader.readValues(body);
+        UserImportResultWriter writer = UserImportResultWriter.create(format, out, objectMapper)) {
+      while (true) {
+        int current = row + 1;
+        UserDto dto = null;
+        try {
+          if (!rows.hasNextValue()) {
+            break;
+          }
+          row = current;
+          dto = toDto(rows.nextValue());
+        } catch (JsonMappingException e) {
+          row = current;
+          results.add(UserImportRowResult.rejected(current, List.of(e.getOriginalMessage())));
+        } catch (JsonProcessingException e) {
+          results.add(UserImportRowResult.rejected(current,
+              List.of("Malformed input: " + e.getOriginalMessage())));
+          break;
+        } catch (IllegalArgumentException e) {
+          results.add(UserImportRowResult.rejected(current, List.of(e.getMessage())));
+        }
+        if (dto != null) {
+          dto.setCompanyId(companyId);
+          dto.setStatus(UserStatus.ACTIVE);
+          chunk.add(new UserRow(row, dto));
+        }
+        // Rows rejected while reading count too, so an upload of unreadable rows stays bounded.
+        // The pending chunk goes with them to keep the output in row order.
+        if (chunk.size() >= chunkSize || results.size() >= chunkSize) {
+          results.addAll(processChunk(companyId, chunk, sendInvitations, auditor));
+          chunk.clear();
+          result = write(results, writer, result);
+        }
+      }
+      if (!chunk.isEmpty()) {
+        results.addAll(processChunk(companyId, chunk, sendInvitations, auditor));
+      }
+      result = write(results, writer, result);
+    }
+    log.info("User import for company {} processed: {} accepted, {} rejected", companyId,
+        result.accepted(), result.rejected());
+    return result;
+  }
+
+  private static UserImportResult write(List<UserImportRowResult> results,
+      UserImportResultWriter writer, UserImportResult result) throws IOException {
+    results.sort(Comparator.comparingInt(UserImportRowResult::row));
+    for (UserImportRowResult rowResult : results) {
+      writer.write(rowResult);
+      result = result.plus(rowResult);
+    }
+    results.clear();
+    return result;
+  }
+
+  private List<UserImportRowResult> processChunk(UUID companyId, List<UserRow> chunk,
+      boolean sendInvitations, UUID auditor) {
+    ChunkKeys seen = new ChunkKeys();
+    List<UserImportRowResult> results = new ArrayList<>(chunk.size());
+    List<UserRow> valid = new ArrayList<>(chunk.size());
+    for (UserRow userRow : chunk) {
+      List<String> errors = validate(userRow.dto());
+      if (errors.isEmpty()) {
+        errors = seen.claim(userRow.dto());
+      }
+      if (errors.isEmpty()) {
+        valid.add(userRow);
+      } else {
+        results.add(UserImportRowResult.rejected(userRow.row(), errors));
+      }
+    }
+    if (valid.isEmpty()) {
+      return results;
+    }
+
+    try {
+      results.addAll(transactionTemplate.execute(
+          status -> insertChunk(companyId, valid, sendInvitations, auditor)));
+    } catch (DataAccessException | TransactionException e) {
+      log.warn("User import chunk of {} rows failed", valid.size(), e);
+      valid.forEach(userRow -> results.add(UserImportRowResult.rejected(userRow.row(),
+          List.of("Chunk could not be stored: " + e.getMostSpecificCause().getMessage()))));
+    }
+    return results;
+  }
+
+  private List<UserImportRowResult> insertChunk(UUID companyId, List<UserRow> rows,
+      boolean sendInvitations, UUID auditor) {
+    Set<String> takenEmails = userRepository.findExistingEmails(
+        rows.stream().map(userRow -> userRow.dto().getEmail()).toList());
+    Set<String> takenUsernames = userRepository.findExistingUsernames(
+        rows.stream().map(userRow -> userRow.dto().getUsername()).toList());
+    Set<String> takenSsns = userRepository.findExistingSsns(
+        rows.stream().map(userRow -> userRow.dto().getSsn()).toList());
+
+    List<UserImportRowResult> results = new ArrayList<>(rows.size());
+    List<UserDto> accepted = new ArrayList<>(rows.size());
+    for (UserRow userRow : rows) {
+      UserDto dto = userRow.dto();
+      List<String> errors = new ArrayList<>();
+      if (takenEmails.contains(dto.getEmail())) {
+        errors.add("Email already exists: " + dto.getEmail());
+      }
+      if (takenUsernames.contains(dto.getUsername())) {
+        errors.add("Username already exists: " + dto.getUsername());
+      }
+      if (takenSsns.contains(dto.getSsn())) {
+        errors.add("SSN already exists");
+      }
+      if (!errors.isEmpty()) {
+        results.add(UserImportRowResult.rejected(userRow.row(), errors));
+        continue;
+      }
+      dto.setId(UUID.randomUUID());
+      accepted.add(dto);
+      results.add(UserImportRowResult.accepted(userRow.row(), dto.getId()));
+    }
+    if (accepted.isEmpty()) {
+      return results;
+    }
+
+    Instant now = Instant.now();
+    userImportRepository.insertUsers(companyId, accepted, auditor, now);
+    if (sendInvitations) {
+      userImportRepository.insertProvisioningTasks(accepted.stream().map(UserDto::getId).toList(), now);
+    }
+    return results;
+  }
+
+  private List<String> validate(UserDto dto) {
+    return validator.validate(dto).stream()
+        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+        .sorted()
+        .toList();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static UserDto toDto(Object value) {
+    if (value == null) {
+      throw new IllegalArgumentException("Row must be a JSON object");
+    }
+    if (value instanceof UserDto dto) {
+      return dto;
+    }
+    Map<String, String> columns = (Map<String, String>) value;
+    return UserDto.builder()
+        .firstName(column(columns, "firstName"))
+        .lastName(column(columns, "lastName"))
+        .username(column(columns, "username"))
+        .email(column(columns, "email"))
+        .dateOfBirth(parseDate(column(columns, "dateOfBirth")))
+        .ssn(column(columns, "ssn"))
+        .functions(parseFunctions(column(columns, "functions")))
+        .build();
+  }
+
+  private static String column(Map<String, String> columns, String name) {
+    String value = columns.get(name);
+    return value == null || value.isBlank() ? null : value.trim();
+  }
+
+  private static LocalDate parseDate(String value) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      return LocalDate.parse(value);
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("dateOfBirth: invalid date " + value, e);
+    }
+  }
+
+  private static Set<UserFunction> parseFunctions(String value) {
+    if (value == null) {
+      return null;
+    }
+    Set<UserFunction> functions = EnumSet.noneOf(UserFunction.class);
+    for (String function : value.split(";")) {
+      if (function.isBlank()) {
+        continue;
+      }
+      try {
+        functions.add(UserFunction.valueOf(function.trim().toUpperCase(Locale.ROOT)));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("functions: unknown function " + function.trim()
+            + ", expected one of " + Arrays.stream(UserFunction.values()).map(Enum::name)
+            .collect(Collectors.joining(", ")), e);
+      }
+    }
+    return functions;
+  }
+
+  private record UserRow(int row, UserDto dto) {
+
+  }
+
+  /**
+   * Unique keys already used by earlier rows of the same chunk.
+   */
+  private static final class ChunkKeys {
+
+    private final Set<String> emails = new HashSet<>();
+    private final Set<String> usernames = new HashSet<>();
+    private final Set<String> ssns = new HashSet<>();
+
+    /**
+     * Reserves the keys of {@code dto} unless one of them repeats an earlier row, in which case
+     * nothing is reserved and the duplicates are returned as errors.
+     */
+    List<String> claim(UserDto dto) {
+      List<String> errors = new ArrayList<>();
+      if (emails.contains(dto.getEmail())) {
+        errors.add("Duplicate email in upload: " + dto.getEmail());
+      }
+      if (usernames.contains(dto.getUsername())) {
+        errors.add("Duplicate username in upload: " + dto.getUsername());
+      }
+      if (ssns.contains(dto.getSsn())) {
+        errors.add("Duplicate SSN in upload");
+      }
+      if (errors.isEmpty()) {
+        emails.add(dto.getEmail());
+        usernames.add(dto.getUsername());
+        ssns.add(dto.getSsn());
+      }
+      return errors;
+    }
+  }
+}
@@ -1,9 +1,12 @@
 package com.coherentsolutions.pot.insuranceservice.service;
 
 import com.coherentsolutions.pot.insuranceservice.dto.auth0.Auth0InvitationDto;
-import com.coherentsolutions.pot.insuranceservice.dto.auth0.Auth0UserDto;
 import com.coherentsolutions.pot.insuranceservice.dto.user.UserDto;
 import com.coherentsolutions.pot.insuranceservice.exception.Auth0Exception;
+import com.coherentsolutions.pot.insuranceservice.model.Auth0ProvisioningTask;
+import com.coherentsolutions.pot.insuranceservice.repository.Auth0ProvisioningTaskRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import java.util.HashMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,16 +19,18 @@ import org.springframework.transaction.annotation.Transactional;
  * 
  * <p>This service orchestrates the user creation process by:
  * 1. Saving user data to the local database
- * 2. Creating the user in Auth0 with invitation email
- * 3. Handling error cases and rollback scenarios
+ * 2. Queuing the Auth0 user creation with invitation email in the provisioning outbox
  */
 @Slf4j
 @Service
+@Timed("app.service")
 @RequiredArgsConstructor
 public class UserInvitationService {
 
   private final UserManagementService userManagementService;
   private final Auth0InvitationService auth0InvitationService;
+  private final Auth0ProvisioningTaskRepository auth0ProvisioningTaskRepository;
+  private final UserRepository userRepository;
   
   @Value("${AUTH0_CLIENT_ID:}")
   private String auth0ClientId;
@@ -35,41 +40,31 @@ public class UserInvitationService {
    * 
    * <p>This method:
    * 1. Saves the user to the local database
-   * 2. Creates the user in Auth0 with invitation email
-   * 3. Handles rollback if Auth0 creation fails
+   * 2. Queues the Auth0 account creation in the provisioning outbox, in the same transaction
+   * 
+   * <p>Auth0 is not called here; {@link Auth0ProvisioningDispatcher} creates the account and sends
+   * the invitation in the background, so the request neither waits on Auth0 nor leaves a local
+   * user behind without a queued invitation.
    * 
    *
    * @param userDto the user data to create
    *
    * @return the created user DTO
-   * @throws Auth0Exception if Auth0 invitation creation fails
    */
   @Transactional
-  public UserDto createUserWithInvitation(UserDto userDto) throws Auth0Exception {
+  public UserDto createUserWithInvitation(UserDto userDto) {
     log.info("Creating user with invitation flow for email: {}", userDto.getEmail());
     
     // Step 1: Save user to local database
     UserDto savedUser = userManagementService.createUser(userDto);
     log.info("Successfully saved user to local database with ID: {}", savedUser.getId());
     
-    try {
-      // Step 2: Create Auth0 user with invitation
-      Auth0InvitationDto invitationDto = buildInvitationDto(userDto);
-      Auth0UserDto auth0User = auth0InvitationService.createUserWithInvitation(invitationDto);
-      
-      log.info("Successfully created Auth0 user with invitation. Auth0 ID: {}", auth0User.getUserId());
-      
-      // Step 3: Update local user with Auth0 ID (optional - for future reference)
-      // This could be stored in user metadata or a separate field
-      
-      return savedUser;
-      
-    } catch (Auth0Exception e) {
-      log.error("Failed to create Auth0 user with invitation for email: {}. Rolling back local user creation.", userDto.getEmail(), e);
-      
-      log.info("Marked user {} as inactive pending email confirmation", savedUser.getId());
-      throw e;
-    }
+    // Step 2: Queue Auth0 provisioning; committed atomically with the user
+    auth0ProvisioningTaskRepository.save(new Auth0ProvisioningTask(
+        userRepository.getReferenceById(savedUser.getId())));
+    log.info("Queued Auth0 provisioning for user {}", savedUser.getId());
+    
+    return savedUser;
   }
 
   /**
@@ -80,7 +75,7 @@ public class UserInvitationService {
    *
    * @return the invitation DTO
    */
-  private Auth0InvitationDto buildInvitationDto(UserDto userDto) {
+  public Auth0InvitationDto buildInvitationDto(UserDto userDto) {
     return Auth0InvitationDto.builder()
         .email(userDto.getEmail())
         .name(userDto.getFirstName() + " " + userDto.getLastName())
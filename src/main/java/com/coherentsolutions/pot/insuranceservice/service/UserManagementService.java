@@ -2,6 +2,7 @@ package com.coherentsolutions.pot.insuranceservice.service;
 
 import static com.coherentsolutions.pot.insuranceservice.util.ObjectUtils.setIfNotNull;
 
+import com.coherentsolutions.pot.insuranceservice.dto.pagination.CursorSlice;
 import com.coherentsolutions.pot.insuranceservice.dto.user.UserDto;
 import com.coherentsolutions.pot.insuranceservice.dto.user.UserFilter;
 import com.coherentsolutions.pot.insuranceservice.enums.UserFunction;
@@ -9,8 +10,10 @@ import com.coherentsolutions.pot.insuranceservice.enums.UserStatus;
 import com.coherentsolutions.pot.insuranceservice.mapper.UserMapper;
 import com.coherentsolutions.pot.insuranceservice.model.User;
 import com.coherentsolutions.pot.insuranceservice.model.UserFunctionAssignment;
+import com.coherentsolutions.pot.insuranceservice.repository.KeysetPagination;
 import com.coherentsolutions.pot.insuranceservice.repository.UserRepository;
 import com.coherentsolutions.pot.insuranceservice.repository.UserSpecification;
+import io.micrometer.core.annotation.Timed;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -28,6 +31,7 @@ import org.springframework.web.server.ResponseStatusException;
  * and updates.
  */
 @Service
+@Timed("app.service")
 @RequiredArgsConstructor
 public class UserManagementService {
 
@@ -43,6 +47,16 @@ public class UserManagementService {
     return users.map(userMapper::toDto);
   }
 
+  /**
+   * Retrieves users filtered by {@link UserFilter} in keyset mode, continuing after
+   * {@code cursor}.
+   */
+  public CursorSlice<UserDto> getUsersWithCursor(UserFilter filter, Pageable pageable,
+      String cursor) {
+    return KeysetPagination.fetch(userRepository, UserSpecification.withFilters(filter), pageable,
+        cursor).map(userMapper::toDto);
+  }
+
   /**
    * Retrieves user details by ID. If the user does not exist, throws {@link
    * ResponseStatusException} with 404 NOT FOUND.
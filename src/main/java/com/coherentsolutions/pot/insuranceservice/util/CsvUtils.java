@@ -0,0 +1,27 @@
+package com.coherentsolutions.pot.insuranceservice.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Utility class for writing RFC 4180 CSV values.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CsvUtils {
+
+  /**
+   * Quotes {@code value} when it contains a delimiter, quote or line break, doubling embedded
+   * quotes. {@code null} is written as an empty field.
+   */
+  public static String escape(Object value) {
+    if (value == null) {
+      return "";
+    }
+    String text = value.toString();
+    if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0
+        && text.indexOf('\r') < 0) {
+      return text;
+    }
+    return '"' + text.replace("\"", "\"\"") + '"';
+  }
+}
@@ -1,5 +1,6 @@
 package com.coherentsolutions.pot.insuranceservice.util;
 
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 
 /**
@@ -19,7 +20,9 @@ public class PasswordGenerator {
   private static final String NUMBERS = "0123456789";
   private static final String SPECIAL_CHARACTERS = "!@#$%^&*()_+-=[]{}|;:,.<>?";
 
-  private static final SecureRandom RANDOM = new SecureRandom();
+  // DRBG only reads the OS entropy source while seeding. The platform default (NativePRNG) reads
+  // /dev/urandom inside a synchronized block, which pins virtual threads to their carrier.
+  private static final SecureRandom RANDOM = createRandom();
 
   public static String generateSecurePassword() {
     StringBuilder password = new StringBuilder();
@@ -63,6 +66,14 @@ public class PasswordGenerator {
     return shuffleString(password.toString());
   }
 
+  private static SecureRandom createRandom() {
+    try {
+      return SecureRandom.getInstance("DRBG");
+    } catch (NoSuchAlgorithmException e) {
+      return new SecureRandom();
+    }
+  }
+
   private static char getRandomChar(String characters) {
     return characters.charAt(RANDOM.nextInt(characters.length()));
   }
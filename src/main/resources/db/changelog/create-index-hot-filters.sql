@@ -0,0 +1,53 @@
+--liquibase formatted sql
+
+-- Indexes for the filter and join columns used by ClaimSpecification, UserSpecification,
+-- InsurancePackageSpecification and EnrollmentSpecification, and for foreign keys whose parent
+-- rows are updated or deleted in bulk. CREATE INDEX CONCURRENTLY cannot run inside a
+-- transaction, so every index is its own non-transactional changeset. A build that fails midway
+-- leaves an INVALID index behind; drop it before re-running the changeset.
+
+--changeset insurance-service:ix-users-company-id runInTransaction:false
+-- Company filter, company cascades in UserRepository and the claims company filter.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_users_company_id
+    ON users (company_id);
+
+--changeset insurance-service:ix-user-functions-user-id runInTransaction:false
+-- Functions filter and loading a user's functions.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_user_functions_user_id
+    ON user_functions (user_id);
+
+--changeset insurance-service:ix-claims-user-id-service-date runInTransaction:false
+-- A consumer's claims, optionally narrowed to a service date range.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_claims_user_id_service_date
+    ON claims (user_id, service_date);
+
+--changeset insurance-service:ix-claims-plan-id runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_claims_plan_id
+    ON claims (plan_id);
+
+--changeset insurance-service:ix-claims-status-service-date runInTransaction:false
+-- Status is an equality on a handful of values, so it leads and the date range follows.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_claims_status_service_date
+    ON claims (status, service_date);
+
+--changeset insurance-service:ix-claims-service-date runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_claims_service_date
+    ON claims (service_date);
+
+--changeset insurance-service:ix-insurance-packages-company-id runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_insurance_packages_company_id
+    ON insurance_packages (company_id);
+
+--changeset insurance-service:ix-insurance-package-plans-plan-id runInTransaction:false
+-- The primary key leads with insurance_package_id and does not serve lookups by plan.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_insurance_package_plans_plan_id
+    ON insurance_package_plans (plan_id);
+
+--changeset insurance-service:ix-enrollments-plan-id runInTransaction:false
+-- ux_enrollments_user_plan_active already covers user_id.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_enrollments_plan_id
+    ON enrollments (plan_id);
+
+--changeset insurance-service:ix-payroll-deductions-insurance-package-id runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_payroll_deductions_insurance_package_id
+    ON payroll_deductions (insurance_package_id);
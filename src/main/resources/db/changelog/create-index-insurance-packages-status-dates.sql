@@ -0,0 +1,7 @@
+CREATE INDEX IF NOT EXISTS ix_insurance_packages_initialized_start_date
+    ON insurance_packages (start_date)
+    WHERE status = 'INITIALIZED';
+
+CREATE INDEX IF NOT EXISTS ix_insurance_packages_open_end_date
+    ON insurance_packages (end_date)
+    WHERE status IN ('INITIALIZED', 'ACTIVE');
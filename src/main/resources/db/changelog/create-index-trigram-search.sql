@@ -0,0 +1,37 @@
+--liquibase formatted sql
+
+-- Substring filters render lower(column) LIKE '%term%'; trigram GIN indexes on the same
+-- expressions let PostgreSQL answer them without scanning the table. CREATE INDEX CONCURRENTLY
+-- cannot run inside a transaction, so every index is its own non-transactional changeset. A build
+-- that fails midway leaves an INVALID index behind; drop it before re-running the changeset.
+
+--changeset insurance-service:pg-trgm-extension
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+--changeset insurance-service:ix-users-first-name-trgm runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_users_first_name_trgm
+    ON users USING gin (lower(first_name) gin_trgm_ops);
+
+--changeset insurance-service:ix-users-last-name-trgm runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_users_last_name_trgm
+    ON users USING gin (lower(last_name) gin_trgm_ops);
+
+--changeset insurance-service:ix-users-email-trgm runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_users_email_trgm
+    ON users USING gin (lower(email) gin_trgm_ops);
+
+--changeset insurance-service:ix-users-ssn-trgm runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_users_ssn_trgm
+    ON users USING gin (lower(ssn) gin_trgm_ops);
+
+--changeset insurance-service:ix-companies-name-trgm runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_companies_name_trgm
+    ON companies USING gin (lower(name) gin_trgm_ops);
+
+--changeset insurance-service:ix-insurance-packages-name-trgm runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_insurance_packages_name_trgm
+    ON insurance_packages USING gin (lower(name) gin_trgm_ops);
+
+--changeset insurance-service:ix-plans-name-trgm runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_plans_name_trgm
+    ON plans USING gin (lower(name) gin_trgm_ops);
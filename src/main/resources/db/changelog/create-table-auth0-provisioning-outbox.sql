@@ -0,0 +1,22 @@
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS auth0_user_id VARCHAR(255);
+
+CREATE TABLE IF NOT EXISTS auth0_provisioning_outbox
+(
+    id              UUID PRIMARY KEY                  DEFAULT uuid_generate_v4(),
+    user_id         UUID                     NOT NULL,
+    status          VARCHAR(20)              NOT NULL DEFAULT 'PENDING'
+        CHECK (status IN ('PENDING', 'COMPLETED', 'FAILED')),
+    attempts        INTEGER                  NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error      VARCHAR(1000),
+    created_at      TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at    TIMESTAMP WITH TIME ZONE,
+
+    CONSTRAINT fk_auth0_provisioning_outbox_user FOREIGN KEY (user_id)
+        REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS ix_auth0_provisioning_outbox_pending
+    ON auth0_provisioning_outbox (next_attempt_at)
+    WHERE status = 'PENDING';
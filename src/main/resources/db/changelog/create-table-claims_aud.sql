@@ -0,0 +1,18 @@
+CREATE TABLE IF NOT EXISTS claims_aud
+(
+    id           UUID    NOT NULL,
+    rev          INTEGER NOT NULL,
+    revtype      SMALLINT,
+    claim_number VARCHAR(100),
+    status       VARCHAR(20),
+    service_date DATE,
+    user_id      UUID,
+    plan_id      UUID,
+    amount       NUMERIC(19, 2),
+    created_by   UUID,
+    updated_by   UUID,
+    created_at   TIMESTAMP,
+    updated_at   TIMESTAMP,
+    PRIMARY KEY (id, rev),
+    CONSTRAINT fk_claims_aud_rev FOREIGN KEY (rev) REFERENCES revinfo (rev)
+);
@@ -0,0 +1,16 @@
+CREATE TABLE IF NOT EXISTS enrollments_aud
+(
+    id                UUID    NOT NULL,
+    rev               INTEGER NOT NULL,
+    revtype           SMALLINT,
+    user_id           UUID,
+    plan_id           UUID,
+    election_amount   NUMERIC(19, 4),
+    plan_contribution NUMERIC(19, 4),
+    created_by        UUID,
+    updated_by        UUID,
+    created_at        TIMESTAMP,
+    updated_at        TIMESTAMP,
+    PRIMARY KEY (id, rev),
+    CONSTRAINT fk_enrollments_aud_rev FOREIGN KEY (rev) REFERENCES revinfo (rev)
+);
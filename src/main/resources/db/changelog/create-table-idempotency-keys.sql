@@ -0,0 +1,19 @@
+CREATE TABLE IF NOT EXISTS idempotency_keys
+(
+    principal             VARCHAR(255)             NOT NULL,
+    idempotency_key       VARCHAR(255)             NOT NULL,
+    fingerprint           VARCHAR(64)              NOT NULL,
+    status                VARCHAR(20)              NOT NULL
+        CHECK (status IN ('IN_PROGRESS', 'COMPLETED')),
+    response_status       INTEGER,
+    response_content_type VARCHAR(255),
+    response_headers      JSONB,
+    response_body         BYTEA,
+    created_at            TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at            TIMESTAMP WITH TIME ZONE NOT NULL,
+
+    CONSTRAINT pk_idempotency_keys PRIMARY KEY (principal, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS ix_idempotency_keys_expires_at
+    ON idempotency_keys (expires_at);
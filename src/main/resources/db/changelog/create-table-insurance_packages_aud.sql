@@ -0,0 +1,28 @@
+CREATE TABLE IF NOT EXISTS insurance_packages_aud
+(
+    id                UUID    NOT NULL,
+    rev               INTEGER NOT NULL,
+    revtype           SMALLINT,
+    name              VARCHAR(255),
+    company_id        UUID,
+    start_date        DATE,
+    end_date          DATE,
+    payroll_frequency VARCHAR(20),
+    status            VARCHAR(20),
+    created_by        UUID,
+    updated_by        UUID,
+    created_at        TIMESTAMP,
+    updated_at        TIMESTAMP,
+    PRIMARY KEY (id, rev),
+    CONSTRAINT fk_insurance_packages_aud_rev FOREIGN KEY (rev) REFERENCES revinfo (rev)
+);
+
+CREATE TABLE IF NOT EXISTS insurance_package_plans_aud
+(
+    rev                  INTEGER NOT NULL,
+    revtype              SMALLINT,
+    insurance_package_id UUID    NOT NULL,
+    plan_id              UUID    NOT NULL,
+    PRIMARY KEY (rev, insurance_package_id, plan_id),
+    CONSTRAINT fk_insurance_package_plans_aud_rev FOREIGN KEY (rev) REFERENCES revinfo (rev)
+);
@@ -0,0 +1,43 @@
+CREATE TABLE IF NOT EXISTS payroll_deductions
+(
+    id                   UUID PRIMARY KEY        DEFAULT uuid_generate_v4(),
+    enrollment_id        UUID           NOT NULL,
+    insurance_package_id UUID           NOT NULL,
+    company_id           UUID           NOT NULL,
+    user_id              UUID           NOT NULL,
+    period_number        INTEGER        NOT NULL CHECK (period_number > 0),
+    pay_date             DATE           NOT NULL,
+    amount               NUMERIC(19, 2) NOT NULL CHECK (amount >= 0),
+    calculated_at        TIMESTAMP      NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_payroll_deduction_enrollment FOREIGN KEY (enrollment_id)
+        REFERENCES enrollments (id) ON DELETE CASCADE,
+    CONSTRAINT fk_payroll_deduction_package FOREIGN KEY (insurance_package_id)
+        REFERENCES insurance_packages (id) ON DELETE CASCADE,
+    CONSTRAINT uk_payroll_deduction_period
+        UNIQUE (enrollment_id, insurance_package_id, period_number)
+);
+
+CREATE INDEX IF NOT EXISTS ix_payroll_deductions_company_pay_date
+    ON payroll_deductions (company_id, pay_date);
+
+CREATE TABLE IF NOT EXISTS payroll_deduction_runs
+(
+    id                    UUID PRIMARY KEY     DEFAULT uuid_generate_v4(),
+    company_id            UUID        NOT NULL,
+    incremental           BOOLEAN     NOT NULL,
+    status                VARCHAR(20) NOT NULL CHECK (status IN ('COMPLETED', 'FAILED')),
+    started_at            TIMESTAMP   NOT NULL,
+    finished_at           TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    watermark             TIMESTAMP,
+    enrollments_processed INTEGER     NOT NULL DEFAULT 0,
+    deductions_written    INTEGER     NOT NULL DEFAULT 0,
+    error                 VARCHAR(1000),
+
+    CONSTRAINT fk_payroll_deduction_run_company FOREIGN KEY (company_id)
+        REFERENCES companies (id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS ix_payroll_deduction_runs_company_started
+    ON payroll_deduction_runs (company_id, started_at DESC)
+    WHERE status = 'COMPLETED';
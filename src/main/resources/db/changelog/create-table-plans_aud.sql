@@ -0,0 +1,15 @@
+CREATE TABLE IF NOT EXISTS plans_aud
+(
+    id           UUID    NOT NULL,
+    rev          INTEGER NOT NULL,
+    revtype      SMALLINT,
+    name         VARCHAR(100),
+    plan_type_id INTEGER,
+    contribution NUMERIC(19, 4),
+    created_by   UUID,
+    updated_by   UUID,
+    created_at   TIMESTAMP,
+    updated_at   TIMESTAMP,
+    PRIMARY KEY (id, rev),
+    CONSTRAINT fk_plans_aud_rev FOREIGN KEY (rev) REFERENCES revinfo (rev)
+);
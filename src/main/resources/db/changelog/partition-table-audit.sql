@@ -0,0 +1,125 @@
+--liquibase formatted sql
+
+--changeset insurance-service:create-table-audit-segments
+-- One row per sealed month of audit data. from_rev and to_rev are the revision range of its
+-- partitions; archived_at is set once they were exported to the archive store and dropped.
+CREATE TABLE audit_segments
+(
+    month       DATE PRIMARY KEY,
+    from_rev    INTEGER NOT NULL,
+    to_rev      INTEGER NOT NULL,
+    archived_at TIMESTAMP WITH TIME ZONE
+);
+
+-- Entities with revisions in an archived month, recorded when its partitions are dropped, so
+-- history reads only open the exports that hold the requested entity.
+CREATE TABLE audit_segment_entities
+(
+    table_name VARCHAR(64) NOT NULL,
+    entity_id  UUID        NOT NULL,
+    month      DATE        NOT NULL REFERENCES audit_segments (month) ON DELETE CASCADE,
+    PRIMARY KEY (table_name, entity_id, month)
+);
+
+--changeset insurance-service:create-seal-audit-partition-function runOnChange:true splitStatements:false
+-- Seals the month containing p_month: creates a partition of revinfo and of every audit table
+-- for the revisions written during that month, moves their rows out of the default partitions
+-- and records the segment. Returns whether it did; months without revisions and months already
+-- sealed are skipped. Partitions are keyed on rev because that is all the audit tables carry, so
+-- the range is derived from revinfo.revtstmp: it starts at the lowest unsealed revision written
+-- before the end of the month and ends at the first revision written after it, or after the
+-- newest revision when there is none yet. Months must be sealed oldest first.
+CREATE OR REPLACE FUNCTION seal_audit_partition(p_month DATE)
+    RETURNS BOOLEAN
+    LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    v_month  DATE   := date_trunc('month', p_month)::DATE;
+    v_end    BIGINT := extract(EPOCH FROM date_trunc('month', p_month) + INTERVAL '1 month') * 1000;
+    v_suffix TEXT   := '_p' || to_char(p_month, 'YYYY_MM');
+    v_tables TEXT[] := ARRAY ['revinfo', 'users_aud', 'companies_aud', 'claims_aud', 'plans_aud',
+        'enrollments_aud', 'insurance_packages_aud', 'insurance_package_plans_aud'];
+    v_from   INTEGER;
+    v_to     INTEGER;
+    v_table  TEXT;
+BEGIN
+    -- Serializes sealing with archiving, which takes the same lock.
+    PERFORM pg_advisory_xact_lock(hashtext('audit_partitions'));
+    IF EXISTS (SELECT 1 FROM audit_segments WHERE month = v_month) THEN
+        RETURN FALSE;
+    END IF;
+
+    SELECT MIN(rev) INTO v_from FROM revinfo_default WHERE revtstmp < v_end;
+    IF v_from IS NULL THEN
+        RETURN FALSE;
+    END IF;
+    SELECT COALESCE(MIN(rev) FILTER (WHERE revtstmp >= v_end), MAX(rev) + 1)
+    INTO v_to
+    FROM revinfo_default;
+
+    FOREACH v_table IN ARRAY v_tables
+        LOOP
+            EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                           v_table || v_suffix, v_table);
+            EXECUTE format('WITH moved AS (DELETE FROM %I WHERE rev >= $1 AND rev < $2 RETURNING *)'
+                               || ' INSERT INTO %I SELECT * FROM moved', v_table || '_default', v_table || v_suffix)
+                USING v_from, v_to;
+            EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%s) TO (%s)',
+                           v_table, v_table || v_suffix, v_from, v_to);
+        END LOOP;
+
+    INSERT INTO audit_segments (month, from_rev, to_rev) VALUES (v_month, v_from, v_to);
+    RETURN TRUE;
+END;
+$$;
+
+--changeset insurance-service:partition-audit-tables-by-revision splitStatements:false
+-- Rebuilds revinfo and the audit tables as tables range-partitioned by rev and copies the
+-- existing rows over, then seals every month before the current one. The foreign keys from the
+-- audit tables to revinfo are not recreated: rows move between partitions while sealing and a
+-- month is archived and dropped across all tables at once, neither of which PostgreSQL allows
+-- for a referenced partition. The revinfo identity becomes a plain sequence default, which the
+-- partitions created by seal_audit_partition inherit through LIKE.
+DO
+$$
+    DECLARE
+        v_table TEXT;
+    BEGIN
+        FOREACH v_table IN ARRAY ARRAY ['users_aud', 'companies_aud', 'claims_aud', 'plans_aud',
+            'enrollments_aud', 'insurance_packages_aud', 'insurance_package_plans_aud', 'revinfo']
+            LOOP
+                EXECUTE format('ALTER TABLE %I RENAME TO %I', v_table, v_table || '_unpartitioned');
+                EXECUTE format('ALTER TABLE %I RENAME CONSTRAINT %I TO %I', v_table || '_unpartitioned',
+                               v_table || '_pkey', v_table || '_unpartitioned_pkey');
+                EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING INDEXES)'
+                                   || ' PARTITION BY RANGE (rev)', v_table, v_table || '_unpartitioned');
+                EXECUTE format('CREATE TABLE %I PARTITION OF %I DEFAULT', v_table || '_default', v_table);
+            END LOOP;
+    END;
+$$;
+
+ALTER TABLE revinfo_unpartitioned ALTER COLUMN rev DROP IDENTITY;
+CREATE SEQUENCE revinfo_rev_seq AS INTEGER OWNED BY revinfo.rev;
+ALTER TABLE revinfo ALTER COLUMN rev SET DEFAULT nextval('revinfo_rev_seq');
+SELECT setval('revinfo_rev_seq', COALESCE(MAX(rev), 0) + 1, false) FROM revinfo_unpartitioned;
+
+INSERT INTO revinfo SELECT * FROM revinfo_unpartitioned;
+INSERT INTO users_aud SELECT * FROM users_aud_unpartitioned;
+INSERT INTO companies_aud SELECT * FROM companies_aud_unpartitioned;
+INSERT INTO claims_aud SELECT * FROM claims_aud_unpartitioned;
+INSERT INTO plans_aud SELECT * FROM plans_aud_unpartitioned;
+INSERT INTO enrollments_aud SELECT * FROM enrollments_aud_unpartitioned;
+INSERT INTO insurance_packages_aud SELECT * FROM insurance_packages_aud_unpartitioned;
+INSERT INTO insurance_package_plans_aud SELECT * FROM insurance_package_plans_aud_unpartitioned;
+
+DROP TABLE users_aud_unpartitioned, companies_aud_unpartitioned, claims_aud_unpartitioned,
+    plans_aud_unpartitioned, enrollments_aud_unpartitioned, insurance_packages_aud_unpartitioned,
+    insurance_package_plans_aud_unpartitioned, revinfo_unpartitioned;
+
+SELECT seal_audit_partition(month::DATE)
+FROM generate_series(
+             date_trunc('month', to_timestamp((SELECT MIN(revtstmp) FROM revinfo) / 1000.0)),
+             date_trunc('month', CURRENT_DATE) - INTERVAL '1 month',
+             INTERVAL '1 month') AS month
+ORDER BY month;
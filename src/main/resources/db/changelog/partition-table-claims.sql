@@ -0,0 +1,93 @@
+--liquibase formatted sql
+
+--changeset insurance-service:create-claims-partition-function runOnChange:true splitStatements:false
+-- Creates the monthly partition of claims containing p_month, unless it already exists, and
+-- returns whether it did. Rows for that month that landed in claims_default are moved into the
+-- new table before it is attached, because PostgreSQL refuses to attach a range the default
+-- partition still holds rows for. ATTACH only takes a SHARE UPDATE EXCLUSIVE lock on claims.
+CREATE OR REPLACE FUNCTION create_claims_partition(p_month DATE)
+    RETURNS BOOLEAN
+    LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    v_from      DATE := date_trunc('month', p_month)::DATE;
+    v_to        DATE := (date_trunc('month', p_month) + INTERVAL '1 month')::DATE;
+    v_partition TEXT := 'claims_p' || to_char(p_month, 'YYYY_MM');
+BEGIN
+    -- Serializes concurrent callers, e.g. the maintenance job running on several instances.
+    PERFORM pg_advisory_xact_lock(hashtext('create_claims_partition'));
+    IF to_regclass(v_partition) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE claims INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                   v_partition);
+    EXECUTE format('WITH moved AS (DELETE FROM claims_default'
+                       || ' WHERE service_date >= $1 AND service_date < $2 RETURNING *)'
+                       || ' INSERT INTO %I SELECT * FROM moved', v_partition)
+        USING v_from, v_to;
+    EXECUTE format('ALTER TABLE claims ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   v_partition, v_from, v_to);
+    RETURN TRUE;
+END;
+$$;
+
+--changeset insurance-service:partition-claims-by-service-date
+-- Rebuilds claims as a table range-partitioned by month of service_date and copies the existing
+-- rows over. Primary and unique keys of a partitioned table must contain the partition key, so
+-- they now include service_date; claim numbers mirror the UUID id and stay unique regardless.
+-- Months from the oldest existing claim up to three months ahead get a partition; the
+-- ClaimPartitionMaintainer job keeps creating future ones, and claims_default catches the rest.
+ALTER TABLE claims RENAME TO claims_unpartitioned;
+ALTER TABLE claims_unpartitioned DROP CONSTRAINT claims_pkey;
+ALTER TABLE claims_unpartitioned DROP CONSTRAINT uk_claim_claim_number;
+DROP INDEX IF EXISTS ix_claims_user_id_service_date;
+DROP INDEX IF EXISTS ix_claims_plan_id;
+DROP INDEX IF EXISTS ix_claims_status_service_date;
+DROP INDEX IF EXISTS ix_claims_service_date;
+
+CREATE TABLE claims
+(
+    id           UUID           NOT NULL DEFAULT uuid_generate_v4(),
+
+    claim_number VARCHAR(100)   NOT NULL,
+    status       VARCHAR(20)    NOT NULL DEFAULT 'PENDING'
+        CHECK (status IN ('PENDING', 'APPROVED', 'DECLINED', 'HOLD')),
+    service_date DATE           NOT NULL,
+    user_id      UUID           NOT NULL,
+    plan_id      UUID           NOT NULL,
+    amount       NUMERIC(19, 2) NOT NULL,
+    created_by   UUID,
+    updated_by   UUID,
+    created_at   TIMESTAMP               DEFAULT CURRENT_TIMESTAMP,
+    updated_at   TIMESTAMP               DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT claims_pkey PRIMARY KEY (id, service_date),
+    CONSTRAINT uk_claim_claim_number UNIQUE (claim_number, service_date),
+    CONSTRAINT fk_claim_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_claim_plan FOREIGN KEY (plan_id) REFERENCES plans (id)
+) PARTITION BY RANGE (service_date);
+
+CREATE TABLE claims_default PARTITION OF claims DEFAULT;
+
+CREATE INDEX ix_claims_user_id_service_date ON claims (user_id, service_date);
+CREATE INDEX ix_claims_plan_id ON claims (plan_id);
+CREATE INDEX ix_claims_status_service_date ON claims (status, service_date);
+CREATE INDEX ix_claims_service_date ON claims (service_date);
+
+SELECT create_claims_partition(month::DATE)
+FROM generate_series(
+             date_trunc('month', COALESCE((SELECT MIN(service_date) FROM claims_unpartitioned), CURRENT_DATE)),
+             date_trunc('month', CURRENT_DATE) + INTERVAL '3 months',
+             INTERVAL '1 month') AS month;
+
+INSERT INTO claims (id, claim_number, status, service_date, user_id, plan_id, amount,
+                    created_by, updated_by, created_at, updated_at)
+SELECT id, claim_number, status, service_date, user_id, plan_id, amount,
+       created_by, updated_by, created_at, updated_at
+FROM claims_unpartitioned;
+
+DROP TABLE claims_unpartitioned;
+
+CREATE SCHEMA IF NOT EXISTS claims_archive;
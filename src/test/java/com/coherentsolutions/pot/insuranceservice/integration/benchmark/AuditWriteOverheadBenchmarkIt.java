@@ -0,0 +1,208 @@
+package com.coherentsolutions.pot.insuranceservice.integration.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.coherentsolutions.pot.insuranceservice.enums.ClaimStatus;
+import com.coherentsolutions.pot.insuranceservice.enums.PackageStatus;
+import com.coherentsolutions.pot.insuranceservice.enums.PayrollFrequency;
+import com.coherentsolutions.pot.insuranceservice.integration.IntegrationTestConfiguration;
+import com.coherentsolutions.pot.insuranceservice.integration.containers.PostgresTestContainer;
+import com.coherentsolutions.pot.insuranceservice.model.Claim;
+import com.coherentsolutions.pot.insuranceservice.model.Company;
+import com.coherentsolutions.pot.insuranceservice.model.Enrollment;
+import com.coherentsolutions.pot.insuranceservice.model.InsurancePackage;
+import com.coherentsolutions.pot.insuranceservice.model.Plan;
+import com.coherentsolutions.pot.insuranceservice.model.PlanType;
+import com.coherentsolutions.pot.insuranceservice.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntFunction;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Inserts {@code benchmark.auditRows} rows (5,000 by default) of each newly audited entity type
+ * in one transaction and splits the time into the entity flush and the commit, where Envers
+ * writes the revision and the {@code *_aud} rows. Also counts the JDBC statements prepared during
+ * the commit to show that audit rows go out in batches rather than one statement per row.
+ * Excluded from {@code integrationTest}; run with
+ * {@code ./gradlew benchmarkTest [-PbenchmarkAuditRows=N]}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.format_sql=false"
+})
+@Import(IntegrationTestConfiguration.class)
+@DisplayName("Benchmark for the write overhead of auditing claims, plans, enrollments and packages")
+public class AuditWriteOverheadBenchmarkIt extends PostgresTestContainer {
+
+  private static final Logger log = LoggerFactory.getLogger(AuditWriteOverheadBenchmarkIt.class);
+  private static final int ROWS = Integer.getInteger("benchmark.auditRows", 5_000);
+  private static final int JDBC_BATCH_SIZE = 100;
+  private static final List<String> AUDIT_TABLES = List.of("claims_aud", "enrollments_aud",
+      "insurance_package_plans_aud", "insurance_packages_aud", "plans_aud");
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+  @Autowired
+  private EntityManager entityManager;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private int startRevision;
+  private UUID companyId;
+  private UUID userId;
+  private UUID planId;
+  private Integer planTypeId;
+
+  @BeforeEach
+  void seed() {
+    startRevision = jdbcTemplate.queryForObject("SELECT coalesce(max(rev), 0) FROM revinfo", Integer.class);
+    companyId = jdbcTemplate.queryForObject("""
+        INSERT INTO companies (name, country_code, email, status)
+        VALUES ('Audit Benchmark Co', 'USA', 'audit-benchmark@example.com', 'ACTIVE')
+        RETURNING id
+        """, UUID.class);
+    userId = jdbcTemplate.queryForObject("""
+        INSERT INTO users (first_name, last_name, username, email, date_of_birth, ssn, company_id, status)
+        VALUES ('Audit', 'Bench', 'audit-benchmark', 'audit-benchmark@example.com', DATE '1990-01-01',
+                '999-99-9998', ?, 'ACTIVE')
+        RETURNING id
+        """, UUID.class, companyId);
+    planId = jdbcTemplate.queryForObject("""
+        INSERT INTO plans (name, plan_type_id, contribution)
+        SELECT 'Audit Benchmark Plan', id, 100.00 FROM plan_types ORDER BY id LIMIT 1
+        RETURNING id
+        """, UUID.class);
+    planTypeId = jdbcTemplate.queryForObject("SELECT plan_type_id FROM plans WHERE id = ?", Integer.class, planId);
+  }
+
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update("DELETE FROM claims WHERE user_id = ?", userId);
+    jdbcTemplate.update("DELETE FROM enrollments WHERE user_id = ?", userId);
+    jdbcTemplate.update("DELETE FROM insurance_packages WHERE company_id = ?", companyId);
+    jdbcTemplate.update("DELETE FROM plans WHERE id IN (SELECT id FROM plans_aud WHERE rev > ?) OR id = ?",
+        startRevision, planId);
+    jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    jdbcTemplate.update("DELETE FROM companies WHERE id = ?", companyId);
+    AUDIT_TABLES.forEach(table -> jdbcTemplate.update("DELETE FROM " + table + " WHERE rev > ?", startRevision));
+    jdbcTemplate.update("DELETE FROM revinfo WHERE rev > ?", startRevision);
+  }
+
+  @Test
+  @DisplayName("Flush vs commit time and statement count per audited entity type")
+  void measureAuditOverhead() {
+    Map<String, IntFunction<Object>> entities = new LinkedHashMap<>();
+    entities.put("claim", this::claim);
+    entities.put("plan", this::plan);
+    entities.put("enrollment", this::enrollment);
+    entities.put("insurance package", this::insurancePackage);
+
+    // Warm up the JIT and the statement caches before measuring.
+    entities.values().forEach(entity -> insert(entity, JDBC_BATCH_SIZE));
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    entities.forEach((type, entity) -> {
+      long[] phases = insert(entity, ROWS);
+      long auditStatements = statistics.getPrepareStatementCount() - phases[2];
+      log.info("{}: {} rows, flush {} ms, commit with audit {} ms ({}% of flush), {} statements for audit rows",
+          type, ROWS, phases[0] / 1_000_000, phases[1] / 1_000_000,
+          phases[1] * 100 / Math.max(phases[0], 1), auditStatements);
+      // One revinfo insert plus one multi-row insert per JDBC batch of audit rows.
+      assertTrue(auditStatements <= 1 + Math.ceilDiv(ROWS, JDBC_BATCH_SIZE) * 2L,
+          () -> type + " audit rows were not batched: " + auditStatements + " statements");
+    });
+
+    assertEquals(ROWS + JDBC_BATCH_SIZE, jdbcTemplate.queryForObject(
+        "SELECT count(*) FROM claims_aud WHERE rev > ?", Integer.class, startRevision));
+  }
+
+  /**
+   * Persists {@code rows} entities in one transaction and returns the flush time, the commit time
+   * and the prepared statement count at the start of the commit.
+   */
+  private long[] insert(IntFunction<Object> entity, int rows) {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    long[] phases = new long[3];
+    long start = System.nanoTime();
+    transaction.executeWithoutResult(status -> {
+      for (int i = 0; i < rows; i++) {
+        entityManager.persist(entity.apply(i));
+        if ((i + 1) % JDBC_BATCH_SIZE == 0) {
+          entityManager.flush();
+        }
+      }
+      entityManager.flush();
+      phases[0] = System.nanoTime() - start;
+      phases[2] = statistics.getPrepareStatementCount();
+    });
+    phases[1] = System.nanoTime() - start - phases[0];
+    return phases;
+  }
+
+  private Claim claim(int index) {
+    Claim claim = new Claim();
+    claim.setStatus(ClaimStatus.PENDING);
+    claim.setServiceDate(LocalDate.now().minusDays(index % 28));
+    claim.setConsumer(entityManager.getReference(User.class, userId));
+    claim.setPlan(entityManager.getReference(Plan.class, planId));
+    claim.setAmount(BigDecimal.valueOf(index % 10_000, 2));
+    return claim;
+  }
+
+  private Plan plan(int index) {
+    Plan plan = new Plan();
+    plan.setName("Audit Plan " + index);
+    plan.setType(entityManager.getReference(PlanType.class, planTypeId));
+    plan.setContribution(BigDecimal.valueOf(index % 10_000, 2));
+    return plan;
+  }
+
+  private Enrollment enrollment(int index) {
+    Enrollment enrollment = new Enrollment();
+    enrollment.setUser(entityManager.getReference(User.class, userId));
+    enrollment.setPlan(entityManager.getReference(Plan.class, planId));
+    enrollment.setElectionAmount(BigDecimal.valueOf(1 + index % 10_000, 2));
+    enrollment.setPlanContribution(BigDecimal.ZERO);
+    return enrollment;
+  }
+
+  private InsurancePackage insurancePackage(int index) {
+    InsurancePackage insurancePackage = new InsurancePackage();
+    insurancePackage.setName("Audit Package " + index);
+    insurancePackage.setCompany(entityManager.getReference(Company.class, companyId));
+    insurancePackage.setStartDate(LocalDate.now().minusMonths(1));
+    insurancePackage.setEndDate(LocalDate.now().plusMonths(11));
+    insurancePackage.setPayrollFrequency(PayrollFrequency.MONTHLY);
+    insurancePackage.setStatus(PackageStatus.ACTIVE);
+    insurancePackage.setPlans(List.of(entityManager.getReference(Plan.class, planId)));
+    return insurancePackage;
+  }
+}
@@ -0,0 +1,118 @@
+package com.coherentsolutions.pot.insuranceservice.integration.benchmark;
+
+import static com.coherentsolutions.pot.insuranceservice.integration.benchmark.BenchmarkUtils.percentile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.coherentsolutions.pot.insuranceservice.dto.auth0.Auth0InvitationDto;
+import com.coherentsolutions.pot.insuranceservice.integration.IntegrationTestConfiguration;
+import com.coherentsolutions.pot.insuranceservice.integration.containers.PostgresTestContainer;
+import com.coherentsolutions.pot.insuranceservice.service.Auth0InvitationService;
+import com.sun.net.httpserver.HttpServer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Drives the three-call Auth0 invitation flow at high concurrency against a local Auth0 stand-in
+ * with fixed latency, once on a bounded platform-thread pool sized like Tomcat's default and
+ * once on virtual threads, and reports p50/p99 latency including queueing. Excluded from
+ * {@code integrationTest}; run with {@code ./gradlew benchmarkTest [-PbenchmarkConcurrency=N]}.
+ * The task runs with {@code -Djdk.tracePinnedThreads=short}, so any carrier pinning on this path
+ * shows up in the output.
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+    "auth0.enabled=true",
+    "spring.threads.virtual.enabled=true"
+})
+@Import(IntegrationTestConfiguration.class)
+@DisplayName("Benchmark for the Auth0 invitation flow on platform vs virtual threads")
+public class Auth0InvitationLoadBenchmarkIt extends PostgresTestContainer {
+
+  private static final Logger log = LoggerFactory.getLogger(Auth0InvitationLoadBenchmarkIt.class);
+  private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 2_000);
+  private static final int PLATFORM_THREADS = 200;
+  private static final long STUB_LATENCY_MILLIS = 50;
+
+  private static final HttpServer AUTH0_STUB = BenchmarkUtils.startAuth0Stub(STUB_LATENCY_MILLIS);
+
+  @Autowired
+  private Auth0InvitationService auth0InvitationService;
+
+  @DynamicPropertySource
+  static void auth0Props(DynamicPropertyRegistry registry) {
+    registry.add("auth0.domain", () -> "http://localhost:" + AUTH0_STUB.getAddress().getPort());
+    registry.add("auth0.api-token", () -> "benchmark-token");
+  }
+
+  @AfterAll
+  static void stopStub() {
+    AUTH0_STUB.stop(0);
+  }
+
+  @Test
+  @DisplayName("p99 latency of createUserWithInvitation")
+  void compareLatency() throws Exception {
+    // Warm up connection pools and JIT before measuring.
+    run(Executors.newVirtualThreadPerTaskExecutor(), 200);
+
+    long[] platform = run(Executors.newFixedThreadPool(PLATFORM_THREADS), CONCURRENCY);
+    long[] virtual = run(Executors.newVirtualThreadPerTaskExecutor(), CONCURRENCY);
+
+    report("platform threads (" + PLATFORM_THREADS + ")", platform);
+    report("virtual threads", virtual);
+    assertEquals(CONCURRENCY, virtual.length);
+    assertTrue(percentile(virtual, 99) <= percentile(platform, 99),
+        "virtual threads should not be slower at p99 than a bounded platform pool");
+  }
+
+  private long[] run(ExecutorService executor, int requests)
+      throws InterruptedException, ExecutionException {
+    List<Future<Long>> calls = new ArrayList<>(requests);
+    try (executor) {
+      for (int i = 0; i < requests; i++) {
+        long submitted = System.nanoTime();
+        Auth0InvitationDto invitation = Auth0InvitationDto.builder()
+            .email("load-" + UUID.randomUUID() + "@example.com")
+            .name("Load Test")
+            .build();
+        calls.add(executor.submit(() -> {
+          auth0InvitationService.createUserWithInvitation(invitation);
+          return System.nanoTime() - submitted;
+        }));
+      }
+      long[] latencies = new long[requests];
+      for (int i = 0; i < requests; i++) {
+        latencies[i] = calls.get(i).get();
+      }
+      Arrays.sort(latencies);
+      return latencies;
+    }
+  }
+
+  private static void report(String mode, long[] sortedLatencies) {
+    log.info("{}: {} concurrent invitations, p50 {} ms, p99 {} ms, max {} ms", mode,
+        sortedLatencies.length, percentile(sortedLatencies, 50) / 1_000_000,
+        percentile(sortedLatencies, 99) / 1_000_000,
+        sortedLatencies[sortedLatencies.length - 1] / 1_000_000);
+  }
+}
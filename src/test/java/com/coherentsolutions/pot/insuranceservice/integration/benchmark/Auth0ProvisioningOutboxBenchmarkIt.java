@@ -0,0 +1,130 @@
+package com.coherentsolutions.pot.insuranceservice.integration.benchmark;
+
+import static com.coherentsolutions.pot.insuranceservice.integration.benchmark.BenchmarkUtils.percentile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.coherentsolutions.pot.insuranceservice.dto.user.UserDto;
+import com.coherentsolutions.pot.insuranceservice.enums.CompanyStatus;
+import com.coherentsolutions.pot.insuranceservice.enums.ProvisioningStatus;
+import com.coherentsolutions.pot.insuranceservice.integration.IntegrationTestConfiguration;
+import com.coherentsolutions.pot.insuranceservice.integration.containers.PostgresTestContainer;
+import com.coherentsolutions.pot.insuranceservice.model.Company;
+import com.coherentsolutions.pot.insuranceservice.repository.Auth0ProvisioningTaskRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.CompanyRepository;
+import com.coherentsolutions.pot.insuranceservice.service.Auth0ProvisioningDispatcher;
+import com.coherentsolutions.pot.insuranceservice.service.UserInvitationService;
+import com.sun.net.httpserver.HttpServer;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Measures the user invitation flow with the Auth0 provisioning outbox: the latency of the
+ * request-side write, which no longer touches Auth0, and the throughput of the dispatcher
+ * draining the queued invitations against a local Auth0 stand-in with fixed latency. Excluded
+ * from {@code integrationTest}; run with {@code ./gradlew benchmarkTest
+ * [-PbenchmarkConcurrency=N]}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+    "auth0.enabled=true",
+    "app.auth0.provisioning.batch-size=100"
+})
+@Import(IntegrationTestConfiguration.class)
+@DisplayName("Benchmark for Auth0 provisioning through the outbox")
+public class Auth0ProvisioningOutboxBenchmarkIt extends PostgresTestContainer {
+
+  private static final Logger log = LoggerFactory.getLogger(Auth0ProvisioningOutboxBenchmarkIt.class);
+  private static final int INVITATIONS = Integer.getInteger("benchmark.concurrency", 1_000);
+  private static final long STUB_LATENCY_MILLIS = 50;
+
+  private static final HttpServer AUTH0_STUB = BenchmarkUtils.startAuth0Stub(STUB_LATENCY_MILLIS);
+
+  @Autowired
+  private UserInvitationService userInvitationService;
+  @Autowired
+  private Auth0ProvisioningDispatcher auth0ProvisioningDispatcher;
+  @Autowired
+  private Auth0ProvisioningTaskRepository auth0ProvisioningTaskRepository;
+  @Autowired
+  private CompanyRepository companyRepository;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @DynamicPropertySource
+  static void auth0Props(DynamicPropertyRegistry registry) {
+    registry.add("auth0.domain", () -> "http://localhost:" + AUTH0_STUB.getAddress().getPort());
+    registry.add("auth0.api-token", () -> "benchmark-token");
+  }
+
+  @AfterAll
+  static void stopStub() {
+    AUTH0_STUB.stop(0);
+  }
+
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update("DELETE FROM auth0_provisioning_outbox");
+    jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'outbox-%@example.com'");
+  }
+
+  @Test
+  @DisplayName("Request latency and dispatcher throughput of queued invitations")
+  void measureOutbox() {
+    Company company = new Company();
+    company.setName("Outbox Benchmark Co");
+    company.setCountryCode("USA");
+    company.setEmail("outbox-benchmark@example.com");
+    company.setStatus(CompanyStatus.ACTIVE);
+    companyRepository.save(company);
+
+    long[] latencies = new long[INVITATIONS];
+    for (int i = 0; i < INVITATIONS; i++) {
+      long start = System.nanoTime();
+      userInvitationService.createUserWithInvitation(user(company.getId(), i));
+      latencies[i] = System.nanoTime() - start;
+    }
+    Arrays.sort(latencies);
+    log.info("enqueue: {} invitations, p50 {} µs, p99 {} µs", INVITATIONS,
+        percentile(latencies, 50) / 1_000, percentile(latencies, 99) / 1_000);
+
+    long start = System.nanoTime();
+    int processed = auth0ProvisioningDispatcher.drain();
+    long elapsedNanos = System.nanoTime() - start;
+    log.info("dispatch: {} invitations in {} ms ({} invitations/sec)", processed,
+        elapsedNanos / 1_000_000, processed * 1_000_000_000L / Math.max(elapsedNanos, 1));
+
+    assertEquals(INVITATIONS, processed);
+    assertEquals(INVITATIONS, auth0ProvisioningTaskRepository.countByStatus(ProvisioningStatus.COMPLETED));
+    assertEquals(INVITATIONS, jdbcTemplate.queryForObject(
+        "SELECT count(*) FROM users WHERE email LIKE 'outbox-%@example.com' AND auth0_user_id IS NOT NULL",
+        Integer.class));
+  }
+
+  private static UserDto user(UUID companyId, int index) {
+    UserDto user = new UserDto();
+    user.setFirstName("Outbox");
+    user.setLastName("User" + index);
+    user.setUsername("outbox-" + index);
+    user.setEmail("outbox-" + index + "@example.com");
+    user.setDateOfBirth(LocalDate.of(1990, 1, 1));
+    user.setSsn(String.format("900-%02d-%04d", index / 10_000 % 100, index % 10_000));
+    user.setCompanyId(companyId);
+    return user;
+  }
+}
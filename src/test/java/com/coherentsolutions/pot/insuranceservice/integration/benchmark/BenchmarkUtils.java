@@ -0,0 +1,75 @@
+package com.coherentsolutions.pot.insuranceservice.integration.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+/**
+ * Shared pieces of the benchmarks and the load harness: a local Auth0 stand-in and latency
+ * percentiles.
+ */
+public class BenchmarkUtils {
+
+  private BenchmarkUtils() {
+  }
+
+  /**
+   * Returns the nearest-rank {@code percentile} of latencies sorted in ascending order.
+   */
+  public static long percentile(long[] sortedLatencies, int percentile) {
+    int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+    return sortedLatencies[Math.max(index, 0)];
+  }
+
+  /**
+   * Starts a stand-in for the Auth0 endpoints used by the invitation flow on a random local port,
+   * answering every request after {@code latencyMillis}. Stop it with {@code stop(0)}.
+   */
+  public static HttpServer startAuth0Stub(long latencyMillis) {
+    try {
+      HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+      server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+      // GET searches by email on retries, POST creates a user, PATCH triggers the verification email.
+      server.createContext("/api/v2/users", exchange -> {
+        switch (exchange.getRequestMethod()) {
+          case "GET" -> respond(exchange, latencyMillis, 200, "[]");
+          case "POST" -> respond(exchange, latencyMillis, 201, stubUser());
+          default -> respond(exchange, latencyMillis, 200, stubUser());
+        }
+      });
+      server.createContext("/dbconnections/change_password", exchange -> respond(exchange,
+          latencyMillis, 200, "\"We've just sent you an email to reset your password.\""));
+      server.start();
+      return server;
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not start the Auth0 stub", e);
+    }
+  }
+
+  private static String stubUser() {
+    return "{\"user_id\":\"auth0|" + UUID.randomUUID() + "\",\"email\":\"stub@example.com\"}";
+  }
+
+  private static void respond(HttpExchange exchange, long latencyMillis, int status, String body)
+      throws IOException {
+    try {
+      exchange.getRequestBody().readAllBytes();
+      Thread.sleep(latencyMillis);
+      byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().add("Content-Type", "application/json");
+      exchange.sendResponseHeaders(status, bytes.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(bytes);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      exchange.close();
+    }
+  }
+}
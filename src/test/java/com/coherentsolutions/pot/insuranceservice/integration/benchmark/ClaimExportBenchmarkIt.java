@@ -0,0 +1,204 @@
+package com.coherentsolutions.pot.insuranceservice.integration.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimDto;
+import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimFilter;
+import com.coherentsolutions.pot.insuranceservice.enums.ClaimExportFormat;
+import com.coherentsolutions.pot.insuranceservice.enums.CompanyStatus;
+import com.coherentsolutions.pot.insuranceservice.enums.UserStatus;
+import com.coherentsolutions.pot.insuranceservice.integration.IntegrationTestConfiguration;
+import com.coherentsolutions.pot.insuranceservice.integration.containers.PostgresTestContainer;
+import com.coherentsolutions.pot.insuranceservice.model.Company;
+import com.coherentsolutions.pot.insuranceservice.model.Plan;
+import com.coherentsolutions.pot.insuranceservice.model.PlanType;
+import com.coherentsolutions.pot.insuranceservice.model.User;
+import com.coherentsolutions.pot.insuranceservice.repository.CompanyRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.PlanRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.PlanTypeRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.UserRepository;
+import com.coherentsolutions.pot.insuranceservice.service.ClaimManagementService;
+import jakarta.persistence.EntityManager;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Compares the paged claims API with the streaming export on the same data set, reporting
+ * rows/sec and the heap high-water mark of each. Excluded from {@code integrationTest}; run with
+ * {@code ./gradlew benchmarkTest [-PbenchmarkClaims=N]}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest
+@Import(IntegrationTestConfiguration.class)
+@Transactional
+@DisplayName("Benchmark for claims export against the paged API")
+public class ClaimExportBenchmarkIt extends PostgresTestContainer {
+
+  private static final Logger log = LoggerFactory.getLogger(ClaimExportBenchmarkIt.class);
+  private static final int CLAIMS = Integer.getInteger("benchmark.claims", 50_000);
+  private static final int PAGE_SIZE = 500;
+
+  @Autowired
+  private ClaimManagementService claimManagementService;
+  @Autowired
+  private CompanyRepository companyRepository;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private PlanTypeRepository planTypeRepository;
+  @Autowired
+  private PlanRepository planRepository;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+  @Autowired
+  private EntityManager entityManager;
+
+  @BeforeEach
+  void seedClaims() {
+    Company company = new Company();
+    company.setName("Benchmark Co");
+    company.setCountryCode("USA");
+    company.setEmail("benchmark@example.com");
+    company.setStatus(CompanyStatus.ACTIVE);
+    companyRepository.save(company);
+
+    User user = new User();
+    user.setFirstName("Bench");
+    user.setLastName("Mark");
+    user.setUsername("benchmark");
+    user.setEmail("bench.mark@example.com");
+    user.setCompany(company);
+    user.setStatus(UserStatus.ACTIVE);
+    user.setDateOfBirth(LocalDate.of(1990, 1, 1));
+    user.setSsn("999-99-9999");
+    userRepository.save(user);
+
+    PlanType planType = planTypeRepository.findByCode("DENTAL").orElseGet(() -> {
+      PlanType type = new PlanType();
+      type.setCode("DENTAL");
+      type.setName("Dental");
+      return planTypeRepository.save(type);
+    });
+    Plan plan = new Plan();
+    plan.setName("Benchmark Dental");
+    plan.setType(planType);
+    plan.setContribution(new BigDecimal("100.00"));
+    planRepository.save(plan);
+    entityManager.flush();
+
+    List<Object[]> rows = new ArrayList<>(CLAIMS);
+    LocalDate serviceDate = LocalDate.now().minusDays(1);
+    for (int i = 0; i < CLAIMS; i++) {
+      UUID id = UUID.randomUUID();
+      rows.add(new Object[]{id, id.toString(), Date.valueOf(serviceDate), user.getId(),
+          plan.getId(), BigDecimal.valueOf(i % 10_000, 2)});
+    }
+    jdbcTemplate.batchUpdate("""
+        INSERT INTO claims (id, claim_number, status, service_date, user_id, plan_id, amount)
+        VALUES (?, ?, 'PENDING', ?, ?, ?, ?)
+        """, rows);
+  }
+
+  @Test
+  @DisplayName("Streaming export vs paged API")
+  void compareExportWithPagedApi() throws IOException {
+    ClaimFilter filter = new ClaimFilter();
+
+    resetHeapPeak();
+    long start = System.nanoTime();
+    long pagedRows = 0;
+    Page<ClaimDto> page;
+    int pageNumber = 0;
+    do {
+      page = claimManagementService.getClaimsWithFilters(filter,
+          PageRequest.of(pageNumber++, PAGE_SIZE));
+      pagedRows += page.getNumberOfElements();
+      entityManager.clear();
+    } while (page.hasNext());
+    report("paged API", pagedRows, System.nanoTime() - start, heapPeak());
+
+    for (ClaimExportFormat format : ClaimExportFormat.values()) {
+      resetHeapPeak();
+      LineCountingOutputStream out = new LineCountingOutputStream();
+      start = System.nanoTime();
+      claimManagementService.exportClaims(filter, format, out);
+      long exportedRows = format == ClaimExportFormat.CSV ? out.lines - 1 : out.lines;
+      report(format + " export", exportedRows, System.nanoTime() - start, heapPeak());
+      assertEquals(pagedRows, exportedRows);
+    }
+  }
+
+  private static void report(String mode, long rows, long elapsedNanos, long heapPeakBytes) {
+    log.info("{}: {} rows in {} ms ({} rows/sec), heap high-water mark {} MiB", mode, rows,
+        elapsedNanos / 1_000_000, rows * 1_000_000_000L / Math.max(elapsedNanos, 1),
+        heapPeakBytes / (1024 * 1024));
+  }
+
+  private static void resetHeapPeak() {
+    System.gc();
+    heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+  }
+
+  private static long heapPeak() {
+    return heapPools().stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+  }
+
+  private static List<MemoryPoolMXBean> heapPools() {
+    return ManagementFactory.getMemoryPoolMXBeans().stream()
+        .filter(pool -> pool.getType() == MemoryType.HEAP)
+        .toList();
+  }
+
+  /**
+   * Discards the export while counting its lines.
+   */
+  private static final class LineCountingOutputStream extends FilterOutputStream {
+
+    private long lines;
+
+    LineCountingOutputStream() {
+      super(OutputStream.nullOutputStream());
+    }
+
+    @Override
+    public void write(int b) {
+      if (b == '\n') {
+        lines++;
+      }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      for (int i = off; i < off + len; i++) {
+        if (b[i] == '\n') {
+          lines++;
+        }
+      }
+    }
+  }
+}
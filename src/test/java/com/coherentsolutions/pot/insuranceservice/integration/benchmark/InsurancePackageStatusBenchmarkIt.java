@@ -0,0 +1,153 @@
+package com.coherentsolutions.pot.insuranceservice.integration.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.coherentsolutions.pot.insuranceservice.integration.IntegrationTestConfiguration;
+import com.coherentsolutions.pot.insuranceservice.integration.containers.PostgresTestContainer;
+import com.coherentsolutions.pot.insuranceservice.model.InsurancePackage;
+import com.coherentsolutions.pot.insuranceservice.repository.InsurancePackageRepository;
+import com.coherentsolutions.pot.insuranceservice.service.InsurancePackageStatusUpdater;
+import com.coherentsolutions.pot.insuranceservice.service.InsurancePackageStatusUpdater.StatusUpdateReport;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Seeds {@code benchmark.packages} insurance packages (1,000,000 by default), one in ten of them
+ * due for a transition today, and times the nightly status recalculation twice on identical data:
+ * once the way the job used to work, loading every package and saving them all back in one
+ * transaction, and once through {@link InsurancePackageStatusUpdater}. Both runs must leave the
+ * same statuses behind. The old path keeps every package in the persistence context, so large
+ * runs need a correspondingly large heap. Excluded from {@code integrationTest}; run with
+ * {@code ./gradlew benchmarkTest [-PbenchmarkPackages=N]}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.format_sql=false"
+})
+@Import(IntegrationTestConfiguration.class)
+@DisplayName("Benchmark for the nightly insurance package status recalculation")
+public class InsurancePackageStatusBenchmarkIt extends PostgresTestContainer {
+
+  private static final Logger log = LoggerFactory.getLogger(InsurancePackageStatusBenchmarkIt.class);
+  private static final int PACKAGES = Integer.getInteger("benchmark.packages", 1_000_000);
+  private static final List<String> AUDIT_TABLES = List.of("insurance_package_plans_aud", "insurance_packages_aud");
+
+  // Of every 20 packages: one starts today, one ended yesterday, one expired long ago and the rest
+  // are mid-window, so 10% of the table changes per run.
+  private static final String SEED = """
+      INSERT INTO insurance_packages (id, name, company_id, start_date, end_date, payroll_frequency, status,
+                                      created_at)
+      SELECT uuid_generate_v4(), 'Status Benchmark ' || i, ?,
+             CASE i % 20 WHEN 0 THEN ?::DATE WHEN 1 THEN ?::DATE - 365 WHEN 2 THEN ?::DATE - 800
+                         ELSE ?::DATE - 30 END,
+             CASE i % 20 WHEN 0 THEN ?::DATE + 365 WHEN 1 THEN ?::DATE - 1 WHEN 2 THEN ?::DATE - 435
+                         ELSE ?::DATE + 335 END,
+             'MONTHLY',
+             CASE i % 20 WHEN 0 THEN 'INITIALIZED' WHEN 2 THEN 'EXPIRED' ELSE 'ACTIVE' END,
+             now()
+      FROM generate_series(1, ?) AS i
+      """;
+
+  @Autowired
+  private InsurancePackageStatusUpdater insurancePackageStatusUpdater;
+  @Autowired
+  private InsurancePackageRepository insurancePackageRepository;
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private int startRevision;
+  private UUID companyId;
+  private LocalDate today;
+
+  @BeforeEach
+  void createCompany() {
+    startRevision = jdbcTemplate.queryForObject("SELECT coalesce(max(rev), 0) FROM revinfo", Integer.class);
+    companyId = jdbcTemplate.queryForObject("""
+        INSERT INTO companies (name, country_code, email, status)
+        VALUES ('Status Benchmark Co', 'USA', 'status-benchmark@example.com', 'ACTIVE')
+        RETURNING id
+        """, UUID.class);
+    // The old path evaluates the window against the clock, so both runs use the current day.
+    today = LocalDate.now();
+  }
+
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update("DELETE FROM insurance_packages WHERE company_id = ?", companyId);
+    jdbcTemplate.update("DELETE FROM companies WHERE id = ?", companyId);
+    AUDIT_TABLES.forEach(table -> jdbcTemplate.update("DELETE FROM " + table + " WHERE rev > ?", startRevision));
+    jdbcTemplate.update("DELETE FROM revinfo WHERE rev > ?", startRevision);
+  }
+
+  @Test
+  @DisplayName("Load-all-and-save vs chunked set-based updates")
+  void compareOldAndNewPath() {
+    seed();
+    long started = System.nanoTime();
+    int loaded = loadAllAndSave();
+    long oldMillis = (System.nanoTime() - started) / 1_000_000;
+    Map<String, Integer> oldStatuses = statuses();
+
+    seed();
+    StatusUpdateReport report = insurancePackageStatusUpdater.recalculateStatuses(today);
+    Map<String, Integer> newStatuses = statuses();
+
+    log.info("{} packages: load-all-and-save {} ms ({} entities loaded), chunked updates {} ms ({} activated, "
+            + "{} expired), {}x faster", PACKAGES, oldMillis, loaded, report.elapsed().toMillis(),
+        report.activated(), report.expired(), oldMillis / Math.max(report.elapsed().toMillis(), 1));
+    assertEquals(oldStatuses, newStatuses);
+    assertEquals(PACKAGES / 20, report.activated());
+    assertEquals((PACKAGES - 1) / 20 + 1, report.expired());
+  }
+
+  /**
+   * The job as it was before the chunked updates: every package is loaded, recalculated and saved
+   * in a single transaction.
+   */
+  private int loadAllAndSave() {
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    return transaction.execute(status -> {
+      List<InsurancePackage> packages = insurancePackageRepository.findAll();
+      for (InsurancePackage insurancePackage : packages) {
+        insurancePackage.calculateStatus(false);
+      }
+      insurancePackageRepository.saveAll(packages);
+      return packages.size();
+    });
+  }
+
+  private void seed() {
+    jdbcTemplate.update("DELETE FROM insurance_packages WHERE company_id = ?", companyId);
+    jdbcTemplate.update(SEED, companyId, today, today, today, today, today, today, today, today, PACKAGES);
+    jdbcTemplate.execute("ANALYZE insurance_packages");
+  }
+
+  private Map<String, Integer> statuses() {
+    return jdbcTemplate.queryForList("""
+            SELECT status, count(*)::INT AS packages FROM insurance_packages
+            WHERE company_id = ? GROUP BY status
+            """, companyId).stream()
+        .collect(Collectors.toMap(row -> (String) row.get("status"), row -> (Integer) row.get("packages")));
+  }
+}
@@ -0,0 +1,164 @@
+package com.coherentsolutions.pot.insuranceservice.integration.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.coherentsolutions.pot.insuranceservice.config.CacheConfig;
+import com.coherentsolutions.pot.insuranceservice.dto.plan.PlanDto;
+import com.coherentsolutions.pot.insuranceservice.dto.plan.PlanFilter;
+import com.coherentsolutions.pot.insuranceservice.integration.IntegrationTestConfiguration;
+import com.coherentsolutions.pot.insuranceservice.integration.containers.PostgresTestContainer;
+import com.coherentsolutions.pot.insuranceservice.model.PlanType;
+import com.coherentsolutions.pot.insuranceservice.repository.PlanTypeRepository;
+import com.coherentsolutions.pot.insuranceservice.service.PlanManagementService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Counts the statements issued by repeated plan type and plan catalog reads with cold and warm
+ * caches, and checks that plan writes evict the catalog. Runs with caching enabled and without a
+ * test transaction, since cache evictions are only applied on commit. Excluded from
+ * {@code integrationTest}; run with {@code ./gradlew benchmarkTest}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.cache.type=caffeine")
+@Import(IntegrationTestConfiguration.class)
+@DisplayName("Benchmark for plan type and plan catalog caching")
+public class PlanCatalogCacheBenchmarkIt extends PostgresTestContainer {
+
+  private static final Logger log = LoggerFactory.getLogger(PlanCatalogCacheBenchmarkIt.class);
+  private static final int ITERATIONS = 1_000;
+
+  @Autowired
+  private PlanManagementService planManagementService;
+  @Autowired
+  private PlanTypeRepository planTypeRepository;
+  @Autowired
+  private CacheManager cacheManager;
+  @Autowired
+  private MeterRegistry meterRegistry;
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private final List<UUID> createdPlans = new ArrayList<>();
+  private Integer dentalTypeId;
+
+  @BeforeEach
+  void setUp() {
+    dentalTypeId = planTypeRepository.findByCode("DENTAL")
+        .map(PlanType::getId)
+        .orElseThrow();
+    createdPlans.add(planManagementService.createPlan(plan("Benchmark Dental")).getId());
+    clearCaches();
+  }
+
+  @AfterEach
+  void tearDown() {
+    createdPlans.forEach(id -> jdbcTemplate.update("DELETE FROM plans WHERE id = ?", id));
+    createdPlans.clear();
+    clearCaches();
+  }
+
+  @Test
+  @DisplayName("Cached reads vs database round-trips")
+  void compareColdAndWarmReads() {
+    PlanFilter filter = new PlanFilter();
+    filter.setTypeId(dentalTypeId);
+
+    long cold = measure("cold", () -> {
+      clearCaches();
+      planManagementService.getAllPlanTypes();
+      planManagementService.getPlansWithFilter(filter);
+    });
+    clearCaches();
+    long warm = measure("warm", () -> {
+      planManagementService.getAllPlanTypes();
+      planManagementService.getPlansWithFilter(filter);
+    });
+
+    assertTrue(cold >= 2L * ITERATIONS, "every cold read should reach the database");
+    assertTrue(warm * 100 < cold, "warm reads should only query to populate the caches");
+    log.info("plan catalog cache hits {}, misses {}", gets(CacheConfig.PLAN_CATALOG, "hit"),
+        gets(CacheConfig.PLAN_CATALOG, "miss"));
+  }
+
+  @Test
+  @DisplayName("Plan writes evict the cached catalog")
+  void shouldEvictCatalogOnWrite() {
+    PlanFilter filter = new PlanFilter();
+    filter.setTypeId(dentalTypeId);
+    int before = planManagementService.getPlansWithFilter(filter).size();
+
+    PlanDto created = planManagementService.createPlan(plan("Benchmark Dental Plus"));
+    createdPlans.add(created.getId());
+    assertEquals(before + 1, planManagementService.getPlansWithFilter(filter).size());
+
+    planManagementService.updatePlan(created.getId(), PlanDto.builder()
+        .name("Benchmark Dental Max")
+        .type(dentalTypeId)
+        .contribution(new BigDecimal("150.00"))
+        .build());
+    assertTrue(planManagementService.getPlansWithFilter(filter).stream()
+        .anyMatch(plan -> plan.getName().equals("Benchmark Dental Max")));
+
+    planManagementService.softDeletePlan(created.getId());
+    assertEquals(before, planManagementService.getPlansWithFilter(filter).size());
+  }
+
+  private long measure(String mode, Runnable read) {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      read.run();
+    }
+    long elapsedNanos = System.nanoTime() - start;
+    long statements = statistics.getPrepareStatementCount();
+    log.info("{}: {} reads in {} ms, {} statements", mode, 2 * ITERATIONS,
+        elapsedNanos / 1_000_000, statements);
+    return statements;
+  }
+
+  private double gets(String cache, String result) {
+    FunctionCounter counter = meterRegistry.find("cache.gets")
+        .tag("cache", cache)
+        .tag("result", result)
+        .functionCounter();
+    return counter == null ? 0 : counter.count();
+  }
+
+  private void clearCaches() {
+    cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+  }
+
+  private PlanDto plan(String name) {
+    return PlanDto.builder()
+        .name(name)
+        .type(dentalTypeId)
+        .contribution(new BigDecimal("100.00"))
+        .build();
+  }
+}
@@ -0,0 +1,129 @@
+package com.coherentsolutions.pot.insuranceservice.integration.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.coherentsolutions.pot.insuranceservice.dto.user.UserDto;
+import com.coherentsolutions.pot.insuranceservice.dto.user.UserImportResult;
+import com.coherentsolutions.pot.insuranceservice.enums.CompanyStatus;
+import com.coherentsolutions.pot.insuranceservice.enums.UserFunction;
+import com.coherentsolutions.pot.insuranceservice.enums.UserImportFormat;
+import com.coherentsolutions.pot.insuranceservice.integration.IntegrationTestConfiguration;
+import com.coherentsolutions.pot.insuranceservice.integration.containers.PostgresTestContainer;
+import com.coherentsolutions.pot.insuranceservice.model.Company;
+import com.coherentsolutions.pot.insuranceservice.repository.CompanyRepository;
+import com.coherentsolutions.pot.insuranceservice.service.UserImportService;
+import com.coherentsolutions.pot.insuranceservice.service.UserManagementService;
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Onboards a company of {@code benchmark.users} users (100k by default) through the bulk CSV
+ * import and compares its rows/sec with creating a sample of users one by one through
+ * {@link UserManagementService#createUser}. Excluded from {@code integrationTest}; run with
+ * {@code ./gradlew benchmarkTest [-PbenchmarkUsers=N]}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest
+@Import(IntegrationTestConfiguration.class)
+@DisplayName("Benchmark for bulk user import against one-by-one creation")
+public class UserImportBenchmarkIt extends PostgresTestContainer {
+
+  private static final Logger log = LoggerFactory.getLogger(UserImportBenchmarkIt.class);
+  private static final int USERS = Integer.getInteger("benchmark.users", 100_000);
+  private static final int ONE_BY_ONE_SAMPLE = 2_000;
+
+  @Autowired
+  private UserImportService userImportService;
+  @Autowired
+  private UserManagementService userManagementService;
+  @Autowired
+  private CompanyRepository companyRepository;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private Company company;
+
+  @BeforeEach
+  void createCompany() {
+    company = new Company();
+    company.setName("Import Benchmark Co");
+    company.setCountryCode("USA");
+    company.setEmail("import-benchmark@example.com");
+    company.setStatus(CompanyStatus.ACTIVE);
+    companyRepository.save(company);
+  }
+
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update("DELETE FROM user_functions WHERE user_id IN (SELECT id FROM users WHERE company_id = ?)",
+        company.getId());
+    jdbcTemplate.update("DELETE FROM users WHERE company_id = ?", company.getId());
+    companyRepository.deleteById(company.getId());
+  }
+
+  @Test
+  @DisplayName("Bulk CSV import vs one-by-one creation")
+  void compareImportWithOneByOne() throws Exception {
+    long start = System.nanoTime();
+    for (int i = 0; i < ONE_BY_ONE_SAMPLE; i++) {
+      UserDto user = UserDto.builder()
+          .firstName("Single")
+          .lastName("User" + i)
+          .username("single-" + i)
+          .email("single-" + i + "@example.com")
+          .dateOfBirth(LocalDate.of(1990, 1, 1))
+          .ssn(ssn(8, i))
+          .functions(Set.of(UserFunction.CONSUMER))
+          .companyId(company.getId())
+          .build();
+      userManagementService.createUser(user);
+    }
+    report("one by one", ONE_BY_ONE_SAMPLE, System.nanoTime() - start);
+
+    StringBuilder csv = new StringBuilder("firstName,lastName,username,email,dateOfBirth,ssn,functions\n");
+    for (int i = 0; i < USERS; i++) {
+      csv.append("Bulk,User").append(i)
+          .append(",bulk-").append(i)
+          .append(",bulk-").append(i).append("@example.com")
+          .append(",1990-01-01,").append(ssn(9, i))
+          .append(",CONSUMER\n");
+    }
+    byte[] upload = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+    start = System.nanoTime();
+    UserImportResult result = userImportService.importUsers(company.getId(),
+        new ByteArrayInputStream(upload), UserImportFormat.CSV, false, OutputStream.nullOutputStream());
+    report("bulk import", USERS, System.nanoTime() - start);
+
+    assertEquals(new UserImportResult(USERS, 0), result);
+    assertEquals(USERS + ONE_BY_ONE_SAMPLE, jdbcTemplate.queryForObject(
+        "SELECT count(*) FROM users WHERE company_id = ?", Integer.class, company.getId()));
+  }
+
+  private static String ssn(int prefix, int index) {
+    return String.format("%d%02d-%02d-%04d", prefix, index / 1_000_000 % 100, index / 10_000 % 100,
+        index % 10_000);
+  }
+
+  private static void report(String mode, int rows, long elapsedNanos) {
+    log.info("{}: {} users in {} ms ({} users/sec)", mode, rows, elapsedNanos / 1_000_000,
+        rows * 1_000_000_000L / Math.max(elapsedNanos, 1));
+  }
+}
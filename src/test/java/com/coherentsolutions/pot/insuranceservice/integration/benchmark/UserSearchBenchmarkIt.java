@@ -0,0 +1,149 @@
+package com.coherentsolutions.pot.insuranceservice.integration.benchmark;
+
+import static com.coherentsolutions.pot.insuranceservice.integration.benchmark.BenchmarkUtils.percentile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.coherentsolutions.pot.insuranceservice.dto.user.UserDto;
+import com.coherentsolutions.pot.insuranceservice.dto.user.UserFilter;
+import com.coherentsolutions.pot.insuranceservice.integration.IntegrationTestConfiguration;
+import com.coherentsolutions.pot.insuranceservice.integration.containers.PostgresTestContainer;
+import com.coherentsolutions.pot.insuranceservice.service.UserManagementService;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Measures the users list with substring filters on {@code benchmark.searchUsers} users (2M by
+ * default), first without and then with the {@code pg_trgm} indexes, and checks that the plans
+ * use them. Excluded from {@code integrationTest}; run with
+ * {@code ./gradlew benchmarkTest [-PbenchmarkSearchUsers=N]}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.format_sql=false"
+})
+@Import(IntegrationTestConfiguration.class)
+@Transactional
+@DisplayName("Benchmark for substring user search with and without trigram indexes")
+public class UserSearchBenchmarkIt extends PostgresTestContainer {
+
+  private static final Logger log = LoggerFactory.getLogger(UserSearchBenchmarkIt.class);
+  private static final int USERS = Integer.getInteger("benchmark.searchUsers", 2_000_000);
+  private static final int RUNS = 20;
+  private static final String TRIGRAM_INDEXES = "db/changelog/create-index-trigram-search.sql";
+  private static final List<String> USER_INDEXES = List.of("ix_users_first_name_trgm",
+      "ix_users_last_name_trgm", "ix_users_email_trgm", "ix_users_ssn_trgm");
+
+  @Autowired
+  private UserManagementService userManagementService;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+  @Autowired
+  private EntityManager entityManager;
+
+  @Test
+  @DisplayName("Search latency before and after the trigram indexes")
+  void compareSearchLatency() throws IOException {
+    seedUsers();
+    // A user from the middle of the table, so matches are not found on the first page scanned.
+    Map<String, Object> sample = jdbcTemplate.queryForMap(
+        "SELECT last_name, email, ssn FROM users WHERE username = ?", "search-" + USERS / 2);
+    Map<String, Consumer<UserFilter>> searches = new LinkedHashMap<>();
+    searches.put("name (selective)", f -> f.setName(((String) sample.get("last_name")).substring(2, 8)));
+    searches.put("name (common)", f -> f.setName("son"));
+    searches.put("email", f -> f.setEmail(((String) sample.get("email")).substring(0, 12)));
+    searches.put("ssn", f -> f.setSsn(((String) sample.get("ssn")).substring(4)));
+
+    USER_INDEXES.forEach(index -> jdbcTemplate.execute("DROP INDEX " + index));
+    jdbcTemplate.execute("ANALYZE users");
+    Map<String, long[]> before = measure(searches);
+
+    String indexes = new ClassPathResource(TRIGRAM_INDEXES).getContentAsString(StandardCharsets.UTF_8);
+    // The changesets build the indexes concurrently, which cannot run inside the test transaction.
+    Arrays.stream(indexes.split(";"))
+        .filter(statement -> statement.contains("ON users"))
+        .map(statement -> statement.replace(" CONCURRENTLY", ""))
+        .forEach(jdbcTemplate::execute);
+    jdbcTemplate.execute("ANALYZE users");
+    Map<String, long[]> after = measure(searches);
+
+    searches.keySet().forEach(search -> log.info(
+        "{} over {} users: p50 {} ms -> {} ms, p95 {} ms -> {} ms", search, USERS,
+        percentile(before.get(search), 50) / 1_000_000, percentile(after.get(search), 50) / 1_000_000,
+        percentile(before.get(search), 95) / 1_000_000, percentile(after.get(search), 95) / 1_000_000));
+
+    String plan = String.join("\n", jdbcTemplate.queryForList(
+        "EXPLAIN SELECT id FROM users WHERE lower(last_name) LIKE ?", String.class,
+        "%" + ((String) sample.get("last_name")).substring(2, 8).toLowerCase() + "%"));
+    assertTrue(plan.contains("ix_users_last_name_trgm"), () -> "trigram index not used:\n" + plan);
+  }
+
+  private void seedUsers() {
+    UUID companyId = jdbcTemplate.queryForObject("""
+        INSERT INTO companies (name, country_code, email, status)
+        VALUES ('Search Benchmark Co', 'USA', 'search@example.com', 'ACTIVE')
+        RETURNING id
+        """, UUID.class);
+    // Names combine a common surname stem with a random suffix, so both common and selective
+    // substrings occur.
+    int inserted = jdbcTemplate.update("""
+        INSERT INTO users (first_name, last_name, username, email, date_of_birth, ssn, company_id,
+                           status)
+        SELECT (ARRAY['Olivia','Liam','Emma','Noah','Ava','Mason','Mia','Lucas'])[1 + i % 8]
+                   || substr(md5('f' || i), 1, 6),
+               (ARRAY['Johnson','Anderson','Garcia','Wilson','Martin','Thompson'])[1 + i % 6]
+                   || substr(md5('l' || i), 1, 8),
+               'search-' || i,
+               substr(md5('e' || i), 1, 10) || '.' || i || '@example.com',
+               DATE '1960-01-01' + (i % 15000),
+               to_char(i / 1000000 % 1000, 'FM000') || '-' || to_char(i / 10000 % 100, 'FM00') || '-'
+                   || to_char(i % 10000, 'FM0000'),
+               ?, 'ACTIVE'
+        FROM generate_series(1, ?) AS i
+        """, companyId, USERS);
+    assertEquals(USERS, inserted);
+    entityManager.clear();
+  }
+
+  private Map<String, long[]> measure(Map<String, Consumer<UserFilter>> searches) {
+    Map<String, long[]> latencies = new LinkedHashMap<>();
+    searches.forEach((search, criteria) -> {
+      UserFilter filter = new UserFilter();
+      criteria.accept(filter);
+      long[] runs = new long[RUNS];
+      for (int i = 0; i < RUNS; i++) {
+        long start = System.nanoTime();
+        Page<UserDto> page = userManagementService.getUsersWithFilters(filter, PageRequest.of(0, 20));
+        runs[i] = System.nanoTime() - start;
+        assertTrue(page.getTotalElements() > 0, search + " found nothing");
+        entityManager.clear();
+      }
+      Arrays.sort(runs);
+      latencies.put(search, runs);
+    });
+    return latencies;
+  }
+}
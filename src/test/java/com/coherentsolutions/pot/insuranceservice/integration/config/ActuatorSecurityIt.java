@@ -0,0 +1,62 @@
+package com.coherentsolutions.pot.insuranceservice.integration.config;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.coherentsolutions.pot.insuranceservice.integration.IntegrationTestConfiguration;
+import com.coherentsolutions.pot.insuranceservice.integration.TestSecurityUtils;
+import com.coherentsolutions.pot.insuranceservice.integration.containers.PostgresTestContainer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(IntegrationTestConfiguration.class)
+@DisplayName("Integration test for access to actuator endpoints")
+class ActuatorSecurityIt extends PostgresTestContainer {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Test
+  @DisplayName("Info is available to any authenticated caller")
+  void infoIsAvailableToAuthenticatedCallers() throws Exception {
+    mockMvc.perform(get("/actuator/info"))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("Metrics require the application admin role")
+  void metricsRequireAdmin() throws Exception {
+    mockMvc.perform(get("/actuator/metrics"))
+        .andExpect(status().isForbidden());
+    mockMvc.perform(get("/actuator/metrics").with(TestSecurityUtils.adminUser()))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("The Prometheus scrape requires the application admin role")
+  void prometheusRequiresAdmin() throws Exception {
+    mockMvc.perform(get("/actuator/prometheus"))
+        .andExpect(status().isForbidden());
+    mockMvc.perform(get("/actuator/prometheus").with(TestSecurityUtils.adminUser()))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("The caches endpoint is not exposed by default")
+  void cachesAreNotExposed() throws Exception {
+    mockMvc.perform(get("/actuator/caches").with(TestSecurityUtils.adminUser()))
+        .andExpect(status().isNotFound());
+    mockMvc.perform(delete("/actuator/caches"))
+        .andExpect(status().isForbidden());
+  }
+}
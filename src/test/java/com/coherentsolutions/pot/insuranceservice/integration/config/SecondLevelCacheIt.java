@@ -0,0 +1,134 @@
+package com.coherentsolutions.pot.insuranceservice.integration.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.coherentsolutions.pot.insuranceservice.enums.CompanyStatus;
+import com.coherentsolutions.pot.insuranceservice.integration.IntegrationTestConfiguration;
+import com.coherentsolutions.pot.insuranceservice.integration.containers.PostgresTestContainer;
+import com.coherentsolutions.pot.insuranceservice.model.Company;
+import com.coherentsolutions.pot.insuranceservice.model.Plan;
+import com.coherentsolutions.pot.insuranceservice.repository.CompanyRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.PlanRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.PlanTypeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs without a test transaction: every step commits through {@link TransactionTemplate} so the
+ * second-level cache sees the same lifecycle as production requests.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@Import(IntegrationTestConfiguration.class)
+@DisplayName("Integration test for the Hibernate second-level cache")
+class SecondLevelCacheIt extends PostgresTestContainer {
+
+  @Autowired
+  private CompanyRepository companyRepository;
+  @Autowired
+  private PlanRepository planRepository;
+  @Autowired
+  private PlanTypeRepository planTypeRepository;
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private final List<UUID> createdPlans = new ArrayList<>();
+  private final List<UUID> createdCompanies = new ArrayList<>();
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    sessionFactory.getCache().evictAllRegions();
+    statistics = sessionFactory.getStatistics();
+    statistics.clear();
+  }
+
+  @AfterEach
+  void cleanUp() {
+    createdPlans.forEach(id -> jdbcTemplate.update("DELETE FROM plans WHERE id = ?", id));
+    createdCompanies.forEach(id -> jdbcTemplate.update("DELETE FROM companies WHERE id = ?", id));
+    createdPlans.clear();
+    createdCompanies.clear();
+  }
+
+  @Test
+  @DisplayName("Plan types are served from the cache in later transactions")
+  void shouldHitPlanTypeAcrossTransactions() {
+    transactionTemplate.executeWithoutResult(status -> planTypeRepository.findById(1));
+    long statements = statistics.getPrepareStatementCount();
+
+    transactionTemplate.executeWithoutResult(status -> planTypeRepository.findById(1));
+    transactionTemplate.executeWithoutResult(status -> planTypeRepository.findById(1));
+
+    CacheRegionStatistics region = statistics.getDomainDataRegionStatistics("planType");
+    assertEquals(1, region.getMissCount());
+    assertEquals(2, region.getHitCount());
+    assertEquals(statements, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  @DisplayName("Company updates refresh the cached entry after commit")
+  void shouldRefreshCompanyOnUpdate() {
+    UUID id = transactionTemplate.execute(status -> {
+      Company company = new Company();
+      company.setName("Cached Co");
+      company.setCountryCode("USA");
+      company.setStatus(CompanyStatus.ACTIVE);
+      return companyRepository.save(company).getId();
+    });
+    createdCompanies.add(id);
+
+    transactionTemplate.executeWithoutResult(status ->
+        companyRepository.findById(id).orElseThrow().setName("Renamed Co"));
+    String name = transactionTemplate.execute(status ->
+        companyRepository.findById(id).orElseThrow().getName());
+
+    assertEquals("Renamed Co", name);
+    assertTrue(statistics.getDomainDataRegionStatistics("company").getHitCount() > 0);
+  }
+
+  @Test
+  @DisplayName("Soft-deleted plans are evicted from the cache")
+  void shouldEvictPlanOnSoftDelete() {
+    UUID id = transactionTemplate.execute(status -> {
+      Plan plan = new Plan();
+      plan.setName("Cached Plan");
+      plan.setType(planTypeRepository.getReferenceById(1));
+      plan.setContribution(new BigDecimal("100.00"));
+      return planRepository.save(plan).getId();
+    });
+    createdPlans.add(id);
+    transactionTemplate.executeWithoutResult(status ->
+        assertTrue(planRepository.findById(id).isPresent()));
+
+    transactionTemplate.executeWithoutResult(status ->
+        planRepository.delete(planRepository.findByIdOrThrow(id)));
+
+    transactionTemplate.executeWithoutResult(status ->
+        assertTrue(planRepository.findById(id).isEmpty()));
+    assertTrue(statistics.getDomainDataRegionStatistics("plan").getHitCount() > 0);
+  }
+}
@@ -9,24 +9,39 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 /**
  * Abstract base class for integration tests using a PostgreSQL container. Utilizes Testcontainers
  * to run PostgreSQL in a Docker environment.
+ *
+ * <p>When the {@code postgres.url} system property is set, tests use that database instead
+ * (with {@code postgres.username} and {@code postgres.password}) and no container is started.
+ * This is meant for load tests against a long-lived local database.
  */
 
 @Testcontainers
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 public abstract class PostgresTestContainer {
 
+  private static final String EXTERNAL_URL = System.getProperty("postgres.url");
   private static final PostgreSQLContainer<?> POSTGRES;
 
   static {
-    POSTGRES = new PostgreSQLContainer<>("postgres:16.9")
-        .withDatabaseName("test-db")
-        .withUsername("test")
-        .withPassword("test");
-    POSTGRES.start();
+    if (EXTERNAL_URL == null) {
+      POSTGRES = new PostgreSQLContainer<>("postgres:16.9")
+          .withDatabaseName("test-db")
+          .withUsername("test")
+          .withPassword("test");
+      POSTGRES.start();
+    } else {
+      POSTGRES = null;
+    }
   }
 
   @DynamicPropertySource
   static void overrideProps(DynamicPropertyRegistry registry) {
+    if (POSTGRES == null) {
+      registry.add("spring.datasource.url", () -> EXTERNAL_URL);
+      registry.add("spring.datasource.username", () -> System.getProperty("postgres.username", "postgres"));
+      registry.add("spring.datasource.password", () -> System.getProperty("postgres.password", "postgres"));
+      return;
+    }
     registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
     registry.add("spring.datasource.username", POSTGRES::getUsername);
     registry.add("spring.datasource.password", POSTGRES::getPassword);
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.coherentsolutions.pot.insuranceservice.dto.enrollment.EnrollmentDto;
@@ -18,12 +19,16 @@ import com.coherentsolutions.pot.insuranceservice.repository.CompanyRepository;
 import com.coherentsolutions.pot.insuranceservice.repository.PlanRepository;
 import com.coherentsolutions.pot.insuranceservice.repository.PlanTypeRepository;
 import com.coherentsolutions.pot.insuranceservice.repository.UserRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -60,6 +65,10 @@ public class AdminEnrollmentManagementControllerIT extends PostgresTestContainer
 
   @Autowired
   private CompanyRepository companyRepository;
+  @Autowired
+  private EntityManager entityManager;
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
 
   private UUID userId;
   private UUID planId;
@@ -170,18 +179,12 @@ public class AdminEnrollmentManagementControllerIT extends PostgresTestContainer
   }
 
   @Test
-  @DisplayName("Should return empty list when no enrollments")
-  void shouldReturnEmptyListWhenNoEnrollments() throws Exception {
-    String json = mockMvc.perform(get(ENDPOINT))
+  @DisplayName("Should return empty page when no enrollments")
+  void shouldReturnEmptyPageWhenNoEnrollments() throws Exception {
+    mockMvc.perform(get(ENDPOINT))
         .andExpect(status().isOk())
-        .andReturn()
-        .getResponse()
-        .getContentAsString();
-
-    EnrollmentDto[] array = objectMapper.readValue(json, EnrollmentDto[].class);
-    List<EnrollmentDto> list = Arrays.asList(array);
-
-    assertEquals(0, list.size());
+        .andExpect(jsonPath("$.content.length()").value(0))
+        .andExpect(jsonPath("$.totalElements").value(0));
   }
 
   @Test
@@ -216,13 +219,90 @@ public class AdminEnrollmentManagementControllerIT extends PostgresTestContainer
         .getResponse()
         .getContentAsString();
 
-    EnrollmentDto[] array = objectMapper.readValue(json, EnrollmentDto[].class);
-    List<EnrollmentDto> list = Arrays.asList(array);
+    List<EnrollmentDto> list = objectMapper.readValue(
+        objectMapper.readTree(json).get("content").toString(), new TypeReference<>() {
+        });
 
     assertNotNull(list);
     assertEquals(2, list.size());
   }
 
+  @Test
+  @DisplayName("Should filter enrollments by company, plan type and election range")
+  void shouldFilterEnrollments() throws Exception {
+    createEnrollment(planId, "100.00");
+    UUID anotherPlanId = seedPlan();
+    createEnrollment(anotherPlanId, "50.00");
+    Integer planTypeId = planRepository.findById(planId).orElseThrow().getType().getId();
+    UUID companyId = userRepository.findById(userId).orElseThrow().getCompany().getId();
+
+    mockMvc.perform(get(ENDPOINT)
+            .param("companyId", companyId.toString())
+            .param("planTypeId", planTypeId.toString())
+            .param("electionAmountMin", "75.00"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(1))
+        .andExpect(jsonPath("$.content[0].planId").value(planId.toString()));
+
+    mockMvc.perform(get(ENDPOINT).param("companyId", UUID.randomUUID().toString()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(0));
+  }
+
+  @Test
+  @DisplayName("Should load a page of enrollments in at most two statements")
+  void shouldLoadPageInAtMostTwoStatements() throws Exception {
+    createEnrollment(planId, "100.00");
+    createEnrollment(seedPlan(), "50.00");
+    createEnrollment(seedPlan(), "25.00");
+    entityManager.flush();
+    entityManager.clear();
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    mockMvc.perform(get(ENDPOINT).param("size", "2").param("sort", "electionAmount,desc"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(2))
+        .andExpect(jsonPath("$.totalElements").value(3))
+        .andExpect(jsonPath("$.content[0].userId").value(userId.toString()));
+
+    assertEquals(2, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  @DisplayName("Should scroll enrollments with a keyset cursor")
+  void shouldScrollEnrollmentsWithCursor() throws Exception {
+    createEnrollment(planId, "100.00");
+    createEnrollment(seedPlan(), "50.00");
+    createEnrollment(seedPlan(), "25.00");
+
+    String firstWindow = mockMvc.perform(get(ENDPOINT + "/scroll")
+            .param("size", "2").param("sort", "electionAmount,desc"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(2))
+        .andExpect(jsonPath("$.content[0].electionAmount").value(100.00))
+        .andExpect(jsonPath("$.hasNext").value(true))
+        .andReturn().getResponse().getContentAsString();
+    String cursor = objectMapper.readTree(firstWindow).get("nextCursor").asText();
+
+    mockMvc.perform(get(ENDPOINT + "/scroll")
+            .param("size", "2").param("sort", "electionAmount,desc").param("cursor", cursor))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(1))
+        .andExpect(jsonPath("$.content[0].electionAmount").value(25.00))
+        .andExpect(jsonPath("$.hasNext").value(false));
+  }
+
+  private void createEnrollment(UUID enrollmentPlanId, String electionAmount) throws Exception {
+    EnrollmentDto request = copy(baseRequest);
+    request.setPlanId(enrollmentPlanId);
+    request.setElectionAmount(new BigDecimal(electionAmount));
+    mockMvc.perform(post(ENDPOINT)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(toJson(request)))
+        .andExpect(status().isCreated());
+  }
+
   private UUID seedUser() {
     Company company = new Company();
     company.setName("Acme Inc.");
@@ -1,7 +1,9 @@
 package com.coherentsolutions.pot.insuranceservice.integration.controller;
 
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -15,6 +17,7 @@ import com.coherentsolutions.pot.insuranceservice.dto.auth0.Auth0InvitationDto;
 import com.coherentsolutions.pot.insuranceservice.dto.auth0.Auth0UserDto;
 import com.coherentsolutions.pot.insuranceservice.dto.user.UserDto;
 import com.coherentsolutions.pot.insuranceservice.enums.CompanyStatus;
+import com.coherentsolutions.pot.insuranceservice.enums.ProvisioningStatus;
 import com.coherentsolutions.pot.insuranceservice.enums.UserStatus;
 import com.coherentsolutions.pot.insuranceservice.integration.IntegrationTestConfiguration;
 import com.coherentsolutions.pot.insuranceservice.integration.TestSecurityUtils;
@@ -23,6 +26,7 @@ import com.coherentsolutions.pot.insuranceservice.model.Address;
 import com.coherentsolutions.pot.insuranceservice.model.Company;
 import com.coherentsolutions.pot.insuranceservice.model.Phone;
 import com.coherentsolutions.pot.insuranceservice.model.User;
+import com.coherentsolutions.pot.insuranceservice.repository.Auth0ProvisioningTaskRepository;
 import com.coherentsolutions.pot.insuranceservice.repository.CompanyRepository;
 import com.coherentsolutions.pot.insuranceservice.repository.UserRepository;
 import com.coherentsolutions.pot.insuranceservice.service.Auth0InvitationService;
@@ -89,6 +93,8 @@ public class AdminUserManagementControllerIt extends PostgresTestContainer {
   private CompanyRepository companyRepository;
   @Autowired
   private ObjectMapper objectMapper;
+  @Autowired
+  private Auth0ProvisioningTaskRepository auth0ProvisioningTaskRepository;
   
   @MockBean
   private Auth0InvitationService auth0InvitationService;
@@ -159,6 +165,9 @@ public class AdminUserManagementControllerIt extends PostgresTestContainer {
           .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
           .andExpect(jsonPath("$.username").value(TEST_USERNAME))
           .andExpect(jsonPath("$.companyId").value(company.getId().toString()));
+
+      assertEquals(1, auth0ProvisioningTaskRepository.countByStatus(ProvisioningStatus.PENDING));
+      verifyNoInteractions(auth0InvitationService);
     } finally {
       userRepository.deleteAll();
       companyRepository.deleteById(company.getId());
@@ -541,4 +550,41 @@ public class AdminUserManagementControllerIt extends PostgresTestContainer {
         .andExpect(status().isNotFound());
   }
 
+  @Test
+  @DisplayName("Should import users from CSV and report every row")
+  void shouldImportUsersFromCsv() throws Exception {
+    Company company = createAndSaveTestCompany();
+    createAndSaveTestUser(company);
+    String csv = """
+        firstName,lastName,username,email,dateOfBirth,ssn,functions
+        John,Smith,john.smith,john.smith@example.com,1988-04-12,111-22-3333,CONSUMER;COMPANY_MANAGER
+        Jane,Copy,jane.copy,%s,1990-01-01,444-55-6666,
+        """.formatted(TEST_EMAIL);
+
+    try {
+      String result = mockMvc.perform(post(BASE_URL + "/import", company.getId())
+              .with(TestSecurityUtils.adminUser())
+              .param("sendInvitations", "true")
+              .contentType("text/csv")
+              .content(csv))
+          .andExpect(status().isOk())
+          .andExpect(content().contentTypeCompatibleWith("text/csv"))
+          .andReturn()
+          .getResponse()
+          .getContentAsString();
+
+      User imported = userRepository.findByEmail("john.smith@example.com").orElseThrow();
+      assertEquals(List.of(
+          "row,status,userId,errors",
+          "1,ACCEPTED," + imported.getId() + ",",
+          "2,REJECTED,,Email already exists: " + TEST_EMAIL), result.lines().toList());
+      assertEquals(company.getId(), imported.getCompany().getId());
+      assertEquals(UserStatus.ACTIVE, imported.getStatus());
+      assertEquals(2, imported.getFunctions().size());
+      assertEquals(1, auth0ProvisioningTaskRepository.countByStatus(ProvisioningStatus.PENDING));
+    } finally {
+      userRepository.deleteAll();
+      companyRepository.deleteById(company.getId());
+    }
+  }
 }
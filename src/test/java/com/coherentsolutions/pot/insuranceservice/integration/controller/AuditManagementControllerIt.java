@@ -13,10 +13,12 @@ import com.coherentsolutions.pot.insuranceservice.dto.company.CompanyDto;
 import com.coherentsolutions.pot.insuranceservice.integration.IntegrationTestConfiguration;
 import com.coherentsolutions.pot.insuranceservice.integration.TestSecurityUtils;
 import com.coherentsolutions.pot.insuranceservice.integration.containers.PostgresTestContainer;
+import com.coherentsolutions.pot.insuranceservice.model.Phone;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.DisplayName;
@@ -28,6 +30,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 @ActiveProfiles("test")
 @SpringBootTest
@@ -144,6 +147,113 @@ class AuditManagementControllerIt extends PostgresTestContainer {
     assertEquals(0, history.size());
   }
 
+  @Test
+  @DisplayName("Scrolling history: windows follow the cursor until the last revision")
+  void history_scroll_followsCursor() throws Exception {
+    // Given
+    UUID id = createCompany(companyDtoBuilder("ScrollCo v0").build()).getId();
+    updateCompany(id, companyDtoBuilder("ScrollCo v1").build());
+    updateCompany(id, companyDtoBuilder("ScrollCo v2").build());
+    List<HistoryItem> all = getCompanyHistory(id);
+
+    // When
+    JsonNode first = scrollCompanyHistory(id, null, 2);
+    JsonNode second = scrollCompanyHistory(id, first.get("nextCursor").asText(), 2);
+
+    // Then
+    assertEquals(2, first.get("content").size());
+    assertTrue(first.get("hasNext").asBoolean());
+    assertEquals(all.get(1).revision().toString(), first.get("nextCursor").asText());
+    assertEquals(1, second.get("content").size());
+    assertEquals(all.get(2).revision(), second.get("content").get(0).get("revision").asInt());
+    assertFalse(second.get("hasNext").asBoolean());
+    assertTrue(second.get("nextCursor").isNull());
+  }
+
+  @Test
+  @DisplayName("Polling history: since returns only revisions after the given one")
+  void history_since_returnsNewerRevisionsOnly() throws Exception {
+    // Given
+    UUID id = createCompany(companyDtoBuilder("PollCo v0").build()).getId();
+    Integer seen = getCompanyHistory(id).getLast().revision();
+
+    // When
+    updateCompany(id, companyDtoBuilder("PollCo v1").build());
+    List<HistoryItem> newer = getCompanyHistory(id, seen);
+
+    // Then
+    assertEquals(1, newer.size());
+    assertEquals("MOD", newer.getFirst().type());
+    assertTrue(newer.getFirst().revision() > seen);
+  }
+
+  @Test
+  @DisplayName("Scrolling history: non-positive size is rejected")
+  void history_scroll_rejectsNonPositiveSize() throws Exception {
+    mockMvc.perform(get("/v1/companies/{id}/history/scroll", UUID.randomUUID())
+            .param("size", "0")
+            .with(TestSecurityUtils.adminUser()))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("Changes: ADD lists the initial fields, MOD only the changed ones")
+  void history_changes_listsChangedFields() throws Exception {
+    // Given
+    UUID id = createCompany(companyDtoBuilder("DiffCo").build()).getId();
+
+    // When
+    updateCompany(id, companyDtoBuilder("DiffCo Renamed").build());
+    JsonNode revisions = getCompanyChanges(id).get("content");
+
+    // Then
+    assertEquals(2, revisions.size());
+    assertEquals("ADD", revisions.get(0).get("type").asText());
+    assertTrue(fieldNames(revisions.get(0)).containsAll(List.of("name", "countryCode", "email")));
+
+    JsonNode modification = revisions.get(1);
+    assertEquals("MOD", modification.get("type").asText());
+    assertEquals(List.of("name"), fieldNames(modification));
+    JsonNode change = modification.get("changes").get(0);
+    assertEquals("DiffCo", change.get("from").asText());
+    assertEquals("DiffCo Renamed", change.get("to").asText());
+  }
+
+  @Test
+  @DisplayName("Changes: callers without access to the company or user are rejected with 403")
+  void history_changes_requireCompanyAccess() throws Exception {
+    // Given
+    UUID id = createCompany(companyDtoBuilder("PrivateCo").build()).getId();
+
+    // When / Then
+    mockMvc.perform(get("/v1/companies/{id}/history/changes", id))
+        .andExpect(status().isForbidden());
+    mockMvc.perform(get("/v1/users/{id}/history/changes", UUID.randomUUID()))
+        .andExpect(status().isForbidden());
+    mockMvc.perform(get("/v1/users/{id}/history/changes", UUID.randomUUID())
+            .with(TestSecurityUtils.adminUser()))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("Changes: jsonb phone data is compared and returned as JSON")
+  void history_changes_includesJsonbColumns() throws Exception {
+    // Given
+    UUID id = createCompany(companyDtoBuilder("PhoneCo").build()).getId();
+
+    // When
+    updateCompany(id, companyDtoBuilder("PhoneCo")
+        .phoneData(List.of(new Phone("+1", "5550100")))
+        .build());
+    JsonNode modification = getCompanyChanges(id).get("content").get(1);
+
+    // Then
+    assertEquals(List.of("phoneData"), fieldNames(modification));
+    JsonNode to = modification.get("changes").get(0).get("to");
+    assertTrue(to.isArray());
+    assertEquals("5550100", to.get(0).get("number").asText());
+  }
+
   private CompanyDto.CompanyDtoBuilder companyDtoBuilder(String name) {
     return CompanyDto.builder()
         .name(name)
@@ -193,9 +303,18 @@ class AuditManagementControllerIt extends PostgresTestContainer {
   }
 
   private List<HistoryItem> getCompanyHistory(UUID id) throws Exception {
+    return getCompanyHistory(id, null);
+  }
+
+  private List<HistoryItem> getCompanyHistory(UUID id, Integer since) throws Exception {
+    MockHttpServletRequestBuilder request = get("/v1/companies/{id}/history", id)
+        .with(TestSecurityUtils.adminUser());
+    if (since != null) {
+      request.param("since", since.toString());
+    }
     String json =
         mockMvc
-            .perform(get("/v1/companies/{id}/history", id).with(TestSecurityUtils.adminUser()))
+            .perform(request)
             .andExpect(status().isOk())
             .andReturn()
             .getResponse()
@@ -206,6 +325,37 @@ class AuditManagementControllerIt extends PostgresTestContainer {
     });
   }
 
+  private JsonNode scrollCompanyHistory(UUID id, String since, int size) throws Exception {
+    MockHttpServletRequestBuilder request = get("/v1/companies/{id}/history/scroll", id)
+        .param("size", String.valueOf(size))
+        .with(TestSecurityUtils.adminUser());
+    if (since != null) {
+      request.param("since", since);
+    }
+    String json = mockMvc.perform(request)
+        .andExpect(status().isOk())
+        .andReturn()
+        .getResponse()
+        .getContentAsString();
+    return objectMapper.readTree(json);
+  }
+
+  private JsonNode getCompanyChanges(UUID id) throws Exception {
+    String json = mockMvc.perform(get("/v1/companies/{id}/history/changes", id)
+            .with(TestSecurityUtils.adminUser()))
+        .andExpect(status().isOk())
+        .andReturn()
+        .getResponse()
+        .getContentAsString();
+    return objectMapper.readTree(json);
+  }
+
+  private static List<String> fieldNames(JsonNode revision) {
+    List<String> names = new ArrayList<>();
+    revision.get("changes").forEach(change -> names.add(change.get("field").asText()));
+    return names;
+  }
+
   private record HistoryItem(Integer revision, String at, String actor, String type) {
 
   }
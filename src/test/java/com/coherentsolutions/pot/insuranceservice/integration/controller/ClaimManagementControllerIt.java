@@ -2,11 +2,15 @@ package com.coherentsolutions.pot.insuranceservice.integration.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.coherentsolutions.pot.insuranceservice.config.IdempotencyFilter;
 import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimDto;
 import com.coherentsolutions.pot.insuranceservice.dto.consumer.ConsumerDto;
 import com.coherentsolutions.pot.insuranceservice.enums.ClaimStatus;
@@ -23,11 +27,16 @@ import com.coherentsolutions.pot.insuranceservice.repository.PlanRepository;
 import com.coherentsolutions.pot.insuranceservice.repository.PlanTypeRepository;
 import com.coherentsolutions.pot.insuranceservice.repository.UserRepository;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -66,6 +75,10 @@ public class ClaimManagementControllerIt extends PostgresTestContainer {
   private PlanTypeRepository planTypeRepository;
   @Autowired
   private PlanRepository planRepository;
+  @Autowired
+  private EntityManager entityManager;
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
 
   private User user;
   private Plan plan;
@@ -275,6 +288,219 @@ public class ClaimManagementControllerIt extends PostgresTestContainer {
         .andExpect(jsonPath("$.content[0].id").value(mid.getId().toString()));
   }
 
+  @Test
+  @DisplayName("GET /v1/claims — loads a page of claims of different consumers in at most two statements")
+  void shouldListClaimsWithoutNPlusOneSelects() throws Exception {
+    // Given
+    User bob = createTestUser("Bob", "Roe", "bob", "bob@example.com", user.getCompany(),
+        "987-65-4321");
+    for (int i = 0; i < 3; i++) {
+      createClaimViaApi(buildClaimDto(user.getId(), plan.getId(), LocalDate.now(),
+          new BigDecimal("10.00")));
+      createClaimViaApi(buildClaimDto(bob.getId(), plan.getId(), LocalDate.now(),
+          new BigDecimal("20.00")));
+    }
+    entityManager.flush();
+    entityManager.clear();
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    // When
+    mockMvc.perform(get(ENDPOINT)
+            .param("companyId", user.getCompany().getId().toString())
+            .param("planName", "dental")
+            .param("page", "0").param("size", "4")
+            .param("sort", "amount,desc"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(4))
+        .andExpect(jsonPath("$.totalElements").value(6))
+        .andExpect(jsonPath("$.content[0].consumer.firstName").value("Bob"))
+        .andExpect(jsonPath("$.content[0].planName").value(plan.getName()));
+
+    // Then
+    assertEquals(2, statistics.getPrepareStatementCount());
+    assertEquals(0, statistics.getEntityLoadCount());
+  }
+
+  @Test
+  @DisplayName("GET /v1/claims/scroll — loads every window of claims of different consumers in one statement")
+  void shouldScrollClaimsWithoutNPlusOneSelects() throws Exception {
+    // Given
+    User bob = createTestUser("Bob", "Roe", "bob", "bob@example.com", user.getCompany(),
+        "987-65-4321");
+    for (int i = 0; i < 3; i++) {
+      createClaimViaApi(buildClaimDto(user.getId(), plan.getId(), LocalDate.now(),
+          new BigDecimal("10.00")));
+      createClaimViaApi(buildClaimDto(bob.getId(), plan.getId(), LocalDate.now(),
+          new BigDecimal("20.00")));
+    }
+    entityManager.flush();
+    entityManager.clear();
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    // When
+    String first = mockMvc.perform(get(ENDPOINT + "/scroll")
+            .param("companyId", user.getCompany().getId().toString())
+            .param("size", "4")
+            .param("sort", "amount,desc"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(4))
+        .andExpect(jsonPath("$.hasNext").value(true))
+        .andExpect(jsonPath("$.content[0].consumer.firstName").value("Bob"))
+        .andExpect(jsonPath("$.content[0].planName").value(plan.getName()))
+        .andReturn().getResponse().getContentAsString();
+    String cursor = objectMapper.readTree(first).get("nextCursor").asText();
+    mockMvc.perform(get(ENDPOINT + "/scroll")
+            .param("companyId", user.getCompany().getId().toString())
+            .param("size", "4")
+            .param("sort", "amount,desc")
+            .param("cursor", cursor))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(2))
+        .andExpect(jsonPath("$.hasNext").value(false))
+        .andExpect(jsonPath("$.content[1].consumer.firstName").value("Alice"));
+
+    // Then
+    assertEquals(2, statistics.getPrepareStatementCount());
+    assertEquals(0, statistics.getEntityLoadCount());
+  }
+
+  @Test
+  @DisplayName("GET /v1/claims/export — streams filtered claims as NDJSON by default")
+  void shouldExportFilteredClaimsAsNdjson() throws Exception {
+    // Given
+    createClaimViaApi(
+        buildClaimDto(user.getId(), plan.getId(), LocalDate.now(), new BigDecimal("10.00")));
+    ClaimDto expensive = createClaimViaApi(
+        buildClaimDto(user.getId(), plan.getId(), LocalDate.now(), new BigDecimal("99.50")));
+    entityManager.flush();
+
+    // When
+    String response = mockMvc.perform(get(ENDPOINT + "/export")
+            .param("amountMin", "50.00"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+        .andExpect(header().string("Content-Disposition",
+            "attachment; filename=\"claims.ndjson\""))
+        .andReturn().getResponse().getContentAsString();
+
+    // Then
+    List<String> lines = response.lines().toList();
+    assertEquals(1, lines.size());
+    JsonNode row = objectMapper.readTree(lines.getFirst());
+    assertEquals(expensive.getId().toString(), row.get("id").asText());
+    assertEquals(ClaimStatus.PENDING.name(), row.get("status").asText());
+    assertEquals(user.getId().toString(), row.get("userId").asText());
+    assertEquals(plan.getName(), row.get("planName").asText());
+    assertEquals(0, new BigDecimal("99.50").compareTo(row.get("amount").decimalValue()));
+  }
+
+  @Test
+  @DisplayName("GET /v1/claims/export?format=csv — writes header and one record per claim")
+  void shouldExportClaimsAsCsv() throws Exception {
+    // Given
+    ClaimDto claim = createClaimViaApi(
+        buildClaimDto(user.getId(), plan.getId(), LocalDate.now(), new BigDecimal("12.30")));
+    entityManager.flush();
+
+    // When
+    String response = mockMvc.perform(get(ENDPOINT + "/export")
+            .param("format", "csv")
+            .param("planName", "dental"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith("text/csv"))
+        .andReturn().getResponse().getContentAsString();
+
+    // Then
+    List<String> lines = response.lines().toList();
+    assertEquals(2, lines.size());
+    assertTrue(lines.getFirst().startsWith("id,claimNumber,status"));
+    assertTrue(lines.get(1).startsWith(claim.getId() + "," + claim.getClaimNumber() + ",PENDING,"));
+    assertTrue(lines.get(1).contains(",12.30,"));
+  }
+
+  @Test
+  @DisplayName("GET /v1/claims/export — should return 400 for unknown format")
+  void shouldRejectUnknownExportFormat() throws Exception {
+    // When / Then
+    mockMvc.perform(get(ENDPOINT + "/export").param("format", "xml"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("POST /v1/claims/batch — stores valid NDJSON rows and reports rejected ones")
+  void shouldCreateClaimsInBatch() throws Exception {
+    // Given
+    String body = String.join("\n",
+        createClaimJson(user.getId(), plan.getId(), LocalDate.now(), new BigDecimal("10.00")),
+        createClaimJson(user.getId(), UUID.randomUUID(), LocalDate.now(), new BigDecimal("20.00")),
+        createClaimJson(user.getId(), plan.getId(), LocalDate.now(), new BigDecimal("30.00")));
+
+    // When / Then
+    mockMvc.perform(post(ENDPOINT + "/batch")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .content(body))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.accepted").value(2))
+        .andExpect(jsonPath("$.rejected").value(1))
+        .andExpect(jsonPath("$.rows[1].row").value(2))
+        .andExpect(jsonPath("$.rows[1].accepted").value(false));
+
+    mockMvc.perform(get(ENDPOINT).param("userId", user.getId().toString()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(2))
+        .andExpect(jsonPath("$.content[0].status").value("PENDING"));
+  }
+
+  @Test
+  @DisplayName("POST /v1/claims — a retry with the same Idempotency-Key replays the response without creating a second claim")
+  void shouldReplayRetryWithSameIdempotencyKey() throws Exception {
+    // Given
+    String key = UUID.randomUUID().toString();
+    String body = createClaimJson(user.getId(), plan.getId(), LocalDate.now(), new BigDecimal("75.00"));
+    String first = mockMvc.perform(post(ENDPOINT)
+            .header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(body))
+        .andExpect(status().isCreated())
+        .andReturn().getResponse().getContentAsString();
+
+    // When / Then
+    mockMvc.perform(post(ENDPOINT)
+            .header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(body))
+        .andExpect(status().isCreated())
+        .andExpect(header().string(IdempotencyFilter.REPLAYED, "true"))
+        .andExpect(content().json(first, true));
+
+    Number claims = (Number) entityManager
+        .createNativeQuery("SELECT count(*) FROM claims WHERE user_id = :userId")
+        .setParameter("userId", user.getId())
+        .getSingleResult();
+    assertEquals(1, claims.intValue());
+  }
+
+  @Test
+  @DisplayName("POST /v1/claims — should return 422 when an Idempotency-Key is reused with a different body")
+  void shouldRejectIdempotencyKeyReusedForDifferentRequest() throws Exception {
+    // Given
+    String key = UUID.randomUUID().toString();
+    mockMvc.perform(post(ENDPOINT)
+            .header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(createClaimJson(user.getId(), plan.getId(), LocalDate.now(), new BigDecimal("75.00"))))
+        .andExpect(status().isCreated());
+
+    // When / Then
+    mockMvc.perform(post(ENDPOINT)
+            .header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(createClaimJson(user.getId(), plan.getId(), LocalDate.now(), new BigDecimal("80.00"))))
+        .andExpect(status().isUnprocessableEntity());
+  }
+
   private ClaimDto buildClaimDto(UUID userId, UUID planId, LocalDate serviceDate,
       BigDecimal amount) {
     return ClaimDto.builder()
@@ -0,0 +1,95 @@
+package com.coherentsolutions.pot.insuranceservice.integration.load;
+
+import static com.coherentsolutions.pot.insuranceservice.integration.benchmark.BenchmarkUtils.percentile;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects per-endpoint latencies and status classes during a load run and renders throughput and
+ * latency percentiles as a table.
+ */
+public class LatencyReport {
+
+  private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+
+  public void record(String endpoint, int status, long latencyNanos) {
+    recorders.computeIfAbsent(endpoint, name -> new Recorder()).record(status, latencyNanos);
+  }
+
+  public long requests() {
+    return recorders.values().stream().mapToLong(Recorder::count).sum();
+  }
+
+  public long serverErrors() {
+    return recorders.values().stream().mapToLong(recorder -> recorder.serverErrors).sum();
+  }
+
+  /**
+   * Formats one line per endpoint plus a total, with requests per second over {@code elapsed}.
+   */
+  public String render(Duration elapsed) {
+    double seconds = Math.max(elapsed.toMillis(), 1) / 1000.0;
+    StringBuilder table = new StringBuilder(String.format("%n%-58s %9s %8s %8s %9s %9s %9s %9s%n",
+        "endpoint", "requests", "4xx", "5xx", "req/s", "p50 ms", "p95 ms", "p99 ms"));
+    Recorder total = new Recorder();
+    new TreeMap<>(recorders).forEach((endpoint, recorder) -> {
+      table.append(recorder.line(endpoint, seconds));
+      total.merge(recorder);
+    });
+    table.append(total.line("total", seconds));
+    return table.toString();
+  }
+
+  private static final class Recorder {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private long clientErrors;
+    private long serverErrors;
+
+    synchronized void record(int status, long latencyNanos) {
+      if (count == latencies.length) {
+        latencies = Arrays.copyOf(latencies, count * 2);
+      }
+      latencies[count++] = latencyNanos;
+      if (status >= 500) {
+        serverErrors++;
+      } else if (status >= 400) {
+        clientErrors++;
+      }
+    }
+
+    synchronized long count() {
+      return count;
+    }
+
+    synchronized void merge(Recorder other) {
+      synchronized (other) {
+        for (int i = 0; i < other.count; i++) {
+          record(0, other.latencies[i]);
+        }
+        clientErrors += other.clientErrors;
+        serverErrors += other.serverErrors;
+      }
+    }
+
+    synchronized String line(String endpoint, double seconds) {
+      long[] sorted = Arrays.copyOf(latencies, count);
+      Arrays.sort(sorted);
+      return String.format("%-58s %9d %8d %8d %9.1f %9.1f %9.1f %9.1f%n", endpoint, count,
+          clientErrors, serverErrors, count / seconds, millis(sorted, 50), millis(sorted, 95),
+          millis(sorted, 99));
+    }
+
+    private static double millis(long[] sortedLatencies, int percentile) {
+      if (sortedLatencies.length == 0) {
+        return 0;
+      }
+      return percentile(sortedLatencies, percentile) / 1_000_000.0;
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package com.coherentsolutions.pot.insuranceservice.integration.load;
+
+import java.time.Duration;
+
+/**
+ * Size of the synthetic book of business and shape of the traffic replayed by {@link LoadTestIt}.
+ * Every value can be overridden with a {@code load.*} system property, which the {@code loadTest}
+ * Gradle task maps from {@code -Pload*} project properties.
+ */
+public record LoadProfile(
+    int companies,
+    int usersPerCompany,
+    int plans,
+    int packagesPerCompany,
+    int claims,
+    boolean seed,
+    int concurrency,
+    Duration warmup,
+    Duration duration,
+    long randomSeed) {
+
+  public static LoadProfile fromSystemProperties() {
+    return new LoadProfile(
+        Integer.getInteger("load.companies", 100),
+        Integer.getInteger("load.users-per-company", 200),
+        Integer.getInteger("load.plans", 40),
+        Integer.getInteger("load.packages-per-company", 3),
+        Integer.getInteger("load.claims", 1_000_000),
+        Boolean.parseBoolean(System.getProperty("load.seed", "true")),
+        Integer.getInteger("load.concurrency", 64),
+        Duration.parse(System.getProperty("load.warmup", "PT30S")),
+        Duration.parse(System.getProperty("load.duration", "PT2M")),
+        Long.getLong("load.random-seed", 42L));
+  }
+
+  public int users() {
+    return companies * usersPerCompany;
+  }
+}
@@ -0,0 +1,24 @@
+package com.coherentsolutions.pot.insuranceservice.integration.load;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+/**
+ * Replaces the Auth0 JWKS with a key minted for the load test, so requests carry real RS256
+ * signatures and go through the same decoding, caching and authorization as in production.
+ */
+@TestConfiguration
+public class LoadTestConfiguration {
+
+  @Bean
+  public LoadTokenMinter loadTokenMinter(@Value("${AUTH0_AUDIENCE:}") String audience) {
+    return new LoadTokenMinter(audience);
+  }
+
+  @Bean
+  public JwtDecoder jwtDecoder(LoadTokenMinter loadTokenMinter) {
+    return loadTokenMinter.decoder();
+  }
+}
@@ -0,0 +1,107 @@
+package com.coherentsolutions.pot.insuranceservice.integration.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.coherentsolutions.pot.insuranceservice.integration.containers.PostgresTestContainer;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * End-to-end load test: seeds a synthetic book of business with {@link SyntheticDataGenerator},
+ * then replays the {@link TrafficMix} over HTTP from {@code load.concurrency} closed-loop clients
+ * with locally minted RS256 tokens, and reports throughput and latency percentiles per endpoint.
+ * Runs against the Testcontainers PostgreSQL of {@link PostgresTestContainer}, or against an
+ * existing database when {@code -PpostgresUrl} is given. Excluded from {@code integrationTest};
+ * run with {@code ./gradlew loadTest [-PloadClaims=N -PloadDuration=PT5M ...]}, see
+ * {@link LoadProfile} for all settings.
+ */
+@Tag("load")
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.format_sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=false"
+})
+@Import(LoadTestConfiguration.class)
+@DisplayName("Load test with mixed traffic over a synthetic book of business")
+public class LoadTestIt extends PostgresTestContainer {
+
+  private static final Logger log = LoggerFactory.getLogger(LoadTestIt.class);
+
+  @LocalServerPort
+  private int port;
+  @Autowired
+  private DataSource dataSource;
+  @Autowired
+  private LoadTokenMinter loadTokenMinter;
+
+  @Test
+  @DisplayName("Throughput and latency per endpoint")
+  void replayMixedTraffic() throws Exception {
+    LoadProfile profile = LoadProfile.fromSystemProperties();
+    SyntheticDataGenerator generator = new SyntheticDataGenerator(dataSource);
+    SyntheticDataSet data = profile.seed() ? generator.seed(profile) : generator.existing();
+    TrafficMix mix = new TrafficMix("http://localhost:" + port, data, loadTokenMinter);
+
+    try (HttpClient client = HttpClient.newBuilder()
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build()) {
+      run(client, mix, profile, profile.warmup(), new LatencyReport());
+      LatencyReport report = new LatencyReport();
+      Duration elapsed = run(client, mix, profile, profile.duration(), report);
+
+      log.info("{} clients for {} s:{}", profile.concurrency(), elapsed.toSeconds(),
+          report.render(elapsed));
+      assertTrue(report.requests() > 0, "no requests completed");
+      assertEquals(0, report.serverErrors(), "requests failed with 5xx");
+    }
+  }
+
+  /**
+   * Runs {@code profile.concurrency()} clients that each send the next request of the mix as
+   * soon as the previous one completed, until {@code duration} has passed.
+   */
+  private static Duration run(HttpClient client, TrafficMix mix, LoadProfile profile,
+      Duration duration, LatencyReport report) throws Exception {
+    long start = System.nanoTime();
+    long deadline = start + duration.toNanos();
+    List<Future<?>> clients = new ArrayList<>(profile.concurrency());
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < profile.concurrency(); i++) {
+        Random random = new Random(profile.randomSeed() + i);
+        clients.add(executor.submit(() -> {
+          while (System.nanoTime() < deadline) {
+            TrafficMix.Request next = mix.next(random);
+            long sent = System.nanoTime();
+            int status = client.send(next.request(), BodyHandlers.discarding()).statusCode();
+            report.record(next.endpoint(), status, System.nanoTime() - sent);
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : clients) {
+        future.get();
+      }
+    }
+    return Duration.ofNanos(System.nanoTime() - start);
+  }
+}
@@ -0,0 +1,84 @@
+package com.coherentsolutions.pot.insuranceservice.integration.load;
+
+import com.coherentsolutions.pot.insuranceservice.security.authentication.CompanyAuthenticationToken;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+/**
+ * Mints RS256 access tokens shaped like the ones Auth0 issues, signed with a key generated for the
+ * run, and provides the decoder that trusts that key. Roles and functions go into the
+ * audience-namespaced claims read by {@code JwtAuthConverterConfig}.
+ */
+public class LoadTokenMinter {
+
+  private static final Duration TOKEN_LIFETIME = Duration.ofHours(2);
+  private static final List<String> MANAGER_FUNCTIONS = List.of("COMPANY_MANAGER",
+      "COMPANY_USER_MANAGER", "COMPANY_PLAN_MANAGER", "COMPANY_INSURANCE_PACKAGE_MANAGER",
+      "COMPANY_CLAIM_MANAGER");
+
+  private final RSAKey key;
+  private final RSASSASigner signer;
+  private final String audience;
+
+  public LoadTokenMinter(String audience) {
+    try {
+      this.key = new RSAKeyGenerator(2048).keyID(UUID.randomUUID().toString()).generate();
+      this.signer = new RSASSASigner(key);
+    } catch (JOSEException e) {
+      throw new IllegalStateException("Could not generate the signing key", e);
+    }
+    this.audience = audience;
+  }
+
+  public JwtDecoder decoder() {
+    try {
+      return NimbusJwtDecoder.withPublicKey(key.toRSAPublicKey()).build();
+    } catch (JOSEException e) {
+      throw new IllegalStateException("Could not read the public key", e);
+    }
+  }
+
+  public String applicationAdmin() {
+    return mint(claims().claim(audience + "/roles", List.of("APPLICATION_ADMIN")));
+  }
+
+  public String companyManager(UUID companyId) {
+    return mint(claims()
+        .claim(CompanyAuthenticationToken.COMPANY_ID_CLAIM, companyId.toString())
+        .claim(audience + "/functions", MANAGER_FUNCTIONS));
+  }
+
+  private static JWTClaimsSet.Builder claims() {
+    Instant now = Instant.now();
+    return new JWTClaimsSet.Builder()
+        .subject("auth0|" + UUID.randomUUID())
+        .issueTime(Date.from(now))
+        .expirationTime(Date.from(now.plus(TOKEN_LIFETIME)))
+        .claim("user_uuid", UUID.randomUUID().toString());
+  }
+
+  private String mint(JWTClaimsSet.Builder claims) {
+    try {
+      SignedJWT jwt = new SignedJWT(
+          new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(),
+          claims.build());
+      jwt.sign(signer);
+      return jwt.serialize();
+    } catch (JOSEException e) {
+      throw new IllegalStateException("Could not sign the token", e);
+    }
+  }
+}
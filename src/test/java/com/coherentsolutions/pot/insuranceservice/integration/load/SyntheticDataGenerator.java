@@ -0,0 +1,259 @@
+package com.coherentsolutions.pot.insuranceservice.integration.load;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Seeds PostgreSQL with a synthetic book of business: companies, users with functions, plans,
+ * insurance packages, enrollments and claims. Rows are generated on the fly and streamed with
+ * {@code COPY ... FROM STDIN}, so millions of claims load in seconds instead of the minutes
+ * batched inserts take. Generated names, emails and SSNs continue after the users already in the
+ * database, so a book can be added to a database that was seeded before.
+ */
+public class SyntheticDataGenerator {
+
+  private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+  private static final int FLUSH_ROWS = 10_000;
+  private static final int SAMPLED_CLAIMS = 10_000;
+  private static final int PLAN_TYPES = 4;
+  private static final String[] FUNCTIONS = {"COMPANY_MANAGER", "COMPANY_CLAIM_MANAGER",
+      "COMPANY_SETTING_MANAGER", "COMPANY_REPORT_MANAGER", "CONSUMER", "CONSUMER_CLAIM_MANAGER"};
+  private static final String[] CLAIM_STATUSES = {"PENDING", "APPROVED", "DECLINED", "HOLD"};
+
+  private final DataSource dataSource;
+  private final JdbcTemplate jdbcTemplate;
+
+  public SyntheticDataGenerator(DataSource dataSource) {
+    this.dataSource = dataSource;
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+  }
+
+  /**
+   * Generates and loads the book of business described by {@code profile}.
+   */
+  public SyntheticDataSet seed(LoadProfile profile) throws SQLException {
+    Random random = new Random(profile.randomSeed());
+    long userOffset = jdbcTemplate.queryForObject("SELECT count(*) FROM users", Long.class);
+    LocalDate today = LocalDate.now();
+    LocalDateTime now = LocalDateTime.now();
+
+    List<UUID> companyIds = randomIds(profile.companies());
+    List<UUID> planIds = randomIds(profile.plans());
+    List<UUID> userIds = randomIds(profile.users());
+    Map<UUID, List<UUID>> usersByCompany = new LinkedHashMap<>();
+    Map<UUID, List<UUID>> packagesByCompany = new LinkedHashMap<>();
+    List<UUID> claimIds = new ArrayList<>(SAMPLED_CLAIMS);
+
+    long start = System.nanoTime();
+    try (Connection connection = dataSource.getConnection()) {
+      PGConnection pg = connection.unwrap(PGConnection.class);
+
+      copy(pg, "companies (id, name, country_code, email, website, status)", profile.companies(), (row, i) -> {
+        UUID id = companyIds.get(i);
+        row.add(id).add("Load Company " + id).add("USA").add("contact-" + id + "@example.com")
+            .add("https://" + id + ".example.com").add("ACTIVE");
+      });
+
+      String users = "users (id, first_name, last_name, username, email, date_of_birth, ssn, phone_data, company_id, status)";
+      copy(pg, users, profile.users(), (row, i) -> {
+        UUID companyId = companyIds.get(i / profile.usersPerCompany());
+        usersByCompany.computeIfAbsent(companyId, id -> new ArrayList<>()).add(userIds.get(i));
+        long n = userOffset + i;
+        row.add(userIds.get(i)).add("First" + n).add("Last" + n).add("load-" + n)
+            .add("load-" + n + "@example.com")
+            .add(today.minusYears(20 + random.nextInt(45)).minusDays(random.nextInt(365)))
+            .add(ssn(n))
+            .add("[{\"code\":\"+1\",\"number\":\"" + (5_550_000_000L + n % 1_000_000) + "\"}]")
+            .add(companyId).add(random.nextInt(20) == 0 ? "INACTIVE" : "ACTIVE");
+      });
+
+      copy(pg, "user_functions (id, function, user_id)", profile.users(), (row, i) -> {
+        // One function per user: a few managers per company, the rest consumers.
+        int position = i % profile.usersPerCompany();
+        String function = position < 3 ? FUNCTIONS[position] : FUNCTIONS[4 + random.nextInt(2)];
+        row.add(UUID.randomUUID()).add(function).add(userIds.get(i));
+      });
+
+      copy(pg, "plans (id, name, plan_type_id, contribution)", profile.plans(), (row, i) ->
+          row.add(planIds.get(i)).add("Load Plan " + i).add(1 + i % PLAN_TYPES)
+              .add(BigDecimal.valueOf(5_000 + random.nextInt(45_000), 2)));
+
+      int packages = profile.companies() * profile.packagesPerCompany();
+      List<UUID> packageIds = randomIds(packages);
+      String insurancePackages = "insurance_packages (id, name, company_id, start_date, end_date, payroll_frequency, status, created_at)";
+      copy(pg, insurancePackages, packages, (row, i) -> {
+        UUID companyId = companyIds.get(i / profile.packagesPerCompany());
+        packagesByCompany.computeIfAbsent(companyId, id -> new ArrayList<>()).add(packageIds.get(i));
+        // Last year's, this year's and next year's package.
+        int year = today.getYear() - 1 + i % profile.packagesPerCompany();
+        LocalDate startDate = LocalDate.of(year, 1, 1);
+        LocalDate endDate = LocalDate.of(year, 12, 31);
+        String status = today.isBefore(startDate) ? "INITIALIZED" : today.isAfter(endDate) ? "EXPIRED" : "ACTIVE";
+        row.add(packageIds.get(i)).add("Load Package " + year).add(companyId).add(startDate)
+            .add(endDate).add(i % 2 == 0 ? "MONTHLY" : "WEEKLY").add(status).add(now);
+      });
+
+      int plansPerPackage = Math.min(4, profile.plans());
+      copy(pg, "insurance_package_plans (insurance_package_id, plan_id)", packages * plansPerPackage, (row, i) ->
+          row.add(packageIds.get(i / plansPerPackage))
+              .add(planIds.get((i / plansPerPackage + i % plansPerPackage) % profile.plans())));
+
+      int enrollmentsPerUser = Math.min(2, profile.plans());
+      String enrollments = "enrollments (id, user_id, plan_id, election_amount, plan_contribution)";
+      copy(pg, enrollments, profile.users() * enrollmentsPerUser, (row, i) ->
+          row.add(UUID.randomUUID()).add(userIds.get(i / enrollmentsPerUser))
+              .add(planIds.get((i / enrollmentsPerUser + i % enrollmentsPerUser) % profile.plans()))
+              .add(BigDecimal.valueOf(100_000 + random.nextInt(400_000), 2))
+              .add(BigDecimal.valueOf(5_000 + random.nextInt(20_000), 2)));
+
+      int sampleEvery = Math.max(1, profile.claims() / SAMPLED_CLAIMS);
+      String claims = "claims (id, claim_number, status, service_date, user_id, plan_id, amount)";
+      copy(pg, claims, profile.claims(), (row, i) -> {
+        UUID id = UUID.randomUUID();
+        if (i % sampleEvery == 0 && claimIds.size() < SAMPLED_CLAIMS) {
+          claimIds.add(id);
+        }
+        row.add(id).add(id).add(CLAIM_STATUSES[random.nextInt(CLAIM_STATUSES.length)])
+            .add(today.minusDays(random.nextInt(730)))
+            .add(userIds.get(random.nextInt(userIds.size())))
+            .add(planIds.get(random.nextInt(planIds.size())))
+            .add(BigDecimal.valueOf(1 + random.nextInt(500_000), 2));
+      });
+
+      try (Statement statement = connection.createStatement()) {
+        statement.execute("ANALYZE");
+      }
+    }
+    log.info("Seeded {} companies, {} users, {} plans, {} packages and {} claims in {} s",
+        profile.companies(), profile.users(), profile.plans(), packages(packagesByCompany),
+        profile.claims(), (System.nanoTime() - start) / 1_000_000_000);
+    return new SyntheticDataSet(companyIds, usersByCompany, packagesByCompany, planIds, claimIds);
+  }
+
+  /**
+   * Samples the ids of a book of business that is already in the database, for runs with
+   * {@code load.seed=false} against a long-lived local database.
+   */
+  public SyntheticDataSet existing() {
+    Map<UUID, List<UUID>> usersByCompany = new HashMap<>();
+    jdbcTemplate.query("""
+        SELECT company_id, id FROM (
+          SELECT company_id, id, row_number() OVER (PARTITION BY company_id ORDER BY id) AS n
+          FROM users) u
+        WHERE n <= 500
+        """, rs -> {
+      usersByCompany.computeIfAbsent(rs.getObject(1, UUID.class), id -> new ArrayList<>())
+          .add(rs.getObject(2, UUID.class));
+    });
+    Map<UUID, List<UUID>> packagesByCompany = new HashMap<>();
+    jdbcTemplate.query("SELECT company_id, id FROM insurance_packages", rs -> {
+      packagesByCompany.computeIfAbsent(rs.getObject(1, UUID.class), id -> new ArrayList<>())
+          .add(rs.getObject(2, UUID.class));
+    });
+    return new SyntheticDataSet(
+        jdbcTemplate.queryForList("SELECT id FROM companies", UUID.class),
+        usersByCompany,
+        packagesByCompany,
+        jdbcTemplate.queryForList("SELECT id FROM plans WHERE deleted_at IS NULL", UUID.class),
+        jdbcTemplate.queryForList("SELECT id FROM claims TABLESAMPLE SYSTEM (1) LIMIT ?",
+            UUID.class, SAMPLED_CLAIMS));
+  }
+
+  private static void copy(PGConnection pg, String target, int rows, RowGenerator generator)
+      throws SQLException {
+    CopyIn copyIn = pg.getCopyAPI().copyIn("COPY " + target + " FROM STDIN WITH (FORMAT csv)");
+    try {
+      CsvRow row = new CsvRow();
+      for (int i = 0; i < rows; i++) {
+        generator.generate(row, i);
+        row.endRow();
+        if ((i + 1) % FLUSH_ROWS == 0) {
+          row.flushTo(copyIn);
+        }
+      }
+      row.flushTo(copyIn);
+      copyIn.endCopy();
+    } finally {
+      if (copyIn.isActive()) {
+        copyIn.cancelCopy();
+      }
+    }
+  }
+
+  private static List<UUID> randomIds(int count) {
+    List<UUID> ids = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      ids.add(UUID.randomUUID());
+    }
+    return ids;
+  }
+
+  private static int packages(Map<UUID, List<UUID>> packagesByCompany) {
+    return packagesByCompany.values().stream().mapToInt(List::size).sum();
+  }
+
+  /**
+   * Formats {@code n} as a unique {@code ddd-dd-dddd} SSN.
+   */
+  private static String ssn(long n) {
+    String digits = String.format("%09d", n % 1_000_000_000L);
+    return digits.substring(0, 3) + "-" + digits.substring(3, 5) + "-" + digits.substring(5);
+  }
+
+  @FunctionalInterface
+  private interface RowGenerator {
+
+    void generate(CsvRow row, int index);
+  }
+
+  /**
+   * Buffers CSV rows for {@code COPY}, quoting every value so JSON and free text need no further
+   * escaping.
+   */
+  private static final class CsvRow {
+
+    private final StringBuilder buffer = new StringBuilder(1 << 20);
+    private boolean firstValue = true;
+
+    CsvRow add(Object value) {
+      if (!firstValue) {
+        buffer.append(',');
+      }
+      firstValue = false;
+      buffer.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+      return this;
+    }
+
+    void endRow() {
+      buffer.append('\n');
+      firstValue = true;
+    }
+
+    void flushTo(CopyIn copyIn) throws SQLException {
+      if (buffer.isEmpty()) {
+        return;
+      }
+      byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+      copyIn.writeToCopy(bytes, 0, bytes.length);
+      buffer.setLength(0);
+    }
+  }
+}
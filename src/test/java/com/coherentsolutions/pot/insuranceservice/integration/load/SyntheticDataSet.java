@@ -0,0 +1,19 @@
+package com.coherentsolutions.pot.insuranceservice.integration.load;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Ids of the seeded (or sampled) book of business that {@link TrafficMix} builds requests from.
+ * {@code usersByCompany} and {@code packagesByCompany} only list companies that have users or
+ * packages.
+ */
+public record SyntheticDataSet(
+    List<UUID> companyIds,
+    Map<UUID, List<UUID>> usersByCompany,
+    Map<UUID, List<UUID>> packagesByCompany,
+    List<UUID> planIds,
+    List<UUID> claimIds) {
+
+}
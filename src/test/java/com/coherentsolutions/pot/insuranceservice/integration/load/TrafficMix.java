@@ -0,0 +1,142 @@
+package com.coherentsolutions.pot.insuranceservice.integration.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Weighted mix of requests across the {@code /v1/**} controllers, modelled on an admin console:
+ * mostly list, filter and detail reads scoped to one company, a steady trickle of claim
+ * submissions, and occasional exports, audit lookups and payroll runs. Company-scoped endpoints
+ * are called with a company manager token for that company, the rest with an application admin
+ * token.
+ */
+public class TrafficMix {
+
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+  private final String baseUrl;
+  private final String adminToken;
+  private final Map<UUID, String> managerTokens = new HashMap<>();
+  private final List<UUID> companies;
+  private final List<Endpoint> endpoints = new ArrayList<>();
+  private final int totalWeight;
+
+  public TrafficMix(String baseUrl, SyntheticDataSet data, LoadTokenMinter tokens) {
+    this.baseUrl = baseUrl;
+    this.adminToken = tokens.applicationAdmin();
+    this.companies = List.copyOf(data.usersByCompany().keySet());
+    companies.forEach(companyId -> managerTokens.put(companyId, tokens.companyManager(companyId)));
+
+    add("GET /v1/companies", 4, (r, c) -> admin(get("/v1/companies?size=20&page=" + r.nextInt(5))));
+    add("GET /v1/companies/scroll", 2, (r, c) -> admin(get("/v1/companies/scroll?size=20")));
+    add("GET /v1/companies/{id}", 6, (r, c) -> manager(c, get("/v1/companies/" + c)));
+    add("GET /v1/companies/{id}/users", 10, (r, c) ->
+        manager(c, get("/v1/companies/" + c + "/users?size=20&page=" + r.nextInt(5))));
+    add("GET /v1/companies/{id}/users?name", 6, (r, c) ->
+        manager(c, get("/v1/companies/" + c + "/users?size=20&name=" + (1 + r.nextInt(99)))));
+    add("GET /v1/companies/{id}/users/scroll", 3, (r, c) ->
+        manager(c, get("/v1/companies/" + c + "/users/scroll?size=50")));
+    add("GET /v1/companies/{id}/users/{userId}", 10, (r, c) ->
+        manager(c, get("/v1/companies/" + c + "/users/" + pick(r, data.usersByCompany().get(c)))));
+    add("GET /v1/companies/{id}/plans", 5, (r, c) -> manager(c, get("/v1/companies/" + c + "/plans")));
+    add("GET /v1/companies/{id}/plans/plan-types", 2, (r, c) ->
+        manager(c, get("/v1/companies/" + c + "/plans/plan-types")));
+    add("GET /v1/companies/{id}/plan-package", 5, (r, c) ->
+        manager(c, get("/v1/companies/" + c + "/plan-package?size=20")));
+    add("GET /v1/companies/{id}/plan-package/{packageId}", 3, (r, c) -> {
+      List<UUID> packages = data.packagesByCompany().get(c);
+      return manager(c, get(packages == null
+          ? "/v1/companies/" + c + "/plan-package"
+          : "/v1/companies/" + c + "/plan-package/" + pick(r, packages)));
+    });
+    add("GET /v1/claims?companyId", 10, (r, c) ->
+        admin(get("/v1/claims?size=20&sort=serviceDate,desc&companyId=" + c)));
+    if (!data.claimIds().isEmpty()) {
+      add("GET /v1/claims?claimId", 6, (r, c) -> admin(get("/v1/claims?claimId=" + pick(r, data.claimIds()))));
+    }
+    add("GET /v1/claims/scroll", 5, (r, c) ->
+        admin(get("/v1/claims/scroll?size=50&sort=serviceDate,desc&status=PENDING&companyId=" + c)));
+    add("GET /v1/claims/export", 1, (r, c) -> admin(get("/v1/claims/export?format=ndjson&userId="
+        + pick(r, data.usersByCompany().get(c)))));
+    add("POST /v1/claims", 6, (r, c) -> admin(post("/v1/claims", """
+        {"consumer":{"userId":"%s"},"planId":"%s","serviceDate":"%s","amount":%d.%02d}
+        """.formatted(pick(r, data.usersByCompany().get(c)), pick(r, data.planIds()),
+        LocalDate.now().minusDays(r.nextInt(90)), 1 + r.nextInt(2_000), r.nextInt(100)))));
+    add("GET /v1/enrollments", 4, (r, c) ->
+        admin(get("/v1/enrollments?size=20&userId=" + pick(r, data.usersByCompany().get(c)))));
+    add("GET /v1/enrollments/scroll", 2, (r, c) -> admin(get("/v1/enrollments/scroll?size=50&planId="
+        + pick(r, data.planIds()))));
+    add("GET /v1/users/{id}/history", 2, (r, c) ->
+        admin(get("/v1/users/" + pick(r, data.usersByCompany().get(c)) + "/history")));
+    add("GET /v1/companies/{id}/history", 1, (r, c) -> admin(get("/v1/companies/" + c + "/history")));
+    add("POST /v1/companies/{id}/payroll-deductions/calculations", 1, (r, c) ->
+        manager(c, post("/v1/companies/" + c + "/payroll-deductions/calculations?incremental=true", "")));
+
+    this.totalWeight = endpoints.stream().mapToInt(Endpoint::weight).sum();
+  }
+
+  /**
+   * Picks the next request of the mix for a random company.
+   */
+  public Request next(Random random) {
+    UUID companyId = pick(random, companies);
+    int ticket = random.nextInt(totalWeight);
+    for (Endpoint endpoint : endpoints) {
+      ticket -= endpoint.weight();
+      if (ticket < 0) {
+        return new Request(endpoint.name(), endpoint.factory().create(random, companyId).build());
+      }
+    }
+    throw new IllegalStateException("Weights do not add up");
+  }
+
+  private void add(String name, int weight, RequestFactory factory) {
+    endpoints.add(new Endpoint(name, weight, factory));
+  }
+
+  private HttpRequest.Builder get(String path) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT).GET();
+  }
+
+  private HttpRequest.Builder post(String path, String json) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + path))
+        .timeout(REQUEST_TIMEOUT)
+        .header("Content-Type", "application/json")
+        .POST(BodyPublishers.ofString(json));
+  }
+
+  private HttpRequest.Builder admin(HttpRequest.Builder request) {
+    return request.header("Authorization", "Bearer " + adminToken);
+  }
+
+  private HttpRequest.Builder manager(UUID companyId, HttpRequest.Builder request) {
+    return request.header("Authorization", "Bearer " + managerTokens.get(companyId));
+  }
+
+  private static <T> T pick(Random random, List<T> values) {
+    return values.get(random.nextInt(values.size()));
+  }
+
+  public record Request(String endpoint, HttpRequest request) {
+
+  }
+
+  private record Endpoint(String name, int weight, RequestFactory factory) {
+
+  }
+
+  @FunctionalInterface
+  private interface RequestFactory {
+
+    HttpRequest.Builder create(Random random, UUID companyId);
+  }
+}
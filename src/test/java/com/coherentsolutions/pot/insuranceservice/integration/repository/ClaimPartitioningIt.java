@@ -0,0 +1,137 @@
+package com.coherentsolutions.pot.insuranceservice.integration.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimFilter;
+import com.coherentsolutions.pot.insuranceservice.integration.IntegrationTestConfiguration;
+import com.coherentsolutions.pot.insuranceservice.integration.containers.PostgresTestContainer;
+import com.coherentsolutions.pot.insuranceservice.repository.ClaimPartitionRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.ClaimRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.ClaimSpecification;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Partitions are created, filled and detached inside the test transaction; PostgreSQL DDL is
+ * transactional, so every change is rolled back afterwards.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "com.coherentsolutions.pot.insuranceservice.integration.repository.RecordingStatementInspector")
+@Import(IntegrationTestConfiguration.class)
+@Transactional
+@DisplayName("Integration test for the monthly partitions of claims")
+class ClaimPartitioningIt extends PostgresTestContainer {
+
+  @Autowired
+  private ClaimRepository claimRepository;
+  @Autowired
+  private ClaimPartitionRepository claimPartitionRepository;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    RecordingStatementInspector.drain();
+  }
+
+  @Test
+  @DisplayName("Service date filters only scan the partitions of the requested months")
+  void serviceDateFilterPrunesPartitions() {
+    List.of(YearMonth.of(2025, 1), YearMonth.of(2025, 2), YearMonth.of(2025, 3))
+        .forEach(claimPartitionRepository::createMonthlyPartition);
+    ClaimFilter filter = new ClaimFilter();
+    filter.setServiceDateFrom(LocalDate.of(2025, 2, 1));
+    filter.setServiceDateTo(LocalDate.of(2025, 2, 28));
+
+    // Unpaged, so the statement has exactly the two service date parameters and no count query
+    claimRepository.findListRows(ClaimSpecification.withFilters(filter), Pageable.unpaged());
+    List<String> statements = RecordingStatementInspector.drain();
+    assertEquals(1, statements.size());
+
+    jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_custom_plan");
+    jdbcTemplate.execute("PREPARE claims_in_range AS "
+        + RecordingStatementInspector.toPositionalParameters(statements.getFirst()));
+    String plan;
+    try {
+      plan = String.join("\n", jdbcTemplate.queryForList(
+          "EXPLAIN EXECUTE claims_in_range('2025-02-01', '2025-02-28')", String.class));
+    } finally {
+      jdbcTemplate.execute("DEALLOCATE claims_in_range");
+    }
+
+    assertTrue(plan.contains("claims_p2025_02"), plan);
+    assertFalse(plan.contains("claims_p2025_01"), plan);
+    assertFalse(plan.contains("claims_p2025_03"), plan);
+    assertFalse(plan.contains("claims_default"), plan);
+  }
+
+  @Test
+  @DisplayName("Creating a partition moves its claims out of the default partition")
+  void createPartitionMovesRowsFromDefault() {
+    insertClaim(LocalDate.of(2031, 5, 10));
+    assertEquals("claims_default", partitionOf("PARTITION-1"));
+
+    assertTrue(claimPartitionRepository.createMonthlyPartition(YearMonth.of(2031, 5)));
+    assertFalse(claimPartitionRepository.createMonthlyPartition(YearMonth.of(2031, 5)));
+
+    assertEquals("claims_p2031_05", partitionOf("PARTITION-1"));
+    assertTrue(claimPartitionRepository.findPartitionMonths().contains(YearMonth.of(2031, 5)));
+  }
+
+  @Test
+  @DisplayName("Archiving detaches a partition and moves it to the archive schema")
+  void archivePartition() {
+    claimPartitionRepository.createMonthlyPartition(YearMonth.of(2025, 1));
+
+    claimPartitionRepository.archivePartition(YearMonth.of(2025, 1));
+
+    assertFalse(claimPartitionRepository.findPartitionMonths().contains(YearMonth.of(2025, 1)));
+    assertNotNull(jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class,
+        ClaimPartitionRepository.ARCHIVE_SCHEMA + ".claims_p2025_01"));
+  }
+
+  private void insertClaim(LocalDate serviceDate) {
+    UUID companyId = jdbcTemplate.queryForObject("""
+        INSERT INTO companies (name, country_code, status)
+        VALUES ('Partition Co', 'USA', 'ACTIVE')
+        RETURNING id
+        """, UUID.class);
+    UUID userId = jdbcTemplate.queryForObject("""
+        INSERT INTO users (first_name, last_name, username, email, date_of_birth, ssn, company_id)
+        VALUES ('Part', 'Ition', 'partition-user', 'partition@example.com', DATE '1990-01-01',
+                '999-99-9999', ?)
+        RETURNING id
+        """, UUID.class, companyId);
+    UUID planId = jdbcTemplate.queryForObject("""
+        INSERT INTO plans (name, plan_type_id, contribution)
+        VALUES ('Partition plan', (SELECT MIN(id) FROM plan_types), 100)
+        RETURNING id
+        """, UUID.class);
+    jdbcTemplate.update("""
+        INSERT INTO claims (claim_number, status, service_date, user_id, plan_id, amount)
+        VALUES ('PARTITION-1', 'PENDING', ?, ?, ?, 10)
+        """, serviceDate, userId, planId);
+  }
+
+  private String partitionOf(String claimNumber) {
+    return jdbcTemplate.queryForObject(
+        "SELECT tableoid::regclass::text FROM claims WHERE claim_number = ?", String.class,
+        claimNumber);
+  }
+}
@@ -0,0 +1,192 @@
+package com.coherentsolutions.pot.insuranceservice.integration.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimFilter;
+import com.coherentsolutions.pot.insuranceservice.dto.enrollment.EnrollmentFilter;
+import com.coherentsolutions.pot.insuranceservice.dto.insurancepackage.InsurancePackageFilter;
+import com.coherentsolutions.pot.insuranceservice.dto.user.UserFilter;
+import com.coherentsolutions.pot.insuranceservice.enums.ClaimStatus;
+import com.coherentsolutions.pot.insuranceservice.enums.UserFunction;
+import com.coherentsolutions.pot.insuranceservice.enums.UserStatus;
+import com.coherentsolutions.pot.insuranceservice.integration.IntegrationTestConfiguration;
+import com.coherentsolutions.pot.insuranceservice.integration.containers.PostgresTestContainer;
+import com.coherentsolutions.pot.insuranceservice.repository.ClaimRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.ClaimSpecification;
+import com.coherentsolutions.pot.insuranceservice.repository.EnrollmentRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.EnrollmentSpecification;
+import com.coherentsolutions.pot.insuranceservice.repository.InsurancePackageRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.InsurancePackageSpecification;
+import com.coherentsolutions.pot.insuranceservice.repository.UserRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.UserSpecification;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Runs the hot filter and cascade queries, captures the SQL Hibernate renders for them and checks
+ * the PostgreSQL plan of every statement. Plans are generic ({@code EXPLAIN (GENERIC_PLAN)}) and
+ * made with {@code enable_seqscan} off, so the planner picks any usable index regardless of how
+ * many rows the test database holds; a sequential scan on a large table therefore means no index
+ * serves the predicate.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "com.coherentsolutions.pot.insuranceservice.integration.repository.RecordingStatementInspector")
+@Import(IntegrationTestConfiguration.class)
+@Transactional
+@DisplayName("Integration test for the query plans of hot filters")
+class HotQueryPlanIt extends PostgresTestContainer {
+
+  private static final Pattern SEQ_SCAN_ON_LARGE_TABLE = Pattern.compile("Seq Scan on (users|user_functions"
+      + "|claims_(p\\d{4}_\\d{2}|default)|insurance_packages|insurance_package_plans|enrollments|payroll_deductions) ");
+  // claims is partitioned: plans scan its partitions through their own copies of its indexes.
+  private static final String CLAIMS_PARTITION_INDEX = "claims_(p\\d{4}_\\d{2}|default)_";
+
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private ClaimRepository claimRepository;
+  @Autowired
+  private InsurancePackageRepository insurancePackageRepository;
+  @Autowired
+  private EnrollmentRepository enrollmentRepository;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    RecordingStatementInspector.drain();
+  }
+
+  @Test
+  @DisplayName("Users by company use the company index")
+  void usersByCompany() {
+    UserFilter filter = new UserFilter();
+    filter.setCompanyId(UUID.randomUUID());
+
+    userRepository.findAll(UserSpecification.withFilters(filter), PageRequest.of(0, 20));
+
+    assertPlansUse("ix_users_company_id");
+  }
+
+  @Test
+  @DisplayName("Users by company and function use the user functions index")
+  void usersByCompanyAndFunction() {
+    UserFilter filter = new UserFilter();
+    filter.setCompanyId(UUID.randomUUID());
+    filter.setFunctions(Set.of(UserFunction.COMPANY_MANAGER));
+
+    userRepository.findAll(UserSpecification.withFilters(filter), PageRequest.of(0, 20));
+
+    assertPlansUse("ix_user_functions_user_id");
+  }
+
+  @Test
+  @DisplayName("Company status cascade uses the company index")
+  void updateUserStatusByCompany() {
+    userRepository.updateUserStatusByCompanyId(UUID.randomUUID(), UserStatus.INACTIVE);
+
+    assertPlansUse("ix_users_company_id");
+  }
+
+  @Test
+  @DisplayName("Claims by consumer use the user and service date index")
+  void claimsByUser() {
+    ClaimFilter filter = new ClaimFilter();
+    filter.setUserId(UUID.randomUUID());
+    filter.setServiceDateFrom(LocalDate.of(2025, 1, 1));
+
+    claimRepository.findListRows(ClaimSpecification.withFilters(filter), PageRequest.of(0, 20));
+
+    assertPlansUse(CLAIMS_PARTITION_INDEX + "user_id_service_date_idx");
+  }
+
+  @Test
+  @DisplayName("Claims by company reach claims through the consumer index")
+  void claimsByCompany() {
+    ClaimFilter filter = new ClaimFilter();
+    filter.setCompanyId(UUID.randomUUID());
+
+    claimRepository.findListRows(ClaimSpecification.withFilters(filter), PageRequest.of(0, 20));
+
+    assertPlansUse("ix_users_company_id");
+  }
+
+  @Test
+  @DisplayName("Claims by status and service date use the status index")
+  void claimsByStatusAndServiceDate() {
+    ClaimFilter filter = new ClaimFilter();
+    filter.setStatus(ClaimStatus.PENDING);
+    filter.setServiceDateFrom(LocalDate.of(2025, 1, 1));
+    filter.setServiceDateTo(LocalDate.of(2025, 3, 31));
+
+    claimRepository.findListRows(ClaimSpecification.withFilters(filter), PageRequest.of(0, 20));
+
+    assertPlansUse(CLAIMS_PARTITION_INDEX + "status_service_date_idx");
+  }
+
+  @Test
+  @DisplayName("Claims by service date use the service date index")
+  void claimsByServiceDate() {
+    ClaimFilter filter = new ClaimFilter();
+    filter.setServiceDateFrom(LocalDate.of(2025, 1, 1));
+    filter.setServiceDateTo(LocalDate.of(2025, 3, 31));
+
+    claimRepository.findListRows(ClaimSpecification.withFilters(filter), PageRequest.of(0, 20));
+
+    assertPlansUse(CLAIMS_PARTITION_INDEX + "service_date_idx");
+  }
+
+  @Test
+  @DisplayName("Insurance packages by company use the company index")
+  void insurancePackagesByCompany() {
+    InsurancePackageFilter filter = new InsurancePackageFilter();
+    filter.setCompanyId(UUID.randomUUID());
+
+    insurancePackageRepository.findAll(InsurancePackageSpecification.withFilters(filter),
+        PageRequest.of(0, 20));
+
+    assertPlansUse("ix_insurance_packages_company_id");
+  }
+
+  @Test
+  @DisplayName("Active enrollments by plan use the plan index")
+  void enrollmentsByPlan() {
+    EnrollmentFilter filter = new EnrollmentFilter();
+    filter.setPlanId(UUID.randomUUID());
+
+    enrollmentRepository.findAll(EnrollmentSpecification.withFilters(filter), PageRequest.of(0, 20));
+
+    assertPlansUse("ix_enrollments_plan_id");
+  }
+
+  private void assertPlansUse(String indexPattern) {
+    List<String> statements = RecordingStatementInspector.drain();
+    assertFalse(statements.isEmpty(), "no SQL was captured");
+    StringBuilder plans = new StringBuilder();
+    for (String sql : statements) {
+      String plan = String.join("\n", jdbcTemplate.queryForList(
+          "EXPLAIN (GENERIC_PLAN) " + RecordingStatementInspector.toPositionalParameters(sql), String.class));
+      assertFalse(SEQ_SCAN_ON_LARGE_TABLE.matcher(plan).find(),
+          () -> "sequential scan on a large table for:\n" + sql + "\n" + plan);
+      plans.append(plan).append('\n');
+    }
+    assertTrue(Pattern.compile(indexPattern).matcher(plans).find(),
+        () -> indexPattern + " is not used by:\n" + String.join("\n", statements) + "\n" + plans);
+  }
+}
@@ -0,0 +1,122 @@
+package com.coherentsolutions.pot.insuranceservice.integration.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.coherentsolutions.pot.insuranceservice.dto.pagination.CursorSlice;
+import com.coherentsolutions.pot.insuranceservice.enums.CompanyStatus;
+import com.coherentsolutions.pot.insuranceservice.integration.IntegrationTestConfiguration;
+import com.coherentsolutions.pot.insuranceservice.integration.containers.PostgresTestContainer;
+import com.coherentsolutions.pot.insuranceservice.model.Company;
+import com.coherentsolutions.pot.insuranceservice.repository.CompanyRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.KeysetPagination;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Walks keyset pages over real rows and checks that, concatenated, they match a single
+ * {@code ORDER BY <key>, id} query in PostgreSQL: no row is skipped or repeated at page
+ * boundaries, including boundaries inside runs of equal and null sort keys.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@Import(IntegrationTestConfiguration.class)
+@Transactional
+@DisplayName("Integration test for keyset pagination against PostgreSQL")
+class KeysetPaginationIt extends PostgresTestContainer {
+
+  private static final String PREFIX = "Keyset Co ";
+  private static final int PAGE_SIZE = 2;
+
+  @Autowired
+  private CompanyRepository companyRepository;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private final Specification<Company> seeded = (root, query, criteriaBuilder) ->
+      criteriaBuilder.like(root.get("name"), PREFIX + "%");
+
+  @BeforeEach
+  void seed() {
+    // Runs of equal keys longer than a page, nulls in the middle of the id range, and a single key.
+    String[] websites = {"https://a.test", "https://a.test", "https://a.test", null, "https://b.test", null,
+        "https://b.test", "https://c.test", null, "https://a.test"};
+    for (int i = 0; i < websites.length; i++) {
+      Company company = new Company();
+      company.setName(PREFIX + i);
+      company.setCountryCode("USA");
+      company.setWebsite(websites[i]);
+      company.setStatus(i % 3 == 0 ? CompanyStatus.DEACTIVATED : CompanyStatus.ACTIVE);
+      companyRepository.save(company);
+    }
+    companyRepository.flush();
+  }
+
+  @Test
+  @DisplayName("Ascending pages over a key with ties and nulls match ORDER BY website, id")
+  void pagesAscendingWithTiesAndNulls() {
+    assertEquals(expected("website ASC, id ASC"), walk(Sort.by(Sort.Direction.ASC, "website")));
+  }
+
+  @Test
+  @DisplayName("Descending pages over a key with ties and nulls match ORDER BY website DESC, id DESC")
+  void pagesDescendingWithTiesAndNulls() {
+    assertEquals(expected("website DESC, id DESC"), walk(Sort.by(Sort.Direction.DESC, "website")));
+  }
+
+  @Test
+  @DisplayName("Pages over an enum key and over the id alone match the database order")
+  void pagesByEnumAndId() {
+    assertEquals(expected("status DESC, id DESC"), walk(Sort.by(Sort.Direction.DESC, "status")));
+    assertEquals(expected("id ASC"), walk(Sort.unsorted()));
+  }
+
+  @Test
+  @DisplayName("Sorting by a property without a comparable key is rejected with 400")
+  void rejectsUnsupportedSortKey() {
+    ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+        () -> KeysetPagination.fetch(companyRepository, seeded,
+            PageRequest.of(0, PAGE_SIZE, Sort.by("phoneData")), null));
+
+    assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+  }
+
+  private List<UUID> walk(Sort sort) {
+    List<UUID> ids = new ArrayList<>();
+    String cursor = null;
+    int pages = 0;
+    CursorSlice<Company> slice;
+    do {
+      slice = KeysetPagination.fetch(companyRepository, seeded, PageRequest.of(0, PAGE_SIZE, sort), cursor);
+      assertTrue(slice.content().size() <= PAGE_SIZE);
+      slice.content().forEach(company -> ids.add(company.getId()));
+      cursor = slice.nextCursor();
+      pages++;
+    } while (slice.hasNext());
+    assertFalse(slice.hasNext());
+    assertTrue(pages > 3, "expected several pages but got " + pages);
+    return ids;
+  }
+
+  private List<UUID> expected(String orderBy) {
+    return jdbcTemplate.queryForList("SELECT id FROM companies WHERE name LIKE ? ORDER BY " + orderBy,
+        UUID.class, PREFIX + "%");
+  }
+}
@@ -0,0 +1,47 @@
+package com.coherentsolutions.pot.insuranceservice.integration.repository;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Records every SQL statement Hibernate prepares, so tests can inspect the SQL that specifications
+ * and JPQL queries actually render. Registered by class name through
+ * {@code hibernate.session_factory.statement_inspector}.
+ */
+public class RecordingStatementInspector implements StatementInspector {
+
+  private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+  @Override
+  public String inspect(String sql) {
+    STATEMENTS.add(sql);
+    return sql;
+  }
+
+  /**
+   * Returns the statements recorded since the last call and forgets them.
+   */
+  static List<String> drain() {
+    List<String> statements = List.copyOf(STATEMENTS);
+    STATEMENTS.clear();
+    return statements;
+  }
+
+  /**
+   * Hibernate renders JDBC {@code ?} markers; PREPARE and generic plans need PostgreSQL's
+   * {@code $n} ones.
+   */
+  static String toPositionalParameters(String sql) {
+    StringBuilder positional = new StringBuilder(sql.length() + 16);
+    int parameter = 0;
+    for (char c : sql.toCharArray()) {
+      if (c == '?') {
+        positional.append('$').append(++parameter);
+      } else {
+        positional.append(c);
+      }
+    }
+    return positional.toString();
+  }
+}
@@ -0,0 +1,180 @@
+package com.coherentsolutions.pot.insuranceservice.integration.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.coherentsolutions.pot.insuranceservice.dto.audit.FieldChange;
+import com.coherentsolutions.pot.insuranceservice.dto.audit.RevisionDiff;
+import com.coherentsolutions.pot.insuranceservice.dto.pagination.CursorSlice;
+import com.coherentsolutions.pot.insuranceservice.integration.IntegrationTestConfiguration;
+import com.coherentsolutions.pot.insuranceservice.integration.containers.PostgresTestContainer;
+import com.coherentsolutions.pot.insuranceservice.repository.AuditPartitionRepository;
+import com.coherentsolutions.pot.insuranceservice.service.AuditArchiveService;
+import com.coherentsolutions.pot.insuranceservice.service.AuditArchiveService.ArchiveReport;
+import com.coherentsolutions.pot.insuranceservice.service.AuditHistoryService;
+import com.coherentsolutions.pot.insuranceservice.service.AuditHistoryService.RevisionMetadata;
+import com.fasterxml.jackson.databind.node.TextNode;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Runs the archive job for a month in the past, so revisions written by other tests are never
+ * sealed. The seeded revisions use negative revision numbers, which sort before every revision
+ * Envers has written, just as older revisions would in production.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = "app.audit.archive.retention-months=3")
+@Import(IntegrationTestConfiguration.class)
+@DisplayName("Integration test for sealing, archiving and reading archived audit history")
+class AuditArchiveIt extends PostgresTestContainer {
+
+  private static final YearMonth CURRENT = YearMonth.of(2023, 6);
+  private static final Instant JANUARY = Instant.parse("2023-01-10T12:00:00Z");
+  private static final Instant FEBRUARY = Instant.parse("2023-02-10T12:00:00Z");
+  private static final Path ARCHIVE = createArchiveDirectory();
+
+  @Autowired
+  private AuditArchiveService auditArchiveService;
+  @Autowired
+  private AuditHistoryService auditHistoryService;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private UUID userId;
+
+  @DynamicPropertySource
+  static void archiveProps(DynamicPropertyRegistry registry) {
+    registry.add("app.audit.archive.directory", ARCHIVE::toString);
+  }
+
+  @BeforeEach
+  void seedHistory() {
+    userId = UUID.randomUUID();
+    insertRevision(-30, JANUARY, 0);
+    insertRevision(-29, JANUARY.plusSeconds(60), 1);
+    insertRevision(-28, FEBRUARY, 1);
+  }
+
+  @AfterEach
+  void cleanUp() {
+    // Archives whatever the test left attached, then forgets the seeded months entirely.
+    auditArchiveService.archive(CURRENT);
+    jdbcTemplate.update("DELETE FROM audit_segments WHERE month < ?", LocalDate.of(2024, 1, 1));
+    AuditPartitionRepository.TABLES.forEach(table ->
+        jdbcTemplate.update("DELETE FROM " + table + " WHERE rev < 0"));
+  }
+
+  @Test
+  @DisplayName("Months past the retention are sealed, exported and dropped")
+  void archivesExpiredMonths() {
+    ArchiveReport report = auditArchiveService.archive(CURRENT);
+
+    List<YearMonth> seeded = List.of(YearMonth.of(2023, 1), YearMonth.of(2023, 2));
+    assertEquals(seeded, report.sealed());
+    assertEquals(seeded, report.archived());
+    for (String table : AuditPartitionRepository.TABLES) {
+      assertNull(partition(table, YearMonth.of(2023, 1)));
+      assertTrue(Files.exists(ARCHIVE.resolve(AuditArchiveService.key(YearMonth.of(2023, 1), table))));
+    }
+    assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM revinfo WHERE rev < 0", Integer.class));
+    assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM users_aud WHERE rev < 0", Integer.class));
+  }
+
+  @Test
+  @DisplayName("Reading the full history reads archived months from the store without attaching them")
+  void readsArchivedMonthsWithoutAttaching() {
+    auditArchiveService.archive(CURRENT);
+
+    List<RevisionMetadata> history = auditHistoryService.userHistory(userId, null);
+
+    assertEquals(List.of(-30, -29, -28), history.stream().map(RevisionMetadata::revision).toList());
+    assertEquals(JANUARY, history.getFirst().at());
+    assertEquals("ADD", history.getFirst().type());
+    assertEquals("MOD", history.getLast().type());
+    assertNull(history.getFirst().actor());
+    assertNull(partition("users_aud", YearMonth.of(2023, 1)));
+    assertNull(partition("revinfo", YearMonth.of(2023, 2)));
+
+    // Nothing was attached, so the next run has nothing to drop.
+    ArchiveReport report = auditArchiveService.archive(CURRENT);
+    assertEquals(List.of(), report.archived());
+  }
+
+  @Test
+  @DisplayName("Polling after a revision returns only the later archived revisions")
+  void readsOnlyRevisionsAfterSince() {
+    auditArchiveService.archive(CURRENT);
+
+    List<RevisionMetadata> history = auditHistoryService.userHistory(userId, -29);
+
+    assertEquals(List.of(-28), history.stream().map(RevisionMetadata::revision).toList());
+    assertNull(partition("users_aud", YearMonth.of(2023, 2)));
+  }
+
+  @Test
+  @DisplayName("Diffs of archived revisions are computed against their archived predecessor")
+  void diffsArchivedRevisions() {
+    auditArchiveService.archive(CURRENT);
+
+    CursorSlice<RevisionDiff> changes = auditHistoryService.userChanges(userId, -30, 10);
+
+    assertEquals(List.of(-29, -28), changes.content().stream().map(RevisionDiff::revision).toList());
+    assertEquals(List.of(new FieldChange("firstName", TextNode.valueOf("Archived -30"), TextNode.valueOf("Archived -29"))),
+        changes.content().getFirst().changes());
+  }
+
+  @Test
+  @DisplayName("Only exports of months that hold the entity are opened")
+  void skipsMonthsWithoutTheEntity() throws IOException {
+    auditArchiveService.archive(CURRENT);
+    assertEquals(2, jdbcTemplate.queryForObject(
+        "SELECT count(*) FROM audit_segment_entities WHERE table_name = 'users_aud' AND entity_id = ?",
+        Integer.class, userId));
+    // Without the exports, reading any month would fail.
+    Path moved = Files.move(ARCHIVE.resolve("2023_01"), ARCHIVE.resolveSibling(ARCHIVE.getFileName() + "-moved"));
+
+    try {
+      assertEquals(List.of(), auditHistoryService.userHistory(UUID.randomUUID(), null));
+    } finally {
+      Files.move(moved, ARCHIVE.resolve("2023_01"));
+    }
+  }
+
+  private void insertRevision(int rev, Instant at, int revisionType) {
+    jdbcTemplate.update("INSERT INTO revinfo (rev, revtstmp) VALUES (?, ?)", rev, at.toEpochMilli());
+    jdbcTemplate.update("INSERT INTO users_aud (id, rev, revtype, first_name) VALUES (?, ?, ?, ?)",
+        userId, rev, revisionType, "Archived " + rev);
+  }
+
+  private String partition(String table, YearMonth month) {
+    return jdbcTemplate.queryForObject("SELECT to_regclass(?)::TEXT", String.class,
+        AuditPartitionRepository.partitionName(table, month));
+  }
+
+  private static Path createArchiveDirectory() {
+    try {
+      return Files.createTempDirectory("audit-archive");
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package com.coherentsolutions.pot.insuranceservice.integration.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.coherentsolutions.pot.insuranceservice.config.SecurityAuditor;
+import com.coherentsolutions.pot.insuranceservice.enums.CompanyStatus;
+import com.coherentsolutions.pot.insuranceservice.enums.PackageStatus;
+import com.coherentsolutions.pot.insuranceservice.enums.PayrollFrequency;
+import com.coherentsolutions.pot.insuranceservice.integration.IntegrationTestConfiguration;
+import com.coherentsolutions.pot.insuranceservice.integration.containers.PostgresTestContainer;
+import com.coherentsolutions.pot.insuranceservice.model.Company;
+import com.coherentsolutions.pot.insuranceservice.model.InsurancePackage;
+import com.coherentsolutions.pot.insuranceservice.repository.CompanyRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.InsurancePackageRepository;
+import com.coherentsolutions.pot.insuranceservice.service.InsurancePackageStatusUpdater;
+import com.coherentsolutions.pot.insuranceservice.service.InsurancePackageStatusUpdater.StatusUpdateReport;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional
+@ActiveProfiles("test")
+@SpringBootTest
+@Import(IntegrationTestConfiguration.class)
+@DisplayName("Integration test for InsurancePackageStatusUpdater")
+public class InsurancePackageStatusUpdaterIt extends PostgresTestContainer {
+
+  private static final LocalDate TODAY = LocalDate.of(2025, 9, 1);
+
+  @Autowired
+  private InsurancePackageStatusUpdater insurancePackageStatusUpdater;
+
+  @Autowired
+  private InsurancePackageRepository insurancePackageRepository;
+
+  @Autowired
+  private CompanyRepository companyRepository;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private Company company;
+
+  @BeforeEach
+  void setUp() {
+    company = new Company();
+    company.setName("Status Co");
+    company.setCountryCode("USA");
+    company.setStatus(CompanyStatus.ACTIVE);
+    company = companyRepository.save(company);
+  }
+
+  @Test
+  @DisplayName("Should move only packages whose window crossed today")
+  void shouldMoveOnlyDuePackages() {
+    InsurancePackage starting = createPackage(TODAY, TODAY.plusMonths(6),
+        PackageStatus.INITIALIZED);
+    InsurancePackage future = createPackage(TODAY.plusDays(1), TODAY.plusMonths(6),
+        PackageStatus.INITIALIZED);
+    InsurancePackage ended = createPackage(TODAY.minusMonths(6), TODAY.minusDays(1),
+        PackageStatus.ACTIVE);
+    InsurancePackage running = createPackage(TODAY.minusMonths(1), TODAY,
+        PackageStatus.ACTIVE);
+    InsurancePackage deactivated = createPackage(TODAY.minusMonths(6), TODAY.minusDays(1),
+        PackageStatus.DEACTIVATED);
+    entityManager.flush();
+
+    StatusUpdateReport report = insurancePackageStatusUpdater.recalculateStatuses(TODAY);
+    entityManager.clear();
+
+    assertEquals(1, report.activated());
+    assertEquals(1, report.expired());
+    assertEquals(PackageStatus.ACTIVE, reload(starting).getStatus());
+    assertEquals(PackageStatus.INITIALIZED, reload(future).getStatus());
+    assertEquals(PackageStatus.EXPIRED, reload(ended).getStatus());
+    assertEquals(PackageStatus.ACTIVE, reload(running).getStatus());
+    assertEquals(PackageStatus.DEACTIVATED, reload(deactivated).getStatus());
+  }
+
+  @Test
+  @DisplayName("Should audit every transition under one revision of the system user per chunk")
+  void shouldAuditTransitions() {
+    InsurancePackage starting = createPackage(TODAY, TODAY.plusMonths(6),
+        PackageStatus.INITIALIZED);
+    InsurancePackage ended = createPackage(TODAY.minusMonths(6), TODAY.minusDays(1),
+        PackageStatus.ACTIVE);
+    InsurancePackage future = createPackage(TODAY.plusDays(1), TODAY.plusMonths(6),
+        PackageStatus.INITIALIZED);
+    entityManager.flush();
+
+    insurancePackageStatusUpdater.recalculateStatuses(TODAY);
+
+    assertEquals(List.of(Map.of("status", "ACTIVE", "revtype", 1, "user_id", SecurityAuditor.SYSTEM)),
+        auditRows(starting));
+    assertEquals(List.of(Map.of("status", "EXPIRED", "revtype", 1, "user_id", SecurityAuditor.SYSTEM)),
+        auditRows(ended));
+    assertEquals(List.of(), auditRows(future));
+  }
+
+  private List<Map<String, Object>> auditRows(InsurancePackage insurancePackage) {
+    return jdbcTemplate.queryForList("""
+        SELECT a.status, a.revtype, r.user_id
+        FROM insurance_packages_aud a
+                 JOIN revinfo r ON r.rev = a.rev
+        WHERE a.id = ?
+        """, insurancePackage.getId());
+  }
+
+  private InsurancePackage createPackage(LocalDate start, LocalDate end, PackageStatus status) {
+    InsurancePackage insurancePackage = new InsurancePackage();
+    insurancePackage.setName("Package " + start + " - " + end);
+    insurancePackage.setStartDate(start);
+    insurancePackage.setEndDate(end);
+    insurancePackage.setPayrollFrequency(PayrollFrequency.MONTHLY);
+    insurancePackage.setCompany(company);
+    insurancePackage.setStatus(status);
+    return insurancePackageRepository.save(insurancePackage);
+  }
+
+  private InsurancePackage reload(InsurancePackage insurancePackage) {
+    return insurancePackageRepository.findByIdOrThrow(insurancePackage.getId());
+  }
+}
@@ -0,0 +1,154 @@
+package com.coherentsolutions.pot.insuranceservice.integration.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.coherentsolutions.pot.insuranceservice.dto.payroll.PayrollDeductionRunReport;
+import com.coherentsolutions.pot.insuranceservice.integration.IntegrationTestConfiguration;
+import com.coherentsolutions.pot.insuranceservice.integration.containers.PostgresTestContainer;
+import com.coherentsolutions.pot.insuranceservice.service.PayrollDeductionService;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs deduction calculations against real rows. Each company is calculated in its own
+ * transaction on a worker thread, so the test cannot roll back and deletes its rows instead.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = "app.payroll.deductions.watermark-margin=10m")
+@Import(IntegrationTestConfiguration.class)
+@DisplayName("Integration test for payroll deduction runs")
+class PayrollDeductionServiceIt extends PostgresTestContainer {
+
+  private static final int MONTHLY_PERIODS = 12;
+
+  @Autowired
+  private PayrollDeductionService payrollDeductionService;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private UUID companyId;
+  private UUID userId;
+  private UUID packageId;
+  private final List<UUID> planIds = new ArrayList<>();
+
+  @BeforeEach
+  void seed() {
+    companyId = jdbcTemplate.queryForObject("""
+        INSERT INTO companies (name, country_code, status)
+        VALUES ('Payroll Co', 'USA', 'ACTIVE')
+        RETURNING id
+        """, UUID.class);
+    userId = jdbcTemplate.queryForObject("""
+        INSERT INTO users (first_name, last_name, username, email, date_of_birth, ssn, company_id)
+        VALUES ('Pay', 'Roll', 'payroll-user', 'payroll@example.com', DATE '1990-01-01', '999-99-9999', ?)
+        RETURNING id
+        """, UUID.class, companyId);
+    packageId = UUID.randomUUID();
+    jdbcTemplate.update("""
+        INSERT INTO insurance_packages (id, name, company_id, start_date, end_date, payroll_frequency, status,
+                                        created_at, updated_at)
+        VALUES (?, 'Payroll package', ?, ?, ?, 'MONTHLY', 'ACTIVE', ?, ?)
+        """, packageId, companyId, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31),
+        LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(2));
+    for (int i = 0; i < 3; i++) {
+      UUID planId = jdbcTemplate.queryForObject("""
+          INSERT INTO plans (name, plan_type_id, contribution)
+          VALUES (?, (SELECT MIN(id) FROM plan_types), 100)
+          RETURNING id
+          """, UUID.class, "Payroll plan " + i);
+      jdbcTemplate.update("INSERT INTO insurance_package_plans (insurance_package_id, plan_id) VALUES (?, ?)",
+          packageId, planId);
+      planIds.add(planId);
+    }
+  }
+
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update("DELETE FROM payroll_deductions WHERE company_id = ?", companyId);
+    jdbcTemplate.update("DELETE FROM payroll_deduction_runs WHERE company_id = ?", companyId);
+    jdbcTemplate.update("DELETE FROM enrollments WHERE user_id = ?", userId);
+    jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    jdbcTemplate.update("DELETE FROM insurance_packages WHERE id = ?", packageId);
+    planIds.forEach(planId -> jdbcTemplate.update("DELETE FROM plans WHERE id = ?", planId));
+    jdbcTemplate.update("DELETE FROM companies WHERE id = ?", companyId);
+  }
+
+  @Test
+  @DisplayName("Incremental runs pick up changed and late-committed rows but skip older ones")
+  void incrementalRunSelectsChangedRows() {
+    // Given
+    UUID unchanged = enroll(planIds.get(0), LocalDateTime.now().minusDays(1));
+    UUID recent = enroll(planIds.get(1), LocalDateTime.now().minusMinutes(2));
+    PayrollDeductionRunReport full = payrollDeductionService.calculateForCompany(companyId, false);
+    assertEquals(2, full.enrollmentsProcessed());
+    assertEquals(2 * MONTHLY_PERIODS, full.deductionsWritten());
+    assertEquals(600, jdbcTemplate.queryForObject(
+        "SELECT EXTRACT(EPOCH FROM started_at - watermark)::INT FROM payroll_deduction_runs WHERE company_id = ?",
+        Integer.class, companyId));
+
+    // A transaction that stamped its row before the full run started but committed after it
+    UUID lateCommitted = enroll(planIds.get(2), LocalDateTime.now().minusMinutes(5));
+
+    // When
+    PayrollDeductionRunReport incremental = payrollDeductionService.calculateForCompany(companyId, true);
+
+    // Then
+    assertEquals(2, incremental.enrollmentsProcessed(),
+        "the late-committed row and the row inside the margin are recalculated, the older one is not");
+    assertEquals(MONTHLY_PERIODS, deductionsOf(lateCommitted));
+    assertEquals(MONTHLY_PERIODS, deductionsOf(recent));
+    assertEquals(MONTHLY_PERIODS, deductionsOf(unchanged));
+  }
+
+  @Test
+  @DisplayName("Runs remove schedules of deleted enrollments and deactivated packages")
+  void runsDeleteOrphanedSchedules() {
+    // Given
+    UUID deleted = enroll(planIds.get(0), LocalDateTime.now().minusDays(1));
+    UUID kept = enroll(planIds.get(1), LocalDateTime.now().minusDays(1));
+    payrollDeductionService.calculateForCompany(companyId, false);
+    jdbcTemplate.update("UPDATE enrollments SET deleted_at = now(), updated_at = ? WHERE id = ?",
+        LocalDateTime.now(), deleted);
+
+    // When
+    PayrollDeductionRunReport incremental = payrollDeductionService.calculateForCompany(companyId, true);
+
+    // Then
+    assertEquals(0, incremental.enrollmentsProcessed());
+    assertEquals(0, deductionsOf(deleted));
+    assertEquals(MONTHLY_PERIODS, deductionsOf(kept));
+
+    // When
+    jdbcTemplate.update("UPDATE insurance_packages SET status = 'DEACTIVATED', updated_at = ? WHERE id = ?",
+        LocalDateTime.now(), packageId);
+    payrollDeductionService.calculateForCompany(companyId, true);
+
+    // Then
+    assertEquals(0, deductionsOf(kept));
+  }
+
+  private UUID enroll(UUID planId, LocalDateTime updatedAt) {
+    return jdbcTemplate.queryForObject("""
+        INSERT INTO enrollments (user_id, plan_id, election_amount, plan_contribution, created_at, updated_at)
+        VALUES (?, ?, 1300, 100, ?, ?)
+        RETURNING id
+        """, UUID.class, userId, planId, updatedAt, updatedAt);
+  }
+
+  private int deductionsOf(UUID enrollmentId) {
+    return jdbcTemplate.queryForObject("SELECT count(*)::INT FROM payroll_deductions WHERE enrollment_id = ?",
+        Integer.class, enrollmentId);
+  }
+}
@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import com.auth0.client.mgmt.ManagementAPI;
 import com.coherentsolutions.pot.insuranceservice.config.Auth0Config;
 import com.coherentsolutions.pot.insuranceservice.config.Auth0Properties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -39,7 +40,7 @@ class Auth0ConfigTest {
     );
 
     // When
-    ManagementAPI result = config.managementAPI(properties);
+    ManagementAPI result = config.managementAPI(properties, new SimpleMeterRegistry());
 
     // Then
     assertNotNull(result);
@@ -60,7 +61,7 @@ class Auth0ConfigTest {
     );
 
     // When & Then
-    assertThrows(IllegalStateException.class, () -> config.managementAPI(properties));
+    assertThrows(IllegalStateException.class, () -> config.managementAPI(properties, new SimpleMeterRegistry()));
   }
 
   @Test
@@ -78,7 +79,7 @@ class Auth0ConfigTest {
     );
 
     // When & Then
-    assertThrows(IllegalStateException.class, () -> config.managementAPI(properties));
+    assertThrows(IllegalStateException.class, () -> config.managementAPI(properties, new SimpleMeterRegistry()));
   }
 
   @Test
@@ -96,7 +97,7 @@ class Auth0ConfigTest {
     );
 
     // When & Then
-    assertThrows(IllegalStateException.class, () -> config.managementAPI(properties));
+    assertThrows(IllegalStateException.class, () -> config.managementAPI(properties, new SimpleMeterRegistry()));
   }
 
   @Test
@@ -114,7 +115,7 @@ class Auth0ConfigTest {
     );
 
     // When & Then
-    assertThrows(IllegalStateException.class, () -> config.managementAPI(properties));
+    assertThrows(IllegalStateException.class, () -> config.managementAPI(properties, new SimpleMeterRegistry()));
   }
 
   @Test
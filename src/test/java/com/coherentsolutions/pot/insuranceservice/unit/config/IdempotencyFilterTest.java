@@ -0,0 +1,319 @@
+package com.coherentsolutions.pot.insuranceservice.unit.config;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.coherentsolutions.pot.insuranceservice.config.CacheConfig;
+import com.coherentsolutions.pot.insuranceservice.config.IdempotencyFilter;
+import com.coherentsolutions.pot.insuranceservice.repository.IdempotencyKeyRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.IdempotencyKeyRepository.IdempotencyRecord;
+import com.coherentsolutions.pot.insuranceservice.repository.IdempotencyKeyRepository.StoredResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+
+  private static final String KEY = "3f1c2a9e-claim-retry";
+  private static final String LOCATION = "/v1/claims/42";
+  private static final byte[] CREATED = "{\"id\":\"42\"}".getBytes(StandardCharsets.UTF_8);
+
+  @Mock
+  private IdempotencyKeyRepository idempotencyKeyRepository;
+  @Mock
+  private HandlerExceptionResolver handlerExceptionResolver;
+
+  private SimpleMeterRegistry meterRegistry;
+  private IdempotencyFilter filter;
+  private AtomicInteger executions;
+  private FilterChain chain;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    filter = new IdempotencyFilter(idempotencyKeyRepository,
+        new ConcurrentMapCacheManager(CacheConfig.IDEMPOTENT_RESPONSES), handlerExceptionResolver,
+        meterRegistry, List.of("/v1/claims", "/v1/companies/*/users"), Duration.ofHours(24),
+        Duration.ofMinutes(1));
+    executions = new AtomicInteger();
+    chain = (request, response) -> {
+      executions.incrementAndGet();
+      request.getInputStream().readAllBytes();
+      ((HttpServletResponse) response).setStatus(HttpStatus.CREATED.value());
+      ((HttpServletResponse) response).setHeader(HttpHeaders.LOCATION, LOCATION);
+      response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+      response.getOutputStream().write(CREATED);
+    };
+  }
+
+  @Test
+  @DisplayName("Should execute the first request and record its response")
+  void shouldRecordFirstResponse() throws Exception {
+    // Given
+    when(idempotencyKeyRepository.claim(eq(""), eq(KEY), anyString(), any(), any())).thenReturn(true);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // When
+    filter.doFilter(request("/v1/claims", "{\"amount\":50}"), response, chain);
+
+    // Then
+    assertEquals(1, executions.get());
+    assertEquals(HttpStatus.CREATED.value(), response.getStatus());
+    assertArrayEquals(CREATED, response.getContentAsByteArray());
+    verify(idempotencyKeyRepository).complete(eq(""), eq(KEY),
+        argThat(stored -> stored.status() == 201 && stored.body().length == CREATED.length
+            && stored.headers().equals(Map.of(HttpHeaders.LOCATION, List.of(LOCATION)))), any());
+    assertEquals(1, meterRegistry.counter("app.idempotency", "outcome", "stored").count());
+  }
+
+  @Test
+  @DisplayName("Should replay a retry from the cache without executing it again")
+  void shouldReplayRetryFromCache() throws Exception {
+    // Given
+    when(idempotencyKeyRepository.claim(eq(""), eq(KEY), anyString(), any(), any())).thenReturn(true);
+    filter.doFilter(request("/v1/claims", "{\"amount\":50}"), new MockHttpServletResponse(), chain);
+    MockHttpServletResponse retry = new MockHttpServletResponse();
+
+    // When
+    filter.doFilter(request("/v1/claims", "{\"amount\":50}"), retry, chain);
+
+    // Then
+    assertEquals(1, executions.get());
+    assertEquals(HttpStatus.CREATED.value(), retry.getStatus());
+    assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED));
+    assertEquals(MediaType.APPLICATION_JSON_VALUE, retry.getContentType());
+    assertEquals(LOCATION, retry.getHeader(HttpHeaders.LOCATION));
+    assertArrayEquals(CREATED, retry.getContentAsByteArray());
+    assertEquals(1, meterRegistry.counter("app.idempotency", "outcome", "replayed").count());
+  }
+
+  @Test
+  @DisplayName("Should replay a response recorded by another instance")
+  void shouldReplayStoredResponse() throws Exception {
+    // Given
+    when(idempotencyKeyRepository.claim(eq(""), eq(KEY), anyString(), any(), any())).thenReturn(false);
+    when(idempotencyKeyRepository.find("", KEY)).thenReturn(Optional.of(new IdempotencyRecord(
+        fingerprint("/v1/claims", "{\"amount\":50}"),
+        new StoredResponse(201, MediaType.APPLICATION_JSON_VALUE, Map.of(HttpHeaders.LOCATION, List.of(LOCATION)),
+            CREATED))));
+    MockHttpServletResponse retry = new MockHttpServletResponse();
+
+    // When
+    filter.doFilter(request("/v1/claims", "{\"amount\":50}"), retry, chain);
+
+    // Then
+    assertEquals(0, executions.get());
+    assertEquals(HttpStatus.CREATED.value(), retry.getStatus());
+    assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED));
+    assertEquals(LOCATION, retry.getHeader(HttpHeaders.LOCATION));
+    assertArrayEquals(CREATED, retry.getContentAsByteArray());
+  }
+
+  @Test
+  @DisplayName("Should reject a key reused for a different body with 422")
+  void shouldRejectDifferentRequest() throws Exception {
+    // Given
+    when(idempotencyKeyRepository.claim(eq(""), eq(KEY), anyString(), any(), any())).thenReturn(true);
+    filter.doFilter(request("/v1/claims", "{\"amount\":50}"), new MockHttpServletResponse(), chain);
+
+    // When
+    filter.doFilter(request("/v1/claims", "{\"amount\":80}"), new MockHttpServletResponse(), chain);
+
+    // Then
+    assertEquals(1, executions.get());
+    verifyRejected(HttpStatus.UNPROCESSABLE_ENTITY);
+    assertEquals(1, meterRegistry.counter("app.idempotency", "outcome", "mismatch").count());
+  }
+
+  @Test
+  @DisplayName("Should reject a key reused for a different query string with 422")
+  void shouldRejectDifferentQueryString() throws Exception {
+    // Given
+    when(idempotencyKeyRepository.claim(eq(""), eq(KEY), anyString(), any(), any())).thenReturn(true);
+    MockHttpServletRequest first = request("/v1/claims", "{\"amount\":50}");
+    first.setQueryString("notify=false");
+    filter.doFilter(first, new MockHttpServletResponse(), chain);
+    MockHttpServletRequest retry = request("/v1/claims", "{\"amount\":50}");
+    retry.setQueryString("notify=true");
+
+    // When
+    filter.doFilter(retry, new MockHttpServletResponse(), chain);
+
+    // Then
+    assertEquals(1, executions.get());
+    verifyRejected(HttpStatus.UNPROCESSABLE_ENTITY);
+  }
+
+  @Test
+  @DisplayName("Should reject a retry while the first request is still running with 409")
+  void shouldRejectRetryInProgress() throws Exception {
+    // Given
+    when(idempotencyKeyRepository.claim(eq(""), eq(KEY), anyString(), any(), any())).thenReturn(false);
+    when(idempotencyKeyRepository.find("", KEY)).thenReturn(Optional.of(
+        new IdempotencyRecord(fingerprint("/v1/claims", "{\"amount\":50}"), null)));
+
+    // When
+    filter.doFilter(request("/v1/claims", "{\"amount\":50}"), new MockHttpServletResponse(), chain);
+
+    // Then
+    assertEquals(0, executions.get());
+    verifyRejected(HttpStatus.CONFLICT);
+    assertEquals(1, meterRegistry.counter("app.idempotency", "outcome", "in_progress").count());
+  }
+
+  @Test
+  @DisplayName("Should release the key when the request fails with a server error")
+  void shouldReleaseKeyOnServerError() throws Exception {
+    // Given
+    when(idempotencyKeyRepository.claim(eq(""), eq(KEY), anyString(), any(), any())).thenReturn(true);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // When
+    filter.doFilter(request("/v1/claims", "{}"), response,
+        (req, res) -> ((HttpServletResponse) res).setStatus(HttpStatus.SERVICE_UNAVAILABLE.value()));
+
+    // Then
+    verify(idempotencyKeyRepository).release("", KEY);
+    verify(idempotencyKeyRepository, never()).complete(anyString(), anyString(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Should release the key and rethrow when the request throws")
+  void shouldReleaseKeyOnException() {
+    // Given
+    when(idempotencyKeyRepository.claim(eq(""), eq(KEY), anyString(), any(), any())).thenReturn(true);
+
+    // When / Then
+    assertThrows(ServletException.class, () -> filter.doFilter(request("/v1/claims", "{}"),
+        new MockHttpServletResponse(), (req, res) -> {
+          throw new ServletException("boom");
+        }));
+    verify(idempotencyKeyRepository).release("", KEY);
+  }
+
+  @Test
+  @DisplayName("Should keep extending the lease of its own claim while the request runs")
+  void shouldExtendLeaseWhileRunning() throws Exception {
+    // Given
+    IdempotencyFilter shortLease = new IdempotencyFilter(idempotencyKeyRepository,
+        new ConcurrentMapCacheManager(CacheConfig.IDEMPOTENT_RESPONSES), handlerExceptionResolver,
+        meterRegistry, List.of("/v1/claims"), Duration.ofHours(24), Duration.ofMillis(150));
+    ArgumentCaptor<Instant> claimedAt = ArgumentCaptor.forClass(Instant.class);
+    when(idempotencyKeyRepository.claim(eq(""), eq(KEY), anyString(), claimedAt.capture(), any())).thenReturn(true);
+    CountDownLatch extended = new CountDownLatch(2);
+    when(idempotencyKeyRepository.extend(eq(""), eq(KEY), any(), any())).thenAnswer(invocation -> {
+      extended.countDown();
+      return true;
+    });
+
+    // When
+    shortLease.doFilter(request("/v1/claims", "{}"), new MockHttpServletResponse(), (req, res) -> {
+      try {
+        assertTrue(extended.await(5, TimeUnit.SECONDS), "the lease was not extended while running");
+      } catch (InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+
+    // Then
+    verify(idempotencyKeyRepository, atLeast(2)).extend(eq(""), eq(KEY), eq(claimedAt.getValue()), any());
+    verify(idempotencyKeyRepository).complete(eq(""), eq(KEY), any(), any());
+    shortLease.destroy();
+  }
+
+  @Test
+  @DisplayName("Should reject a key longer than 255 characters with 400")
+  void shouldRejectOversizedKey() throws Exception {
+    // Given
+    MockHttpServletRequest request = request("/v1/claims", "{}");
+    request.removeHeader(IdempotencyFilter.IDEMPOTENCY_KEY);
+    request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, "k".repeat(256));
+
+    // When
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+    // Then
+    assertEquals(0, executions.get());
+    verifyRejected(HttpStatus.BAD_REQUEST);
+    verify(idempotencyKeyRepository, never()).claim(anyString(), anyString(), anyString(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Should pass through requests without a key or to other endpoints")
+  void shouldIgnoreUnmatchedRequests() throws Exception {
+    // Given
+    MockHttpServletRequest withoutKey = request("/v1/claims", "{}");
+    withoutKey.removeHeader(IdempotencyFilter.IDEMPOTENCY_KEY);
+    MockHttpServletRequest otherPath = request("/v1/plans", "{}");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // When
+    filter.doFilter(withoutKey, new MockHttpServletResponse(), chain);
+    filter.doFilter(otherPath, response, chain);
+
+    // Then
+    assertEquals(2, executions.get());
+    assertNull(response.getHeader(IdempotencyFilter.REPLAYED));
+    verify(idempotencyKeyRepository, never()).claim(anyString(), anyString(), anyString(), any(), any());
+  }
+
+  private void verifyRejected(HttpStatus status) {
+    verify(handlerExceptionResolver).resolveException(any(), any(), isNull(),
+        argThat(e -> e instanceof ResponseStatusException rse && rse.getStatusCode() == status));
+  }
+
+  private static String fingerprint(String uri, String body) throws NoSuchAlgorithmException {
+    byte[] digest = MessageDigest.getInstance("SHA-256")
+        .digest(("POST " + uri + "\n" + body).getBytes(StandardCharsets.UTF_8));
+    return HexFormat.of().formatHex(digest);
+  }
+
+  private static MockHttpServletRequest request(String uri, String body) {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+    request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, KEY);
+    request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    request.setContent(body.getBytes(StandardCharsets.UTF_8));
+    return request;
+  }
+}
@@ -0,0 +1,83 @@
+package com.coherentsolutions.pot.insuranceservice.unit.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import com.auth0.net.client.Auth0HttpClient;
+import com.auth0.net.client.Auth0HttpRequest;
+import com.auth0.net.client.Auth0HttpResponse;
+import com.auth0.net.client.HttpMethod;
+import com.coherentsolutions.pot.insuranceservice.config.MeteredAuth0HttpClient;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Metered Auth0 HTTP client")
+class MeteredAuth0HttpClientTest {
+
+  @Mock
+  private Auth0HttpClient delegate;
+  @Mock
+  private Auth0HttpRequest request;
+  @Mock
+  private Auth0HttpResponse response;
+
+  private SimpleMeterRegistry meterRegistry;
+  private MeteredAuth0HttpClient client;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    client = new MeteredAuth0HttpClient(delegate, meterRegistry);
+  }
+
+  @Test
+  @DisplayName("Times successful calls with the user id replaced in the endpoint tag")
+  void timesSuccessfulCalls() throws IOException {
+    // Given
+    when(request.getMethod()).thenReturn(HttpMethod.PATCH);
+    when(request.getUrl()).thenReturn("https://tenant.auth0.com/api/v2/users/auth0%7C64f1c2/roles?page=0");
+    when(response.getCode()).thenReturn(200);
+    when(delegate.sendRequest(request)).thenReturn(response);
+
+    // When
+    Auth0HttpResponse result = client.sendRequest(request);
+
+    // Then
+    assertSame(response, result);
+    Timer timer = meterRegistry.find(MeteredAuth0HttpClient.METRIC_NAME)
+        .tags("method", "PATCH", "endpoint", "/api/v2/users/{id}/roles", "status", "200",
+            "outcome", "SUCCESS")
+        .timer();
+    assertNotNull(timer);
+    assertEquals(1, timer.count());
+  }
+
+  @Test
+  @DisplayName("Times failed calls as errors and rethrows")
+  void timesFailedCalls() throws IOException {
+    // Given
+    when(request.getMethod()).thenReturn(HttpMethod.POST);
+    when(request.getUrl()).thenReturn("https://tenant.auth0.com/api/v2/users");
+    when(delegate.sendRequest(request)).thenThrow(new SocketTimeoutException("timeout"));
+
+    // When / Then
+    assertThrows(SocketTimeoutException.class, () -> client.sendRequest(request));
+    Timer timer = meterRegistry.find(MeteredAuth0HttpClient.METRIC_NAME)
+        .tags("endpoint", "/api/v2/users", "outcome", "ERROR", "exception", "SocketTimeoutException")
+        .timer();
+    assertNotNull(timer);
+    assertEquals(1, timer.count());
+  }
+}
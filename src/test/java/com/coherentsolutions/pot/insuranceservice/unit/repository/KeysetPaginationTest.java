@@ -0,0 +1,122 @@
+package com.coherentsolutions.pot.insuranceservice.unit.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.coherentsolutions.pot.insuranceservice.dto.pagination.CursorSlice;
+import com.coherentsolutions.pot.insuranceservice.model.Company;
+import com.coherentsolutions.pot.insuranceservice.repository.CompanyRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.KeysetCursor;
+import com.coherentsolutions.pot.insuranceservice.repository.KeysetPagination;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Keyset Pagination Tests")
+class KeysetPaginationTest {
+
+  @Mock
+  private CompanyRepository companyRepository;
+
+  private final Specification<Company> noFilters = (root, query, criteriaBuilder) -> null;
+
+  @Test
+  @DisplayName("Should encode and decode cursor")
+  void shouldRoundTripCursor() {
+    KeysetCursor cursor = new KeysetCursor("name", Sort.Direction.DESC, "Acme", UUID.randomUUID());
+
+    assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+  }
+
+  @Test
+  @DisplayName("Should reject malformed cursor with bad request")
+  void shouldRejectMalformedCursor() {
+    ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+        () -> KeysetCursor.decode("not-a-cursor"));
+
+    assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+  }
+
+  @Test
+  @DisplayName("Should return next cursor pointing at the last row when more rows exist")
+  void shouldReturnNextCursorWhenMoreRowsExist() {
+    Company first = company("Alpha");
+    Company second = company("Beta");
+    Company third = company("Gamma");
+    when(companyRepository.findBy(any(), any())).thenReturn(List.of(first, second, third));
+
+    CursorSlice<Company> slice = KeysetPagination.fetch(companyRepository, noFilters,
+        PageRequest.of(0, 2, Sort.by("name")), null);
+
+    assertEquals(List.of(first, second), slice.content());
+    assertTrue(slice.hasNext());
+    KeysetCursor next = KeysetCursor.decode(slice.nextCursor());
+    assertEquals("name", next.property());
+    assertEquals(Sort.Direction.ASC, next.direction());
+    assertEquals("Beta", next.value());
+    assertEquals(second.getId(), next.id());
+  }
+
+  @Test
+  @DisplayName("Should return no cursor on the last window")
+  void shouldReturnNoCursorOnLastWindow() {
+    Company only = company("Alpha");
+    when(companyRepository.findBy(any(), any())).thenReturn(List.of(only));
+    String cursor = new KeysetCursor("id", Sort.Direction.ASC, null, UUID.randomUUID()).encode();
+
+    CursorSlice<Company> slice = KeysetPagination.fetch(companyRepository, noFilters,
+        PageRequest.of(0, 2), cursor);
+
+    assertEquals(List.of(only), slice.content());
+    assertFalse(slice.hasNext());
+    assertNull(slice.nextCursor());
+  }
+
+  @Test
+  @DisplayName("Should reject cursor issued for a different sort")
+  void shouldRejectCursorForDifferentSort() {
+    String cursor = new KeysetCursor("name", Sort.Direction.ASC, "Acme", UUID.randomUUID())
+        .encode();
+
+    ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+        () -> KeysetPagination.fetch(companyRepository, noFilters,
+            PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "name")), cursor));
+
+    assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+    verifyNoInteractions(companyRepository);
+  }
+
+  @Test
+  @DisplayName("Should reject sorting by more than one property")
+  void shouldRejectMultipleSortProperties() {
+    ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+        () -> KeysetPagination.fetch(companyRepository, noFilters,
+            PageRequest.of(0, 2, Sort.by("name", "email")), null));
+
+    assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+    verifyNoInteractions(companyRepository);
+  }
+
+  private static Company company(String name) {
+    Company company = new Company();
+    company.setId(UUID.randomUUID());
+    company.setName(name);
+    return company;
+  }
+}
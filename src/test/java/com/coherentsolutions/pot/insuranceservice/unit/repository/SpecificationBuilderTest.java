@@ -0,0 +1,23 @@
+package com.coherentsolutions.pot.insuranceservice.unit.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.coherentsolutions.pot.insuranceservice.repository.SpecificationBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Specification builder")
+class SpecificationBuilderTest {
+
+  @Test
+  @DisplayName("Builds a lower-cased substring pattern")
+  void buildsLowerCasedSubstringPattern() {
+    assertEquals("%smith%", SpecificationBuilder.containsPattern("SMiTH"));
+  }
+
+  @Test
+  @DisplayName("Matches LIKE wildcards and the escape character literally")
+  void escapesWildcards() {
+    assertEquals("%100\\%\\_off\\\\%", SpecificationBuilder.containsPattern("100%_off\\"));
+  }
+}
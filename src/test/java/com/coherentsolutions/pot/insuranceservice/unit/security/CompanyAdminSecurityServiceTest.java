@@ -0,0 +1,174 @@
+package com.coherentsolutions.pot.insuranceservice.unit.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.coherentsolutions.pot.insuranceservice.config.JwtAuthConverterConfig;
+import com.coherentsolutions.pot.insuranceservice.repository.UserRepository;
+import com.coherentsolutions.pot.insuranceservice.security.authentication.CompanyAuthenticationToken;
+import com.coherentsolutions.pot.insuranceservice.security.authentication.CompanyAuthority;
+import com.coherentsolutions.pot.insuranceservice.security.service.CompanyAdminSecurityService;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("CompanyAdminSecurityService access checks")
+class CompanyAdminSecurityServiceTest {
+
+  private static final String AUDIENCE = "https://api.example.com";
+  private static final String USER_MANAGER = "ROLE_FUNC_COMPANY_USER_MANAGER";
+  private static final UUID COMPANY_ID = UUID.randomUUID();
+
+  private final UserRepository userRepository = mock(UserRepository.class);
+  private final CompanyAdminSecurityService securityService = new CompanyAdminSecurityService(userRepository);
+
+  @AfterEach
+  void clearContext() {
+    SecurityContextHolder.clearContext();
+  }
+
+  private static Jwt jwt(String companyId, List<String> roles, List<String> functions) {
+    Jwt.Builder builder = Jwt.withTokenValue("token")
+        .header("alg", "RS256")
+        .claim("user_uuid", UUID.randomUUID().toString())
+        .issuedAt(Instant.now())
+        .expiresAt(Instant.now().plusSeconds(60));
+    if (companyId != null) {
+      builder.claim(CompanyAuthenticationToken.COMPANY_ID_CLAIM, companyId);
+    }
+    if (roles != null) {
+      builder.claim(AUDIENCE + "/roles", roles);
+    }
+    if (functions != null) {
+      builder.claim(AUDIENCE + "/functions", functions);
+    }
+    return builder.build();
+  }
+
+  private static AbstractAuthenticationToken convert(Jwt jwt) {
+    JwtAuthConverterConfig config = new JwtAuthConverterConfig();
+    ReflectionTestUtils.setField(config, "authAudience", AUDIENCE);
+    return config.jwtAuthenticationConverter().convert(jwt);
+  }
+
+  private static void authenticate(Jwt jwt) {
+    SecurityContextHolder.getContext().setAuthentication(convert(jwt));
+  }
+
+  @Test
+  @DisplayName("Converter produces a token with precomputed authorities and company id")
+  void converterPrecomputesAuthoritiesAndCompany() {
+    AbstractAuthenticationToken token = convert(
+        jwt(COMPANY_ID.toString(), List.of("APPLICATION_ADMIN"), List.of("COMPANY_MANAGER", "UNKNOWN")));
+
+    CompanyAuthenticationToken companyToken = assertInstanceOf(CompanyAuthenticationToken.class, token);
+    assertEquals(COMPANY_ID, companyToken.getCompanyId());
+    assertEquals(CompanyAuthority.APPLICATION_ADMIN.getMask() | CompanyAuthority.COMPANY_MANAGER.getMask(),
+        companyToken.getAuthorityMask());
+    assertEquals(List.of("ROLE_APPLICATION_ADMIN", "ROLE_FUNC_COMPANY_MANAGER", "ROLE_FUNC_UNKNOWN"),
+        token.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+  }
+
+  @Test
+  @DisplayName("Grants access to a company member holding the required function")
+  void grantsAccessToMemberWithFunction() {
+    authenticate(jwt(COMPANY_ID.toString(), null, List.of("CONSUMER", "COMPANY_USER_MANAGER")));
+
+    assertTrue(securityService.canAccessCompanyResource(COMPANY_ID, USER_MANAGER));
+  }
+
+  @Test
+  @DisplayName("Denies access to another company")
+  void deniesAccessToAnotherCompany() {
+    authenticate(jwt(COMPANY_ID.toString(), null, List.of("COMPANY_USER_MANAGER")));
+
+    assertFalse(securityService.canAccessCompanyResource(UUID.randomUUID(), USER_MANAGER));
+  }
+
+  @Test
+  @DisplayName("Denies access without the required function")
+  void deniesAccessWithoutFunction() {
+    authenticate(jwt(COMPANY_ID.toString(), null, List.of("COMPANY_PLAN_MANAGER")));
+
+    assertFalse(securityService.canAccessCompanyResource(COMPANY_ID, USER_MANAGER));
+    assertFalse(securityService.canAccessCompanyResource(COMPANY_ID, "ROLE_FUNC_UNKNOWN"));
+  }
+
+  @Test
+  @DisplayName("Denies access when the company claim is missing or malformed")
+  void deniesAccessWithoutValidCompanyClaim() {
+    authenticate(jwt("not-a-uuid", null, List.of("COMPANY_USER_MANAGER")));
+    assertNull(((CompanyAuthenticationToken) SecurityContextHolder.getContext().getAuthentication()).getCompanyId());
+    assertFalse(securityService.canAccessCompanyResource(COMPANY_ID, USER_MANAGER));
+
+    authenticate(jwt(null, null, List.of("COMPANY_USER_MANAGER")));
+    assertFalse(securityService.canAccessCompanyResource(COMPANY_ID, USER_MANAGER));
+  }
+
+  @Test
+  @DisplayName("Grants application admins access to every company")
+  void grantsApplicationAdminAccess() {
+    authenticate(jwt(null, List.of("APPLICATION_ADMIN"), null));
+
+    assertTrue(securityService.canAccessCompanyResource(UUID.randomUUID(), USER_MANAGER));
+  }
+
+  @Test
+  @DisplayName("Keeps evaluating other authentication types from their authorities")
+  void evaluatesPlainJwtAuthentication() {
+    Jwt jwt = jwt(COMPANY_ID.toString(), null, null);
+    SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt,
+        List.of(new SimpleGrantedAuthority(USER_MANAGER))));
+
+    assertTrue(securityService.canAccessCompanyResource(COMPANY_ID, USER_MANAGER));
+    assertFalse(securityService.canAccessCompanyResource(UUID.randomUUID(), USER_MANAGER));
+  }
+
+  @Test
+  @DisplayName("Checks access to a user against the company the user belongs to")
+  void checksUserAccessAgainstTheirCompany() {
+    UUID userId = UUID.randomUUID();
+    when(userRepository.findCompanyIdById(userId)).thenReturn(Optional.of(COMPANY_ID));
+    authenticate(jwt(COMPANY_ID.toString(), null, List.of("COMPANY_USER_MANAGER")));
+
+    assertTrue(securityService.canAccessUserResource(userId, USER_MANAGER));
+
+    authenticate(jwt(UUID.randomUUID().toString(), null, List.of("COMPANY_USER_MANAGER")));
+    assertFalse(securityService.canAccessUserResource(userId, USER_MANAGER));
+  }
+
+  @Test
+  @DisplayName("Grants access to unknown users only to application admins")
+  void grantsUnknownUserAccessOnlyToAdmins() {
+    UUID userId = UUID.randomUUID();
+    when(userRepository.findCompanyIdById(userId)).thenReturn(Optional.empty());
+    authenticate(jwt(COMPANY_ID.toString(), null, List.of("COMPANY_USER_MANAGER")));
+
+    assertFalse(securityService.canAccessUserResource(userId, USER_MANAGER));
+
+    authenticate(jwt(null, List.of("APPLICATION_ADMIN"), null));
+    assertTrue(securityService.canAccessUserResource(userId, USER_MANAGER));
+  }
+
+  @Test
+  @DisplayName("Denies access when unauthenticated")
+  void deniesAccessWhenUnauthenticated() {
+    assertFalse(securityService.canAccessCompanyResource(COMPANY_ID, USER_MANAGER));
+  }
+}
@@ -0,0 +1,167 @@
+package com.coherentsolutions.pot.insuranceservice.unit.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.coherentsolutions.pot.insuranceservice.security.authentication.CompanyAuthenticationToken;
+import com.coherentsolutions.pot.insuranceservice.security.jwt.CachingJwtDecoder;
+import com.coherentsolutions.pot.insuranceservice.security.jwt.JwtCache;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Decoded JWT cache")
+class JwtCacheTest {
+
+  private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+
+  @Mock
+  private JwtDecoder delegate;
+  @Mock
+  private Converter<Jwt, AbstractAuthenticationToken> converter;
+
+  private MutableClock clock;
+  private JwtCache jwtCache;
+  private CachingJwtDecoder decoder;
+
+  @BeforeEach
+  void setUp() {
+    clock = new MutableClock(NOW);
+    jwtCache = new JwtCache(100, Duration.ofHours(1), clock);
+    decoder = new CachingJwtDecoder(delegate, jwtCache);
+  }
+
+  private static Jwt jwt(String token, Instant expiresAt) {
+    return Jwt.withTokenValue(token)
+        .header("alg", "RS256")
+        .claim("user_uuid", UUID.randomUUID().toString())
+        .issuedAt(NOW.minusSeconds(60))
+        .expiresAt(expiresAt)
+        .build();
+  }
+
+  @Test
+  @DisplayName("Verifies a repeated token only once")
+  void verifiesRepeatedTokenOnce() {
+    Jwt jwt = jwt("token-a", NOW.plusSeconds(300));
+    when(delegate.decode("token-a")).thenReturn(jwt);
+
+    assertSame(jwt, decoder.decode("token-a"));
+    assertSame(jwt, decoder.decode("token-a"));
+
+    verify(delegate, times(1)).decode("token-a");
+    assertEquals(1, jwtCache.getCache().estimatedSize());
+  }
+
+  @Test
+  @DisplayName("Verifies again once the token has expired")
+  void verifiesAgainAfterExpiry() {
+    Jwt jwt = jwt("token-b", NOW.plusSeconds(300));
+    when(delegate.decode("token-b")).thenReturn(jwt);
+    decoder.decode("token-b");
+
+    clock.instant = NOW.plusSeconds(301);
+    decoder.decode("token-b");
+
+    verify(delegate, times(2)).decode("token-b");
+  }
+
+  @Test
+  @DisplayName("Does not cache rejected tokens or tokens without expiry")
+  void doesNotCacheRejectedOrUnboundedTokens() {
+    when(delegate.decode("bad")).thenThrow(new BadJwtException("invalid signature"));
+    when(delegate.decode("no-exp")).thenReturn(Jwt.withTokenValue("no-exp").header("alg", "none")
+        .subject("user").build());
+
+    assertThrows(BadJwtException.class, () -> decoder.decode("bad"));
+    assertThrows(BadJwtException.class, () -> decoder.decode("bad"));
+    decoder.decode("no-exp");
+    decoder.decode("no-exp");
+
+    verify(delegate, times(2)).decode("bad");
+    verify(delegate, times(2)).decode("no-exp");
+    assertEquals(0, jwtCache.getCache().estimatedSize());
+  }
+
+  @Test
+  @DisplayName("Reuses the converted authentication as a fresh token per request")
+  void reusesConvertedAuthentication() {
+    Jwt jwt = jwt("token-c", NOW.plusSeconds(300));
+    when(delegate.decode("token-c")).thenReturn(jwt);
+    when(converter.convert(jwt)).thenAnswer(invocation -> new CompanyAuthenticationToken(jwt,
+        List.of(new SimpleGrantedAuthority("ROLE_FUNC_COMPANY_MANAGER")), "user"));
+    Converter<Jwt, AbstractAuthenticationToken> cachingConverter = jwtCache.cachingConverter(converter);
+
+    AbstractAuthenticationToken first = cachingConverter.convert(decoder.decode("token-c"));
+    first.setDetails("first request");
+    AbstractAuthenticationToken second = cachingConverter.convert(decoder.decode("token-c"));
+
+    verify(converter, times(1)).convert(any());
+    assertNotSame(first, second);
+    assertNull(second.getDetails());
+    assertEquals(first.getAuthorities(), second.getAuthorities());
+    assertEquals("user", second.getName());
+    assertInstanceOf(CompanyAuthenticationToken.class, second);
+  }
+
+  @Test
+  @DisplayName("Converts tokens that were not decoded through the cache every time")
+  void convertsUncachedTokens() {
+    Jwt jwt = jwt("token-d", NOW.plusSeconds(300));
+    Converter<Jwt, AbstractAuthenticationToken> cachingConverter = jwtCache.cachingConverter(converter);
+
+    cachingConverter.convert(jwt);
+    cachingConverter.convert(jwt);
+
+    verify(converter, times(2)).convert(jwt);
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant instant;
+
+    MutableClock(Instant instant) {
+      this.instant = instant;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+}
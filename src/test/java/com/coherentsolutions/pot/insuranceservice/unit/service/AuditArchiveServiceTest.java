@@ -0,0 +1,134 @@
+package com.coherentsolutions.pot.insuranceservice.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.coherentsolutions.pot.insuranceservice.repository.AuditArchiveStore;
+import com.coherentsolutions.pot.insuranceservice.repository.AuditPartitionRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.AuditPartitionRepository.AuditSegment;
+import com.coherentsolutions.pot.insuranceservice.service.AuditArchiveService;
+import com.coherentsolutions.pot.insuranceservice.service.AuditArchiveService.ArchiveReport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class AuditArchiveServiceTest {
+
+  private static final YearMonth CURRENT = YearMonth.of(2025, 9);
+  private static final Instant ARCHIVED_AT = Instant.parse("2025-01-01T00:45:00Z");
+
+  @Mock
+  private AuditPartitionRepository auditPartitionRepository;
+  @Mock
+  private AuditArchiveStore auditArchiveStore;
+
+  private SimpleMeterRegistry meterRegistry;
+  private AuditArchiveService auditArchiveService;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    auditArchiveService = new AuditArchiveService(auditPartitionRepository, auditArchiveStore, meterRegistry);
+  }
+
+  @Test
+  @DisplayName("Should seal every month from the oldest unsealed one up to the current month")
+  void shouldSealPastMonths() {
+    // Given
+    when(auditPartitionRepository.findOldestUnsealedMonth()).thenReturn(Optional.of(YearMonth.of(2025, 6)));
+    when(auditPartitionRepository.sealMonth(YearMonth.of(2025, 6))).thenReturn(false);
+    when(auditPartitionRepository.sealMonth(YearMonth.of(2025, 7))).thenReturn(true);
+    when(auditPartitionRepository.sealMonth(YearMonth.of(2025, 8))).thenReturn(true);
+
+    // When
+    ArchiveReport report = auditArchiveService.archive(CURRENT);
+
+    // Then
+    assertEquals(List.of(YearMonth.of(2025, 7), YearMonth.of(2025, 8)), report.sealed());
+    assertEquals(List.of(), report.archived());
+    verify(auditPartitionRepository, never()).sealMonth(CURRENT);
+    verify(auditPartitionRepository, never()).findSegments();
+    assertEquals(2, meterRegistry.counter("app.audit.archive", "action", "sealed").count());
+  }
+
+  @Test
+  @DisplayName("Should export and drop attached segments older than the retention")
+  void shouldArchiveExpiredSegments() throws IOException {
+    // Given
+    ReflectionTestUtils.setField(auditArchiveService, "retentionMonths", 12);
+    when(auditPartitionRepository.findOldestUnsealedMonth()).thenReturn(Optional.empty());
+    when(auditPartitionRepository.findSegments()).thenReturn(List.of(
+        new AuditSegment(YearMonth.of(2024, 7), 1, 10, ARCHIVED_AT),
+        new AuditSegment(YearMonth.of(2024, 8), 10, 20, null),
+        new AuditSegment(YearMonth.of(2024, 9), 20, 30, null)));
+
+    // When
+    ArchiveReport report = auditArchiveService.archive(CURRENT);
+
+    // Then
+    assertEquals(List.of(YearMonth.of(2024, 8)), report.archived());
+    verify(auditArchiveStore, times(AuditPartitionRepository.TABLES.size())).write(anyString(), any());
+    verify(auditArchiveStore).write(eq("2024_08/users_aud.csv.gz"), any());
+    verify(auditPartitionRepository).dropPartitions(YearMonth.of(2024, 8));
+    verify(auditPartitionRepository, never()).dropPartitions(YearMonth.of(2024, 7));
+    verify(auditPartitionRepository, never()).dropPartitions(YearMonth.of(2024, 9));
+  }
+
+  @Test
+  @DisplayName("Should read the accepted rows of an export with quoted values intact and empty values as null")
+  void shouldReadArchivedRows() throws IOException {
+    // Given
+    AuditSegment segment = new AuditSegment(YearMonth.of(2024, 7), 1, 10, ARCHIVED_AT);
+    String csv = """
+        id,rev,first_name,address_data
+        a,1,"Smith, ""Jr\""",
+        b,2,Other,
+        a,3,,"{""city"": ""Line
+        break""}"
+        """;
+    when(auditArchiveStore.open("2024_07/users_aud.csv.gz")).thenReturn(gzip(csv));
+
+    // When
+    List<Map<String, String>> rows = auditArchiveService.readRows(segment, "users_aud",
+        row -> "a".equals(row.get("id")));
+
+    // Then
+    assertEquals(2, rows.size());
+    assertEquals("Smith, \"Jr\"", rows.get(0).get("first_name"));
+    assertNull(rows.get(0).get("address_data"));
+    assertNull(rows.get(1).get("first_name"));
+    assertEquals("{\"city\": \"Line\nbreak\"}", rows.get(1).get("address_data"));
+  }
+
+  private static InputStream gzip(String content) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+      out.write(content.getBytes(StandardCharsets.UTF_8));
+    }
+    return new ByteArrayInputStream(bytes.toByteArray());
+  }
+}
@@ -0,0 +1,254 @@
+package com.coherentsolutions.pot.insuranceservice.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.coherentsolutions.pot.insuranceservice.dto.auth0.Auth0InvitationDto;
+import com.coherentsolutions.pot.insuranceservice.dto.auth0.Auth0UserDto;
+import com.coherentsolutions.pot.insuranceservice.dto.user.UserDto;
+import com.coherentsolutions.pot.insuranceservice.enums.ProvisioningStatus;
+import com.coherentsolutions.pot.insuranceservice.exception.Auth0Exception;
+import com.coherentsolutions.pot.insuranceservice.mapper.UserMapper;
+import com.coherentsolutions.pot.insuranceservice.model.Auth0ProvisioningTask;
+import com.coherentsolutions.pot.insuranceservice.model.User;
+import com.coherentsolutions.pot.insuranceservice.repository.Auth0ProvisioningTaskRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.UserRepository;
+import com.coherentsolutions.pot.insuranceservice.service.Auth0InvitationService;
+import com.coherentsolutions.pot.insuranceservice.service.Auth0ProvisioningDispatcher;
+import com.coherentsolutions.pot.insuranceservice.service.UserInvitationService;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Auth0 Provisioning Dispatcher Tests")
+class Auth0ProvisioningDispatcherTest {
+
+  private static final String EMAIL = "john.doe@example.com";
+  private static final Auth0InvitationDto INVITATION = Auth0InvitationDto.builder()
+      .email(EMAIL)
+      .name("John Doe")
+      .build();
+
+  @Mock
+  private Auth0ProvisioningTaskRepository auth0ProvisioningTaskRepository;
+  @Mock
+  private UserRepository userRepository;
+  @Mock
+  private Auth0InvitationService auth0InvitationService;
+  @Mock
+  private UserInvitationService userInvitationService;
+  @Mock
+  private UserMapper userMapper;
+  @Mock
+  private TransactionTemplate transactionTemplate;
+
+  private Auth0ProvisioningDispatcher dispatcher;
+
+  @BeforeEach
+  void setUp() {
+    dispatcher = new Auth0ProvisioningDispatcher(auth0ProvisioningTaskRepository, userRepository,
+        auth0InvitationService, userInvitationService, userMapper, transactionTemplate);
+    ReflectionTestUtils.setField(dispatcher, "batchSize", 10);
+    ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+    ReflectionTestUtils.setField(dispatcher, "initialBackoff", Duration.ofSeconds(5));
+    ReflectionTestUtils.setField(dispatcher, "maxBackoff", Duration.ofSeconds(60));
+    ReflectionTestUtils.setField(dispatcher, "retention", Duration.ofDays(30));
+
+    lenient().when(transactionTemplate.execute(any())).thenAnswer(
+        invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    lenient().doAnswer(invocation -> {
+      invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+      return null;
+    }).when(transactionTemplate).executeWithoutResult(any());
+    UserDto userDto = new UserDto();
+    lenient().when(userMapper.toDto(any(User.class))).thenReturn(userDto);
+    lenient().when(userInvitationService.buildInvitationDto(userDto)).thenReturn(INVITATION);
+  }
+
+  @Test
+  @DisplayName("Should create Auth0 user and record its id on first attempt")
+  void shouldCreateAuth0UserAndRecordIdOnFirstAttempt() {
+    // Given
+    Auth0ProvisioningTask task = task(0);
+    when(auth0ProvisioningTaskRepository.lockDueTasks(any(Instant.class), eq(10))).thenReturn(List.of(task));
+    when(auth0InvitationService.createUserWithInvitation(INVITATION)).thenReturn(auth0User("auth0|123"));
+
+    // When
+    int processed = dispatcher.drain();
+
+    // Then
+    assertEquals(1, processed);
+    assertEquals(1, task.getAttempts());
+    verify(auth0InvitationService, never()).findUserIdByEmail(any());
+    verify(userMapper).toDto(task.getUser());
+    verify(userRepository).updateAuth0UserId(task.getUser().getId(), "auth0|123");
+    verify(auth0ProvisioningTaskRepository).recordOutcome(eq(task.getId()), eq(ProvisioningStatus.COMPLETED),
+        any(Instant.class), isNull(), any(Instant.class));
+  }
+
+  @Test
+  @DisplayName("Should reuse existing Auth0 user when retrying")
+  void shouldReuseExistingAuth0UserWhenRetrying() {
+    // Given
+    Auth0ProvisioningTask task = task(1);
+    when(auth0ProvisioningTaskRepository.lockDueTasks(any(Instant.class), eq(10))).thenReturn(List.of(task));
+    when(auth0InvitationService.findUserIdByEmail(EMAIL)).thenReturn(Optional.of("auth0|existing"));
+
+    // When
+    dispatcher.dispatchBatch();
+
+    // Then
+    verify(auth0InvitationService).resendInvitation("auth0|existing", EMAIL);
+    verify(auth0InvitationService, never()).createUserWithInvitation(any());
+    verify(userRepository).updateAuth0UserId(task.getUser().getId(), "auth0|existing");
+  }
+
+  @Test
+  @DisplayName("Should reschedule failed task with exponential backoff")
+  void shouldRescheduleFailedTaskWithBackoff() {
+    // Given
+    Auth0ProvisioningTask task = task(1);
+    when(auth0ProvisioningTaskRepository.lockDueTasks(any(Instant.class), eq(10))).thenReturn(List.of(task));
+    when(auth0InvitationService.findUserIdByEmail(EMAIL)).thenReturn(Optional.empty());
+    when(auth0InvitationService.createUserWithInvitation(INVITATION))
+        .thenThrow(new Auth0Exception("Auth0 unavailable", "AUTH0_ERROR", 503));
+    Instant before = Instant.now();
+
+    // When
+    dispatcher.dispatchBatch();
+
+    // Then
+    ArgumentCaptor<Instant> nextAttempt = ArgumentCaptor.forClass(Instant.class);
+    verify(auth0ProvisioningTaskRepository).recordOutcome(eq(task.getId()), eq(ProvisioningStatus.PENDING),
+        nextAttempt.capture(), eq("Auth0 unavailable"), isNull());
+    assertFalse(nextAttempt.getValue().isBefore(before.plusSeconds(10)));
+    verify(userRepository, never()).updateAuth0UserId(any(), any());
+  }
+
+  @Test
+  @DisplayName("Should mark task as failed after the last attempt")
+  void shouldMarkTaskAsFailedAfterLastAttempt() {
+    // Given
+    Auth0ProvisioningTask task = task(2);
+    when(auth0ProvisioningTaskRepository.lockDueTasks(any(Instant.class), eq(10))).thenReturn(List.of(task));
+    when(auth0InvitationService.findUserIdByEmail(EMAIL))
+        .thenThrow(new Auth0Exception("Auth0 unavailable", "AUTH0_USER_LOOKUP_FAILED", 502));
+
+    // When
+    dispatcher.dispatchBatch();
+
+    // Then
+    verify(auth0ProvisioningTaskRepository).recordOutcome(eq(task.getId()), eq(ProvisioningStatus.FAILED),
+        any(Instant.class), eq("Auth0 unavailable"), any(Instant.class));
+  }
+
+  @Test
+  @DisplayName("Should fail only the tasks whose invitation cannot be built and dispatch the rest")
+  void shouldFailOnlyTasksWhoseInvitationCannotBeBuilt() {
+    // Given
+    Auth0ProvisioningTask retried = task(0);
+    Auth0ProvisioningTask exhausted = task(2);
+    Auth0ProvisioningTask task = task(0);
+    when(auth0ProvisioningTaskRepository.lockDueTasks(any(Instant.class), eq(10)))
+        .thenReturn(List.of(retried, exhausted, task));
+    when(userMapper.toDto(retried.getUser())).thenThrow(new IllegalStateException("User has no email"));
+    when(userMapper.toDto(exhausted.getUser())).thenThrow(new IllegalStateException("User has no email"));
+    when(auth0InvitationService.createUserWithInvitation(INVITATION)).thenReturn(auth0User("auth0|123"));
+    Instant before = Instant.now();
+
+    // When
+    int processed = dispatcher.dispatchBatch();
+
+    // Then
+    assertEquals(1, processed);
+    assertEquals(ProvisioningStatus.PENDING, retried.getStatus());
+    assertEquals(1, retried.getAttempts());
+    assertEquals("User has no email", retried.getLastError());
+    assertFalse(retried.getNextAttemptAt().isBefore(before.plusSeconds(5)));
+    assertEquals(ProvisioningStatus.FAILED, exhausted.getStatus());
+    assertEquals(3, exhausted.getAttempts());
+    assertNotNull(exhausted.getProcessedAt());
+    verify(auth0ProvisioningTaskRepository, never()).recordOutcome(eq(retried.getId()), any(), any(), any(), any());
+    verify(userRepository).updateAuth0UserId(task.getUser().getId(), "auth0|123");
+  }
+
+  @Test
+  @DisplayName("Should do nothing when no task is due")
+  void shouldDoNothingWhenNoTaskIsDue() {
+    // Given
+    when(auth0ProvisioningTaskRepository.lockDueTasks(any(Instant.class), anyInt())).thenReturn(List.of());
+
+    // When
+    int processed = dispatcher.drain();
+
+    // Then
+    assertEquals(0, processed);
+    verify(auth0ProvisioningTaskRepository, never()).recordOutcome(any(), any(), any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Should delete tasks processed before the retention period")
+  void shouldDeleteProcessedTasksOlderThanRetention() {
+    // Given
+    when(auth0ProvisioningTaskRepository.deleteProcessedBefore(any(Instant.class))).thenReturn(3);
+    Instant before = Instant.now();
+
+    // When
+    dispatcher.deleteProcessedTasks();
+
+    // Then
+    ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+    verify(auth0ProvisioningTaskRepository).deleteProcessedBefore(cutoff.capture());
+    assertFalse(cutoff.getValue().isBefore(before.minus(Duration.ofDays(30))));
+    assertFalse(cutoff.getValue().isAfter(Instant.now().minus(Duration.ofDays(30))));
+  }
+
+  @Test
+  @DisplayName("Should cap backoff at the configured maximum")
+  void shouldCapBackoffAtConfiguredMaximum() {
+    // When & Then
+    assertEquals(Duration.ofSeconds(5), ReflectionTestUtils.invokeMethod(dispatcher, "backoff", 1));
+    assertEquals(Duration.ofSeconds(20), ReflectionTestUtils.invokeMethod(dispatcher, "backoff", 3));
+    assertEquals(Duration.ofSeconds(60), ReflectionTestUtils.invokeMethod(dispatcher, "backoff", 10));
+  }
+
+  private static Auth0ProvisioningTask task(int previousAttempts) {
+    User user = new User();
+    user.setId(UUID.randomUUID());
+    Auth0ProvisioningTask task = new Auth0ProvisioningTask(user);
+    task.setId(UUID.randomUUID());
+    task.setAttempts(previousAttempts);
+    return task;
+  }
+
+  private static Auth0UserDto auth0User(String userId) {
+    Auth0UserDto auth0User = new Auth0UserDto();
+    auth0User.setUserId(userId);
+    return auth0User;
+  }
+}
@@ -0,0 +1,192 @@
+package com.coherentsolutions.pot.insuranceservice.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimBatchResult;
+import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimBatchRowResult;
+import com.coherentsolutions.pot.insuranceservice.dto.claim.ClaimDto;
+import com.coherentsolutions.pot.insuranceservice.enums.ClaimStatus;
+import com.coherentsolutions.pot.insuranceservice.mapper.ClaimMapper;
+import com.coherentsolutions.pot.insuranceservice.model.Claim;
+import com.coherentsolutions.pot.insuranceservice.repository.ClaimRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.PlanRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.UserRepository;
+import com.coherentsolutions.pot.insuranceservice.service.ClaimBatchService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Claim Batch Service Tests")
+class ClaimBatchServiceTest {
+
+  private static final UUID USER_ID = UUID.randomUUID();
+  private static final UUID PLAN_ID = UUID.randomUUID();
+
+  @Mock
+  private ClaimRepository claimRepository;
+  @Mock
+  private PlanRepository planRepository;
+  @Mock
+  private UserRepository userRepository;
+  @Mock
+  private ClaimMapper claimMapper;
+  @Mock
+  private TransactionTemplate transactionTemplate;
+
+  private ClaimBatchService claimBatchService;
+
+  @BeforeEach
+  void setUp() {
+    ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    claimBatchService = new ClaimBatchService(claimRepository, planRepository, userRepository,
+        claimMapper, objectMapper, Validation.buildDefaultValidatorFactory().getValidator(),
+        transactionTemplate);
+    ReflectionTestUtils.setField(claimBatchService, "chunkSize", 2);
+
+    lenient().when(transactionTemplate.execute(any())).thenAnswer(
+        invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    lenient().when(claimMapper.toEntity(any(ClaimDto.class))).thenAnswer(invocation -> {
+      ClaimDto dto = invocation.getArgument(0);
+      Claim claim = new Claim();
+      claim.setAmount(dto.getAmount());
+      claim.setServiceDate(dto.getServiceDate());
+      return claim;
+    });
+    lenient().when(claimRepository.saveAll(anyList())).thenAnswer(invocation -> {
+      List<Claim> claims = invocation.getArgument(0);
+      claims.forEach(claim -> claim.setId(UUID.randomUUID()));
+      return claims;
+    });
+  }
+
+  @Test
+  @DisplayName("Should accept valid claims from a JSON array in chunks")
+  void shouldAcceptClaimsFromJsonArrayInChunks() throws Exception {
+    // Given
+    when(userRepository.findExistingIds(anyCollection())).thenReturn(Set.of(USER_ID));
+    when(planRepository.findExistingIds(anyCollection())).thenReturn(Set.of(PLAN_ID));
+    String body = "[" + claimJson(USER_ID, PLAN_ID, "10.00") + ","
+        + claimJson(USER_ID, PLAN_ID, "20.00") + ","
+        + claimJson(USER_ID, PLAN_ID, "30.00") + "]";
+
+    // When
+    ClaimBatchResult result = claimBatchService.createClaims(stream(body));
+
+    // Then
+    assertEquals(3, result.accepted());
+    assertEquals(0, result.rejected());
+    assertTrue(result.rows().stream().allMatch(row -> row.claimId() != null));
+    verify(userRepository, times(2)).findExistingIds(anyCollection());
+    verify(transactionTemplate, times(2)).execute(any());
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<Claim>> saved = ArgumentCaptor.forClass(List.class);
+    verify(claimRepository, times(2)).saveAll(saved.capture());
+    assertTrue(saved.getAllValues().stream().flatMap(List::stream)
+        .allMatch(claim -> claim.getStatus() == ClaimStatus.PENDING));
+  }
+
+  @Test
+  @DisplayName("Should report invalid and unresolvable NDJSON rows without storing them")
+  void shouldRejectInvalidRows() throws Exception {
+    // Given
+    UUID unknownPlan = UUID.randomUUID();
+    when(userRepository.findExistingIds(anyCollection())).thenReturn(Set.of(USER_ID));
+    when(planRepository.findExistingIds(anyCollection())).thenReturn(Set.of(PLAN_ID));
+    String body = claimJson(USER_ID, PLAN_ID, "10.00") + "\n"
+        + claimJson(USER_ID, PLAN_ID, "-5.00") + "\n"
+        + "{\"planId\":\"not-a-uuid\"}\n"
+        + claimJson(USER_ID, unknownPlan, "15.00") + "\n";
+
+    // When
+    ClaimBatchResult result = claimBatchService.createClaims(stream(body));
+
+    // Then
+    assertEquals(1, result.accepted());
+    assertEquals(3, result.rejected());
+    List<ClaimBatchRowResult> rows = result.rows();
+    assertEquals(List.of(1, 2, 3, 4), rows.stream().map(ClaimBatchRowResult::row).toList());
+    assertTrue(rows.get(0).accepted());
+    assertFalse(rows.get(1).accepted());
+    assertTrue(rows.get(1).errors().contains("amount: Amount must be positive"));
+    assertFalse(rows.get(2).accepted());
+    assertFalse(rows.get(3).accepted());
+    assertEquals(List.of("Plan not found: " + unknownPlan), rows.get(3).errors());
+  }
+
+  @Test
+  @DisplayName("Should reject null elements as rows without failing the upload")
+  void shouldRejectNullRows() throws Exception {
+    // Given
+    when(userRepository.findExistingIds(anyCollection())).thenReturn(Set.of(USER_ID));
+    when(planRepository.findExistingIds(anyCollection())).thenReturn(Set.of(PLAN_ID));
+    String body = "[" + claimJson(USER_ID, PLAN_ID, "10.00") + ", null]";
+
+    // When
+    ClaimBatchResult result = claimBatchService.createClaims(stream(body));
+
+    // Then
+    assertEquals(1, result.accepted());
+    assertEquals(1, result.rejected());
+    ClaimBatchRowResult nullRow = result.rows().get(1);
+    assertEquals(2, nullRow.row());
+    assertEquals(List.of("Row must be a JSON object"), nullRow.errors());
+  }
+
+  @Test
+  @DisplayName("Should stop at malformed JSON and keep rows read before it")
+  void shouldStopAtMalformedJson() throws Exception {
+    // Given
+    when(userRepository.findExistingIds(anyCollection())).thenReturn(Set.of(USER_ID));
+    when(planRepository.findExistingIds(anyCollection())).thenReturn(Set.of(PLAN_ID));
+    String body = claimJson(USER_ID, PLAN_ID, "10.00") + "\n{\"amount\": ";
+
+    // When
+    ClaimBatchResult result = claimBatchService.createClaims(stream(body));
+
+    // Then
+    assertEquals(1, result.accepted());
+    assertEquals(1, result.rejected());
+    ClaimBatchRowResult malformed = result.rows().get(1);
+    assertEquals(2, malformed.row());
+    assertNotNull(malformed.errors());
+    assertTrue(malformed.errors().getFirst().startsWith("Malformed input"));
+  }
+
+  private static String claimJson(UUID userId, UUID planId, String amount) {
+    return """
+        {"consumer":{"userId":"%s"},"planId":"%s","serviceDate":"%s","amount":%s}"""
+        .formatted(userId, planId, LocalDate.now().minusDays(1), amount);
+  }
+
+  private static ByteArrayInputStream stream(String body) {
+    return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,78 @@
+package com.coherentsolutions.pot.insuranceservice.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.coherentsolutions.pot.insuranceservice.repository.ClaimPartitionRepository;
+import com.coherentsolutions.pot.insuranceservice.service.ClaimPartitionMaintainer;
+import com.coherentsolutions.pot.insuranceservice.service.ClaimPartitionMaintainer.MaintenanceReport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class ClaimPartitionMaintainerTest {
+
+  private static final YearMonth CURRENT = YearMonth.of(2025, 9);
+
+  @Mock
+  private ClaimPartitionRepository claimPartitionRepository;
+
+  private SimpleMeterRegistry meterRegistry;
+  private ClaimPartitionMaintainer claimPartitionMaintainer;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    claimPartitionMaintainer = new ClaimPartitionMaintainer(claimPartitionRepository, meterRegistry);
+    ReflectionTestUtils.setField(claimPartitionMaintainer, "monthsAhead", 2);
+  }
+
+  @Test
+  @DisplayName("Should create missing partitions for the current and upcoming months")
+  void shouldCreateUpcomingPartitions() {
+    // Given
+    when(claimPartitionRepository.createMonthlyPartition(CURRENT)).thenReturn(false);
+    when(claimPartitionRepository.createMonthlyPartition(YearMonth.of(2025, 10))).thenReturn(false);
+    when(claimPartitionRepository.createMonthlyPartition(YearMonth.of(2025, 11))).thenReturn(true);
+
+    // When
+    MaintenanceReport report = claimPartitionMaintainer.maintain(CURRENT);
+
+    // Then
+    assertEquals(List.of(YearMonth.of(2025, 11)), report.created());
+    assertEquals(List.of(), report.archived());
+    assertEquals(1, meterRegistry.counter("app.claims.partitions", "action", "created").count());
+    verify(claimPartitionRepository, never()).findPartitionMonths();
+  }
+
+  @Test
+  @DisplayName("Should archive only partitions older than the retention")
+  void shouldArchiveExpiredPartitions() {
+    // Given
+    ReflectionTestUtils.setField(claimPartitionMaintainer, "retentionMonths", 12);
+    when(claimPartitionRepository.createMonthlyPartition(any())).thenReturn(false);
+    when(claimPartitionRepository.findPartitionMonths()).thenReturn(List.of(
+        YearMonth.of(2024, 7), YearMonth.of(2024, 8), YearMonth.of(2024, 9), YearMonth.of(2024, 10)));
+
+    // When
+    MaintenanceReport report = claimPartitionMaintainer.maintain(CURRENT);
+
+    // Then
+    assertEquals(List.of(YearMonth.of(2024, 7), YearMonth.of(2024, 8)), report.archived());
+    verify(claimPartitionRepository).archivePartition(YearMonth.of(2024, 7));
+    verify(claimPartitionRepository).archivePartition(YearMonth.of(2024, 8));
+    verify(claimPartitionRepository, never()).archivePartition(YearMonth.of(2024, 9));
+    assertEquals(2, meterRegistry.counter("app.claims.partitions", "action", "archived").count());
+  }
+}
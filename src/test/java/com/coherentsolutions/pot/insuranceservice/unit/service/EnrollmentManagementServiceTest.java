@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -13,6 +14,7 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.coherentsolutions.pot.insuranceservice.dto.enrollment.EnrollmentDto;
+import com.coherentsolutions.pot.insuranceservice.dto.enrollment.EnrollmentFilter;
 import com.coherentsolutions.pot.insuranceservice.mapper.EnrollmentMapper;
 import com.coherentsolutions.pot.insuranceservice.model.Enrollment;
 import com.coherentsolutions.pot.insuranceservice.model.Plan;
@@ -33,6 +35,11 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -224,8 +231,8 @@ public class EnrollmentManagementServiceTest {
   }
 
   @Test
-  @DisplayName("Should return mapped DTOs for active enrollments")
-  void listAll_shouldReturnDtos() {
+  @DisplayName("Should return page of mapped DTOs for active enrollments")
+  void getEnrollments_shouldReturnDtos() {
     UUID enrollmentId1 = UUID.randomUUID();
     UUID enrollmentId2 = UUID.randomUUID();
 
@@ -243,41 +250,47 @@ public class EnrollmentManagementServiceTest {
         buildEnrollmentDto(
             enrollmentId2, userId, planId, new BigDecimal("50.00"), new BigDecimal("2000.00"));
 
-    when(enrollmentRepository.findAllByDeletedAtIsNull()).thenReturn(
-        List.of(enrollment1, enrollment2));
+    Pageable pageable = PageRequest.of(0, 10);
+    EnrollmentFilter filter = new EnrollmentFilter();
+    filter.setUserId(userId);
+    when(enrollmentRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(
+        new PageImpl<>(List.of(enrollment1, enrollment2), pageable, 2));
     when(enrollmentMapper.toDto(enrollment1)).thenReturn(enrollmentDto1);
     when(enrollmentMapper.toDto(enrollment2)).thenReturn(enrollmentDto2);
 
-    List<EnrollmentDto> result = enrollmentService.getAll();
+    Page<EnrollmentDto> result = enrollmentService.getEnrollmentsWithFilters(filter, pageable);
 
     assertNotNull(result);
-    assertEquals(2, result.size());
-    assertEquals(enrollmentDto1, result.get(0));
-    assertEquals(enrollmentDto2, result.get(1));
+    assertEquals(2, result.getTotalElements());
+    assertEquals(enrollmentDto1, result.getContent().get(0));
+    assertEquals(enrollmentDto2, result.getContent().get(1));
 
-    verify(enrollmentRepository).findAllByDeletedAtIsNull();
+    verify(enrollmentRepository).findAll(any(Specification.class), eq(pageable));
     verify(enrollmentMapper).toDto(enrollment1);
     verify(enrollmentMapper).toDto(enrollment2);
     verifyNoInteractions(userRepository, planRepository);
   }
 
   @Test
-  @DisplayName("Should return empty list when no active enrollments")
-  void listAll_shouldReturnEmptyList_whenNoActiveEnrollments() {
-    when(enrollmentRepository.findAllByDeletedAtIsNull()).thenReturn(List.of());
+  @DisplayName("Should return empty page when no active enrollments match")
+  void getEnrollments_shouldReturnEmptyPage_whenNoActiveEnrollments() {
+    Pageable pageable = PageRequest.of(0, 10);
+    when(enrollmentRepository.findAll(any(Specification.class), eq(pageable)))
+        .thenReturn(Page.empty(pageable));
 
-    List<EnrollmentDto> result = enrollmentService.getAll();
+    Page<EnrollmentDto> result =
+        enrollmentService.getEnrollmentsWithFilters(new EnrollmentFilter(), pageable);
 
     assertNotNull(result);
     assertTrue(result.isEmpty());
 
-    verify(enrollmentRepository).findAllByDeletedAtIsNull();
+    verify(enrollmentRepository).findAll(any(Specification.class), eq(pageable));
     verifyNoInteractions(enrollmentMapper, userRepository, planRepository);
   }
 
   @Test
-  @DisplayName("Should call mapper for each entity")
-  void listAll_shouldCallMapperForEachEntity() {
+  @DisplayName("Should call mapper for each entity of the page")
+  void getEnrollments_shouldCallMapperForEachEntity() {
     Enrollment enrollment1 =
         buildEnrollment(
             UUID.randomUUID(), userId, planId, new BigDecimal("10.00"), new BigDecimal("111.11"));
@@ -288,8 +301,9 @@ public class EnrollmentManagementServiceTest {
         buildEnrollment(
             UUID.randomUUID(), userId, planId, new BigDecimal("30.00"), new BigDecimal("333.33"));
 
-    when(enrollmentRepository.findAllByDeletedAtIsNull()).thenReturn(
-        List.of(enrollment1, enrollment2, enrollment3));
+    Pageable pageable = PageRequest.of(0, 3);
+    when(enrollmentRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(
+        new PageImpl<>(List.of(enrollment1, enrollment2, enrollment3), pageable, 3));
     when(enrollmentMapper.toDto(enrollment1)).thenReturn(
         buildEnrollmentDto(enrollment1.getId(), userId, planId, enrollment1.getElectionAmount(),
             enrollment1.getPlanContribution()));
@@ -300,7 +314,7 @@ public class EnrollmentManagementServiceTest {
         buildEnrollmentDto(enrollment3.getId(), userId, planId, enrollment3.getElectionAmount(),
             enrollment3.getPlanContribution()));
 
-    enrollmentService.getAll();
+    enrollmentService.getEnrollmentsWithFilters(new EnrollmentFilter(), pageable);
 
     verify(enrollmentMapper, times(1)).toDto(enrollment1);
     verify(enrollmentMapper, times(1)).toDto(enrollment2);
@@ -309,16 +323,19 @@ public class EnrollmentManagementServiceTest {
 
   @Test
   @DisplayName("Should propagate exception thrown by mapper")
-  void listAll_shouldPropagateMapperException() {
+  void getEnrollments_shouldPropagateMapperException() {
     Enrollment enrollment1 =
         buildEnrollment(
             UUID.randomUUID(), userId, planId, new BigDecimal("10.00"), new BigDecimal("111.11"));
 
-    when(enrollmentRepository.findAllByDeletedAtIsNull()).thenReturn(List.of(enrollment1));
+    Pageable pageable = PageRequest.of(0, 10);
+    when(enrollmentRepository.findAll(any(Specification.class), eq(pageable)))
+        .thenReturn(new PageImpl<>(List.of(enrollment1), pageable, 1));
     when(enrollmentMapper.toDto(enrollment1)).thenThrow(new IllegalStateException("mapping boom"));
 
     IllegalStateException exception =
-        assertThrows(IllegalStateException.class, () -> enrollmentService.getAll());
+        assertThrows(IllegalStateException.class,
+            () -> enrollmentService.getEnrollmentsWithFilters(new EnrollmentFilter(), pageable));
 
     assertEquals("mapping boom", exception.getMessage());
   }
@@ -1,99 +1,116 @@
 package com.coherentsolutions.pot.insuranceservice.unit.service;
 
-import static org.mockito.ArgumentMatchers.anyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import com.coherentsolutions.pot.insuranceservice.enums.PackageStatus;
-import com.coherentsolutions.pot.insuranceservice.model.InsurancePackage;
+import com.coherentsolutions.pot.insuranceservice.config.SecurityAuditor;
 import com.coherentsolutions.pot.insuranceservice.repository.InsurancePackageRepository;
 import com.coherentsolutions.pot.insuranceservice.service.InsurancePackageStatusUpdater;
+import com.coherentsolutions.pot.insuranceservice.service.InsurancePackageStatusUpdater.StatusUpdateReport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.LocalDate;
-import java.util.Arrays;
-import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 class InsurancePackageStatusUpdaterTest {
 
+  private static final LocalDate TODAY = LocalDate.of(2025, 9, 1);
+
   @Mock
   private InsurancePackageRepository insurancePackageRepository;
 
+  private SimpleMeterRegistry meterRegistry;
   private InsurancePackageStatusUpdater insurancePackageStatusUpdater;
 
   @BeforeEach
   void setUp() {
-    insurancePackageStatusUpdater = new InsurancePackageStatusUpdater(insurancePackageRepository);
+    meterRegistry = new SimpleMeterRegistry();
+    insurancePackageStatusUpdater = new InsurancePackageStatusUpdater(insurancePackageRepository,
+        meterRegistry);
+    ReflectionTestUtils.setField(insurancePackageStatusUpdater, "batchSize", 2);
   }
 
   @Test
-  @DisplayName("Should update package status successfully")
+  @DisplayName("Should apply expire and activate transitions and report counts")
   void shouldUpdatePackageStatusSuccessfully() {
     // Given
-    InsurancePackage package1 = new InsurancePackage();
-    package1.setStartDate(LocalDate.now().plusDays(1));
-    package1.setEndDate(LocalDate.now().plusMonths(1));
-    package1.setStatus(PackageStatus.ACTIVE);
+    when(insurancePackageRepository.expireBatch(TODAY, 2, SecurityAuditor.SYSTEM)).thenReturn(1);
+    when(insurancePackageRepository.activateBatch(TODAY, 2, SecurityAuditor.SYSTEM)).thenReturn(1);
 
-    InsurancePackage package2 = new InsurancePackage();
-    package2.setStartDate(LocalDate.now().minusDays(1));
-    package2.setEndDate(LocalDate.now().plusDays(1));
-    package2.setStatus(PackageStatus.INITIALIZED);
+    // When
+    StatusUpdateReport report = insurancePackageStatusUpdater.recalculateStatuses(TODAY);
 
-    List<InsurancePackage> packages = Arrays.asList(package1, package2);
+    // Then
+    assertEquals(1, report.activated());
+    assertEquals(1, report.expired());
+    assertEquals(2, report.total());
+    verify(insurancePackageRepository).expireBatch(TODAY, 2, SecurityAuditor.SYSTEM);
+    verify(insurancePackageRepository).activateBatch(TODAY, 2, SecurityAuditor.SYSTEM);
+  }
 
-    when(insurancePackageRepository.findAll()).thenReturn(packages);
-    when(insurancePackageRepository.saveAll(anyList())).thenReturn(packages);
+  @Test
+  @DisplayName("Should keep applying chunks while a full chunk was updated")
+  void shouldProcessChunksUntilExhausted() {
+    // Given
+    when(insurancePackageRepository.expireBatch(TODAY, 2, SecurityAuditor.SYSTEM))
+        .thenReturn(2, 2, 1);
+    when(insurancePackageRepository.activateBatch(TODAY, 2, SecurityAuditor.SYSTEM))
+        .thenReturn(2, 0);
 
     // When
-    insurancePackageStatusUpdater.updatePackageStatus();
+    StatusUpdateReport report = insurancePackageStatusUpdater.recalculateStatuses(TODAY);
 
     // Then
-    verify(insurancePackageRepository).findAll();
-    verify(insurancePackageRepository).saveAll(packages);
+    assertEquals(5, report.expired());
+    assertEquals(2, report.activated());
+    assertEquals(5, meterRegistry.counter("app.insurance-package.status-transitions",
+        "transition", "expired").count());
+    assertEquals(2, meterRegistry.counter("app.insurance-package.status-transitions",
+        "transition", "activated").count());
+    assertEquals(1, meterRegistry.timer("app.insurance-package.status-update").count());
+    verify(insurancePackageRepository, times(3)).expireBatch(TODAY, 2, SecurityAuditor.SYSTEM);
+    verify(insurancePackageRepository, times(2)).activateBatch(TODAY, 2, SecurityAuditor.SYSTEM);
   }
 
   @Test
-  @DisplayName("Should handle empty package list")
+  @DisplayName("Should handle a run without due transitions")
   void shouldHandleEmptyPackageList() {
     // Given
-    List<InsurancePackage> packages = Arrays.asList();
-
-    when(insurancePackageRepository.findAll()).thenReturn(packages);
-    when(insurancePackageRepository.saveAll(anyList())).thenReturn(packages);
+    when(insurancePackageRepository.expireBatch(any(), anyInt(), any())).thenReturn(0);
+    when(insurancePackageRepository.activateBatch(any(), anyInt(), any())).thenReturn(0);
 
     // When
-    insurancePackageStatusUpdater.updatePackageStatus();
+    StatusUpdateReport report = insurancePackageStatusUpdater.recalculateStatuses(TODAY);
 
     // Then
-    verify(insurancePackageRepository).findAll();
-    verify(insurancePackageRepository).saveAll(packages);
+    assertEquals(0, report.total());
+    verify(insurancePackageRepository).expireBatch(TODAY, 2, SecurityAuditor.SYSTEM);
+    verify(insurancePackageRepository).activateBatch(TODAY, 2, SecurityAuditor.SYSTEM);
   }
 
   @Test
-  @DisplayName("Should handle single package")
-  void shouldHandleSinglePackage() {
+  @DisplayName("Scheduled entry point should use the current date")
+  void shouldUseCurrentDateWhenScheduled() {
     // Given
-    InsurancePackage package1 = new InsurancePackage();
-    package1.setStartDate(LocalDate.now().minusDays(1));
-    package1.setEndDate(LocalDate.now().plusDays(1));
-    package1.setStatus(PackageStatus.INITIALIZED);
-
-    List<InsurancePackage> packages = Arrays.asList(package1);
-
-    when(insurancePackageRepository.findAll()).thenReturn(packages);
-    when(insurancePackageRepository.saveAll(anyList())).thenReturn(packages);
+    when(insurancePackageRepository.expireBatch(any(), anyInt(), any())).thenReturn(0);
+    when(insurancePackageRepository.activateBatch(any(), anyInt(), any())).thenReturn(0);
 
     // When
     insurancePackageStatusUpdater.updatePackageStatus();
 
     // Then
-    verify(insurancePackageRepository).findAll();
-    verify(insurancePackageRepository).saveAll(packages);
+    verify(insurancePackageRepository).expireBatch(eq(LocalDate.now()), eq(2), any());
+    verify(insurancePackageRepository).activateBatch(eq(LocalDate.now()), eq(2), any());
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,104 @@
+package com.coherentsolutions.pot.insuranceservice.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.coherentsolutions.pot.insuranceservice.dto.payroll.PayrollDeduction;
+import com.coherentsolutions.pot.insuranceservice.dto.payroll.PayrollDeductionInput;
+import com.coherentsolutions.pot.insuranceservice.enums.PayrollFrequency;
+import com.coherentsolutions.pot.insuranceservice.service.PayrollDeductionCalculator;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PayrollDeductionCalculatorTest {
+
+  private static PayrollDeductionInput input(String election, String contribution,
+      PayrollFrequency frequency, LocalDate start, LocalDate end) {
+    return new PayrollDeductionInput(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+        UUID.randomUUID(), new BigDecimal(election), new BigDecimal(contribution), frequency,
+        start, end);
+  }
+
+  private static BigDecimal sum(List<PayrollDeduction> deductions) {
+    return deductions.stream().map(PayrollDeduction::amount)
+        .reduce(BigDecimal.ZERO, BigDecimal::add);
+  }
+
+  @Test
+  @DisplayName("Should spread the employee share evenly over monthly pay dates")
+  void shouldSpreadShareOverMonthlyPayDates() {
+    // Given
+    PayrollDeductionInput input = input("1300.0000", "100.0000", PayrollFrequency.MONTHLY,
+        LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31));
+
+    // When
+    List<PayrollDeduction> deductions = PayrollDeductionCalculator.calculate(input);
+
+    // Then
+    assertEquals(12, deductions.size());
+    assertTrue(deductions.stream()
+        .allMatch(d -> d.amount().compareTo(new BigDecimal("100.00")) == 0));
+    assertEquals(LocalDate.of(2025, 12, 1), deductions.get(11).payDate());
+    assertEquals(12, deductions.get(11).periodNumber());
+  }
+
+  @Test
+  @DisplayName("Should put the remaining cents on the last period")
+  void shouldPutRemainderOnLastPeriod() {
+    // Given
+    PayrollDeductionInput input = input("100.0000", "0.0000", PayrollFrequency.WEEKLY,
+        LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 15));
+
+    // When
+    List<PayrollDeduction> deductions = PayrollDeductionCalculator.calculate(input);
+
+    // Then
+    assertEquals(3, deductions.size());
+    assertEquals(new BigDecimal("33.33"), deductions.get(0).amount());
+    assertEquals(new BigDecimal("33.33"), deductions.get(1).amount());
+    assertEquals(new BigDecimal("33.34"), deductions.get(2).amount());
+    assertEquals(new BigDecimal("100.00"), sum(deductions));
+  }
+
+  @Test
+  @DisplayName("Should not deduct when the plan contribution covers the election")
+  void shouldNotDeductWhenContributionCoversElection() {
+    // Given
+    PayrollDeductionInput input = input("50.0000", "80.0000", PayrollFrequency.MONTHLY,
+        LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31));
+
+    // When
+    List<PayrollDeduction> deductions = PayrollDeductionCalculator.calculate(input);
+
+    // Then
+    assertEquals(3, deductions.size());
+    assertEquals(0, sum(deductions).compareTo(BigDecimal.ZERO));
+  }
+
+  @Test
+  @DisplayName("Should clamp monthly pay dates to the end of shorter months without drifting")
+  void shouldClampMonthlyPayDates() {
+    // When
+    List<LocalDate> payDates = PayrollDeductionCalculator.payDates(PayrollFrequency.MONTHLY,
+        LocalDate.of(2025, 1, 31), LocalDate.of(2025, 4, 30));
+
+    // Then
+    assertEquals(List.of(LocalDate.of(2025, 1, 31), LocalDate.of(2025, 2, 28),
+        LocalDate.of(2025, 3, 31), LocalDate.of(2025, 4, 30)), payDates);
+  }
+
+  @Test
+  @DisplayName("Should return an empty schedule when the window has no pay date")
+  void shouldReturnEmptyScheduleForEmptyWindow() {
+    // Given
+    PayrollDeductionInput input = input("100.0000", "0.0000", PayrollFrequency.WEEKLY,
+        LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1));
+
+    // When / Then
+    assertTrue(PayrollDeductionCalculator.calculate(input).isEmpty());
+  }
+}
@@ -0,0 +1,162 @@
+package com.coherentsolutions.pot.insuranceservice.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.coherentsolutions.pot.insuranceservice.dto.payroll.PayrollDeductionInput;
+import com.coherentsolutions.pot.insuranceservice.dto.payroll.PayrollDeductionRunReport;
+import com.coherentsolutions.pot.insuranceservice.enums.PayrollFrequency;
+import com.coherentsolutions.pot.insuranceservice.repository.CompanyRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.PayrollDeductionRepository;
+import com.coherentsolutions.pot.insuranceservice.service.PayrollDeductionService;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Payroll Deduction Service Tests")
+class PayrollDeductionServiceTest {
+
+  private static final UUID COMPANY_ID = UUID.randomUUID();
+  private static final Duration MARGIN = Duration.ofMinutes(10);
+  private static final LocalDateTime DATABASE_NOW = LocalDateTime.of(2025, 6, 1, 1, 30);
+
+  @Mock
+  private CompanyRepository companyRepository;
+  @Mock
+  private PayrollDeductionRepository payrollDeductionRepository;
+  @Mock
+  private TransactionTemplate transactionTemplate;
+
+  private PayrollDeductionService payrollDeductionService;
+
+  @BeforeEach
+  void setUp() {
+    payrollDeductionService = service(Runnable::run);
+    lenient().when(payrollDeductionRepository.currentTimestamp()).thenReturn(DATABASE_NOW);
+    lenient().when(transactionTemplate.execute(any())).thenAnswer(
+        invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    lenient().when(companyRepository.existsById(COMPANY_ID)).thenReturn(true);
+  }
+
+  @Test
+  @DisplayName("Should store the run start on the database clock minus the margin as watermark")
+  void shouldUseRunStartAsWatermark() {
+    // Given
+    LocalDateTime lastWatermark = DATABASE_NOW.minusDays(1);
+    when(payrollDeductionRepository.findLastWatermark(COMPANY_ID)).thenReturn(Optional.of(lastWatermark));
+    streamInputs(input());
+
+    // When
+    PayrollDeductionRunReport report = payrollDeductionService.calculateForCompany(COMPANY_ID, true);
+
+    // Then
+    assertEquals(1, report.enrollmentsProcessed());
+    assertEquals(12, report.deductionsWritten());
+    verify(payrollDeductionRepository).streamInputs(eq(COMPANY_ID), eq(lastWatermark), any());
+    verify(payrollDeductionRepository).insertRun(eq(COMPANY_ID), eq(true), eq(true), eq(DATABASE_NOW),
+        eq(DATABASE_NOW.minus(MARGIN)), eq(1), eq(12), isNull());
+  }
+
+  @Test
+  @DisplayName("Should start a run for all companies without waiting and complete it with their report")
+  void shouldCalculateAllAsynchronously() {
+    // Given
+    List<Runnable> tasks = new ArrayList<>();
+    payrollDeductionService = service(tasks::add);
+    when(payrollDeductionRepository.findCompanyIdsWithPackages()).thenReturn(List.of(COMPANY_ID));
+    streamInputs(input());
+
+    // When
+    CompletableFuture<PayrollDeductionRunReport> run = payrollDeductionService.calculateAll(false);
+
+    // Then
+    assertFalse(run.isDone());
+    tasks.forEach(Runnable::run);
+    PayrollDeductionRunReport report = run.join();
+    assertEquals(1, report.companiesProcessed());
+    assertEquals(1, report.enrollmentsProcessed());
+    assertEquals(12, report.deductionsWritten());
+  }
+
+  @Test
+  @DisplayName("Should read every input on a full run and still remove orphaned schedules")
+  void shouldReadEverythingOnFullRun() {
+    // Given
+    streamInputs();
+
+    // When
+    PayrollDeductionRunReport report = payrollDeductionService.calculateForCompany(COMPANY_ID, false);
+
+    // Then
+    assertEquals(0, report.enrollmentsProcessed());
+    verify(payrollDeductionRepository).streamInputs(eq(COMPANY_ID), isNull(), any());
+    verify(payrollDeductionRepository).deleteOrphans(COMPANY_ID);
+    verify(payrollDeductionRepository).insertRun(eq(COMPANY_ID), eq(false), eq(true), any(), any(),
+        eq(0), eq(0), isNull());
+  }
+
+  @Test
+  @DisplayName("Should record a failed run without a watermark when the calculation throws")
+  void shouldRecordFailedRun() {
+    // Given
+    when(payrollDeductionRepository.findLastWatermark(COMPANY_ID)).thenReturn(Optional.empty());
+    doAnswer(invocation -> {
+      throw new IllegalStateException("boom");
+    }).when(payrollDeductionRepository).streamInputs(eq(COMPANY_ID), isNull(), any());
+
+    // When
+    PayrollDeductionRunReport report = payrollDeductionService.calculateForCompany(COMPANY_ID, true);
+
+    // Then
+    assertEquals(1, report.companiesFailed());
+    verify(payrollDeductionRepository).insertRun(eq(COMPANY_ID), eq(true), eq(false), any(), isNull(),
+        anyInt(), anyInt(), eq("boom"));
+  }
+
+  private PayrollDeductionService service(Executor executor) {
+    PayrollDeductionService service = new PayrollDeductionService(companyRepository,
+        payrollDeductionRepository, transactionTemplate, executor);
+    ReflectionTestUtils.setField(service, "watermarkMargin", MARGIN);
+    return service;
+  }
+
+  private void streamInputs(PayrollDeductionInput... inputs) {
+    doAnswer(invocation -> {
+      Consumer<PayrollDeductionInput> sink = invocation.getArgument(2);
+      List.of(inputs).forEach(sink);
+      return null;
+    }).when(payrollDeductionRepository).streamInputs(eq(COMPANY_ID), any(), any());
+  }
+
+  private static PayrollDeductionInput input() {
+    return new PayrollDeductionInput(UUID.randomUUID(), UUID.randomUUID(), COMPANY_ID, UUID.randomUUID(),
+        new BigDecimal("1300.0000"), new BigDecimal("100.0000"), PayrollFrequency.MONTHLY,
+        LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31));
+  }
+}
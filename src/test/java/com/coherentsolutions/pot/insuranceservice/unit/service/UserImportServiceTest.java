@@ -0,0 +1,253 @@
+package com.coherentsolutions.pot.insuranceservice.unit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.coherentsolutions.pot.insuranceservice.dto.user.UserDto;
+import com.coherentsolutions.pot.insuranceservice.dto.user.UserImportResult;
+import com.coherentsolutions.pot.insuranceservice.enums.UserFunction;
+import com.coherentsolutions.pot.insuranceservice.enums.UserImportFormat;
+import com.coherentsolutions.pot.insuranceservice.repository.CompanyRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.UserImportRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.UserRepository;
+import com.coherentsolutions.pot.insuranceservice.service.UserImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("User Import Service Tests")
+class UserImportServiceTest {
+
+  private static final UUID COMPANY_ID = UUID.randomUUID();
+  private static final String CSV_HEADER = "firstName,lastName,username,email,dateOfBirth,ssn,functions\n";
+
+  @Mock
+  private UserRepository userRepository;
+  @Mock
+  private CompanyRepository companyRepository;
+  @Mock
+  private UserImportRepository userImportRepository;
+  @Mock
+  private TransactionTemplate transactionTemplate;
+
+  private UserImportService userImportService;
+
+  @BeforeEach
+  void setUp() {
+    ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    userImportService = new UserImportService(userRepository, companyRepository,
+        userImportRepository, objectMapper,
+        Validation.buildDefaultValidatorFactory().getValidator(), transactionTemplate);
+    ReflectionTestUtils.setField(userImportService, "chunkSize", 2);
+
+    lenient().when(transactionTemplate.execute(any())).thenAnswer(
+        invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    lenient().when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+    lenient().when(userRepository.findExistingUsernames(anyCollection())).thenReturn(Set.of());
+    lenient().when(userRepository.findExistingSsns(anyCollection())).thenReturn(Set.of());
+  }
+
+  @Test
+  @DisplayName("Should insert valid CSV rows in chunks and report every row")
+  void shouldInsertValidCsvRowsInChunks() throws Exception {
+    // Given
+    String csv = CSV_HEADER
+        + "John,Doe,jdoe,john@example.com,1990-01-01,111-11-1111,CONSUMER;COMPANY_MANAGER\n"
+        + "Jane,Roe,jroe,jane@example.com,1991-02-02,222-22-2222,\n"
+        + "Jim,Poe,jpoe,jim@example.com,1992-03-03,333-33-3333,CONSUMER\n";
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // When
+    UserImportResult result = userImportService.importUsers(COMPANY_ID, stream(csv),
+        UserImportFormat.CSV, false, out);
+
+    // Then
+    assertEquals(new UserImportResult(3, 0), result);
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<UserDto>> users = ArgumentCaptor.forClass(List.class);
+    verify(userImportRepository, times(2)).insertUsers(eq(COMPANY_ID), users.capture(), any(UUID.class),
+        any(Instant.class));
+    List<UserDto> firstChunk = users.getAllValues().get(0);
+    assertEquals(2, firstChunk.size());
+    assertEquals(Set.of(UserFunction.CONSUMER, UserFunction.COMPANY_MANAGER), firstChunk.get(0).getFunctions());
+    assertEquals(COMPANY_ID, firstChunk.get(0).getCompanyId());
+    verify(userImportRepository, never()).insertProvisioningTasks(anyCollection(), any());
+
+    List<String> lines = lines(out);
+    assertEquals("row,status,userId,errors", lines.get(0));
+    assertEquals(4, lines.size());
+    assertTrue(lines.get(1).startsWith("1,ACCEPTED," + firstChunk.get(0).getId()));
+  }
+
+  @Test
+  @DisplayName("Should reject invalid, duplicate and already existing rows")
+  void shouldRejectInvalidDuplicateAndExistingRows() throws Exception {
+    // Given
+    String csv = CSV_HEADER
+        + "John,Doe,jdoe,john@example.com,1990-01-01,111-11-1111,\n"
+        + "Johnny,Doe,jdoe2,john@example.com,1990-01-01,444-44-4444,\n"
+        + ",Roe,jroe,not-an-email,1991-02-02,222-22-2222,\n"
+        + "Jim,Poe,jpoe,jim@example.com,1992-13-03,333-33-3333,\n"
+        + "Ann,Loe,aloe,ann@example.com,1993-04-04,555-55-5555,JANITOR\n"
+        + "Bob,Moe,bmoe,taken@example.com,1994-05-05,666-66-6666,\n";
+    when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of("taken@example.com"));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // When
+    UserImportResult result = userImportService.importUsers(COMPANY_ID, stream(csv),
+        UserImportFormat.CSV, false, out);
+
+    // Then
+    assertEquals(new UserImportResult(1, 5), result);
+    List<String> lines = lines(out);
+    assertEquals(7, lines.size());
+    assertTrue(lines.get(1).startsWith("1,ACCEPTED,"));
+    assertEquals("2,REJECTED,,Duplicate email in upload: john@example.com", lines.get(2));
+    assertEquals("3,REJECTED,,email: Email should be valid; firstName: First name is mandatory", lines.get(3));
+    assertEquals("4,REJECTED,,dateOfBirth: invalid date 1992-13-03", lines.get(4));
+    assertTrue(lines.get(5).startsWith("5,REJECTED,,\"functions: unknown function JANITOR"));
+    assertEquals("6,REJECTED,,Email already exists: taken@example.com", lines.get(6));
+  }
+
+  @Test
+  @DisplayName("Should flush rejected rows once they fill a chunk, together with the pending chunk")
+  void shouldFlushRejectedRowsAtChunkSize() throws Exception {
+    // Given
+    String csv = CSV_HEADER
+        + "John,Doe,jdoe,john@example.com,1990-01-01,111-11-1111,\n"
+        + "Jim,Poe,jpoe,jim@example.com,1992-13-03,333-33-3333,\n"
+        + "Ann,Loe,aloe,ann@example.com,1993-13-04,555-55-5555,\n"
+        + "Jane,Roe,jroe,jane@example.com,1991-02-02,222-22-2222,\n";
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // When
+    UserImportResult result = userImportService.importUsers(COMPANY_ID, stream(csv),
+        UserImportFormat.CSV, false, out);
+
+    // Then
+    assertEquals(new UserImportResult(2, 2), result);
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<UserDto>> users = ArgumentCaptor.forClass(List.class);
+    verify(userImportRepository, times(2)).insertUsers(eq(COMPANY_ID), users.capture(), any(UUID.class),
+        any(Instant.class));
+    assertEquals("jdoe", users.getAllValues().get(0).get(0).getUsername());
+    assertEquals("jroe", users.getAllValues().get(1).get(0).getUsername());
+    List<String> lines = lines(out);
+    assertTrue(lines.get(1).startsWith("1,ACCEPTED,"));
+    assertEquals("2,REJECTED,,dateOfBirth: invalid date 1992-13-03", lines.get(2));
+    assertEquals("3,REJECTED,,dateOfBirth: invalid date 1993-13-04", lines.get(3));
+    assertTrue(lines.get(4).startsWith("4,ACCEPTED,"));
+  }
+
+  @Test
+  @DisplayName("Should queue invitations for accepted NDJSON rows when requested")
+  void shouldQueueInvitationsForAcceptedRows() throws Exception {
+    // Given
+    String ndjson = """
+        {"firstName":"John","lastName":"Doe","username":"jdoe","email":"john@example.com","dateOfBirth":"1990-01-01","ssn":"111-11-1111"}
+        {"firstName":"Jane","lastName":"Roe","username":"jroe","email":"jane@example.com","dateOfBirth":"not-a-date","ssn":"222-22-2222"}
+        """;
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // When
+    UserImportResult result = userImportService.importUsers(COMPANY_ID, stream(ndjson),
+        UserImportFormat.NDJSON, true, out);
+
+    // Then
+    assertEquals(new UserImportResult(1, 1), result);
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<UserDto>> users = ArgumentCaptor.forClass(List.class);
+    verify(userImportRepository).insertUsers(eq(COMPANY_ID), users.capture(), any(UUID.class), any(Instant.class));
+    verify(userImportRepository).insertProvisioningTasks(eq(List.of(users.getValue().get(0).getId())), any(Instant.class));
+    List<String> lines = lines(out);
+    assertEquals(2, lines.size());
+    assertTrue(lines.get(0).contains("\"row\":1,\"accepted\":true"));
+    assertTrue(lines.get(1).contains("\"row\":2,\"accepted\":false"));
+  }
+
+  @Test
+  @DisplayName("Should reject null NDJSON rows as row errors")
+  void shouldRejectNullRows() throws Exception {
+    // Given
+    String ndjson = """
+        null
+        {"firstName":"John","lastName":"Doe","username":"jdoe","email":"john@example.com","dateOfBirth":"1990-01-01","ssn":"111-11-1111"}
+        """;
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // When
+    UserImportResult result = userImportService.importUsers(COMPANY_ID, stream(ndjson),
+        UserImportFormat.NDJSON, false, out);
+
+    // Then
+    assertEquals(new UserImportResult(1, 1), result);
+    List<String> lines = lines(out);
+    assertTrue(lines.get(0).contains("\"row\":1,\"accepted\":false"));
+    assertTrue(lines.get(1).contains("\"row\":2,\"accepted\":true"));
+  }
+
+  @Test
+  @DisplayName("Should reject a duplicate of an earlier chunk through the database check")
+  void shouldRejectDuplicateOfEarlierChunk() throws Exception {
+    // Given
+    String csv = CSV_HEADER
+        + "John,Doe,jdoe,john@example.com,1990-01-01,111-11-1111,\n"
+        + "Jane,Roe,jroe,jane@example.com,1991-02-02,222-22-2222,\n"
+        + "Johnny,Doe,jdoe2,john@example.com,1992-03-03,333-33-3333,\n";
+    Set<String> stored = new HashSet<>();
+    doAnswer(invocation -> {
+      invocation.<List<UserDto>>getArgument(1).forEach(dto -> stored.add(dto.getEmail()));
+      return null;
+    }).when(userImportRepository).insertUsers(eq(COMPANY_ID), anyList(), any(UUID.class), any(Instant.class));
+    when(userRepository.findExistingEmails(anyCollection())).thenAnswer(invocation ->
+        invocation.<Collection<String>>getArgument(0).stream().filter(stored::contains).collect(Collectors.toSet()));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // When
+    UserImportResult result = userImportService.importUsers(COMPANY_ID, stream(csv),
+        UserImportFormat.CSV, false, out);
+
+    // Then
+    assertEquals(new UserImportResult(2, 1), result);
+    assertEquals("3,REJECTED,,Email already exists: john@example.com", lines(out).get(3));
+  }
+
+  private static ByteArrayInputStream stream(String body) {
+    return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static List<String> lines(ByteArrayOutputStream out) {
+    return out.toString(StandardCharsets.UTF_8).lines().toList();
+  }
+}
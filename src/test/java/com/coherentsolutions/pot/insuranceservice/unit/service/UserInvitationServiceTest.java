@@ -6,13 +6,17 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.coherentsolutions.pot.insuranceservice.dto.auth0.Auth0InvitationDto;
-import com.coherentsolutions.pot.insuranceservice.dto.auth0.Auth0UserDto;
 import com.coherentsolutions.pot.insuranceservice.dto.user.UserDto;
+import com.coherentsolutions.pot.insuranceservice.enums.ProvisioningStatus;
 import com.coherentsolutions.pot.insuranceservice.enums.UserFunction;
-import com.coherentsolutions.pot.insuranceservice.exception.Auth0Exception;
+import com.coherentsolutions.pot.insuranceservice.model.Auth0ProvisioningTask;
+import com.coherentsolutions.pot.insuranceservice.model.User;
+import com.coherentsolutions.pot.insuranceservice.repository.Auth0ProvisioningTaskRepository;
+import com.coherentsolutions.pot.insuranceservice.repository.UserRepository;
 import com.coherentsolutions.pot.insuranceservice.service.Auth0InvitationService;
 import com.coherentsolutions.pot.insuranceservice.service.UserInvitationService;
 import com.coherentsolutions.pot.insuranceservice.service.UserManagementService;
@@ -24,6 +28,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
@@ -39,11 +44,18 @@ class UserInvitationServiceTest {
   @Mock
   private Auth0InvitationService auth0InvitationService;
 
+  @Mock
+  private Auth0ProvisioningTaskRepository auth0ProvisioningTaskRepository;
+
+  @Mock
+  private UserRepository userRepository;
+
   private UserInvitationService userInvitationService;
 
   @BeforeEach
   void setUp() {
-    userInvitationService = new UserInvitationService(userManagementService, auth0InvitationService);
+    userInvitationService = new UserInvitationService(userManagementService, auth0InvitationService,
+        auth0ProvisioningTaskRepository, userRepository);
     ReflectionTestUtils.setField(userInvitationService, "auth0ClientId", "test-client-id");
   }
 
@@ -64,11 +76,11 @@ class UserInvitationServiceTest {
     savedUser.setId(userDto.getId());
     savedUser.setEmail("john.doe@example.com");
 
-    Auth0UserDto auth0User = new Auth0UserDto();
-    auth0User.setUserId("auth0|123");
+    User user = new User();
+    user.setId(userDto.getId());
 
     when(userManagementService.createUser(userDto)).thenReturn(savedUser);
-    when(auth0InvitationService.createUserWithInvitation(any(Auth0InvitationDto.class))).thenReturn(auth0User);
+    when(userRepository.getReferenceById(userDto.getId())).thenReturn(user);
 
     // When
     UserDto result = userInvitationService.createUserWithInvitation(userDto);
@@ -76,7 +88,33 @@ class UserInvitationServiceTest {
     // Then
     assertEquals(savedUser, result);
     verify(userManagementService).createUser(userDto);
-    verify(auth0InvitationService).createUserWithInvitation(any(Auth0InvitationDto.class));
+    ArgumentCaptor<Auth0ProvisioningTask> taskCaptor = ArgumentCaptor.forClass(Auth0ProvisioningTask.class);
+    verify(auth0ProvisioningTaskRepository).save(taskCaptor.capture());
+    Auth0ProvisioningTask task = taskCaptor.getValue();
+    assertEquals(user, task.getUser());
+    assertEquals(ProvisioningStatus.PENDING, task.getStatus());
+    verifyNoInteractions(auth0InvitationService);
+  }
+
+  @Test
+  @DisplayName("Should build the invitation from the user's data")
+  void shouldBuildInvitationFromUser() {
+    // Given
+    UserDto userDto = new UserDto();
+    userDto.setFirstName("John");
+    userDto.setLastName("Doe");
+    userDto.setEmail("john.doe@example.com");
+    userDto.setUsername("johndoe");
+    userDto.setDateOfBirth(LocalDate.of(1990, 1, 1));
+
+    // When
+    Auth0InvitationDto invitation = userInvitationService.buildInvitationDto(userDto);
+
+    // Then
+    assertEquals("john.doe@example.com", invitation.getEmail());
+    assertEquals("John Doe", invitation.getName());
+    assertEquals("test-client-id", invitation.getClientId());
+    assertEquals("1990-01-01", invitation.getUserMetadata().get("dateOfBirth"));
   }
 
   @Test
@@ -98,11 +136,11 @@ class UserInvitationServiceTest {
     savedUser.setId(userDto.getId());
     savedUser.setEmail("john.doe@example.com");
 
-    Auth0UserDto auth0User = new Auth0UserDto();
-    auth0User.setUserId("auth0|123");
+    User user = new User();
+    user.setId(userDto.getId());
 
     when(userManagementService.createUser(userDto)).thenReturn(savedUser);
-    when(auth0InvitationService.createUserWithInvitation(any(Auth0InvitationDto.class))).thenReturn(auth0User);
+    when(userRepository.getReferenceById(userDto.getId())).thenReturn(user);
 
     // When
     UserDto result = userInvitationService.createUserWithInvitation(userDto);
@@ -110,12 +148,12 @@ class UserInvitationServiceTest {
     // Then
     assertEquals(savedUser, result);
     verify(userManagementService).createUser(userDto);
-    verify(auth0InvitationService).createUserWithInvitation(any(Auth0InvitationDto.class));
+    verify(auth0ProvisioningTaskRepository).save(any(Auth0ProvisioningTask.class));
   }
 
   @Test
-  @DisplayName("Should throw Auth0Exception when Auth0 invitation fails")
-  void shouldThrowAuth0ExceptionWhenAuth0InvitationFails() throws Exception {
+  @DisplayName("Should not call Auth0 synchronously when creating user with invitation")
+  void shouldNotCallAuth0SynchronouslyWhenCreatingUserWithInvitation() {
     // Given
     UserDto userDto = new UserDto();
     userDto.setId(UUID.randomUUID());
@@ -127,15 +165,18 @@ class UserInvitationServiceTest {
     savedUser.setId(userDto.getId());
     savedUser.setEmail("john.doe@example.com");
 
+    User user = new User();
+    user.setId(userDto.getId());
+
     when(userManagementService.createUser(userDto)).thenReturn(savedUser);
-    when(auth0InvitationService.createUserWithInvitation(any(Auth0InvitationDto.class)))
-        .thenThrow(new Auth0Exception("Auth0 creation failed", "AUTH0_ERROR", 400));
+    when(userRepository.getReferenceById(userDto.getId())).thenReturn(user);
 
-    // When & Then
-    Auth0Exception exception = assertThrows(Auth0Exception.class,
-        () -> userInvitationService.createUserWithInvitation(userDto));
-    assertEquals("Auth0 creation failed", exception.getMessage());
-    verify(userManagementService).createUser(userDto);
+    // When
+    userInvitationService.createUserWithInvitation(userDto);
+
+    // Then
+    verify(auth0ProvisioningTaskRepository).save(any(Auth0ProvisioningTask.class));
+    verifyNoInteractions(auth0InvitationService);
   }
 
   @Test
@@ -246,11 +287,11 @@ class UserInvitationServiceTest {
     savedUser.setId(userDto.getId());
     savedUser.setEmail("john.doe@example.com");
 
-    Auth0UserDto auth0User = new Auth0UserDto();
-    auth0User.setUserId("auth0|123");
+    User user = new User();
+    user.setId(userDto.getId());
 
     when(userManagementService.createUser(userDto)).thenReturn(savedUser);
-    when(auth0InvitationService.createUserWithInvitation(any(Auth0InvitationDto.class))).thenReturn(auth0User);
+    when(userRepository.getReferenceById(userDto.getId())).thenReturn(user);
 
     // When
     UserDto result = userInvitationService.createUserWithInvitation(userDto);
@@ -258,7 +299,7 @@ class UserInvitationServiceTest {
     // Then
     assertEquals(savedUser, result);
     verify(userManagementService).createUser(userDto);
-    verify(auth0InvitationService).createUserWithInvitation(any(Auth0InvitationDto.class));
+    verify(auth0ProvisioningTaskRepository).save(any(Auth0ProvisioningTask.class));
   }
 
   @Test
@@ -277,11 +318,11 @@ class UserInvitationServiceTest {
     savedUser.setId(userDto.getId());
     savedUser.setEmail("john.doe@example.com");
 
-    Auth0UserDto auth0User = new Auth0UserDto();
-    auth0User.setUserId("auth0|123");
+    User user = new User();
+    user.setId(userDto.getId());
 
     when(userManagementService.createUser(userDto)).thenReturn(savedUser);
-    when(auth0InvitationService.createUserWithInvitation(any(Auth0InvitationDto.class))).thenReturn(auth0User);
+    when(userRepository.getReferenceById(userDto.getId())).thenReturn(user);
 
     // When
     UserDto result = userInvitationService.createUserWithInvitation(userDto);
@@ -289,7 +330,7 @@ class UserInvitationServiceTest {
     // Then
     assertEquals(savedUser, result);
     verify(userManagementService).createUser(userDto);
-    verify(auth0InvitationService).createUserWithInvitation(any(Auth0InvitationDto.class));
+    verify(auth0ProvisioningTaskRepository).save(any(Auth0ProvisioningTask.class));
   }
 
   @Test
@@ -308,11 +349,11 @@ class UserInvitationServiceTest {
     savedUser.setId(userDto.getId());
     savedUser.setEmail("john.doe@example.com");
 
-    Auth0UserDto auth0User = new Auth0UserDto();
-    auth0User.setUserId("auth0|123");
+    User user = new User();
+    user.setId(userDto.getId());
 
     when(userManagementService.createUser(userDto)).thenReturn(savedUser);
-    when(auth0InvitationService.createUserWithInvitation(any(Auth0InvitationDto.class))).thenReturn(auth0User);
+    when(userRepository.getReferenceById(userDto.getId())).thenReturn(user);
 
     // When
     UserDto result = userInvitationService.createUserWithInvitation(userDto);
@@ -320,7 +361,7 @@ class UserInvitationServiceTest {
     // Then
     assertEquals(savedUser, result);
     verify(userManagementService).createUser(userDto);
-    verify(auth0InvitationService).createUserWithInvitation(any(Auth0InvitationDto.class));
+    verify(auth0ProvisioningTaskRepository).save(any(Auth0ProvisioningTask.class));
   }
 
   @Test
@@ -339,11 +380,11 @@ class UserInvitationServiceTest {
     savedUser.setId(userDto.getId());
     savedUser.setEmail("john.doe@example.com");
 
-    Auth0UserDto auth0User = new Auth0UserDto();
-    auth0User.setUserId("auth0|123");
+    User user = new User();
+    user.setId(userDto.getId());
 
     when(userManagementService.createUser(userDto)).thenReturn(savedUser);
-    when(auth0InvitationService.createUserWithInvitation(any(Auth0InvitationDto.class))).thenReturn(auth0User);
+    when(userRepository.getReferenceById(userDto.getId())).thenReturn(user);
 
     // When
     UserDto result = userInvitationService.createUserWithInvitation(userDto);
@@ -351,7 +392,7 @@ class UserInvitationServiceTest {
     // Then
     assertEquals(savedUser, result);
     verify(userManagementService).createUser(userDto);
-    verify(auth0InvitationService).createUserWithInvitation(any(Auth0InvitationDto.class));
+    verify(auth0ProvisioningTaskRepository).save(any(Auth0ProvisioningTask.class));
   }
 
   @Test
@@ -370,11 +411,11 @@ class UserInvitationServiceTest {
     savedUser.setId(userDto.getId());
     savedUser.setEmail("john.doe@example.com");
 
-    Auth0UserDto auth0User = new Auth0UserDto();
-    auth0User.setUserId("auth0|123");
+    User user = new User();
+    user.setId(userDto.getId());
 
     when(userManagementService.createUser(userDto)).thenReturn(savedUser);
-    when(auth0InvitationService.createUserWithInvitation(any(Auth0InvitationDto.class))).thenReturn(auth0User);
+    when(userRepository.getReferenceById(userDto.getId())).thenReturn(user);
 
     // When
     UserDto result = userInvitationService.createUserWithInvitation(userDto);
@@ -382,6 +423,6 @@ class UserInvitationServiceTest {
     // Then
     assertEquals(savedUser, result);
     verify(userManagementService).createUser(userDto);
-    verify(auth0InvitationService).createUserWithInvitation(any(Auth0InvitationDto.class));
+    verify(auth0ProvisioningTaskRepository).save(any(Auth0ProvisioningTask.class));
   }
 } 
\ No newline at end of file